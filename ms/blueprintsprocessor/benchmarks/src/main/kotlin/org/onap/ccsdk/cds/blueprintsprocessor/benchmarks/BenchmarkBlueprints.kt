@@ -0,0 +1,29 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.benchmarks
+
+/**
+ * Test blueprints of the model catalog used by the benchmarks, the paths are relative to the benchmarks module.
+ */
+object BenchmarkBlueprints {
+
+    const val TEST_BLUEPRINT_PATH = "../../../components/model-catalog/blueprint-model/test-blueprint"
+
+    const val BASE_CONFIGURATION = "$TEST_BLUEPRINT_PATH/baseconfiguration"
+
+    const val GOLDEN = "$TEST_BLUEPRINT_PATH/golden"
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.benchmarks
+
+import org.openjdk.jmh.Main
+
+/**
+ * Entry point of benchmarks.jar, runs the JMH benchmarks with the given JMH options.
+ * Unless asked otherwise, the results are written as JSON to [DEFAULT_RESULT_FILE], so they can be compared
+ * between runs.
+ */
+object BenchmarkRunner {
+
+    const val DEFAULT_RESULT_FILE = "target/jmh-result.json"
+
+    @JvmStatic
+    fun main(args: Array<String>) {
+        val resultArgs = arrayListOf<String>()
+        if (!args.contains("-rf")) resultArgs.addAll(listOf("-rf", "json"))
+        if (!args.contains("-rff")) resultArgs.addAll(listOf("-rff", DEFAULT_RESULT_FILE))
+        Main.main(resultArgs.toTypedArray() + args)
+    }
+}
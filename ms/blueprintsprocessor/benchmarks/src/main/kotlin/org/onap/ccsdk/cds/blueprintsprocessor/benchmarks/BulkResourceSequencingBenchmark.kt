@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.benchmarks
+
+import org.onap.ccsdk.cds.controllerblueprints.resource.dict.ResourceAssignment
+import org.onap.ccsdk.cds.controllerblueprints.resource.dict.utils.BulkResourceSequencingUtils
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+/**
+ * Ordering of [assignmentCount] resource assignments into batches, every fifth one depending on the two before it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class BulkResourceSequencingBenchmark {
+
+    @Param("20", "200")
+    var assignmentCount: Int = 0
+
+    private lateinit var resourceAssignments: MutableList<ResourceAssignment>
+
+    @Setup
+    fun setup() {
+        resourceAssignments = MutableList(assignmentCount) { index ->
+            ResourceAssignment().apply {
+                name = "resource-$index"
+                dictionaryName = "resource-$index"
+                dictionarySource = "input"
+                if (index >= 2 && index % 5 == 0) {
+                    dependencies = mutableListOf("resource-${index - 1}", "resource-${index - 2}")
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    fun process(): List<List<ResourceAssignment>> =
+        BulkResourceSequencingUtils.process(resourceAssignments)
+}
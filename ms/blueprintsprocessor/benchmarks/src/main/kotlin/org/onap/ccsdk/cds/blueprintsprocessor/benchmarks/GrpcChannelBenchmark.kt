@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.benchmarks
+
+import io.grpc.Server
+import io.grpc.netty.NettyServerBuilder
+import io.grpc.stub.StreamObserver
+import io.mockk.mockk
+import kotlinx.coroutines.runBlocking
+import org.onap.ccsdk.cds.blueprintsprocessor.core.BluePrintPropertiesService
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.GrpcChannelRegistryProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.TokenAuthGrpcClientProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.service.BluePrintGrpcLibPropertyService
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.service.GrpcChannelRegistry
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.service.TokenAuthGrpcClientService
+import org.onap.ccsdk.cds.controllerblueprints.command.api.CommandExecutorServiceGrpc
+import org.onap.ccsdk.cds.controllerblueprints.command.api.ExecutionInput
+import org.onap.ccsdk.cds.controllerblueprints.command.api.ExecutionOutput
+import org.onap.ccsdk.cds.controllerblueprints.command.api.ResponseStatus
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import java.net.InetSocketAddress
+import java.util.concurrent.TimeUnit
+
+/**
+ * Remote script execution against a local command executor server, over a channel built and shut down for each
+ * execution as before and over a channel leased from [GrpcChannelRegistry].
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class GrpcChannelBenchmark {
+
+    private lateinit var server: Server
+    private lateinit var clientProperties: TokenAuthGrpcClientProperties
+    private lateinit var grpcChannelRegistry: GrpcChannelRegistry
+
+    private val executionInput = ExecutionInput.newBuilder().setRequestId("benchmark").setCommand("echo").build()
+
+    @Setup
+    fun setup() {
+        server = NettyServerBuilder.forAddress(InetSocketAddress("127.0.0.1", 0))
+            .addService(CommandExecutor())
+            .build()
+            .start()
+        clientProperties = TokenAuthGrpcClientProperties().apply {
+            type = "token-auth"
+            host = "127.0.0.1"
+            port = server.port
+            token = "Basic Y2NzZGthcHBzOmNjc2RrYXBwcw=="
+        }
+        // The client properties are given, the properties service is never called
+        grpcChannelRegistry = GrpcChannelRegistry(
+            GrpcChannelRegistryProperties(), BluePrintGrpcLibPropertyService(mockk<BluePrintPropertiesService>())
+        )
+    }
+
+    @TearDown
+    fun tearDown() {
+        grpcChannelRegistry.close()
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS)
+    }
+
+    @Benchmark
+    fun channelPerExecution(): ExecutionOutput {
+        val channel = TokenAuthGrpcClientService(clientProperties).channelBuilder().build()
+        try {
+            return CommandExecutorServiceGrpc.newBlockingStub(channel).executeCommand(executionInput)
+        } finally {
+            channel.shutdownNow()
+        }
+    }
+
+    @Benchmark
+    fun leasedChannel(): ExecutionOutput =
+        runBlocking { grpcChannelRegistry.lease(clientProperties) }.use { lease ->
+            CommandExecutorServiceGrpc.newBlockingStub(lease.channel).executeCommand(executionInput)
+        }
+
+    private class CommandExecutor : CommandExecutorServiceGrpc.CommandExecutorServiceImplBase() {
+
+        override fun executeCommand(request: ExecutionInput, responseObserver: StreamObserver<ExecutionOutput>) {
+            responseObserver.onNext(
+                ExecutionOutput.newBuilder().setRequestId(request.requestId).setStatus(ResponseStatus.SUCCESS).build()
+            )
+            responseObserver.onCompleted()
+        }
+    }
+}
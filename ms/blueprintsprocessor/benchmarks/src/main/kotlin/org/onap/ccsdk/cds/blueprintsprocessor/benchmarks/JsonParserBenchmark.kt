@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.benchmarks
+
+import com.fasterxml.jackson.databind.JsonNode
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonUtils
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.JsonParserUtils
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+/**
+ * JSON path extraction of resolved values, as done by the rest and database sources on every response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class JsonParserBenchmark {
+
+    private lateinit var jsonContent: String
+    private lateinit var jsonNode: JsonNode
+
+    @Setup
+    fun setup() {
+        val response = JacksonUtils.objectMapper.createObjectNode()
+        val vnfs = response.putObject("generic-vnfs").putArray("generic-vnf")
+        repeat(VNF_COUNT) { index ->
+            val vnf = vnfs.addObject()
+            vnf.put("vnf-id", "vnf-$index")
+            vnf.put("vnf-name", "vnf-name-$index")
+            vnf.putObject("vf-modules").putArray("vf-module").addObject().put("vf-module-id", "vf-module-$index")
+        }
+        jsonContent = response.toString()
+        jsonNode = response
+    }
+
+    @Benchmark
+    fun parseJsonContent(): JsonNode =
+        JsonParserUtils.parse(jsonContent, VNF_NAME_EXPRESSION)
+
+    @Benchmark
+    fun parseJsonNode(): JsonNode =
+        JsonParserUtils.parse(jsonNode, VNF_NAME_EXPRESSION)
+
+    @Benchmark
+    fun parseJsonNodeContainer(): JsonNode =
+        JsonParserUtils.parse(jsonNode, VF_MODULES_EXPRESSION)
+
+    companion object {
+
+        private const val VNF_COUNT = 50
+        private const val VNF_NAME_EXPRESSION = "$.generic-vnfs.generic-vnf[25].vnf-name"
+        private const val VF_MODULES_EXPRESSION = "$.generic-vnfs.generic-vnf[*].vf-modules"
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.benchmarks
+
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core.NetconfMessageDecoder
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.NetconfMessageUtils
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.RpcMessageUtils
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.io.BufferedReader
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.InputStreamReader
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.TimeUnit
+
+/**
+ * Framing of a `<get-config>` reply of [replySize] bytes, as read from the netconf channel, by the char by char
+ * reader the device communicator used before and by [NetconfMessageDecoder] fed with SSH channel reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class NetconfFramingBenchmark {
+
+    @Param("1048576", "8388608")
+    var replySize: Int = 0
+
+    @Param("end-of-message", "chunked")
+    var framing: String = ""
+
+    private lateinit var framedReply: ByteArray
+
+    @Setup
+    fun setup() {
+        val interfaces = StringBuilder()
+        var index = 0
+        while (interfaces.length < replySize) {
+            interfaces.append("<interface><name>ge-0/0/${index++}</name>")
+                .append("<description>uplink é</description></interface>")
+        }
+        val reply = "<rpc-reply message-id=\"1\" ${RpcMessageUtils.NETCONF_BASE_NAMESPACE}><data>" +
+            "<interfaces>$interfaces</interfaces></data></rpc-reply>"
+        val replyBytes = reply.toByteArray(StandardCharsets.UTF_8)
+
+        val framed = ByteArrayOutputStream()
+        if (framing == "chunked") {
+            for (offset in replyBytes.indices step CHUNK_SIZE) {
+                val length = minOf(CHUNK_SIZE, replyBytes.size - offset)
+                framed.write("\n#$length\n".toByteArray(StandardCharsets.US_ASCII))
+                framed.write(replyBytes, offset, length)
+            }
+            framed.write(NetconfMessageUtils.CHUNKED_END_REGEX_PATTERN.toByteArray(StandardCharsets.US_ASCII))
+        } else {
+            framed.write(replyBytes)
+            framed.write(RpcMessageUtils.END_PATTERN.toByteArray(StandardCharsets.US_ASCII))
+        }
+        framedReply = framed.toByteArray()
+    }
+
+    @Benchmark
+    fun charReader(): List<String> =
+        CharReader().read(framedReply)
+
+    @Benchmark
+    fun decoder(): List<String> {
+        val decoder = NetconfMessageDecoder()
+        val replies = arrayListOf<String>()
+        for (offset in framedReply.indices step READ_SIZE) {
+            replies.addAll(decoder.decode(framedReply, offset, minOf(READ_SIZE, framedReply.size - offset)))
+        }
+        return replies
+    }
+
+    /**
+     * Reader of the device communicator before [NetconfMessageDecoder], with the same char state machine
+     */
+    private class CharReader {
+
+        private var state = NO_MATCHING_PATTERN
+
+        fun read(framed: ByteArray): List<String> {
+            val replies = arrayListOf<String>()
+            val bufferReader = BufferedReader(InputStreamReader(ByteArrayInputStream(framed), StandardCharsets.UTF_8))
+            val deviceReplyBuilder = StringBuilder()
+            while (true) {
+                val cInt = bufferReader.read()
+                if (cInt == -1) break
+                val c = cInt.toChar()
+                state = evaluateChar(state, c)
+                deviceReplyBuilder.append(c)
+                if (state == END_PATTERN) {
+                    replies.add(deviceReplyBuilder.toString().replace(RpcMessageUtils.END_PATTERN, ""))
+                    deviceReplyBuilder.setLength(0)
+                } else if (state == END_CHUNKED_PATTERN) {
+                    var deviceReply = deviceReplyBuilder.toString()
+                    check(NetconfMessageUtils.validateChunkedFraming(deviceReply)) { "badly framed message" }
+                    deviceReply = deviceReply.replace(RpcMessageUtils.MSGLEN_REGEX_PATTERN.toRegex(), "")
+                    deviceReply = deviceReply.replace(NetconfMessageUtils.CHUNKED_END_REGEX_PATTERN.toRegex(), "")
+                    replies.add(deviceReply)
+                    deviceReplyBuilder.setLength(0)
+                }
+            }
+            return replies
+        }
+
+        private fun evaluateChar(state: Int, c: Char): Int = when (state) {
+            NO_MATCHING_PATTERN -> when (c) {
+                ']' -> FIRST_BRACKET
+                '\n' -> FIRST_LF
+                else -> NO_MATCHING_PATTERN
+            }
+            FIRST_BRACKET -> if (c == ']') SECOND_BRACKET else NO_MATCHING_PATTERN
+            SECOND_BRACKET -> if (c == '>') FIRST_BIGGER else NO_MATCHING_PATTERN
+            FIRST_BIGGER -> if (c == ']') THIRD_BRACKET else NO_MATCHING_PATTERN
+            THIRD_BRACKET -> if (c == ']') ENDING_BIGGER else NO_MATCHING_PATTERN
+            ENDING_BIGGER -> if (c == '>') END_PATTERN else NO_MATCHING_PATTERN
+            FIRST_LF -> when (c) {
+                '#' -> FIRST_HASH
+                ']' -> FIRST_BRACKET
+                '\n' -> FIRST_LF
+                else -> NO_MATCHING_PATTERN
+            }
+            FIRST_HASH -> if (c == '#') SECOND_HASH else NO_MATCHING_PATTERN
+            SECOND_HASH -> if (c == '\n') END_CHUNKED_PATTERN else NO_MATCHING_PATTERN
+            else -> NO_MATCHING_PATTERN
+        }
+
+        companion object {
+
+            private const val NO_MATCHING_PATTERN = 0
+            private const val FIRST_BRACKET = 1
+            private const val SECOND_BRACKET = 2
+            private const val FIRST_BIGGER = 3
+            private const val THIRD_BRACKET = 4
+            private const val ENDING_BIGGER = 5
+            private const val FIRST_LF = 6
+            private const val FIRST_HASH = 7
+            private const val SECOND_HASH = 8
+            private const val END_CHUNKED_PATTERN = 9
+            private const val END_PATTERN = 10
+        }
+    }
+
+    companion object {
+
+        /** Chunk size of the device replies */
+        private const val CHUNK_SIZE = 65536
+
+        /** Size of the SSH channel reads of the device communicator */
+        private const val READ_SIZE = 32 * 1024
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.benchmarks
+
+import com.fasterxml.jackson.databind.JsonNode
+import kotlinx.coroutines.runBlocking
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
+import org.onap.ccsdk.cds.controllerblueprints.core.asJsonPrimitive
+import org.onap.ccsdk.cds.controllerblueprints.core.service.PropertyAssignmentService
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintMetadataUtils
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonUtils
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+/**
+ * Resolution of the expressions of the node template properties and operation inputs, done on every step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class PropertyAssignmentBenchmark {
+
+    private lateinit var propertyAssignmentService: PropertyAssignmentService
+
+    private val getInputAssignment = JacksonUtils.jsonNode("""{ "get_input": "hostname" }""")
+    private val getAttributeAssignment = JacksonUtils.jsonNode("""{ "get_attribute": ["SELF", "assignment-params"] }""")
+    private val valueAssignment = "resource-assignment".asJsonPrimitive()
+
+    @Setup
+    fun setup() {
+        val bluePrintRuntimeService = runBlocking {
+            BluePrintMetadataUtils.getBluePrintRuntime("benchmark", BenchmarkBlueprints.BASE_CONFIGURATION)
+        }
+        bluePrintRuntimeService.setInputValue("hostname", "benchmark-vnf".asJsonPrimitive())
+        bluePrintRuntimeService.setNodeTemplateAttributeValue(
+            NODE_TEMPLATE_NAME, "assignment-params", JacksonUtils.jsonNode("""{ "hostname": "benchmark-vnf" }""")
+        )
+        propertyAssignmentService = PropertyAssignmentService(bluePrintRuntimeService)
+    }
+
+    @Benchmark
+    fun resolveGetInput(): JsonNode =
+        resolve("resource-id", getInputAssignment)
+
+    @Benchmark
+    fun resolveGetAttribute(): JsonNode =
+        resolve("resource-assignment-params", getAttributeAssignment)
+
+    @Benchmark
+    fun resolveValue(): JsonNode =
+        resolve("resource-type", valueAssignment)
+
+    private fun resolve(assignmentName: String, assignment: JsonNode): JsonNode =
+        propertyAssignmentService.resolveAssignmentExpression(
+            BluePrintConstants.MODEL_DEFINITION_TYPE_NODE_TEMPLATE, NODE_TEMPLATE_NAME, assignmentName, assignment
+        )
+
+    companion object {
+
+        private const val NODE_TEMPLATE_NAME = "resource-assignment"
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.benchmarks
+
+import com.fasterxml.jackson.databind.JsonNode
+import io.mockk.mockk
+import kotlinx.coroutines.runBlocking
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.ResourceResolutionConstants
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.ResourceResolutionServiceImpl
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.db.ResourceResolutionDBService
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.db.ResourceResolutionRepository
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.db.TemplateResolutionRepository
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.db.TemplateResolutionService
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.processor.DefaultResourceResolutionProcessor
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.processor.InputResourceResolutionProcessor
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.utils.ResourceAssignmentUtils
+import org.onap.ccsdk.cds.controllerblueprints.core.asJsonPrimitive
+import org.onap.ccsdk.cds.controllerblueprints.core.config.BluePrintLoadConfiguration
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintRuntimeService
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintTemplateService
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintMetadataUtils
+import org.onap.ccsdk.cds.controllerblueprints.resource.dict.ResourceAssignment
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import org.springframework.beans.factory.config.BeanDefinition
+import org.springframework.beans.factory.config.BeanDefinitionCustomizer
+import org.springframework.context.support.GenericApplicationContext
+import java.util.concurrent.TimeUnit
+
+/**
+ * Full resolution of the maxoccurrence artifact of the baseconfiguration blueprint, from the mapping to the
+ * rendered template, with the input and default sources and without storing the result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class ResourceResolutionBenchmark {
+
+    private lateinit var applicationContext: GenericApplicationContext
+    private lateinit var resourceResolutionService: ResourceResolutionServiceImpl
+    private lateinit var bluePrintRuntimeService: BluePrintRuntimeService<MutableMap<String, JsonNode>>
+
+    private val properties = mapOf<String, Any>(
+        ResourceResolutionConstants.RESOURCE_RESOLUTION_INPUT_STORE_RESULT to false,
+        ResourceResolutionConstants.RESOURCE_RESOLUTION_INPUT_OCCURRENCE to 1
+    )
+
+    @Setup
+    fun setup() {
+        // Only the sources used by the benchmark, the processors are prototypes as in the application
+        applicationContext = GenericApplicationContext()
+        val prototype = BeanDefinitionCustomizer { it.scope = BeanDefinition.SCOPE_PROTOTYPE }
+        applicationContext.registerBean(
+            "${ResourceResolutionConstants.PREFIX_RESOURCE_RESOLUTION_PROCESSOR}source-input",
+            InputResourceResolutionProcessor::class.java, prototype
+        )
+        applicationContext.registerBean(
+            "${ResourceResolutionConstants.PREFIX_RESOURCE_RESOLUTION_PROCESSOR}source-default",
+            DefaultResourceResolutionProcessor::class.java, prototype
+        )
+        applicationContext.refresh()
+
+        val bluePrintLoadConfiguration = BluePrintLoadConfiguration().apply {
+            blueprintDeployPath = "target/blueprints/deploy"
+            blueprintArchivePath = "target/blueprints/archive"
+            blueprintWorkingPath = "target/blueprints/work"
+        }
+        // The result is not stored, the database services are never called
+        resourceResolutionService = ResourceResolutionServiceImpl(
+            applicationContext,
+            TemplateResolutionService(mockk<TemplateResolutionRepository>()),
+            BluePrintTemplateService(bluePrintLoadConfiguration),
+            ResourceResolutionDBService(mockk<ResourceResolutionRepository>())
+        )
+
+        bluePrintRuntimeService = runBlocking {
+            BluePrintMetadataUtils.getBluePrintRuntime("benchmark", BenchmarkBlueprints.BASE_CONFIGURATION)
+        }
+        bluePrintRuntimeService.setInputValue("firmware-version", "firmware-version-0".asJsonPrimitive())
+        bluePrintRuntimeService.setInputValue("ip-address", "192.0.0.1".asJsonPrimitive())
+    }
+
+    @TearDown
+    fun tearDown() {
+        applicationContext.close()
+    }
+
+    @Benchmark
+    fun resolveResources(): Pair<String, MutableList<ResourceAssignment>> = runBlocking {
+        val resourceAssignmentRuntimeService =
+            ResourceAssignmentUtils.transformToRARuntimeService(bluePrintRuntimeService, ARTIFACT_PREFIX)
+        resourceResolutionService.resolveResources(
+            resourceAssignmentRuntimeService, NODE_TEMPLATE_NAME, ARTIFACT_PREFIX, properties
+        )
+    }
+
+    companion object {
+
+        private const val NODE_TEMPLATE_NAME = "resource-assignment"
+        private const val ARTIFACT_PREFIX = "maxoccurrence"
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.benchmarks
+
+import com.fasterxml.jackson.databind.node.ObjectNode
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintJinjaTemplateService
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintVelocityTemplateService
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonUtils
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.util.concurrent.TimeUnit
+
+/**
+ * Rendering of a configuration template from the resolved resources, with [interfaceCount] interfaces to render.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+open class TemplateBenchmark {
+
+    @Param("10", "100")
+    var interfaceCount: Int = 0
+
+    private lateinit var velocityTemplate: String
+    private lateinit var jinjaTemplate: String
+    private lateinit var json: String
+
+    @Setup
+    fun setup() {
+        velocityTemplate = JacksonUtils.getClassPathFileContent("templates/interfaces-template.vtl")
+        jinjaTemplate = JacksonUtils.getClassPathFileContent("templates/interfaces-template.jinja")
+
+        val resolvedResources = JacksonUtils.objectMapper.createObjectNode()
+        resolvedResources.put("hostname", "benchmark-vnf")
+        val interfaces = resolvedResources.putArray("interfaces")
+        repeat(interfaceCount) { index ->
+            val anInterface: ObjectNode = interfaces.addObject()
+            anInterface.put("name", "GigabitEthernet0/$index")
+            anInterface.put("description", "interface $index")
+            anInterface.put("ip-address", "10.0.${index / 256}.${index % 256}")
+            anInterface.put("prefix-length", 24)
+            anInterface.put("enabled", index % 2 == 0)
+        }
+        json = resolvedResources.toString()
+    }
+
+    @Benchmark
+    fun velocityGenerateContent(): String =
+        BluePrintVelocityTemplateService.generateContent(
+            velocityTemplate, json, blueprintKey = BLUEPRINT_KEY, artifactName = "interfaces-template"
+        )
+
+    @Benchmark
+    fun jinjaGenerateContent(): String =
+        BluePrintJinjaTemplateService.generateContent(jinjaTemplate, json, false, mutableMapOf())
+
+    companion object {
+
+        private const val BLUEPRINT_KEY = "benchmark"
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.workflow.audit
+
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.workflow.audit.db.BlueprintWorkflowAuditStatus
+import java.util.Date
+
+/**
+ * What to do with an audit record when the write behind queue is full
+ */
+enum class AuditOverflowPolicy {
+    /** Suspend the request until the writer catches up */
+    BLOCK,
+    /** Drop the record and count it */
+    DROP,
+    /** Append the record to a local file, replayed once the database keeps up again */
+    SPILL
+}
+
+open class AuditWriteBehindProperties {
+
+    var enabled: Boolean = false
+    var queueSize: Int = 10000
+    var batchSize: Int = 100
+    var overflowPolicy: AuditOverflowPolicy = AuditOverflowPolicy.BLOCK
+    var spillPath: String = ""
+    var spillReplayIntervalMs: Long = 30000
+    var shutdownTimeoutMs: Long = 10000
+}
+
+/**
+ * Audit record waiting to be written, [ticket] is the id handed back to the request
+ */
+sealed class AuditEvent(val ticket: Long) {
+
+    class Input(ticket: Long, val auditStatus: BlueprintWorkflowAuditStatus) : AuditEvent(ticket)
+
+    /** [requestId] and [subRequestId] find the stored input when the [ticket] is not known to this process */
+    class Output(
+        ticket: Long,
+        val requestId: String?,
+        val subRequestId: String?,
+        val endDate: Date,
+        val workflowResponseContent: Lazy<String>
+    ) : AuditEvent(ticket)
+}
+
+/**
+ * One line of the spill file, either an [auditStatus] input or the output of a [ticket]
+ */
+data class AuditSpillRecord(
+    val ticket: Long,
+    val auditStatus: BlueprintWorkflowAuditStatus? = null,
+    val requestId: String? = null,
+    val subRequestId: String? = null,
+    val endDate: Date? = null,
+    val workflowResponseContent: String? = null
+)
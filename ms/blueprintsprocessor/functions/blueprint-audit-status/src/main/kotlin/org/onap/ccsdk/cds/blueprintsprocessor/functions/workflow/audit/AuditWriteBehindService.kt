@@ -0,0 +1,421 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.workflow.audit
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import jakarta.annotation.PostConstruct
+import jakarta.annotation.PreDestroy
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.channels.ClosedSendChannelException
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import kotlinx.coroutines.withTimeoutOrNull
+import org.onap.ccsdk.cds.blueprintsprocessor.core.BluePrintPropertiesService
+import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.ExecutionServiceInput
+import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.ExecutionServiceOutput
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.workflow.audit.db.BlueprintAuditStatusRepository
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.workflow.audit.db.BlueprintWorkflowAuditStatus
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonUtils
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.controllerDate
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.stereotype.Service
+import java.io.File
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Writes workflow audit records behind the requests: records are queued in a bounded channel and a
+ * single writer stores them in batches, so request latency does not depend on the audit database.
+ * Input and output of a workflow that land in the same batch are inserted as one completed record.
+ */
+@ConditionalOnProperty(
+    name = [
+        "blueprintsprocessor.workflow.self-service-api.audit.storeEnable",
+        "${DatabaseStoreAuditConstants.PREFIX_AUDIT_WRITE_BEHIND}.enabled"
+    ],
+    havingValue = "true"
+)
+@Service
+open class AuditWriteBehindService(
+    private val blueprintAuditStatusRepository: BlueprintAuditStatusRepository,
+    private val properties: AuditWriteBehindProperties,
+    private val meterRegistry: MeterRegistry
+) {
+
+    @Autowired
+    constructor(
+        blueprintAuditStatusRepository: BlueprintAuditStatusRepository,
+        bluePrintPropertiesService: BluePrintPropertiesService,
+        meterRegistry: MeterRegistry
+    ) : this(
+        blueprintAuditStatusRepository,
+        bluePrintPropertiesService.propertyBeanType(
+            DatabaseStoreAuditConstants.PREFIX_AUDIT_WRITE_BEHIND,
+            AuditWriteBehindProperties::class.java
+        ),
+        meterRegistry
+    )
+
+    private val log = LoggerFactory.getLogger(AuditWriteBehindService::class.toString())
+
+    private val objectMapper = ObjectMapper()
+
+    /** Tickets are seeded from the start time, so records spilled by a previous run never collide with new ones */
+    private val tickets = AtomicLong(System.currentTimeMillis() * 1000)
+
+    private val queued = AtomicInteger()
+
+    private val auditEvents = Channel<AuditEvent>(properties.queueSize)
+
+    /** Database id of the stored inputs still waiting for their output, by ticket */
+    private val storedIds: Cache<Long, Long> = CacheBuilder.newBuilder()
+        .expireAfterWrite(1, TimeUnit.DAYS)
+        .build()
+
+    private val spillFile = File(properties.spillPath, SPILL_FILE)
+
+    private val replayFile = File(properties.spillPath, "$SPILL_FILE.replay")
+
+    private val spillMutex = Mutex()
+
+    private val writerScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
+    private lateinit var writer: Job
+
+    @PostConstruct
+    fun start() {
+        check(properties.queueSize > 0 && properties.batchSize > 0) {
+            "audit write behind queueSize and batchSize should be positive"
+        }
+        check(properties.overflowPolicy != AuditOverflowPolicy.SPILL || properties.spillPath.isNotBlank()) {
+            "audit write behind spillPath is required for overflow policy ${AuditOverflowPolicy.SPILL}"
+        }
+        meterRegistry.gauge(DatabaseStoreAuditConstants.AUDIT_STORE_QUEUED_GAUGE, queued)
+        writer = writerScope.launch { writeEvents() }
+        if (properties.overflowPolicy == AuditOverflowPolicy.SPILL) {
+            writerScope.launch {
+                while (isActive) {
+                    replaySpilledEvents()
+                    delay(properties.spillReplayIntervalMs)
+                }
+            }
+        }
+        log.info(
+            "audit write behind started, queueSize(${properties.queueSize}) batchSize(${properties.batchSize}) " +
+                "overflowPolicy(${properties.overflowPolicy})"
+        )
+    }
+
+    /** Stop accepting records and give the writer a chance to store what is already queued */
+    @PreDestroy
+    fun shutdown() = runBlocking {
+        auditEvents.close()
+        withTimeoutOrNull(properties.shutdownTimeoutMs) { writer.join() }
+            ?: log.warn("audit write behind stopped with ${queued.get()} records not stored")
+        writerScope.cancel()
+    }
+
+    /**
+     * Queue the workflow input and return its ticket, to be passed back with the output
+     * @param executionServiceInput {@link ExecutionServiceInput}
+     */
+    suspend fun storeExecutionInput(executionServiceInput: ExecutionServiceInput): Long {
+        val auditStatus = BlueprintWorkflowAuditStatus()
+        auditStatus.originatorId = executionServiceInput.commonHeader.originatorId
+        auditStatus.requestId = executionServiceInput.commonHeader.requestId
+        auditStatus.subRequestId = executionServiceInput.commonHeader.subRequestId
+        auditStatus.workflowName = executionServiceInput.actionIdentifiers.actionName
+        auditStatus.blueprintName = executionServiceInput.actionIdentifiers.blueprintName
+        auditStatus.blueprintVersion = executionServiceInput.actionIdentifiers.blueprintVersion
+        auditStatus.workflowTaskContent = executionServiceInput.payload.toString()
+        auditStatus.status = DatabaseStoreAuditConstants.WORKFLOW_STATUS_INPROGRESS
+        auditStatus.startDate = controllerDate()
+        auditStatus.endDate = auditStatus.startDate
+        auditStatus.updatedDate = auditStatus.startDate
+        auditStatus.updatedBy = DatabaseStoreAuditConstants.WORKFLOW_STATUS_UPDATEDBY
+        auditStatus.requestMode = executionServiceInput.actionIdentifiers.mode
+        auditStatus.workflowResponseContent = ""
+
+        val ticket = tickets.incrementAndGet()
+        enqueue(AuditEvent.Input(ticket, auditStatus))
+        return ticket
+    }
+
+    /**
+     * Queue the workflow output of [ticket], the output is serialized by the writer
+     * @param ticket returned by [storeExecutionInput]
+     * @param executionServiceOutput {@link ExecutionServiceOutput}
+     */
+    suspend fun storeExecutionOutput(ticket: Long, executionServiceOutput: ExecutionServiceOutput) {
+        val workflowResponseContent = lazy { objectMapper.writeValueAsString(executionServiceOutput) }
+        enqueue(
+            AuditEvent.Output(
+                ticket,
+                executionServiceOutput.commonHeader.requestId,
+                executionServiceOutput.commonHeader.subRequestId,
+                controllerDate(),
+                workflowResponseContent
+            )
+        )
+    }
+
+    private suspend fun enqueue(auditEvent: AuditEvent) {
+        queued.incrementAndGet()
+        val queuedEvent = when (properties.overflowPolicy) {
+            AuditOverflowPolicy.BLOCK -> try {
+                auditEvents.send(auditEvent)
+                true
+            } catch (e: ClosedSendChannelException) {
+                false
+            }
+            else -> auditEvents.trySend(auditEvent).isSuccess
+        }
+        if (!queuedEvent) {
+            queued.decrementAndGet()
+            if (properties.overflowPolicy == AuditOverflowPolicy.SPILL && !auditEvents.isClosedForSend) {
+                spill(listOf(auditEvent))
+            } else {
+                drop(listOf(auditEvent), "audit queue is full or closed")
+            }
+        }
+    }
+
+    private suspend fun writeEvents() {
+        for (auditEvent in auditEvents) {
+            val batch = mutableListOf(auditEvent)
+            while (batch.size < properties.batchSize) {
+                batch.add(auditEvents.tryReceive().getOrNull() ?: break)
+            }
+            queued.addAndGet(-batch.size)
+            writeBatch(batch, false)
+        }
+    }
+
+    /**
+     * Outputs whose input is neither in the batch nor stored are spilled, unless they come from the spill file.
+     * Replayed outputs may belong to an input stored by a previous run, those are looked up in the database.
+     * An output merged into its input is spilled with that input only, so a replay stores the pair as one record.
+     */
+    private suspend fun writeBatch(batch: List<AuditEvent>, replayed: Boolean) {
+        val newAuditStatuses = linkedMapOf<Long, BlueprintWorkflowAuditStatus>()
+        val completedAuditStatuses = linkedMapOf<Long, BlueprintWorkflowAuditStatus>()
+        val merged = mutableListOf<AuditEvent>()
+        val unmatched = mutableListOf<AuditEvent>()
+        val invalid = mutableListOf<AuditEvent>()
+        val lookupFailed = mutableListOf<AuditEvent>()
+
+        batch.forEach { auditEvent ->
+            when (auditEvent) {
+                is AuditEvent.Input -> newAuditStatuses[auditEvent.ticket] = auditEvent.auditStatus
+                is AuditEvent.Output -> {
+                    val storedId = if (newAuditStatuses.containsKey(auditEvent.ticket)) {
+                        null
+                    } else {
+                        try {
+                            storedInputId(auditEvent, replayed)
+                        } catch (e: Exception) {
+                            log.error("failed to look up the stored input of audit ticket(${auditEvent.ticket})", e)
+                            lookupFailed.add(auditEvent)
+                            return@forEach
+                        }
+                    }
+                    val auditStatus = newAuditStatuses[auditEvent.ticket]
+                        ?: storedId?.let { id ->
+                            BlueprintWorkflowAuditStatus().also {
+                                it.id = id
+                                completedAuditStatuses[auditEvent.ticket] = it
+                            }
+                        }
+                    if (auditStatus == null) {
+                        unmatched.add(auditEvent)
+                    } else {
+                        try {
+                            auditStatus.workflowResponseContent = auditEvent.workflowResponseContent.value
+                            auditStatus.status = DatabaseStoreAuditConstants.WORKFLOW_STATUS_COMPLETED
+                            auditStatus.endDate = auditEvent.endDate
+                            auditStatus.updatedDate = auditEvent.endDate
+                            if (storedId == null) merged.add(auditEvent)
+                        } catch (e: Exception) {
+                            log.error("failed to serialize workflow output of audit ticket(${auditEvent.ticket})", e)
+                            completedAuditStatuses.remove(auditEvent.ticket)
+                            invalid.add(auditEvent)
+                        }
+                    }
+                }
+            }
+        }
+
+        if (newAuditStatuses.isNotEmpty() || completedAuditStatuses.isNotEmpty()) {
+            val sample = Timer.start()
+            try {
+                blueprintAuditStatusRepository.writeAll(
+                    newAuditStatuses.values.toList(),
+                    completedAuditStatuses.values.toList()
+                )
+                newAuditStatuses.forEach { (ticket, auditStatus) ->
+                    if (auditStatus.status == DatabaseStoreAuditConstants.WORKFLOW_STATUS_INPROGRESS) {
+                        storedIds.put(ticket, auditStatus.id)
+                    }
+                }
+                storedIds.invalidateAll(completedAuditStatuses.keys)
+                meterRegistry.counter(DatabaseStoreAuditConstants.AUDIT_STORE_WRITTEN_COUNTER)
+                    .increment((newAuditStatuses.size + completedAuditStatuses.size).toDouble())
+            } catch (e: Exception) {
+                val failed = batch - unmatched - invalid - lookupFailed
+                log.error("failed to write ${failed.size} BLUEPRINT_WORKFLOW_AUDIT_STATUS records", e)
+                meterRegistry.counter(DatabaseStoreAuditConstants.AUDIT_STORE_FAILED_COUNTER)
+                    .increment(failed.size.toDouble())
+                if (properties.overflowPolicy == AuditOverflowPolicy.SPILL) {
+                    spill(failed - merged)
+                }
+            } finally {
+                sample.stop(meterRegistry.timer(DatabaseStoreAuditConstants.AUDIT_STORE_BATCH_TIMER))
+            }
+        }
+
+        if (unmatched.isNotEmpty()) {
+            if (properties.overflowPolicy == AuditOverflowPolicy.SPILL && !replayed) {
+                spill(unmatched)
+            } else {
+                drop(unmatched, "workflow input was not stored")
+            }
+        }
+        if (invalid.isNotEmpty()) {
+            drop(invalid, "workflow output could not be serialized")
+        }
+        if (lookupFailed.isNotEmpty()) {
+            spill(lookupFailed)
+        }
+    }
+
+    /**
+     * Database id of the input stored for [output]. Inputs stored by a previous run are not in [storedIds],
+     * a replayed output then completes the latest record of its sub request still in progress.
+     */
+    private suspend fun storedInputId(output: AuditEvent.Output, replayed: Boolean): Long? {
+        storedIds.getIfPresent(output.ticket)?.let { return it }
+        if (!replayed || output.requestId == null || output.subRequestId == null) {
+            return null
+        }
+        return withContext(Dispatchers.IO) {
+            blueprintAuditStatusRepository.findByRequestIdAndSubRequestId(output.requestId, output.subRequestId)
+                .filter { it.status == DatabaseStoreAuditConstants.WORKFLOW_STATUS_INPROGRESS }
+                .maxByOrNull { it.id }?.id
+        }
+    }
+
+    private suspend fun spill(auditEvents: List<AuditEvent>) {
+        try {
+            val lines = auditEvents.joinToString(separator = "") { JacksonUtils.getJson(spillRecord(it)) + "\n" }
+            spillMutex.withLock {
+                withContext(Dispatchers.IO) {
+                    spillFile.parentFile.mkdirs()
+                    spillFile.appendText(lines)
+                }
+            }
+            meterRegistry.counter(DatabaseStoreAuditConstants.AUDIT_STORE_SPILLED_COUNTER)
+                .increment(auditEvents.size.toDouble())
+        } catch (e: Exception) {
+            log.error("failed to spill audit records to (${spillFile.absolutePath})", e)
+            drop(auditEvents, "spill failed")
+        }
+    }
+
+    /** Take the spilled records written so far and store them in order, a file left by a previous run goes first */
+    suspend fun replaySpilledEvents() {
+        val spilledEvents = spillMutex.withLock {
+            withContext(Dispatchers.IO) {
+                if (!replayFile.exists() && spillFile.exists()) {
+                    spillFile.renameTo(replayFile)
+                }
+                if (replayFile.exists()) {
+                    val lines = replayFile.readLines()
+                    replayFile.delete()
+                    lines
+                } else {
+                    emptyList()
+                }
+            }
+        }.filter { it.isNotBlank() }
+            .mapNotNull { line ->
+                try {
+                    auditEvent(JacksonUtils.readValue(line, AuditSpillRecord::class.java)!!)
+                } catch (e: Exception) {
+                    log.error("skipping unreadable spilled audit record: $line", e)
+                    null
+                }
+            }
+
+        if (spilledEvents.isNotEmpty()) {
+            log.info("replaying ${spilledEvents.size} spilled audit records")
+            spilledEvents.chunked(properties.batchSize).forEach { writeBatch(it, true) }
+        }
+    }
+
+    private fun drop(auditEvents: List<AuditEvent>, reason: String) {
+        log.warn("dropped ${auditEvents.size} audit records, $reason")
+        meterRegistry.counter(DatabaseStoreAuditConstants.AUDIT_STORE_DROPPED_COUNTER)
+            .increment(auditEvents.size.toDouble())
+    }
+
+    private fun spillRecord(auditEvent: AuditEvent): AuditSpillRecord = when (auditEvent) {
+        is AuditEvent.Input -> AuditSpillRecord(auditEvent.ticket, auditStatus = auditEvent.auditStatus)
+        is AuditEvent.Output -> AuditSpillRecord(
+            auditEvent.ticket,
+            requestId = auditEvent.requestId,
+            subRequestId = auditEvent.subRequestId,
+            endDate = auditEvent.endDate,
+            workflowResponseContent = auditEvent.workflowResponseContent.value
+        )
+    }
+
+    private fun auditEvent(spillRecord: AuditSpillRecord): AuditEvent {
+        return spillRecord.auditStatus?.let {
+            // An id may have been generated by a rolled back insert
+            it.id = 0
+            AuditEvent.Input(spillRecord.ticket, it)
+        } ?: AuditEvent.Output(
+            spillRecord.ticket,
+            spillRecord.requestId,
+            spillRecord.subRequestId,
+            checkNotNull(spillRecord.endDate) { "missing endDate" },
+            lazyOf(checkNotNull(spillRecord.workflowResponseContent) { "missing workflowResponseContent" })
+        )
+    }
+
+    companion object {
+
+        const val SPILL_FILE = "audit-spill.jsonl"
+    }
+}
@@ -24,4 +24,20 @@ object DatabaseStoreAuditConstants {
     const val WORKFLOW_STATUS_INPROGRESS = "In Progress"
     const val WORKFLOW_STATUS_COMPLETED = "Completed"
     const val WORKFLOW_STATUS_UPDATEDBY = "CBA"
+
+    const val PREFIX_AUDIT_WRITE_BEHIND = "blueprintsprocessor.workflow.self-service-api.audit.writeBehind"
+
+    private const val METRIC_PREFIX = "cds.audit.store"
+
+    // GAUGES
+    const val AUDIT_STORE_QUEUED_GAUGE = "$METRIC_PREFIX.queued"
+
+    // COUNTERS
+    const val AUDIT_STORE_WRITTEN_COUNTER = "$METRIC_PREFIX.written"
+    const val AUDIT_STORE_DROPPED_COUNTER = "$METRIC_PREFIX.dropped"
+    const val AUDIT_STORE_SPILLED_COUNTER = "$METRIC_PREFIX.spilled"
+    const val AUDIT_STORE_FAILED_COUNTER = "$METRIC_PREFIX.failed"
+
+    // TIMERS
+    const val AUDIT_STORE_BATCH_TIMER = "$METRIC_PREFIX.batch"
 }
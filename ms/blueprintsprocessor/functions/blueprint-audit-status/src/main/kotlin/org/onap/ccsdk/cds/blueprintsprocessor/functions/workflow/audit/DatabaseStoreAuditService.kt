@@ -32,7 +32,8 @@ import org.springframework.stereotype.Service
 import java.util.Date
 
 /**
- * Workflow request and response details are persisted to database
+ * Workflow request and response details are persisted to database, directly or through the
+ * [AuditWriteBehindService] when it is enabled.
  */
 @ConditionalOnProperty(
     name = ["blueprintsprocessor.workflow.self-service-api.audit.storeEnable"],
@@ -40,20 +41,26 @@ import java.util.Date
 )
 @Service
 class DatabaseStoreAuditService(
-    private val blueprintAuditStatusRepository: BlueprintAuditStatusRepository
+    private val blueprintAuditStatusRepository: BlueprintAuditStatusRepository,
+    private val auditWriteBehindService: AuditWriteBehindService? = null
 ) : StoreAuditService {
 
     private val log =
         LoggerFactory.getLogger(DatabaseStoreAuditService::class.toString())
 
+    private val objectMapper = ObjectMapper()
+
     /**
      * store the blueprint workflow input details to database
      * @param executionServiceInput {@link ExecutionServiceInput}
+     * @return stored record id, or the write behind ticket when records are written behind
      * @throws {@link BluePrintException}
      */
     override suspend fun storeExecutionInput(
         executionServiceInput: ExecutionServiceInput
     ): Long {
+        auditWriteBehindService?.let { return it.storeExecutionInput(executionServiceInput) }
+
         log.info(
             "storeExecutionInput called to store the Workflow action " +
                 "input details "
@@ -94,6 +101,8 @@ class DatabaseStoreAuditService(
                 "output details correlationUUID $correlationUUID " +
                 "auditStoreId $auditStoreId"
         )
+        auditWriteBehindService?.let { return it.storeExecutionOutput(auditStoreId, executionServiceOutput) }
+
         try {
             var storedAuditStatus: BlueprintWorkflowAuditStatus
 
@@ -105,8 +114,7 @@ class DatabaseStoreAuditService(
             storedAuditStatus.endDate = controllerDate()
             storedAuditStatus.status = DatabaseStoreAuditConstants.WORKFLOW_STATUS_COMPLETED
             storedAuditStatus.updatedDate = controllerDate()
-            ObjectMapper().writeValueAsString(executionServiceOutput.status)
-            storedAuditStatus.workflowResponseContent = ObjectMapper()
+            storedAuditStatus.workflowResponseContent = objectMapper
                 .writeValueAsString(executionServiceOutput)
 
             log.info(
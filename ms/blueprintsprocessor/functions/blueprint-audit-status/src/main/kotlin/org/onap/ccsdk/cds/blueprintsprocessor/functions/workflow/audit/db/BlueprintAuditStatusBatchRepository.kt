@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.workflow.audit.db
+
+import jakarta.persistence.EntityManager
+import jakarta.persistence.PersistenceContext
+import jakarta.transaction.Transactional
+
+interface BlueprintAuditStatusBatchRepository {
+
+    /**
+     * Insert [newAuditStatuses] and complete the already stored [completedAuditStatuses] in a single
+     * transaction, instead of one transaction and flush per workflow record.
+     * Generated ids are set on [newAuditStatuses] when this returns.
+     */
+    fun writeAll(
+        newAuditStatuses: List<BlueprintWorkflowAuditStatus>,
+        completedAuditStatuses: List<BlueprintWorkflowAuditStatus>
+    )
+}
+
+open class BlueprintAuditStatusBatchRepositoryImpl : BlueprintAuditStatusBatchRepository {
+
+    @PersistenceContext
+    private lateinit var entityManager: EntityManager
+
+    /** Completed records only carry their id and output, update them without reading the stored record first */
+    @Transactional
+    override fun writeAll(
+        newAuditStatuses: List<BlueprintWorkflowAuditStatus>,
+        completedAuditStatuses: List<BlueprintWorkflowAuditStatus>
+    ) {
+        newAuditStatuses.forEach { entityManager.persist(it) }
+        entityManager.flush()
+        completedAuditStatuses.forEach {
+            entityManager.createQuery(COMPLETE_AUDIT_STATUS)
+                .setParameter("id", it.id)
+                .setParameter("status", it.status)
+                .setParameter("endDate", it.endDate)
+                .setParameter("updatedDate", it.updatedDate)
+                .setParameter("workflowResponseContent", it.workflowResponseContent)
+                .executeUpdate()
+        }
+    }
+
+    companion object {
+
+        private const val COMPLETE_AUDIT_STATUS =
+            "UPDATE BlueprintWorkflowAuditStatus s SET s.status = :status, s.endDate = :endDate, " +
+                "s.updatedDate = :updatedDate, s.workflowResponseContent = :workflowResponseContent " +
+                "WHERE s.id = :id"
+    }
+}
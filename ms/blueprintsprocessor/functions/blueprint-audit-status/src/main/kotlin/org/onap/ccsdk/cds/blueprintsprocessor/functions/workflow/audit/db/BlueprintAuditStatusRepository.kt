@@ -25,7 +25,7 @@ import jakarta.transaction.Transactional
  */
 @Repository
 interface BlueprintAuditStatusRepository :
-    JpaRepository<BlueprintWorkflowAuditStatus, String> {
+    JpaRepository<BlueprintWorkflowAuditStatus, String>, BlueprintAuditStatusBatchRepository {
 
     /**
      * retireve records based on primary key ID.
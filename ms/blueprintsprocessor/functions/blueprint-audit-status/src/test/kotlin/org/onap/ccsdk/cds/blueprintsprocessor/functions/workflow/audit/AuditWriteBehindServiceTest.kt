@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.workflow.audit
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.verify
+import kotlinx.coroutines.runBlocking
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.ExecutionServiceInput
+import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.ExecutionServiceOutput
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.workflow.audit.db.BlueprintAuditStatusRepository
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.workflow.audit.db.BlueprintWorkflowAuditStatus
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonUtils
+import java.io.File
+import java.util.Date
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class AuditWriteBehindServiceTest {
+
+    @get:Rule
+    val spillFolder = TemporaryFolder()
+
+    private val blueprintAuditStatusRepository =
+        mockk<BlueprintAuditStatusRepository>()
+
+    private val meterRegistry = SimpleMeterRegistry()
+
+    private val executionServiceInput = JacksonUtils.readValueFromClassPathFile(
+        "exec-serv-input/multistep-input.json",
+        ExecutionServiceInput::class.java
+    )!!
+
+    private val executionServiceOutput = JacksonUtils.readValueFromClassPathFile(
+        "exec-serv-output/multistep-output.json",
+        ExecutionServiceOutput::class.java
+    )!!
+
+    @Test
+    fun storeInputAndOutputInOneInsertTest() {
+        val newAuditStatuses = mutableListOf<BlueprintWorkflowAuditStatus>()
+        val completedAuditStatuses = mutableListOf<BlueprintWorkflowAuditStatus>()
+        every { blueprintAuditStatusRepository.writeAll(any(), any()) } answers {
+            newAuditStatuses.addAll(firstArg())
+            completedAuditStatuses.addAll(secondArg())
+        }
+        val auditWriteBehindService = auditWriteBehindService(AuditOverflowPolicy.BLOCK, 10)
+
+        runBlocking {
+            val ticket = auditWriteBehindService.storeExecutionInput(executionServiceInput)
+            auditWriteBehindService.storeExecutionOutput(ticket, executionServiceOutput)
+        }
+        auditWriteBehindService.start()
+        auditWriteBehindService.shutdown()
+
+        verify(exactly = 1) { blueprintAuditStatusRepository.writeAll(any(), any()) }
+        assertEquals(1, newAuditStatuses.size, "failed to merge workflow input and output")
+        assertTrue(completedAuditStatuses.isEmpty(), "unexpected update of a stored record")
+        assertEquals(DatabaseStoreAuditConstants.WORKFLOW_STATUS_COMPLETED, newAuditStatuses[0].status)
+        assertEquals(executionServiceInput.commonHeader.requestId, newAuditStatuses[0].requestId)
+        assertTrue(newAuditStatuses[0].workflowResponseContent.isNotEmpty(), "failed to store workflow output")
+    }
+
+    @Test
+    fun dropWhenQueueIsFullTest() {
+        val auditWriteBehindService = auditWriteBehindService(AuditOverflowPolicy.DROP, 1)
+
+        runBlocking {
+            auditWriteBehindService.storeExecutionInput(executionServiceInput)
+            auditWriteBehindService.storeExecutionInput(executionServiceInput)
+        }
+
+        assertEquals(
+            1.0, meterRegistry.counter(DatabaseStoreAuditConstants.AUDIT_STORE_DROPPED_COUNTER).count(),
+            "failed to count dropped audit record"
+        )
+    }
+
+    @Test
+    fun spillWhenQueueIsFullAndReplayTest() {
+        val newAuditStatuses = mutableListOf<BlueprintWorkflowAuditStatus>()
+        every { blueprintAuditStatusRepository.writeAll(any(), any()) } answers {
+            newAuditStatuses.addAll(firstArg())
+        }
+        val auditWriteBehindService = auditWriteBehindService(AuditOverflowPolicy.SPILL, 1)
+
+        runBlocking {
+            auditWriteBehindService.storeExecutionInput(executionServiceInput)
+            auditWriteBehindService.storeExecutionInput(executionServiceInput)
+        }
+        assertEquals(
+            1.0, meterRegistry.counter(DatabaseStoreAuditConstants.AUDIT_STORE_SPILLED_COUNTER).count(),
+            "failed to count spilled audit record"
+        )
+        assertTrue(spillFile().exists(), "audit record not spilled")
+
+        runBlocking { auditWriteBehindService.replaySpilledEvents() }
+
+        assertFalse(spillFile().exists(), "spilled audit record not taken for replay")
+        assertEquals(1, newAuditStatuses.size, "failed to store spilled workflow input")
+        assertEquals(DatabaseStoreAuditConstants.WORKFLOW_STATUS_INPROGRESS, newAuditStatuses[0].status)
+    }
+
+    @Test
+    fun replayOutputOfInputStoredByPreviousRunTest() {
+        val storedAuditStatus = BlueprintWorkflowAuditStatus()
+        storedAuditStatus.id = 42
+        storedAuditStatus.requestId = executionServiceOutput.commonHeader.requestId
+        storedAuditStatus.subRequestId = executionServiceOutput.commonHeader.subRequestId
+        storedAuditStatus.status = DatabaseStoreAuditConstants.WORKFLOW_STATUS_INPROGRESS
+        every {
+            blueprintAuditStatusRepository.findByRequestIdAndSubRequestId(
+                executionServiceOutput.commonHeader.requestId,
+                executionServiceOutput.commonHeader.subRequestId
+            )
+        } returns listOf(storedAuditStatus)
+        val completedAuditStatuses = mutableListOf<BlueprintWorkflowAuditStatus>()
+        every { blueprintAuditStatusRepository.writeAll(any(), any()) } answers {
+            completedAuditStatuses.addAll(secondArg())
+        }
+        // Output of a ticket handed out before a restart, its input is only known to the database
+        val spilledOutput = AuditSpillRecord(
+            1,
+            requestId = executionServiceOutput.commonHeader.requestId,
+            subRequestId = executionServiceOutput.commonHeader.subRequestId,
+            endDate = Date(),
+            workflowResponseContent = JacksonUtils.getJson(executionServiceOutput)
+        )
+        spillFile().writeText(JacksonUtils.getJson(spilledOutput) + "\n")
+        val auditWriteBehindService = auditWriteBehindService(AuditOverflowPolicy.SPILL, 10)
+
+        runBlocking { auditWriteBehindService.replaySpilledEvents() }
+
+        assertEquals(1, completedAuditStatuses.size, "failed to complete the input stored by a previous run")
+        assertEquals(42, completedAuditStatuses[0].id)
+        assertEquals(DatabaseStoreAuditConstants.WORKFLOW_STATUS_COMPLETED, completedAuditStatuses[0].status)
+        assertEquals(
+            0.0, meterRegistry.counter(DatabaseStoreAuditConstants.AUDIT_STORE_DROPPED_COUNTER).count(),
+            "replayed workflow output dropped"
+        )
+    }
+
+    @Test
+    fun replayMergedInputAndOutputAsOneRecordTest() {
+        val newAuditStatuses = mutableListOf<BlueprintWorkflowAuditStatus>()
+        var failWrite = true
+        every { blueprintAuditStatusRepository.writeAll(any(), any()) } answers {
+            if (failWrite) throw IllegalStateException("audit database is down")
+            newAuditStatuses.addAll(firstArg())
+        }
+        val auditWriteBehindService = auditWriteBehindService(AuditOverflowPolicy.SPILL, 10, batchSize = 2)
+
+        runBlocking {
+            val ticket = auditWriteBehindService.storeExecutionInput(executionServiceInput)
+            auditWriteBehindService.storeExecutionOutput(ticket, executionServiceOutput)
+        }
+        auditWriteBehindService.start()
+        auditWriteBehindService.shutdown()
+        assertEquals(1, spillFile().readLines().size, "merged workflow input and output not spilled as one record")
+
+        // Replayed in batches of any size, the output can't be separated from its input
+        failWrite = false
+        runBlocking { auditWriteBehindService.replaySpilledEvents() }
+
+        assertEquals(1, newAuditStatuses.size, "failed to store the spilled workflow")
+        assertEquals(DatabaseStoreAuditConstants.WORKFLOW_STATUS_COMPLETED, newAuditStatuses[0].status)
+        assertTrue(newAuditStatuses[0].workflowResponseContent.isNotEmpty(), "failed to store workflow output")
+        assertEquals(
+            0.0, meterRegistry.counter(DatabaseStoreAuditConstants.AUDIT_STORE_DROPPED_COUNTER).count(),
+            "replayed workflow output dropped"
+        )
+    }
+
+    private fun spillFile() = File(spillFolder.root, AuditWriteBehindService.SPILL_FILE)
+
+    private fun auditWriteBehindService(
+        overflowPolicy: AuditOverflowPolicy,
+        queueSize: Int,
+        batchSize: Int = 100
+    ): AuditWriteBehindService {
+        val properties = AuditWriteBehindProperties()
+        properties.enabled = true
+        properties.queueSize = queueSize
+        properties.batchSize = batchSize
+        properties.overflowPolicy = overflowPolicy
+        properties.spillPath = spillFolder.root.absolutePath
+        return AuditWriteBehindService(blueprintAuditStatusRepository, properties, meterRegistry)
+    }
+}
@@ -60,16 +60,17 @@ open class Check : AbstractScriptComponentFunction() {
         // Get the Client Service
         val sshClientService = getSshClientService(deviceInformation)
 
-        sshClientService.startSessionNB()
-
         // Read Commands
         val commands = readLinesFromArtifact("command-template")
 
-        // Execute multiple Commands
-        val responseLog = sshClientService.executeCommandsNB(commands, 5000)
-
-        // Close Session
-        sshClientService.closeSessionNB()
+        sshClientService.startSessionNB()
+        val responseLog = try {
+            // Execute multiple Commands
+            sshClientService.executeCommandsNB(commands, 5000)
+        } finally {
+            // Close Session
+            sshClientService.closeSessionNB()
+        }
 
         // Set the Response Data
         setAttribute(ComponentScriptExecutor.ATTRIBUTE_RESPONSE_DATA, responseLog.asJsonType())
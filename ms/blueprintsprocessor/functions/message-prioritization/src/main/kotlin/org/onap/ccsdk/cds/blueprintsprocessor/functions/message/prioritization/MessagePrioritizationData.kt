@@ -40,6 +40,7 @@ open class PrioritizationConfiguration : Serializable {
     lateinit var cleanConfiguration: CleanConfiguration
     var kafkaConfiguration: KafkaConfiguration? = null // Optional Kafka Consumer Configuration
     var natsConfiguration: NatsConfiguration? = null // Optional NATS Consumer Configuration
+    var correlationConfiguration: CorrelationConfiguration = CorrelationConfiguration()
 }
 
 open class KafkaConfiguration : Serializable {
@@ -68,6 +69,13 @@ open class ShutDownConfiguration : Serializable {
     var waitMill: Long = 30000L
 }
 
+open class CorrelationConfiguration : Serializable {
+
+    var inMemory: Boolean = false // Correlate waiting messages in memory, when not running in a cluster
+    var partitions: Int = 16 // Number of independently locked partitions of the in memory index
+    var maxIndexedMessages: Int = 10000 // Waiting messages loaded at start, more are correlated in the database
+}
+
 open class CleanConfiguration : Serializable {
 
     var frequencyMilli: Long = 30000L
@@ -35,6 +35,9 @@ interface MessagePrioritizationStateService {
     suspend fun getMessageForStatesExpired(group: String, states: List<String>, count: Int):
         List<MessagePrioritization>?
 
+    suspend fun getCorrelatedMessagesForStatesNotExpired(states: List<String>, count: Int):
+        List<MessagePrioritization>?
+
     suspend fun getExpiredMessages(expiryDate: Date, count: Int): List<MessagePrioritization>?
 
     suspend fun getExpiredMessages(group: String, expiryDate: Date, count: Int): List<MessagePrioritization>?
@@ -55,6 +55,16 @@ interface PrioritizationMessageRepository : JpaRepository<MessagePrioritization,
         count: Pageable
     ): List<MessagePrioritization>?
 
+    @Query(
+        "FROM MessagePrioritization pm WHERE pm.state in :states AND pm.correlationId IS NOT NULL " +
+            "AND pm.expiryDate > :expiryCheckDate ORDER BY pm.createdDate asc"
+    )
+    fun findCorrelatedByStateInAndNotExpiredDate(
+        states: List<String>,
+        expiryCheckDate: Date,
+        count: Pageable
+    ): List<MessagePrioritization>?
+
     @Query(
         "FROM MessagePrioritization pm WHERE pm.state in :states " +
             "AND pm.expiryDate < :expiryCheckDate ORDER BY pm.createdDate asc"
@@ -26,6 +26,7 @@ import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.i
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.service.AbstractMessagePrioritizationService
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.utils.MessageProcessorUtils
 import org.onap.ccsdk.cds.controllerblueprints.core.logger
+import java.util.Date
 
 abstract class AbstractKafkaMessagePrioritizationService(
     private val messagePrioritizationStateService: MessagePrioritizationStateService
@@ -44,12 +45,14 @@ abstract class AbstractKafkaMessagePrioritizationService(
         checkNotNull(prioritizationConfiguration.kafkaConfiguration) { "failed to initialize kafka configuration" }
         check(::processorContext.isInitialized) { "failed to initialize kafka processor " }
 
+        messagePrioritizationStateService.setMessagesState(messages.ids(), MessageState.COMPLETED.name)
+        val updatedDate = Date()
         messages.forEach { message ->
-            val updatedMessage =
-                messagePrioritizationStateService.updateMessageState(message.id, MessageState.COMPLETED.name)
+            message.state = MessageState.COMPLETED.name
+            message.updatedDate = updatedDate
             processorContext.forward(
-                updatedMessage.id,
-                updatedMessage,
+                message.id,
+                message,
                 To.child(MessagePrioritizationConstants.SINK_OUTPUT)
             )
         }
@@ -66,7 +69,7 @@ abstract class AbstractKafkaMessagePrioritizationService(
                 .getExpiryEligibleMessages(expiryConfiguration.maxPollRecord)
             val expiredIds = fetchMessages?.ids()
             if (expiredIds != null && expiredIds.isNotEmpty()) {
-                messagePrioritizationStateService.updateMessagesState(expiredIds, MessageState.EXPIRED.name)
+                messagePrioritizationStateService.setMessagesState(expiredIds, MessageState.EXPIRED.name)
                 fetchMessages.forEach { expiredMessage ->
                     expiredMessage.state = MessageState.EXPIRED.name
                     processorContext.forward(
@@ -75,6 +78,7 @@ abstract class AbstractKafkaMessagePrioritizationService(
                     )
                 }
             }
+            removeExpiredFromCorrelationIndex()
         } catch (e: Exception) {
             log.error("failed in updating expired messages", e)
         } finally {
@@ -27,6 +27,7 @@ import org.onap.ccsdk.cds.blueprintsprocessor.nats.utils.NatsClusterUtils
 import org.onap.ccsdk.cds.controllerblueprints.core.asByteArray
 import org.onap.ccsdk.cds.controllerblueprints.core.asJsonType
 import org.onap.ccsdk.cds.controllerblueprints.core.logger
+import java.util.Date
 
 abstract class AbstractNatsMessagePrioritizationService(
     private val messagePrioritizationStateService: MessagePrioritizationStateService
@@ -42,14 +43,16 @@ abstract class AbstractNatsMessagePrioritizationService(
         check(::bluePrintNatsService.isInitialized) { "failed to initialize NATS services" }
 
         val outputSubject = prioritizationConfiguration.natsConfiguration!!.outputSubject
+        messagePrioritizationStateService.setMessagesState(messages.ids(), MessageState.COMPLETED.name)
+        val updatedDate = Date()
         messages.forEach { message ->
-            val updatedMessage =
-                messagePrioritizationStateService.updateMessageState(message.id, MessageState.COMPLETED.name)
+            message.state = MessageState.COMPLETED.name
+            message.updatedDate = updatedDate
 
             /** send to the output subject */
             bluePrintNatsService.publish(
                 NatsClusterUtils.currentApplicationSubject(outputSubject),
-                updatedMessage.asJsonType().asByteArray()
+                message.asJsonType().asByteArray()
             )
         }
     }
@@ -66,7 +69,7 @@ abstract class AbstractNatsMessagePrioritizationService(
                 .getExpiryEligibleMessages(expiryConfiguration.maxPollRecord)
             val expiredIds = fetchMessages?.ids()
             if (!expiredIds.isNullOrEmpty()) {
-                messagePrioritizationStateService.updateMessagesState(expiredIds, MessageState.EXPIRED.name)
+                messagePrioritizationStateService.setMessagesState(expiredIds, MessageState.EXPIRED.name)
                 fetchMessages.forEach { expiredMessage ->
                     expiredMessage.state = MessageState.EXPIRED.name
                     /** send to the output subject */
@@ -76,6 +79,7 @@ abstract class AbstractNatsMessagePrioritizationService(
                     )
                 }
             }
+            removeExpiredFromCorrelationIndex()
         } catch (e: Exception) {
             log.error("failed in updating expired messages", e)
         } finally {
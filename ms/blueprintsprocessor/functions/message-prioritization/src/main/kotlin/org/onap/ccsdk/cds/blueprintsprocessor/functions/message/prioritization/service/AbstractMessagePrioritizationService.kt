@@ -16,15 +16,21 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.service
 
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import org.onap.ccsdk.cds.blueprintsprocessor.core.cluster.optionalClusterService
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.MessagePrioritizationService
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.MessagePrioritizationStateService
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.MessageState
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.PrioritizationConfiguration
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.db.MessagePrioritization
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.ids
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.toFormatedCorrelation
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.utils.MessageCorrelationUtils
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.utils.MessageProcessorUtils
 import org.onap.ccsdk.cds.controllerblueprints.core.logger
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintDependencyService
+import java.util.Date
 
 /** Child should implement with sequencing & aggregation handling along with group type correlation mappings.*/
 abstract class AbstractMessagePrioritizationService(
@@ -35,8 +41,22 @@ abstract class AbstractMessagePrioritizationService(
 
     lateinit var prioritizationConfiguration: PrioritizationConfiguration
 
+    private lateinit var correlationIndex: MessageCorrelationIndex
+
+    private val correlationIndexLoadLock = Mutex()
+
+    @Volatile
+    private var correlationIndexLoaded = false
+
+    /** Set when more messages were waiting at start than the index may hold */
+    @Volatile
+    private var correlationIndexOverflow = false
+
     override fun setConfiguration(prioritizationConfiguration: PrioritizationConfiguration) {
         this.prioritizationConfiguration = prioritizationConfiguration
+        this.correlationIndex = MessageCorrelationIndex(prioritizationConfiguration.correlationConfiguration.partitions)
+        this.correlationIndexLoaded = false
+        this.correlationIndexOverflow = false
     }
 
     override fun getConfiguration(): PrioritizationConfiguration {
@@ -48,13 +68,17 @@ abstract class AbstractMessagePrioritizationService(
             log.info("***** received in prioritize processor key(${messagePrioritize.id})")
             check(::prioritizationConfiguration.isInitialized) { "failed to initialize prioritizationConfiguration " }
 
-            /** Get the cluster lock for message group */
-            val clusterLock = MessageProcessorUtils.prioritizationGrouplock(messagePrioritize)
-            // Save the Message
-            messagePrioritizationStateService.saveMessage(messagePrioritize)
-            handleCorrelationAndNextStep(messagePrioritize)
-            /** Cluster unLock for message group */
-            MessageProcessorUtils.prioritizationUnLock(clusterLock)
+            if (correlateInMemory()) {
+                handleIndexedCorrelationAndNextStep(messagePrioritize)
+            } else {
+                /** Get the cluster lock for message group */
+                val clusterLock = MessageProcessorUtils.prioritizationGrouplock(messagePrioritize)
+                // Save the Message
+                messagePrioritizationStateService.saveMessage(messagePrioritize)
+                handleCorrelationAndNextStep(messagePrioritize)
+                /** Cluster unLock for message group */
+                MessageProcessorUtils.prioritizationUnLock(clusterLock)
+            }
         } catch (e: Exception) {
             messagePrioritize.error = "failed in Prioritize message(${messagePrioritize.id}) : ${e.message}"
             log.error(messagePrioritize.error)
@@ -68,9 +92,7 @@ abstract class AbstractMessagePrioritizationService(
 
     override suspend fun output(messages: List<MessagePrioritization>) {
         log.info("$$$$$ received in output processor id(${messages.ids()})")
-        messages.forEach { message ->
-            messagePrioritizationStateService.updateMessageState(message.id, MessageState.COMPLETED.name)
-        }
+        messagePrioritizationStateService.setMessagesState(messages.ids(), MessageState.COMPLETED.name)
     }
 
     override suspend fun updateExpiredMessages() {
@@ -83,8 +105,9 @@ abstract class AbstractMessagePrioritizationService(
                 .getExpiryEligibleMessages(expiryConfiguration.maxPollRecord)
             val expiredIds = fetchMessages?.ids()
             if (!expiredIds.isNullOrEmpty()) {
-                messagePrioritizationStateService.updateMessagesState(expiredIds, MessageState.EXPIRED.name)
+                messagePrioritizationStateService.setMessagesState(expiredIds, MessageState.EXPIRED.name)
             }
+            removeExpiredFromCorrelationIndex()
         } catch (e: Exception) {
             log.error("failed in updating expired messages", e)
         } finally {
@@ -160,6 +183,101 @@ abstract class AbstractMessagePrioritizationService(
         }
     }
 
+    /**
+     * Correlate [messagePrioritization] with the waiting messages kept in memory instead of querying them from the
+     * database. The message is stored once with its resulting state, and the correlated messages are updated in
+     * a single statement.
+     */
+    open suspend fun handleIndexedCorrelationAndNextStep(messagePrioritization: MessagePrioritization) {
+        /** No Correlation check needed, simply forward to next processor. */
+        if (messagePrioritization.correlationId.isNullOrBlank()) {
+            messagePrioritization.state = MessageState.PRIORITIZED.name
+            messagePrioritizationStateService.saveMessage(messagePrioritization)
+            aggregate(arrayListOf(messagePrioritization))
+            return
+        }
+
+        if (!loadCorrelationIndex()) {
+            messagePrioritizationStateService.saveMessage(messagePrioritization)
+            handleCorrelationAndNextStep(messagePrioritization)
+            return
+        }
+        messagePrioritization.correlationId = messagePrioritization.toFormatedCorrelation()
+        val types = getGroupCorrelationTypes(messagePrioritization)
+        log.info(
+            "checking correlation for message(${messagePrioritization.id}), group(${messagePrioritization.group}), " +
+                "type(${messagePrioritization.type}), correlation types($types), " +
+                "priority(${messagePrioritization.priority}), correlation id(${messagePrioritization.correlationId})"
+        )
+
+        val correlatedMessages = correlationIndex.withBucket(messagePrioritization) { bucket ->
+            bucket.removeIf { it.id == messagePrioritization.id }
+            /** Previously received messages for group and optional types and correlation Id */
+            val waitingMessages = bucket.filter { types.isNullOrEmpty() || types.contains(it.type) }
+                .plus(messagePrioritization)
+            val correlated = waitingMessages.size > 1 &&
+                MessageCorrelationUtils.correlatedMessagesWithTypes(waitingMessages, types).correlated
+
+            /** Store the message with its state before the index is updated */
+            messagePrioritization.state = if (correlated) MessageState.PRIORITIZED.name else MessageState.WAIT.name
+            messagePrioritizationStateService.saveMessage(messagePrioritization)
+            if (correlated) {
+                bucket.removeAll(waitingMessages)
+                waitingMessages
+            } else {
+                log.trace("correlation not matched for message(${messagePrioritization.id})")
+                bucket.add(messagePrioritization)
+                null
+            }
+        }
+
+        if (correlatedMessages != null) {
+            /** Update all previously waiting messages to Prioritized state */
+            val waitingIds = correlatedMessages.ids().minus(messagePrioritization.id)
+            messagePrioritizationStateService.setMessagesState(waitingIds, MessageState.PRIORITIZED.name)
+            correlatedMessages.forEach { it.state = MessageState.PRIORITIZED.name }
+            /** Correlation  satisfied, Send only correlated messages to aggregate processor */
+            aggregate(correlatedMessages)
+        }
+    }
+
+    /** Drop the expired messages from the in memory correlation index */
+    open suspend fun removeExpiredFromCorrelationIndex() {
+        if (correlationIndexLoaded) {
+            correlationIndex.removeExpired(Date())
+        }
+    }
+
+    /** Correlation runs in memory only when no other cluster member could receive messages of the same group */
+    private fun correlateInMemory(): Boolean =
+        prioritizationConfiguration.correlationConfiguration.inMemory &&
+            BluePrintDependencyService.optionalClusterService()?.clusterJoined() != true
+
+    /**
+     * Load the messages stored as waiting before this instance started, once, at most maxIndexedMessages of them.
+     * Returns false if more were waiting, their correlation is then left to the database.
+     */
+    private suspend fun loadCorrelationIndex(): Boolean {
+        if (correlationIndexLoaded) return !correlationIndexOverflow
+        correlationIndexLoadLock.withLock {
+            if (!correlationIndexLoaded) {
+                val maxIndexedMessages = prioritizationConfiguration.correlationConfiguration.maxIndexedMessages
+                val waitingMessages = messagePrioritizationStateService.getCorrelatedMessagesForStatesNotExpired(
+                    arrayListOf(MessageState.NEW.name, MessageState.WAIT.name), maxIndexedMessages + 1
+                ).orEmpty()
+                if (waitingMessages.size > maxIndexedMessages) {
+                    correlationIndexOverflow = true
+                    log.warn("more than ($maxIndexedMessages) waiting messages, correlating them in the database")
+                } else {
+                    correlationIndex.addAll(waitingMessages)
+                    log.info("loaded (${waitingMessages.size}) waiting messages in correlation index")
+                }
+                correlationIndexLoaded = true
+            }
+        }
+        return !correlationIndexOverflow
+    }
+
     open suspend fun aggregate(messages: List<MessagePrioritization>) {
         log.info("@@@@@ received in aggregation processor ids(${messages.ids()}")
         if (!messages.isNullOrEmpty()) {
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.service
+
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.message.prioritization.db.MessagePrioritization
+import java.util.Date
+
+/**
+ * In memory index of the messages waiting for correlation, bucketed by group and formatted correlation id.
+ * Buckets are spread over [partitions] partitions, each with its own lock, so messages of different buckets
+ * are correlated concurrently while messages of the same bucket are correlated one after the other.
+ *
+ * Only state changes made by the prioritization service are seen, messages updated or deleted through other
+ * means stay in their bucket until they expire.
+ */
+open class MessageCorrelationIndex(partitions: Int) {
+
+    private val partitionLocks = Array(partitions) { Mutex() }
+    private val partitionBuckets = Array(partitions) { hashMapOf<String, MutableList<MessagePrioritization>>() }
+
+    /**
+     * Run [block] with the bucket of [messagePrioritization], whose correlation id must already be formatted.
+     * Expired messages are removed from the bucket before.
+     */
+    suspend fun <T> withBucket(
+        messagePrioritization: MessagePrioritization,
+        block: suspend (MutableList<MessagePrioritization>) -> T
+    ): T {
+        val key = bucketKey(messagePrioritization)
+        val partition = Math.floorMod(key.hashCode(), partitionLocks.size)
+        return partitionLocks[partition].withLock {
+            val buckets = partitionBuckets[partition]
+            val bucket = buckets.getOrPut(key) { arrayListOf() }
+            val now = Date()
+            bucket.removeIf { it.expiryDate?.before(now) == true }
+            try {
+                block(bucket)
+            } finally {
+                if (bucket.isEmpty()) buckets.remove(key)
+            }
+        }
+    }
+
+    /** Add already stored waiting [messages], in the order they were received */
+    suspend fun addAll(messages: List<MessagePrioritization>) {
+        messages.forEach { message ->
+            withBucket(message) { bucket ->
+                if (bucket.none { it.id == message.id }) bucket.add(message)
+            }
+        }
+    }
+
+    /** Remove the messages expired at [date] from every bucket */
+    suspend fun removeExpired(date: Date) {
+        partitionLocks.forEachIndexed { partition, lock ->
+            lock.withLock {
+                val buckets = partitionBuckets[partition]
+                buckets.values.forEach { bucket -> bucket.removeIf { it.expiryDate?.before(date) == true } }
+                buckets.values.removeIf { it.isEmpty() }
+            }
+        }
+    }
+
+    private fun bucketKey(messagePrioritization: MessagePrioritization): String =
+        "${messagePrioritization.group}::${messagePrioritization.correlationId}"
+}
@@ -79,6 +79,13 @@ open class MessagePrioritizationStateServiceImpl(
             )
         }
 
+    override suspend fun getCorrelatedMessagesForStatesNotExpired(states: List<String>, count: Int):
+        List<MessagePrioritization>? {
+            return prioritizationMessageRepository.findCorrelatedByStateInAndNotExpiredDate(
+                states, Date(), PageRequest.of(0, count)
+            )
+        }
+
     override suspend fun getExpiredMessages(expiryDate: Date, count: Int): List<MessagePrioritization>? {
         return prioritizationMessageRepository.findByExpiredDate(
             expiryDate, PageRequest.of(0, count)
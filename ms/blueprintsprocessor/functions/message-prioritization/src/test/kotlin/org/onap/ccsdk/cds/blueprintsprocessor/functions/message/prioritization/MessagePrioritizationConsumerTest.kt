@@ -49,11 +49,13 @@ import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest
 import org.springframework.boot.test.mock.mockito.MockBean
 import org.springframework.context.ApplicationContext
+import org.springframework.data.domain.PageRequest
 import org.springframework.test.annotation.DirtiesContext
 import org.springframework.test.context.ContextConfiguration
 import org.springframework.test.context.TestPropertySource
 import org.springframework.test.context.junit4.SpringRunner
 import kotlin.test.Test
+import kotlin.test.assertEquals
 import kotlin.test.assertNotNull
 
 @RunWith(SpringRunner::class)
@@ -176,6 +178,55 @@ open class MessagePrioritizationConsumerTest {
         }
     }
 
+    @Test
+    fun testInMemoryCorrelation() {
+        runBlocking {
+            val configuration = MessagePrioritizationSample.samplePrioritizationConfiguration()
+            configuration.correlationConfiguration.inMemory = true
+            val messagePrioritizationService =
+                SampleMessagePrioritizationService(messagePrioritizationStateService)
+            messagePrioritizationService.setConfiguration(configuration)
+
+            val messages = MessagePrioritizationSample
+                .sampleMessageWithSameCorrelation("indexed-group", MessageState.NEW.name, 3)
+            /** first message waits for its correlated message */
+            messagePrioritizationService.prioritize(messages[0])
+            assertEquals(1, groupMessages("indexed-group", MessageState.WAIT).size)
+            /** second message completes the correlation of both */
+            messagePrioritizationService.prioritize(messages[1])
+            assertEquals(0, groupMessages("indexed-group", MessageState.WAIT).size)
+            assertEquals(2, groupMessages("indexed-group", MessageState.COMPLETED).size)
+            /** third message starts waiting again */
+            messagePrioritizationService.prioritize(messages[2])
+            assertEquals(1, groupMessages("indexed-group", MessageState.WAIT).size)
+        }
+    }
+
+    @Test
+    fun testInMemoryCorrelationOverflow() {
+        runBlocking {
+            val messages = MessagePrioritizationSample
+                .sampleMessageWithSameCorrelation("capped-group", MessageState.NEW.name, 2)
+            /** first message waits in the database only */
+            val storedConfiguration = MessagePrioritizationSample.samplePrioritizationConfiguration()
+            val storedPrioritizationService = SampleMessagePrioritizationService(messagePrioritizationStateService)
+            storedPrioritizationService.setConfiguration(storedConfiguration)
+            storedPrioritizationService.prioritize(messages[0])
+            assertEquals(1, groupMessages("capped-group", MessageState.WAIT).size)
+
+            /** too many waiting messages to index, the second message is correlated in the database */
+            val configuration = MessagePrioritizationSample.samplePrioritizationConfiguration()
+            configuration.correlationConfiguration.inMemory = true
+            configuration.correlationConfiguration.maxIndexedMessages = 0
+            val messagePrioritizationService =
+                SampleMessagePrioritizationService(messagePrioritizationStateService)
+            messagePrioritizationService.setConfiguration(configuration)
+            messagePrioritizationService.prioritize(messages[1])
+            assertEquals(0, groupMessages("capped-group", MessageState.WAIT).size)
+            assertEquals(2, groupMessages("capped-group", MessageState.COMPLETED).size)
+        }
+    }
+
     @Test
     fun testSchedulerService() {
         runBlocking {
@@ -197,6 +248,9 @@ open class MessagePrioritizationConsumerTest {
         }
     }
 
+    private fun groupMessages(group: String, state: MessageState) =
+        prioritizationMessageRepository.findByGroupAndStateIn(group, arrayListOf(state.name), PageRequest.of(0, 10))!!
+
     /** Integration Kafka Testing, Enable and use this test case only for local desktop testing with real kafka broker */
     // @Test
     fun testKafkaMessagePrioritizationConsumer() {
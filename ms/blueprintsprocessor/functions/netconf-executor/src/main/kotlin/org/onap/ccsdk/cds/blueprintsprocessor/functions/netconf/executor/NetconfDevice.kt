@@ -19,14 +19,26 @@ import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.Dev
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfSession
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core.NetconfRpcServiceImpl
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core.NetconfSessionImpl
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core.NetconfSessionPool
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core.PooledNetconfSession
 
-data class NetconfDevice(val deviceInfo: DeviceInfo) {
+/**
+ * Netconf device, whose session is leased from [netconfSessionPool] when there is one
+ */
+data class NetconfDevice @JvmOverloads constructor(
+    val deviceInfo: DeviceInfo,
+    private val netconfSessionPool: NetconfSessionPool? = null
+) {
 
     val netconfRpcService = NetconfRpcServiceImpl(deviceInfo)
     val netconfSession: NetconfSession
 
     init {
-        netconfSession = NetconfSessionImpl(deviceInfo, netconfRpcService)
+        netconfSession = if (netconfSessionPool != null) {
+            PooledNetconfSession(deviceInfo, netconfSessionPool)
+        } else {
+            NetconfSessionImpl(deviceInfo, netconfRpcService)
+        }
         netconfRpcService.setNetconfSession(netconfSession)
     }
 }
@@ -16,8 +16,12 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor
 
+import org.onap.ccsdk.cds.blueprintsprocessor.core.BluePrintPropertiesService
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core.NetconfSessionPool
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core.NetconfSessionPoolProperties
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
 import org.springframework.boot.context.properties.EnableConfigurationProperties
+import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.ComponentScan
 import org.springframework.context.annotation.Configuration
 
@@ -25,4 +29,21 @@ import org.springframework.context.annotation.Configuration
 @ComponentScan
 @EnableConfigurationProperties
 @ConditionalOnProperty(name = ["blueprintsprocessor.netconfExecutor.enabled"], havingValue = "true")
-open class NetconfExecutorConfiguration
+open class NetconfExecutorConfiguration {
+
+    companion object {
+
+        const val PREFIX_NETCONF_SESSION_POOL = "blueprintsprocessor.netconfExecutor.sessionPool"
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = ["$PREFIX_NETCONF_SESSION_POOL.enabled"], havingValue = "true")
+    open fun netconfSessionPool(bluePrintPropertiesService: BluePrintPropertiesService): NetconfSessionPool {
+        return NetconfSessionPool(
+            bluePrintPropertiesService.propertyBeanType(
+                PREFIX_NETCONF_SESSION_POOL,
+                NetconfSessionPoolProperties::class.java
+            )
+        )
+    }
+}
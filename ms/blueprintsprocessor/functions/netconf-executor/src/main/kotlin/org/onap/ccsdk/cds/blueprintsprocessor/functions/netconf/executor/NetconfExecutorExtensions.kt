@@ -19,6 +19,7 @@ package org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor
 
 import com.fasterxml.jackson.databind.JsonNode
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.DeviceInfo
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core.NetconfSessionPool
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.ResourceResolutionConstants
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.ResourceResolutionService
 import org.onap.ccsdk.cds.blueprintsprocessor.services.execution.AbstractComponentFunction
@@ -31,9 +32,15 @@ import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonUtils
 fun BluePrintDependencyService.netconfClientService(): ResourceResolutionService =
     instance(ResourceResolutionConstants.SERVICE_RESOURCE_RESOLUTION)
 
+/**
+ * Session pool shared by the netconf devices, null unless the pool is enabled
+ */
+fun BluePrintDependencyService.netconfSessionPool(): NetconfSessionPool? =
+    applicationContext.getBeanProvider(NetconfSessionPool::class.java).ifAvailable
+
 fun AbstractComponentFunction.netconfDevice(requirementName: String): NetconfDevice {
     val deviceInfo = netconfDeviceInfo(requirementName)
-    return NetconfDevice(deviceInfo)
+    return NetconfDevice(deviceInfo, BluePrintDependencyService.netconfSessionPool())
 }
 
 fun AbstractComponentFunction.netconfDeviceInfo(requirementName: String): DeviceInfo {
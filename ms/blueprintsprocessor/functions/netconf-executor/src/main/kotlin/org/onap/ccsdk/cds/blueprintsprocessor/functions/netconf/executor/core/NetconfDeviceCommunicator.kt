@@ -16,229 +16,167 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core
 
+import org.apache.sshd.common.io.IoInputStream
+import org.apache.sshd.common.io.IoOutputStream
+import org.apache.sshd.common.io.IoReadFuture
+import org.apache.sshd.common.io.IoWriteFuture
+import org.apache.sshd.common.util.buffer.ByteArrayBuffer
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.DeviceInfo
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfException
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfReceivedEvent
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfSessionListener
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.NetconfMessageUtils
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.RpcMessageUtils
 import org.slf4j.LoggerFactory
-import java.io.BufferedReader
+import java.io.EOFException
 import java.io.IOException
-import java.io.InputStream
-import java.io.InputStreamReader
-import java.io.OutputStream
-import java.io.OutputStreamWriter
 import java.nio.charset.StandardCharsets
 import java.util.concurrent.CancellationException
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.TimeoutException
 
+/**
+ * Reads and writes the netconf messages of a session over the asynchronous streams of its SSH channel.
+ *
+ * No thread waits on the channel: each read completes on the SSH client IO threads, its bytes are framed into
+ * messages by [NetconfMessageDecoder] and the next read is only issued then. Writes are queued and the next one is
+ * issued once the previous one is written. Events that wait on the device run on [eventExecutor].
+ */
 class NetconfDeviceCommunicator(
-    private var inputStream: InputStream,
-    private var out: OutputStream,
+    private val asyncOut: IoInputStream,
+    private val asyncIn: IoOutputStream,
     private val deviceInfo: DeviceInfo,
     private val sessionListener: NetconfSessionListener,
-    private var replies: MutableMap<String, CompletableFuture<String>>
-) : Thread() {
+    private var replies: MutableMap<String, CompletableFuture<String>>,
+    private val eventExecutor: Executor
+) {
 
     private val log = LoggerFactory.getLogger(NetconfDeviceCommunicator::class.java)
-    private var state = NetconfMessageState.NO_MATCHING_PATTERN
+    private val decoder = NetconfMessageDecoder()
+    private val readBuffer = ByteArrayBuffer(READ_BUFFER_SIZE)
+    private val writes = ArrayDeque<PendingWrite>()
+    private var writing = false
 
-    init {
-        start()
+    /**
+     * Start reading the channel, until its end or the first badly framed message
+     */
+    fun start() {
+        while (true) {
+            readBuffer.rpos(0)
+            readBuffer.wpos(0)
+            val readFuture = asyncOut.read(readBuffer)
+            if (!readFuture.isDone) {
+                readFuture.addListener { if (readCompleted(it)) start() }
+                return
+            }
+            // Already read, looping rather than completing in the listener keeps the stack flat
+            if (!readCompleted(readFuture)) return
+        }
     }
 
-    override fun run() {
-        var bufferReader: BufferedReader? = null
-        while (bufferReader == null) {
-            bufferReader = BufferedReader(InputStreamReader(inputStream, StandardCharsets.UTF_8))
+    private fun readCompleted(readFuture: IoReadFuture): Boolean {
+        val exception = readFuture.exception
+        if (exception != null) {
+            readFailed(exception)
+            return false
         }
+        return received(readBuffer.array(), readBuffer.rpos(), readFuture.read)
+    }
 
-        try {
-            var socketClosed = false
-            val deviceReplyBuilder = StringBuilder()
-            while (!socketClosed) {
-                val cInt = bufferReader.read()
-                if (cInt == -1) {
-                    log.debug("$deviceInfo: Received end of stream, closing socket.")
-                    socketClosed = true
-                }
-                val c = cInt.toChar()
-                state = state.evaluateChar(c)
-                deviceReplyBuilder.append(c)
-                if (state === NetconfMessageState.END_PATTERN) {
-                    var deviceReply = deviceReplyBuilder.toString()
-                    if (deviceReply == RpcMessageUtils.END_PATTERN) {
-                        socketClosed = true
-                        bufferReader.close()
-                        sessionListener.accept(
-                            NetconfReceivedEvent(
-                                NetconfReceivedEvent.Type.DEVICE_UNREGISTERED,
-                                deviceInfo = deviceInfo
-                            )
-                        )
-                    } else {
-                        deviceReply = deviceReply.replace(RpcMessageUtils.END_PATTERN, "")
-                        receivedMessage(deviceReply)
-                        deviceReplyBuilder.setLength(0)
-                    }
-                } else if (state === NetconfMessageState.END_CHUNKED_PATTERN) {
-                    var deviceReply = deviceReplyBuilder.toString()
-                    if (!NetconfMessageUtils.validateChunkedFraming(deviceReply)) {
-                        log.debug("$deviceInfo: Received badly framed message $deviceReply")
-                        socketClosed = true
-                        sessionListener.accept(
-                            NetconfReceivedEvent(
-                                NetconfReceivedEvent.Type.DEVICE_ERROR,
-                                deviceInfo = deviceInfo
-                            )
-                        )
-                    } else {
-                        deviceReply = deviceReply.replace(RpcMessageUtils.MSGLEN_REGEX_PATTERN.toRegex(), "")
-                        deviceReply = deviceReply.replace(NetconfMessageUtils.CHUNKED_END_REGEX_PATTERN.toRegex(), "")
-                        receivedMessage(deviceReply)
-                        deviceReplyBuilder.setLength(0)
-                    }
-                }
-            }
-        } catch (e: IOException) {
-            log.warn("$deviceInfo: Fail while reading from channel", e)
+    /**
+     * Decode the bytes read, returns whether the channel should still be read
+     */
+    internal fun received(bytes: ByteArray, offset: Int, length: Int): Boolean {
+        val deviceReplies = try {
+            decoder.decode(bytes, offset, length)
+        } catch (e: NetconfException) {
+            log.debug("$deviceInfo: ${e.message}")
             sessionListener.accept(
                 NetconfReceivedEvent(
                     NetconfReceivedEvent.Type.DEVICE_ERROR,
                     deviceInfo = deviceInfo
                 )
             )
+            return false
         }
-    }
-
-    /**
-     * State machine for the Netconf message parser
-     */
-    internal enum class NetconfMessageState {
-
-        NO_MATCHING_PATTERN {
-
-            override fun evaluateChar(c: Char): NetconfMessageState {
-                return when (c) {
-                    ']' -> FIRST_BRACKET
-                    '\n' -> FIRST_LF
-                    else -> this
-                }
-            }
-        },
-        FIRST_BRACKET {
-
-            override fun evaluateChar(c: Char): NetconfMessageState {
-                return when (c) {
-                    ']' -> SECOND_BRACKET
-                    else -> NO_MATCHING_PATTERN
-                }
-            }
-        },
-        SECOND_BRACKET {
-
-            override fun evaluateChar(c: Char): NetconfMessageState {
-                return when (c) {
-                    '>' -> FIRST_BIGGER
-                    else -> NO_MATCHING_PATTERN
-                }
-            }
-        },
-        FIRST_BIGGER {
-
-            override fun evaluateChar(c: Char): NetconfMessageState {
-                return when (c) {
-                    ']' -> THIRD_BRACKET
-                    else -> NO_MATCHING_PATTERN
-                }
-            }
-        },
-        THIRD_BRACKET {
-
-            override fun evaluateChar(c: Char): NetconfMessageState {
-                return when (c) {
-                    ']' -> ENDING_BIGGER
-                    else -> NO_MATCHING_PATTERN
-                }
-            }
-        },
-        ENDING_BIGGER {
-
-            override fun evaluateChar(c: Char): NetconfMessageState {
-                return when (c) {
-                    '>' -> END_PATTERN
-                    else -> NO_MATCHING_PATTERN
-                }
-            }
-        },
-        FIRST_LF {
-
-            override fun evaluateChar(c: Char): NetconfMessageState {
-                return when (c) {
-                    '#' -> FIRST_HASH
-                    ']' -> FIRST_BRACKET
-                    '\n' -> this
-                    else -> NO_MATCHING_PATTERN
-                }
-            }
-        },
-        FIRST_HASH {
-
-            override fun evaluateChar(c: Char): NetconfMessageState {
-                return when (c) {
-                    '#' -> SECOND_HASH
-                    else -> NO_MATCHING_PATTERN
-                }
-            }
-        },
-        SECOND_HASH {
-
-            override fun evaluateChar(c: Char): NetconfMessageState {
-                return when (c) {
-                    '\n' -> END_CHUNKED_PATTERN
-                    else -> NO_MATCHING_PATTERN
+        deviceReplies.forEach { deviceReply ->
+            if (deviceReply.isEmpty()) {
+                // Disconnecting waits for the close-session reply, never on the SSH client IO threads
+                eventExecutor.execute {
+                    sessionListener.accept(
+                        NetconfReceivedEvent(
+                            NetconfReceivedEvent.Type.DEVICE_UNREGISTERED,
+                            deviceInfo = deviceInfo
+                        )
+                    )
                 }
+                return false
             }
-        },
-        END_CHUNKED_PATTERN {
-
-            override fun evaluateChar(c: Char): NetconfMessageState {
-                return NO_MATCHING_PATTERN
-            }
-        },
-        END_PATTERN {
-
-            override fun evaluateChar(c: Char): NetconfMessageState {
-                return NO_MATCHING_PATTERN
-            }
-        };
+            receivedMessage(deviceReply)
+        }
+        return true
+    }
 
-        /**
-         * Evaluate next transition state based on current state and the character read
-         * @param c character read in
-         * @return result of lookup of transition to the next {@link NetconfMessageState}
-         */
-        internal abstract fun evaluateChar(c: Char): NetconfMessageState
+    internal fun readFailed(exception: Throwable) {
+        if (exception is EOFException || asyncOut.isClosing || asyncOut.isClosed) {
+            log.debug("$deviceInfo: Received end of stream, closing socket.")
+            return
+        }
+        log.warn("$deviceInfo: Fail while reading from channel", exception)
+        sessionListener.accept(
+            NetconfReceivedEvent(
+                NetconfReceivedEvent.Type.DEVICE_ERROR,
+                deviceInfo = deviceInfo
+            )
+        )
     }
 
     fun sendMessage(request: String, messageId: String): CompletableFuture<String> {
         log.info("$deviceInfo: Sending message with message-id: $messageId: message: \n $request")
         val future = CompletableFuture<String>()
         replies.put(messageId, future)
-        val outputStream = OutputStreamWriter(out, StandardCharsets.UTF_8)
-        synchronized(this) {
-            try {
-                outputStream.write(request)
-                outputStream.flush()
+        val startWriting = synchronized(writes) {
+            writes.addLast(PendingWrite(request, future))
+            !writing.also { writing = true }
+        }
+        if (startWriting) writeNext()
+        return future
+    }
+
+    /** The channel takes one write at a time, write the queued requests until none is left or one is pending */
+    private fun writeNext() {
+        while (true) {
+            val write = synchronized(writes) {
+                writes.removeFirstOrNull().also { if (it == null) writing = false }
+            } ?: return
+            val writeFuture = try {
+                asyncIn.writeBuffer(ByteArrayBuffer(write.request.toByteArray(StandardCharsets.UTF_8)))
             } catch (e: IOException) {
-                log.error("$deviceInfo: Failed to send message : \n $request", e)
-                future.completeExceptionally(e)
+                writeFailed(write, e)
+                continue
+            }
+            if (!writeFuture.isDone) {
+                writeFuture.addListener {
+                    written(write, it)
+                    writeNext()
+                }
+                return
             }
+            // Already written, looping rather than writing in the listener keeps the stack flat
+            written(write, writeFuture)
         }
-        return future
+    }
+
+    private fun written(write: PendingWrite, writeFuture: IoWriteFuture) {
+        writeFuture.exception?.let { writeFailed(write, it) }
+    }
+
+    private fun writeFailed(write: PendingWrite, exception: Throwable) {
+        log.error("$deviceInfo: Failed to send message : \n ${write.request}", exception)
+        write.reply.completeExceptionally(exception)
     }
 
     private fun receivedMessage(deviceReply: String) {
@@ -281,4 +219,11 @@ class NetconfDeviceCommunicator(
     ): String {
         return fut.get(timeout, timeUnit)
     }
+
+    private class PendingWrite(val request: String, val reply: CompletableFuture<String>)
+
+    companion object {
+
+        private const val READ_BUFFER_SIZE = 32 * 1024
+    }
 }
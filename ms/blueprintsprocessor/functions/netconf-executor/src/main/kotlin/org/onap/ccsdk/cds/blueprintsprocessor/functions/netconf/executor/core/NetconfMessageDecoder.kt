@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core
+
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfException
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.NetconfMessageUtils
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.RpcMessageUtils
+import java.io.ByteArrayOutputStream
+import java.nio.charset.StandardCharsets
+
+/**
+ * Splits the bytes read from a netconf channel into messages, framed by the end of message pattern of netconf 1.0 or
+ * by the chunks of netconf 1.1 (RFC 6242).
+ *
+ * Bytes are fed as they are read, in buffers of any size: chunks are copied in bulk and a message is only decoded to
+ * a string once complete. Each message is framed on its own, as devices answer the hello with the end of message
+ * pattern before they switch to chunks. An empty end of message framed message is the device closing the session.
+ */
+class NetconfMessageDecoder {
+
+    private var state = State.MESSAGE_START
+    private val message = MessageBuffer()
+
+    private val endOfMessage = DelimiterMatcher(RpcMessageUtils.END_PATTERN)
+    private val endOfChunks = DelimiterMatcher(NetconfMessageUtils.CHUNKED_END_REGEX_PATTERN)
+
+    private var chunkSizeDigits = 0
+    private var chunkRemaining = 0L
+    private var chunkCount = 0
+
+    /**
+     * Decode [length] bytes of [bytes] from [offset], returns the messages completed by them, in order.
+     * @throws NetconfException if the bytes are badly framed, the decoder can't be used any more
+     */
+    fun decode(bytes: ByteArray, offset: Int, length: Int): List<String> {
+        val messages = arrayListOf<String>()
+        val end = offset + length
+        var position = offset
+        while (position < end) {
+            position = when (state) {
+                State.MESSAGE_START -> startMessage(bytes, position)
+                State.END_OF_MESSAGE_FRAMED -> readUntilEndOfMessage(bytes, position, end, messages)
+                State.CHUNK_DATA -> readChunkData(bytes, position, end)
+                else -> {
+                    readChunkHeader(bytes[position], messages)
+                    position + 1
+                }
+            }
+        }
+        return messages
+    }
+
+    /** Whitespace before a message is kept with an end of message framed one, dropped before chunks */
+    private fun startMessage(bytes: ByteArray, position: Int): Int {
+        val byte = bytes[position]
+        when {
+            byte == HASH && message.endsWith(LF) -> {
+                message.reset()
+                chunkCount = 0
+                startChunkSize()
+                state = State.CHUNK_SIZE
+                return position + 1
+            }
+            byte == LF || byte == CR || byte == SPACE || byte == TAB -> {
+                message.write(byte.toInt())
+                return position + 1
+            }
+            else -> {
+                state = State.END_OF_MESSAGE_FRAMED
+                return position
+            }
+        }
+    }
+
+    private fun readUntilEndOfMessage(bytes: ByteArray, from: Int, end: Int, messages: MutableList<String>): Int {
+        var position = from
+        while (position < end) {
+            val byte = bytes[position++]
+            // Most bytes can't be part of either delimiter
+            if (endOfMessage.matched == 0 && endOfChunks.matched == 0 && byte != BRACKET && byte != LF) continue
+            if (endOfMessage.matches(byte)) {
+                message.write(bytes, from, position - from)
+                messages.add(message.decode(message.size() - RpcMessageUtils.END_PATTERN.length))
+                endMessage()
+                return position
+            }
+            if (endOfChunks.matches(byte)) {
+                throw NetconfException("Received chunks end without chunked framing")
+            }
+        }
+        message.write(bytes, from, end - from)
+        return end
+    }
+
+    private fun readChunkData(bytes: ByteArray, from: Int, end: Int): Int {
+        val length = minOf(chunkRemaining, (end - from).toLong()).toInt()
+        message.write(bytes, from, length)
+        chunkRemaining -= length
+        if (chunkRemaining == 0L) state = State.CHUNK_LF
+        return from + length
+    }
+
+    private fun readChunkHeader(byte: Byte, messages: MutableList<String>) {
+        state = when (state) {
+            State.CHUNK_LF -> if (byte == LF) State.CHUNK_HASH else badlyFramed("LF after chunk", byte)
+            State.CHUNK_HASH -> {
+                startChunkSize()
+                if (byte == HASH) State.CHUNK_SIZE else badlyFramed("'#' of next chunk", byte)
+            }
+            State.CHUNK_SIZE -> readChunkSize(byte)
+            State.CHUNKS_END -> {
+                if (byte != LF) badlyFramed("LF of chunks end", byte)
+                messages.add(message.decode(message.size()))
+                endMessage()
+                State.MESSAGE_START
+            }
+            else -> throw IllegalStateException("Not a chunk header state $state")
+        }
+    }
+
+    private fun readChunkSize(byte: Byte): State = when {
+        byte == HASH && chunkSizeDigits == 0 && chunkCount > 0 -> State.CHUNKS_END
+        byte == LF && chunkSizeDigits > 0 -> {
+            chunkCount++
+            State.CHUNK_DATA
+        }
+        byte in ZERO..NINE && (byte != ZERO || chunkSizeDigits > 0) -> {
+            chunkRemaining = chunkRemaining * 10 + (byte - ZERO)
+            chunkSizeDigits++
+            if (chunkRemaining > MAX_CHUNK_SIZE) throw NetconfException("Received chunk size over $MAX_CHUNK_SIZE")
+            State.CHUNK_SIZE
+        }
+        else -> badlyFramed("chunk size", byte)
+    }
+
+    private fun startChunkSize() {
+        chunkSizeDigits = 0
+        chunkRemaining = 0
+    }
+
+    private fun endMessage() {
+        message.release()
+        endOfMessage.reset()
+        endOfChunks.reset()
+        state = State.MESSAGE_START
+    }
+
+    private fun badlyFramed(expected: String, byte: Byte): Nothing =
+        throw NetconfException("Received badly framed message, expected $expected but got byte($byte)")
+
+    private enum class State {
+        MESSAGE_START, END_OF_MESSAGE_FRAMED, CHUNK_LF, CHUNK_HASH, CHUNK_SIZE, CHUNK_DATA, CHUNKS_END
+    }
+
+    /** Message bytes read so far, decoded in place */
+    private class MessageBuffer : ByteArrayOutputStream(INITIAL_MESSAGE_SIZE) {
+
+        fun endsWith(byte: Byte) = count > 0 && buf[count - 1] == byte
+
+        fun decode(length: Int) = String(buf, 0, length, StandardCharsets.UTF_8)
+
+        /** A large reply shouldn't stay allocated for the life of the session */
+        fun release() {
+            if (buf.size > MAX_RETAINED_MESSAGE_SIZE) buf = ByteArray(INITIAL_MESSAGE_SIZE)
+            reset()
+        }
+    }
+
+    /** Incremental match of a delimiter, which may be split across reads */
+    private class DelimiterMatcher(pattern: String) {
+
+        private val delimiter = pattern.toByteArray(StandardCharsets.US_ASCII)
+
+        /** Length of the longest delimiter prefix that is also a proper suffix, for each matched length */
+        private val fallback = IntArray(delimiter.size).also { fallback ->
+            var length = 0
+            for (index in 1 until delimiter.size) {
+                while (length > 0 && delimiter[index] != delimiter[length]) length = fallback[length - 1]
+                if (delimiter[index] == delimiter[length]) length++
+                fallback[index] = length
+            }
+        }
+
+        var matched = 0
+            private set
+
+        fun matches(byte: Byte): Boolean {
+            while (matched > 0 && delimiter[matched] != byte) matched = fallback[matched - 1]
+            if (delimiter[matched] == byte) matched++
+            if (matched < delimiter.size) return false
+            matched = 0
+            return true
+        }
+
+        fun reset() {
+            matched = 0
+        }
+    }
+
+    companion object {
+
+        private const val LF = '\n'.code.toByte()
+        private const val CR = '\r'.code.toByte()
+        private const val SPACE = ' '.code.toByte()
+        private const val TAB = '\t'.code.toByte()
+        private const val HASH = '#'.code.toByte()
+        private const val BRACKET = ']'.code.toByte()
+        private const val ZERO = '0'.code.toByte()
+        private const val NINE = '9'.code.toByte()
+
+        /** Largest chunk-size of RFC 6242 */
+        private const val MAX_CHUNK_SIZE = 4294967295L
+
+        private const val INITIAL_MESSAGE_SIZE = 8 * 1024
+        private const val MAX_RETAINED_MESSAGE_SIZE = 256 * 1024
+    }
+}
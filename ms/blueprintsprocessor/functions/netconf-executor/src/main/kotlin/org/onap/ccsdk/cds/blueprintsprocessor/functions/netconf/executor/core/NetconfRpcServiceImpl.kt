@@ -42,6 +42,9 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
         this.netconfSession = netconfSession
     }
 
+    /** Message-id of the next request sent on the session */
+    internal fun nextMessageId(): String = messageIdInteger.getAndIncrement().toString()
+
     /**
      * accept a user-supplied RPC message WITH HEADER
      * <rpc message-id="abc123" xmlns=".....">
@@ -63,7 +66,7 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
     override fun invokeRpc(rpc: String): DeviceResponse {
         var output = DeviceResponse()
         // Attempt to extract the message-id field from the <rpc call
-        val updatedMessageId = messageIdInteger.getAndIncrement().toString()
+        val updatedMessageId = nextMessageId()
         val origMessageId = NetconfMessageUtils.getMsgId(rpc)
         log.info("$deviceInfo: invokeRpc: updating rpc original message-id:($origMessageId) to messageId($updatedMessageId)")
         try {
@@ -78,7 +81,7 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
 
     override fun get(filter: String): DeviceResponse {
         var output = DeviceResponse()
-        val messageId = messageIdInteger.getAndIncrement().toString()
+        val messageId = nextMessageId()
         log.info("$deviceInfo: get operational config: messageId($messageId)")
         try {
             val message = NetconfMessageUtils.get(messageId, filter)
@@ -93,7 +96,7 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
 
     override fun getConfig(filter: String, configTarget: String): DeviceResponse {
         var output = DeviceResponse()
-        val messageId = messageIdInteger.getAndIncrement().toString()
+        val messageId = nextMessageId()
         log.info("$deviceInfo: getConfig: messageId($messageId)")
         try {
             val message = NetconfMessageUtils.getConfig(messageId, configTarget, filter)
@@ -108,7 +111,7 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
 
     override fun deleteConfig(configTarget: String): DeviceResponse {
         var output = DeviceResponse()
-        val messageId = messageIdInteger.getAndIncrement().toString()
+        val messageId = nextMessageId()
         log.info("$deviceInfo: deleteConfig: messageId($messageId)")
         try {
             val deleteConfigMessage = NetconfMessageUtils.deleteConfig(messageId, configTarget)
@@ -124,7 +127,7 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
 
     override fun lock(configTarget: String): DeviceResponse {
         var output = DeviceResponse()
-        val messageId = messageIdInteger.getAndIncrement().toString()
+        val messageId = nextMessageId()
         log.info("$deviceInfo: lock: messageId($messageId)")
         try {
             val lockMessage = NetconfMessageUtils.lock(messageId, configTarget)
@@ -141,7 +144,7 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
 
     override fun unLock(configTarget: String): DeviceResponse {
         var output = DeviceResponse()
-        val messageId = messageIdInteger.getAndIncrement().toString()
+        val messageId = nextMessageId()
         log.info("$deviceInfo: unLock: messageId($messageId)")
         try {
             val unlockMessage = NetconfMessageUtils.unlock(messageId, configTarget)
@@ -157,7 +160,7 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
 
     override fun commit(confirmed: Boolean, confirmTimeout: Int, persist: String, persistId: String): DeviceResponse {
         var output = DeviceResponse()
-        val messageId = messageIdInteger.getAndIncrement().toString()
+        val messageId = nextMessageId()
         log.info("$deviceInfo: commit: messageId($messageId)")
         try {
             val messageContent = NetconfMessageUtils.commit(messageId, confirmed, confirmTimeout, persist, persistId)
@@ -172,7 +175,7 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
 
     override fun cancelCommit(persistId: String): DeviceResponse {
         var output = DeviceResponse()
-        val messageId = messageIdInteger.getAndIncrement().toString()
+        val messageId = nextMessageId()
         log.info("$deviceInfo: cancelCommit: messageId($messageId)")
         try {
             val messageContent = NetconfMessageUtils.cancelCommit(messageId, persistId)
@@ -187,7 +190,7 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
 
     override fun discardConfig(): DeviceResponse {
         var output = DeviceResponse()
-        val messageId = messageIdInteger.getAndIncrement().toString()
+        val messageId = nextMessageId()
         log.info("$deviceInfo: discard: messageId($messageId)")
         try {
             val discardChangesMessage = NetconfMessageUtils.discardChanges(messageId)
@@ -207,7 +210,7 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
         editDefaultOperation: String
     ): DeviceResponse {
         var response = DeviceResponse()
-        val messageId = messageIdInteger.getAndIncrement().toString()
+        val messageId = nextMessageId()
         log.info("$deviceInfo: editConfig: messageId($messageId)")
         try {
             val editMessage =
@@ -224,7 +227,7 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
 
     override fun validate(configTarget: String): DeviceResponse {
         var output = DeviceResponse()
-        val messageId = messageIdInteger.getAndIncrement().toString()
+        val messageId = nextMessageId()
         try {
             val validateMessage = NetconfMessageUtils.validate(messageId, configTarget)
             output.requestMessage = validateMessage
@@ -239,7 +242,7 @@ class NetconfRpcServiceImpl(private var deviceInfo: DeviceInfo) : NetconfRpcServ
 
     override fun closeSession(force: Boolean): DeviceResponse {
         var output = DeviceResponse()
-        val messageId = messageIdInteger.getAndIncrement().toString()
+        val messageId = nextMessageId()
         log.info("$deviceInfo: closeSession: messageId($messageId)")
         try {
             val messageContent = NetconfMessageUtils.closeSession(messageId, force)
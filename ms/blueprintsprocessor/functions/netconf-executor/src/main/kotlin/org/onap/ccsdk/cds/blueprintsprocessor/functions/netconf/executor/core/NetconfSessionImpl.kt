@@ -32,14 +32,24 @@ import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.R
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.RpcStatus
 import org.slf4j.LoggerFactory
 import java.io.IOException
+import java.time.Duration
 import java.util.Collections
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.ConcurrentHashMap
 import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 import java.util.concurrent.TimeUnit
 import java.util.concurrent.TimeoutException
 
-class NetconfSessionImpl(private val deviceInfo: DeviceInfo, private val rpcService: NetconfRpcService) :
+/**
+ * Netconf session over its own SSH client, or over [sharedClient] when given, which is then left open on close.
+ */
+class NetconfSessionImpl(
+    private val deviceInfo: DeviceInfo,
+    private val rpcService: NetconfRpcService,
+    private val sharedClient: SshClient? = null
+) :
     NetconfSession {
 
     private val log = LoggerFactory.getLogger(NetconfSessionImpl::class.java)
@@ -58,6 +68,13 @@ class NetconfSessionImpl(private val deviceInfo: DeviceInfo, private val rpcServ
     private lateinit var channel: ClientChannel
     private lateinit var streamHandler: NetconfDeviceCommunicator
 
+    /** Runs the device events that wait on the device, off the SSH client IO threads, created on first use */
+    private val eventExecutor = lazy<ExecutorService> {
+        Executors.newSingleThreadExecutor { task ->
+            Thread(task, "netconf-session-${deviceInfo.ipAddress}").apply { isDaemon = true }
+        }
+    }
+
     private var capabilities =
         ImmutableList.of(RpcMessageUtils.NETCONF_10_CAPABILITY, RpcMessageUtils.NETCONF_11_CAPABILITY)
 
@@ -202,11 +219,15 @@ class NetconfSessionImpl(private val deviceInfo: DeviceInfo, private val rpcServ
     }
 
     private fun startClient() {
-        setupNewSSHClient()
+        if (sharedClient != null) {
+            client = sharedClient
+        } else {
+            setupNewSSHClient()
 
-        client.properties.putIfAbsent(CoreModuleProperties.IDLE_TIMEOUT.name, TimeUnit.SECONDS.toMillis(idleTimeout.toLong()))
-        client.properties.putIfAbsent(CoreModuleProperties.NIO2_READ_TIMEOUT.name, TimeUnit.SECONDS.toMillis(idleTimeout + 15L))
-        client.start()
+            client.properties.putIfAbsent(CoreModuleProperties.IDLE_TIMEOUT.name, TimeUnit.SECONDS.toMillis(idleTimeout.toLong()))
+            client.properties.putIfAbsent(CoreModuleProperties.NIO2_READ_TIMEOUT.name, TimeUnit.SECONDS.toMillis(idleTimeout + 15L))
+            client.start()
+        }
 
         startSession()
     }
@@ -216,6 +237,10 @@ class NetconfSessionImpl(private val deviceInfo: DeviceInfo, private val rpcServ
         val connectFuture = client.connect(deviceInfo.username, deviceInfo.ipAddress, deviceInfo.port)
             .verify(connectionTimeout, TimeUnit.SECONDS)
         session = connectFuture.session
+        if (sharedClient != null) {
+            // The idle timeout of the device applies to its session only
+            CoreModuleProperties.IDLE_TIMEOUT.set(session, Duration.ofSeconds(idleTimeout.toLong()))
+        }
         log.info("$deviceInfo: SSH session created")
 
         authSession()
@@ -241,6 +266,7 @@ class NetconfSessionImpl(private val deviceInfo: DeviceInfo, private val rpcServ
 
     private fun openChannel() {
         channel = session.createSubsystemChannel("netconf")
+        channel.streaming = ClientChannel.Streaming.Async
         val channelFuture = channel.open()
         if (channelFuture.await(connectionTimeout, TimeUnit.SECONDS) && channelFuture.isOpened) {
             log.info("$deviceInfo: SSH NETCONF subsystem channel opened")
@@ -253,9 +279,10 @@ class NetconfSessionImpl(private val deviceInfo: DeviceInfo, private val rpcServ
     private fun setupHandler() {
         val sessionListener: NetconfSessionListener = NetconfSessionListenerImpl(this)
         streamHandler = NetconfDeviceCommunicator(
-            channel.invertedOut, channel.invertedIn, deviceInfo,
+            channel.asyncOut, channel.asyncIn, deviceInfo,
             sessionListener, replies
-        )
+        ) { eventExecutor.value.execute(it) }
+        streamHandler.start()
 
         exchangeHelloMessage()
     }
@@ -309,9 +336,34 @@ class NetconfSessionImpl(private val deviceInfo: DeviceInfo, private val rpcServ
         session.close()
         // Closes the socket which should interrupt the streamHandler
         channel.close()
-        client.close()
+        if (sharedClient == null) {
+            client.close()
+        }
+        if (eventExecutor.isInitialized()) eventExecutor.value.shutdown()
     }
 
+    /**
+     * Whether the session was connected and its SSH session and channel are still open
+     */
+    internal fun isConnected(): Boolean =
+        this::channel.isInitialized && !client.isClosed && !session.isClosed && !channel.isClosed
+
+    /**
+     * Closes whatever was opened of the SSH session and channel, without closing the netconf session first
+     */
+    internal fun terminate() {
+        try {
+            if (this::channel.isInitialized) channel.close()
+            if (this::session.isInitialized) session.close()
+            if (sharedClient == null && this::client.isInitialized) client.close()
+            if (eventExecutor.isInitialized()) eventExecutor.value.shutdown()
+        } catch (ioe: IOException) {
+            log.warn("$deviceInfo: Error closing session($sessionId) for host($deviceInfo)", ioe)
+        }
+    }
+
+    internal fun getRpcService(): NetconfRpcService = rpcService
+
     /**
      * Internal function for accessing replies for testing.
      */
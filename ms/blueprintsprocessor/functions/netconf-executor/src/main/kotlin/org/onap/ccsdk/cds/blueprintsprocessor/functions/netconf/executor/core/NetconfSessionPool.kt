@@ -0,0 +1,255 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core
+
+import com.google.common.hash.Hashing
+import org.apache.sshd.client.SshClient
+import org.apache.sshd.core.CoreModuleProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.DeviceInfo
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfException
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.NetconfMessageUtils
+import org.slf4j.LoggerFactory
+import java.io.Closeable
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedDeque
+import java.util.concurrent.Semaphore
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+open class NetconfSessionPoolProperties {
+
+    var enabled: Boolean = false
+    var maxSessionsPerDevice: Int = 4
+    var maxIdleSeconds: Long = 300
+    var validateAfterIdleSeconds: Long = 30
+    var keepAliveSeconds: Long = 30
+    var evictionIntervalSeconds: Long = 30
+}
+
+/**
+ * Device sessions are shared by the leases that have the same host, port, username, password and timeouts, as a
+ * session keeps the timeouts it was connected with
+ */
+data class NetconfSessionKey(
+    val host: String?,
+    val port: Int,
+    val username: String?,
+    val credentialHash: String,
+    val connectTimeout: Long,
+    val replyTimeout: Int,
+    val idleTimeout: Int
+) {
+
+    companion object {
+
+        fun of(deviceInfo: DeviceInfo) = NetconfSessionKey(
+            deviceInfo.ipAddress, deviceInfo.port, deviceInfo.username,
+            Hashing.sha256().hashString(deviceInfo.password ?: "", StandardCharsets.UTF_8).toString(),
+            deviceInfo.connectTimeout, deviceInfo.replyTimeout, deviceInfo.idleTimeout
+        )
+    }
+}
+
+/**
+ * Pool of connected netconf sessions, all over one long lived SSH client.
+ *
+ * A released session stays open on the device, as it was left: a lease must unlock what it locked and commit or
+ * discard what it changed. Sessions are kept alive with SSH heartbeats, checked with an empty get when they were
+ * idle for a while, and closed once idle for longer than maxIdleSeconds.
+ * At most maxSessionsPerDevice sessions are leased at once per device, further leases wait up to the connect
+ * timeout of the device.
+ */
+open class NetconfSessionPool(private val properties: NetconfSessionPoolProperties) : Closeable {
+
+    private val log = LoggerFactory.getLogger(NetconfSessionPool::class.java)
+
+    private val devices = ConcurrentHashMap<NetconfSessionKey, DeviceSessions>()
+
+    private val connects = AtomicLong()
+    private val leases = AtomicLong()
+
+    private val clientDelegate = lazy {
+        val sshClient = SshClient.setUpDefaultClient()
+        CoreModuleProperties.HEARTBEAT_INTERVAL.set(sshClient, Duration.ofSeconds(properties.keepAliveSeconds))
+        // The read timeout applies to all the sessions of the client, it must not close a session before its own
+        // idle timeout does, so it is the one of a device client for the default device idle timeout
+        CoreModuleProperties.NIO2_READ_TIMEOUT.set(
+            sshClient, Duration.ofSeconds(DeviceInfo().idleTimeout + READ_TIMEOUT_MARGIN_SECONDS)
+        )
+        sshClient.start()
+        sshClient.scheduledExecutorService.scheduleWithFixedDelay(
+            { evictIdle() }, properties.evictionIntervalSeconds, properties.evictionIntervalSeconds, TimeUnit.SECONDS
+        )
+        sshClient
+    }
+    private val client: SshClient by clientDelegate
+
+    /**
+     * Lease a connected session of the device, reusing an idle one if there is a healthy one
+     */
+    fun lease(deviceInfo: DeviceInfo): NetconfSessionImpl {
+        val key = NetconfSessionKey.of(deviceInfo)
+        var deviceSessions: DeviceSessions
+        while (true) {
+            deviceSessions = devices.computeIfAbsent(key) { DeviceSessions(properties.maxSessionsPerDevice) }
+            if (!deviceSessions.permits.tryAcquire(deviceInfo.connectTimeout, TimeUnit.SECONDS)) {
+                throw NetconfException(
+                    "$deviceInfo: no netconf session available after ${deviceInfo.connectTimeout} sec, " +
+                        "${properties.maxSessionsPerDevice} are already leased"
+                )
+            }
+            // The device sessions may have been evicted as unused before the permit was taken
+            if (devices[key] === deviceSessions) break
+            deviceSessions.permits.release()
+        }
+        try {
+            leases.incrementAndGet()
+            return idleSession(deviceSessions) ?: connect(deviceInfo)
+        } catch (e: Exception) {
+            deviceSessions.permits.release()
+            throw e
+        }
+    }
+
+    /**
+     * Give back a leased session, it is kept for the next lease if it is still connected and has no reply pending,
+     * a late reply could otherwise complete a request of the next lease
+     */
+    fun release(deviceInfo: DeviceInfo, netconfSession: NetconfSessionImpl) {
+        val deviceSessions = devices[NetconfSessionKey.of(deviceInfo)]
+        if (deviceSessions == null) {
+            netconfSession.terminate()
+            return
+        }
+        try {
+            if (netconfSession.isConnected() && netconfSession.getReplies().values.all { it.isDone }) {
+                netconfSession.clearReplies()
+                netconfSession.clearErrorReplies()
+                deviceSessions.idle.addFirst(IdleSession(netconfSession, System.nanoTime()))
+            } else {
+                netconfSession.terminate()
+            }
+        } finally {
+            deviceSessions.permits.release()
+        }
+    }
+
+    /**
+     * Close a leased session instead of giving it back
+     */
+    fun invalidate(deviceInfo: DeviceInfo, netconfSession: NetconfSessionImpl) {
+        netconfSession.terminate()
+        devices[NetconfSessionKey.of(deviceInfo)]?.permits?.release()
+    }
+
+    /** Number of devices the pool keeps sessions or leases for */
+    fun devices(): Int = devices.size
+
+    /** Number of sessions connected since the pool was created */
+    fun connects(): Long = connects.get()
+
+    /** Number of leases handed out since the pool was created */
+    fun leases(): Long = leases.get()
+
+    /**
+     * Close the sessions idle for longer than maxIdleSeconds, and forget the devices left without sessions
+     */
+    fun evictIdle() {
+        devices.forEach { (key, deviceSessions) ->
+            deviceSessions.idle.filter { it.idleNanos() > TimeUnit.SECONDS.toNanos(properties.maxIdleSeconds) }
+                .forEach { if (deviceSessions.idle.remove(it)) it.netconfSession.terminate() }
+            // Leased device sessions are never unused, a lease racing the removal takes its permit again, see lease
+            devices.computeIfPresent(key) { _, sessions -> sessions.takeUnless { it.unused() } }
+        }
+    }
+
+    override fun close() {
+        devices.values.forEach { deviceSessions ->
+            generateSequence { deviceSessions.idle.pollFirst() }.forEach { it.netconfSession.terminate() }
+        }
+        devices.clear()
+        if (clientDelegate.isInitialized()) client.stop()
+    }
+
+    private fun idleSession(deviceSessions: DeviceSessions): NetconfSessionImpl? {
+        while (true) {
+            val idleSession = deviceSessions.idle.pollFirst() ?: return null
+            if (healthy(idleSession)) return idleSession.netconfSession
+            idleSession.netconfSession.terminate()
+        }
+    }
+
+    private fun healthy(idleSession: IdleSession): Boolean {
+        val idleNanos = idleSession.idleNanos()
+        return when {
+            !idleSession.netconfSession.isConnected() -> false
+            idleNanos > TimeUnit.SECONDS.toNanos(properties.maxIdleSeconds) -> false
+            idleNanos <= TimeUnit.SECONDS.toNanos(properties.validateAfterIdleSeconds) -> true
+            else -> try {
+                // Sessions of the pool are connected with a NetconfRpcServiceImpl, see connect
+                val messageId = (idleSession.netconfSession.getRpcService() as NetconfRpcServiceImpl).nextMessageId()
+                // An empty filter selects nothing, the device only has to answer
+                val reply = idleSession.netconfSession.syncRpc(
+                    NetconfMessageUtils.doWrappedRpc(messageId, VALIDATION_REQUEST),
+                    messageId
+                )
+                NetconfMessageUtils.checkReply(reply)
+            } catch (e: NetconfException) {
+                log.info("${idleSession.netconfSession.getDeviceInfo()}: discarding idle session, ${e.message}")
+                false
+            }
+        }
+    }
+
+    private fun connect(deviceInfo: DeviceInfo): NetconfSessionImpl {
+        val netconfRpcService = NetconfRpcServiceImpl(deviceInfo)
+        val netconfSession = NetconfSessionImpl(deviceInfo, netconfRpcService, client)
+        netconfRpcService.setNetconfSession(netconfSession)
+        try {
+            netconfSession.connect()
+        } catch (e: NetconfException) {
+            netconfSession.terminate()
+            throw e
+        }
+        connects.incrementAndGet()
+        return netconfSession
+    }
+
+    private class DeviceSessions(private val maxSessions: Int) {
+
+        val permits = Semaphore(maxSessions, true)
+
+        /** Most recently released first */
+        val idle = ConcurrentLinkedDeque<IdleSession>()
+
+        fun unused() = idle.isEmpty() && permits.availablePermits() == maxSessions && !permits.hasQueuedThreads()
+    }
+
+    private class IdleSession(val netconfSession: NetconfSessionImpl, private val since: Long) {
+
+        fun idleNanos() = System.nanoTime() - since
+    }
+
+    companion object {
+
+        private const val READ_TIMEOUT_MARGIN_SECONDS = 15L
+
+        private const val VALIDATION_REQUEST = "<get>\n<filter type=\"subtree\"/>\n</get>"
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core
+
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.DeviceInfo
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfException
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfSession
+import java.util.concurrent.CompletableFuture
+
+/**
+ * Netconf session leased from [netconfSessionPool] on connect and given back on disconnect, the device session
+ * itself stays open for the next lease.
+ */
+class PooledNetconfSession(
+    private val deviceInfo: DeviceInfo,
+    private val netconfSessionPool: NetconfSessionPool
+) : NetconfSession {
+
+    @Volatile
+    private var leasedSession: NetconfSessionImpl? = null
+
+    @Synchronized
+    override fun connect() {
+        if (leasedSession == null) {
+            leasedSession = netconfSessionPool.lease(deviceInfo)
+        }
+    }
+
+    @Synchronized
+    override fun disconnect() {
+        leasedSession?.let { netconfSessionPool.release(deviceInfo, it) }
+        leasedSession = null
+    }
+
+    @Synchronized
+    override fun reconnect() {
+        leasedSession?.let { netconfSessionPool.invalidate(deviceInfo, it) }
+        leasedSession = null
+        connect()
+    }
+
+    override fun syncRpc(request: String, messageId: String): String =
+        leasedSession().syncRpc(request, messageId)
+
+    override fun asyncRpc(request: String, messageId: String): CompletableFuture<String> =
+        leasedSession().asyncRpc(request, messageId)
+
+    override fun checkAndReestablish() = leasedSession().checkAndReestablish()
+
+    override fun getDeviceInfo(): DeviceInfo = deviceInfo
+
+    override fun getSessionId(): String = leasedSession().getSessionId()
+
+    override fun getDeviceCapabilitiesSet(): Set<String> = leasedSession().getDeviceCapabilitiesSet()
+
+    private fun leasedSession(): NetconfSessionImpl =
+        leasedSession ?: throw NetconfException("$deviceInfo: Netconf session is not connected")
+}
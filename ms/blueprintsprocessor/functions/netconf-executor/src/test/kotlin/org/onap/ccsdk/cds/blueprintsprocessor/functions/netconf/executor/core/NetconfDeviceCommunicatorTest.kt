@@ -16,19 +16,26 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core
 
-import org.mockito.Mockito
-import org.mockito.kotlin.any
+import org.apache.sshd.common.io.IoInputStream
+import org.apache.sshd.common.io.IoOutputStream
+import org.apache.sshd.common.io.IoReadFuture
+import org.apache.sshd.common.future.SshFutureListener
+import org.apache.sshd.common.io.IoWriteFuture
+import org.apache.sshd.common.util.buffer.Buffer
 import org.junit.Before
 import org.junit.Test
+import org.mockito.Mockito
+import org.mockito.kotlin.any
+import org.mockito.kotlin.argumentCaptor
 import org.mockito.kotlin.never
+import org.mockito.kotlin.timeout
+import org.mockito.kotlin.times
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.DeviceInfo
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfReceivedEvent
-import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfSession
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfSessionListener
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.RpcMessageUtils
+import java.io.EOFException
 import java.io.IOException
-import java.io.InputStream
-import java.io.OutputStream
 import java.nio.charset.StandardCharsets
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.ConcurrentHashMap
@@ -39,13 +46,11 @@ import kotlin.test.assertTrue
 
 class NetconfDeviceCommunicatorTest {
 
-    private lateinit var netconfSession: NetconfSession
     private lateinit var netconfSessionListener: NetconfSessionListener
-    private lateinit var mockInputStream: InputStream
-    private lateinit var mockOutputStream: OutputStream
-    private lateinit var stubInputStream: InputStream
+    private lateinit var mockAsyncOut: IoInputStream
+    private lateinit var mockAsyncIn: IoOutputStream
     private lateinit var replies: MutableMap<String, CompletableFuture<String>>
-    private val endPatternCharArray: List<Int> = stringToCharArray(RpcMessageUtils.END_PATTERN)
+    private lateinit var captured: MutableList<NetconfReceivedEvent>
 
     companion object {
 
@@ -67,152 +72,119 @@ class NetconfDeviceCommunicatorTest {
             |""".trimMargin()
     }
 
-    private fun stringToCharArray(str: String): List<Int> {
-        return str.toCharArray().map(Char::toInt)
-    }
-
     @Before
     fun setup() {
-        netconfSession = Mockito.mock(NetconfSession::class.java)
         netconfSessionListener = Mockito.mock(NetconfSessionListener::class.java)
-        mockInputStream = Mockito.mock(InputStream::class.java)
-        mockOutputStream = Mockito.mock(OutputStream::class.java)
+        mockAsyncOut = Mockito.mock(IoInputStream::class.java)
+        mockAsyncIn = Mockito.mock(IoOutputStream::class.java)
         replies = ConcurrentHashMap()
+        captured = mutableListOf()
+        Mockito.doAnswer {
+            captured.add(it.getArgument(0))
+        }.`when`(netconfSessionListener).accept(any())
     }
 
     @Test
-    fun `NetconfDeviceCommunicator should read from supplied reader`() {
-        Mockito.`when`(mockInputStream.read()).thenReturn(-1)
-        Mockito.`when`(mockInputStream.read(any(), any(), any())).thenReturn(-1)
-        val communicator: NetconfDeviceCommunicator =
-            NetconfDeviceCommunicator(mockInputStream, mockOutputStream, genDeviceInfo(), netconfSessionListener, replies)
-        communicator.join()
-        // verify
-        Mockito.verify(mockInputStream).read(any(), any(), any())
+    fun `NetconfDeviceCommunicator reads from the channel once started`() {
+        val pendingRead = Mockito.mock(IoReadFuture::class.java)
+        Mockito.`when`(mockAsyncOut.read(any())).thenReturn(pendingRead)
+        val communicator = communicator()
+        Mockito.verify(mockAsyncOut, never()).read(any())
+        // RUN the test
+        communicator.start()
+        // Verify, the next read is only issued once this one completes
+        Mockito.verify(mockAsyncOut).read(any())
+        Mockito.verify(pendingRead).addListener(any())
     }
 
     @Test
     fun `NetconfDeviceCommunicator unregisters device on END_PATTERN`() {
-        // The reader will generate RpcMessageUtils.END_PATTERN "]]>]]>" which tells Netconf
+        // The device sends RpcMessageUtils.END_PATTERN "]]>]]>" alone which tells Netconf
         // to unregister the device.
-        // we want to capture the slot to return the value as inputStreamReader will pass a char array
-        // create a slot where NetconfReceivedEvent will be placed to further verify Type.DEVICE_UNREGISTERED
-        val captured = mutableListOf<NetconfReceivedEvent>()
-        Mockito.doAnswer {
-            captured.add(it.getArgument(0))
-        }.`when`(netconfSessionListener).accept(any())
-        stubInputStream = RpcMessageUtils.END_PATTERN.byteInputStream(StandardCharsets.UTF_8)
+        stubReads(RpcMessageUtils.END_PATTERN)
         // RUN the test
-        val communicator = NetconfDeviceCommunicator(
-            stubInputStream, mockOutputStream,
-            genDeviceInfo(), netconfSessionListener, replies
-        )
-        communicator.join()
-        // Verify
+        startCommunicator()
+        // Verify, unregistering disconnects the session, which is done off the channel reads
+        Mockito.verify(netconfSessionListener, timeout(1000)).accept(any())
         assertTrue(captured.size == 1)
         assertEquals(NetconfReceivedEvent.Type.DEVICE_UNREGISTERED, captured[0].type)
         assertEquals(genDeviceInfo(), captured[0].deviceInfo)
+        Mockito.verify(mockAsyncOut).read(any()) // nothing is read after the device unregistered
     }
 
     @Test
     fun `NetconfDeviceCommunicator on IOException generated DEVICE_ERROR event`() {
-        val captured = mutableListOf<NetconfReceivedEvent>()
-        Mockito.doAnswer {
-            captured.add(it.getArgument(0))
-        }.`when`(netconfSessionListener).accept(any())
-        stubInputStream = "".byteInputStream(StandardCharsets.UTF_8)
-        Mockito.`when`(mockInputStream.read(any(), any(), any()))
-            .thenReturn(1).thenThrow(IOException("Fake IO"))
+        val failedRead = Mockito.mock(IoReadFuture::class.java)
+        Mockito.`when`(failedRead.isDone).thenReturn(true)
+        Mockito.`when`(failedRead.exception).thenReturn(IOException("Fake IO"))
+        Mockito.`when`(mockAsyncOut.read(any())).thenReturn(failedRead)
         // RUN THE TEST
-        val communicator = NetconfDeviceCommunicator(
-            mockInputStream, mockOutputStream,
-            genDeviceInfo(), netconfSessionListener, replies
-        )
-        communicator.join()
+        startCommunicator()
         // Verify
         assertTrue(captured.size == 1)
         assertEquals(genDeviceInfo(), captured[0].deviceInfo)
         assertEquals(NetconfReceivedEvent.Type.DEVICE_ERROR, captured[0].type)
     }
 
+    @Test
+    fun `NetconfDeviceCommunicator on end of stream generates no event`() {
+        val closedRead = Mockito.mock(IoReadFuture::class.java)
+        Mockito.`when`(closedRead.isDone).thenReturn(true)
+        Mockito.`when`(closedRead.exception).thenReturn(EOFException("Closed"))
+        Mockito.`when`(mockAsyncOut.read(any())).thenReturn(closedRead)
+        // RUN THE TEST
+        startCommunicator()
+        // Verify
+        assertTrue(captured.isEmpty())
+    }
+
     @Test
     fun `NetconfDeviceCommunicator in END_PATTERN state but fails RpcMessageUtils end pattern validation`() {
-        val captured = mutableListOf<NetconfReceivedEvent>()
-        Mockito.doAnswer {
-            captured.add(it.getArgument(0))
-        }.`when`(netconfSessionListener).accept(any())
         val payload = "<rpc-reply>blah</rpc-reply>"
-        stubInputStream = "$payload${RpcMessageUtils.END_PATTERN}".byteInputStream(StandardCharsets.UTF_8)
-        Mockito.doAnswer {
-            val bytes = stubInputStream.readAllBytes()
-            bytes.forEachIndexed { index, byte ->
-                (it.getArgument(0) as ByteArray)[index] = byte
-            }
-            bytes.size
-        }.doReturn(-1).`when`(mockInputStream).read(any(), any(), any())
+        stubReads("$payload${RpcMessageUtils.END_PATTERN}")
         // RUN the test
-        val communicator = NetconfDeviceCommunicator(
-            mockInputStream, mockOutputStream,
-            genDeviceInfo(), netconfSessionListener, replies
-        )
-        communicator.join()
+        startCommunicator()
         // Verify
-        Mockito.verify(mockInputStream, never()).close() // make sure the reader is not closed as this could cause problems
         assertTrue(captured.size == 1)
         // eventually, sessionListener is called with message type DEVICE_REPLY
         assertEquals(NetconfReceivedEvent.Type.DEVICE_REPLY, captured[0].type)
         assertEquals(payload, captured[0].messagePayload)
     }
 
+    @Test
+    fun `NetconfDeviceCommunicator splits replies across and within reads`() {
+        val first = "<rpc-reply message-id=\"1\"><ok/></rpc-reply>"
+        val second = "<rpc-reply message-id=\"2\"><ok/></rpc-reply>"
+        val third = "<rpc-reply message-id=\"3\"><ok/></rpc-reply>"
+        val end = RpcMessageUtils.END_PATTERN
+        stubReads("$first$end${second.substring(0, 10)}", "${second.substring(10)}$end$third]]>", "]]>")
+        // RUN the test
+        startCommunicator()
+        // Verify
+        assertEquals(listOf(first, second, third), captured.map { it.messagePayload })
+        assertEquals(listOf("1", "2", "3"), captured.map { it.messageId })
+    }
+
     @Test
     fun `NetconfDeviceCommunicator in END_CHUNKED_PATTERN but validation failing produces DEVICE_ERROR`() {
-        val captured = mutableListOf<NetconfReceivedEvent>()
-        Mockito.doAnswer {
-            captured.add(it.getArgument(0))
-        }.`when`(netconfSessionListener).accept(any())
         val payload = "<rpc-reply>blah</rpc-reply>"
         val payloadWithChunkedEnding = "$payload$chunkedEnding"
-
-        stubInputStream = payloadWithChunkedEnding.byteInputStream(StandardCharsets.UTF_8)
-        Mockito.doAnswer {
-            val bytes = stubInputStream.readAllBytes()
-            bytes.forEachIndexed { index, byte ->
-                (it.getArgument(0) as ByteArray)[index] = byte
-            }
-            bytes.size
-        }.doReturn(-1).`when`(mockInputStream).read(any(), any(), any())
+        stubReads(payloadWithChunkedEnding)
         // RUN the test
-        val communicator = NetconfDeviceCommunicator(
-            mockInputStream, mockOutputStream, genDeviceInfo(),
-            netconfSessionListener, replies
-        )
-        communicator.join()
+        startCommunicator()
         // Verify
-        Mockito.verify(mockInputStream, never()).close() // make sure the reader is not closed as this could cause problems
         assertTrue(captured.size == 1)
-        // eventually, sessionListener is called with message type DEVICE_REPLY
+        // eventually, sessionListener is called with message type DEVICE_ERROR
         assertEquals(NetconfReceivedEvent.Type.DEVICE_ERROR, captured[0].type)
         assertEquals("", captured[0].messagePayload)
     }
 
     @Test
     fun `NetconfDeviceCommunicator in END_CHUNKED_PATTERN passing validation generates DEVICE_REPLY`() {
-        val captured = mutableListOf<NetconfReceivedEvent>()
-        Mockito.doAnswer {
-            captured.add(it.getArgument(0))
-        }.`when`(netconfSessionListener).accept(any())
-        stubInputStream = validChunkedEncodedMsg.byteInputStream(StandardCharsets.UTF_8)
-        Mockito.doAnswer {
-            val bytes = stubInputStream.readAllBytes()
-            bytes.forEachIndexed { index, byte ->
-                (it.getArgument(0) as ByteArray)[index] = byte
-            }
-            bytes.size
-        }.doReturn(-1).`when`(mockInputStream).read(any(), any(), any())
+        stubReads(validChunkedEncodedMsg)
         // RUN the test
-        NetconfDeviceCommunicator(mockInputStream, mockOutputStream, genDeviceInfo(), netconfSessionListener, replies).join()
+        startCommunicator()
         // Verify
-        Mockito.verify(mockOutputStream, never()).close() // make sure the reader is not closed as this could cause problems
         assertTrue(captured.size == 1)
         // eventually, sessionListener is called with message type DEVICE_REPLY
         assertEquals(NetconfReceivedEvent.Type.DEVICE_REPLY, captured[0].type)
@@ -246,42 +218,77 @@ class NetconfDeviceCommunicatorTest {
     }
 
     @Test
-    fun `sendMessage writes the request to NetconfDeviceCommunicator Writer`() {
+    fun `sendMessage writes the request to the channel`() {
         val msgPayload = "some text"
         val msgId = "100"
-        stubInputStream = "".byteInputStream(StandardCharsets.UTF_8) // no data available in the stream...
+        val writeFuture = Mockito.mock(IoWriteFuture::class.java)
+        Mockito.`when`(mockAsyncIn.writeBuffer(any())).thenReturn(writeFuture)
         // Run the command
-        val communicator = NetconfDeviceCommunicator(
-            stubInputStream, mockOutputStream,
-            genDeviceInfo(), netconfSessionListener, replies
-        )
+        val communicator = communicator()
         val completableFuture = communicator.sendMessage(msgPayload, msgId)
-        communicator.join()
         // verify
-        Mockito.verify(mockOutputStream).write(any(), any(), any())
-        Mockito.verify(mockOutputStream).flush()
+        Mockito.verify(mockAsyncIn).writeBuffer(any())
         assertFalse { completableFuture.isCompletedExceptionally }
+        assertEquals(completableFuture, replies[msgId])
     }
 
     @Test
     fun `sendMessage on IOError returns completed exceptionally future`() {
         val msgPayload = "some text"
         val msgId = "100"
-        Mockito.`when`(mockOutputStream.write(any(), any(), any()))
+        Mockito.`when`(mockAsyncIn.writeBuffer(any()))
             .thenThrow(IOException("Some IO error occurred!"))
-        stubInputStream = "".byteInputStream(StandardCharsets.UTF_8) // no data available in the stream...
         // Run the command
-        val communicator = NetconfDeviceCommunicator(
-            stubInputStream, mockOutputStream,
-            genDeviceInfo(), netconfSessionListener, replies
-        )
+        val communicator = communicator()
         val completableFuture = communicator.sendMessage(msgPayload, msgId)
         // verify
-        Mockito.verify(mockOutputStream).write(any(), any(), any())
-        Mockito.verify(mockOutputStream, never()).flush()
+        Mockito.verify(mockAsyncIn).writeBuffer(any())
         assertTrue { completableFuture.isCompletedExceptionally }
     }
 
+    @Test
+    fun `sendMessage writes the next request once the previous one is written`() {
+        val writeFuture = Mockito.mock(IoWriteFuture::class.java)
+        Mockito.`when`(mockAsyncIn.writeBuffer(any())).thenReturn(writeFuture)
+        val communicator = communicator()
+        // Run the command, the first write is pending
+        communicator.sendMessage("first", "1")
+        communicator.sendMessage("second", "2")
+        // verify, the second request waits without blocking the caller
+        Mockito.verify(mockAsyncIn, times(1)).writeBuffer(any())
+        val written = argumentCaptor<SshFutureListener<IoWriteFuture>>()
+        Mockito.verify(writeFuture).addListener(written.capture())
+        written.firstValue.operationComplete(writeFuture)
+        Mockito.verify(mockAsyncIn, times(2)).writeBuffer(any())
+    }
+
+    private fun communicator() =
+        NetconfDeviceCommunicator(mockAsyncOut, mockAsyncIn, genDeviceInfo(), netconfSessionListener, replies) {
+            it.run()
+        }
+
+    private fun startCommunicator() {
+        communicator().start()
+    }
+
+    /**
+     * Each read of the channel returns the next of [reads], the one after the last never completes
+     */
+    private fun stubReads(vararg reads: String) {
+        var stubbing = Mockito.doAnswer { completedRead(it.getArgument(0), reads[0]) }
+        reads.drop(1).forEach { read -> stubbing = stubbing.doAnswer { completedRead(it.getArgument(0), read) } }
+        stubbing.doReturn(Mockito.mock(IoReadFuture::class.java)).`when`(mockAsyncOut).read(any())
+    }
+
+    private fun completedRead(buffer: Buffer, read: String): IoReadFuture {
+        val bytes = read.toByteArray(StandardCharsets.UTF_8)
+        buffer.putRawBytes(bytes)
+        val readFuture = Mockito.mock(IoReadFuture::class.java)
+        Mockito.`when`(readFuture.isDone).thenReturn(true)
+        Mockito.`when`(readFuture.read).thenReturn(bytes.size)
+        return readFuture
+    }
+
     private fun genDeviceInfo(): DeviceInfo {
         return DeviceInfo().apply {
             username = "user"
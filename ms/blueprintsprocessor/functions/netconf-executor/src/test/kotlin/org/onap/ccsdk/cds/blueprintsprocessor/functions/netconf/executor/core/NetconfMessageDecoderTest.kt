@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core
+
+import org.junit.Test
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfException
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.RpcMessageUtils
+import java.nio.charset.StandardCharsets
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+
+class NetconfMessageDecoderTest {
+
+    private val hello = "<hello xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><session-id>1</session-id></hello>"
+    private val reply = "<rpc-reply message-id=\"1\"><data>interface ]]> é</data></rpc-reply>"
+
+    @Test
+    fun `end of message framed messages`() {
+        val framed = bytes("$hello${RpcMessageUtils.END_PATTERN}\n$reply${RpcMessageUtils.END_PATTERN}")
+
+        assertEquals(listOf(hello, "\n$reply"), decodeAll(framed))
+        assertEquals(listOf(hello, "\n$reply"), decodeBytewise(framed))
+    }
+
+    @Test
+    fun `end of message pattern after partial patterns`() {
+        val framed = bytes("<data>]]]>]]]]>]></data>]]]>]]>")
+
+        assertEquals(listOf("<data>]]]>]]]]>]></data>]"), decodeAll(framed))
+        assertEquals(listOf("<data>]]]>]]]]>]></data>]"), decodeBytewise(framed))
+    }
+
+    @Test
+    fun `empty end of message framed message`() {
+        assertEquals(listOf(""), decodeAll(bytes(RpcMessageUtils.END_PATTERN)))
+    }
+
+    @Test
+    fun `chunked framed messages after an end of message framed hello`() {
+        val framed = bytes("$hello${RpcMessageUtils.END_PATTERN}") + chunked(reply, 7) + chunked(reply, 100)
+
+        assertEquals(listOf(hello, reply, reply), decodeAll(framed))
+        assertEquals(listOf(hello, reply, reply), decodeBytewise(framed))
+    }
+
+    @Test
+    fun `chunk boundaries inside multi byte characters`() {
+        val message = "<data>${"é".repeat(100)}</data>"
+
+        assertEquals(listOf(message), decodeBytewise(chunked(message, 3)))
+    }
+
+    @Test
+    fun `large message read in buffers`() {
+        val message = "<rpc-reply message-id=\"2\"><data>${"<interface/>".repeat(100000)}</data></rpc-reply>"
+        val framed = chunked(message, 65536) + bytes("$message${RpcMessageUtils.END_PATTERN}")
+        val decoder = NetconfMessageDecoder()
+
+        val messages = (framed.indices step 32768).flatMap { offset ->
+            decoder.decode(framed, offset, minOf(32768, framed.size - offset))
+        }
+
+        assertEquals(listOf(message, message), messages)
+    }
+
+    @Test
+    fun `chunks end without chunked framing`() {
+        assertFailsWith(NetconfException::class) { decodeAll(bytes("<rpc-reply>blah</rpc-reply>\n##\n")) }
+        assertFailsWith(NetconfException::class) { decodeAll(bytes("\n##\n")) }
+    }
+
+    @Test
+    fun `badly framed chunks`() {
+        assertFailsWith(NetconfException::class) { decodeAll(bytes("\n#0\n\n##\n")) }
+        assertFailsWith(NetconfException::class) { decodeAll(bytes("\n#01\na\n##\n")) }
+        assertFailsWith(NetconfException::class) { decodeAll(bytes("\n#1x\na\n##\n")) }
+        assertFailsWith(NetconfException::class) { decodeAll(bytes("\n#2\nabc\n##\n")) }
+        assertFailsWith(NetconfException::class) { decodeAll(bytes("\n#4294967296\n")) }
+    }
+
+    private fun decodeAll(framed: ByteArray): List<String> =
+        NetconfMessageDecoder().decode(framed, 0, framed.size)
+
+    private fun decodeBytewise(framed: ByteArray): List<String> {
+        val decoder = NetconfMessageDecoder()
+        return framed.indices.flatMap { decoder.decode(framed, it, 1) }
+    }
+
+    private fun bytes(framed: String) = framed.toByteArray(StandardCharsets.UTF_8)
+
+    private fun chunked(message: String, chunkSize: Int): ByteArray {
+        val bytes = bytes(message)
+        val chunks = (bytes.indices step chunkSize).map { offset ->
+            val chunk = bytes.copyOfRange(offset, minOf(offset + chunkSize, bytes.size))
+            bytes("\n#${chunk.size}\n") + chunk
+        }
+        return chunks.reduce { framed, chunk -> framed + chunk } + bytes("\n##\n")
+    }
+}
@@ -459,6 +459,7 @@ class NetconfSessionImplTest {
             )
 
         every { mockClientSession.createSubsystemChannel(any()) } returns mockSubsystem
+        every { mockSubsystem.streaming = any() } just Runs
         every { mockClientChannel.invertedOut } returns sampleInputStream
         every { mockClientChannel.invertedIn } returns sampleOutputStream
     }
@@ -0,0 +1,262 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.core
+
+import org.apache.sshd.common.config.keys.KeyUtils.RSA_ALGORITHM
+import org.apache.sshd.common.session.Session
+import org.apache.sshd.common.session.SessionListener
+import org.apache.sshd.server.Environment
+import org.apache.sshd.server.ExitCallback
+import org.apache.sshd.server.SshServer
+import org.apache.sshd.server.auth.password.PasswordAuthenticator
+import org.apache.sshd.server.channel.ChannelSession
+import org.apache.sshd.server.command.Command
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider
+import org.apache.sshd.server.subsystem.SubsystemFactory
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.NetconfDevice
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.DeviceInfo
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.api.NetconfException
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.RpcMessageUtils
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.netconf.executor.utils.RpcStatus
+import org.slf4j.LoggerFactory
+import java.io.ByteArrayOutputStream
+import java.io.InputStream
+import java.io.OutputStream
+import java.nio.charset.StandardCharsets
+import java.nio.file.Paths
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+
+class NetconfSessionPoolTest {
+
+    private val log = LoggerFactory.getLogger(NetconfSessionPoolTest::class.java)
+
+    private lateinit var sshServer: SshServer
+    private val serverConnects = AtomicInteger()
+
+    private lateinit var deviceInfo: DeviceInfo
+
+    @Before
+    fun startNetconfServer() {
+        sshServer = SshServer.setUpDefaultServer()
+        sshServer.host = "localhost"
+        sshServer.port = 0
+        sshServer.keyPairProvider = SimpleGeneratorHostKeyProvider(
+            Paths.get("target").resolve("hostkey." + RSA_ALGORITHM.lowercase())
+        ).apply { algorithm = RSA_ALGORITHM }
+        sshServer.passwordAuthenticator = PasswordAuthenticator { _, _, _ -> true }
+        sshServer.subsystemFactories = listOf(NetconfSubsystemFactory())
+        sshServer.addSessionListener(object : SessionListener {
+            override fun sessionCreated(session: Session) {
+                serverConnects.incrementAndGet()
+            }
+        })
+        sshServer.start()
+
+        deviceInfo = DeviceInfo().apply {
+            username = "netconf"
+            password = "netconf"
+            ipAddress = "localhost"
+            port = sshServer.port
+            connectTimeout = 5
+            replyTimeout = 5
+        }
+    }
+
+    @After
+    fun stopNetconfServer() {
+        sshServer.stop(true)
+    }
+
+    @Test
+    fun testConnectsSavedPer1000Rpcs() {
+        val rpcs = 1000
+
+        // Every workflow step used to connect its own device session
+        val unpooledSteps = 10
+        repeat(unpooledSteps) { runStep(NetconfDevice(deviceInfo)) }
+        assertEquals(unpooledSteps, serverConnects.getAndSet(0), "failed to connect once per unpooled step")
+
+        NetconfSessionPool(NetconfSessionPoolProperties()).use { netconfSessionPool ->
+            repeat(rpcs) { runStep(NetconfDevice(deviceInfo, netconfSessionPool)) }
+
+            assertEquals(rpcs.toLong(), netconfSessionPool.leases())
+            assertEquals(1, netconfSessionPool.connects())
+            assertEquals(1, serverConnects.get(), "failed to reuse the device session")
+            log.info("connects saved per $rpcs RPCs: ${rpcs - serverConnects.get()}")
+        }
+    }
+
+    @Test
+    fun testReplaceIdleSessions() {
+        val properties = NetconfSessionPoolProperties().apply { maxIdleSeconds = 0 }
+        NetconfSessionPool(properties).use { netconfSessionPool ->
+            repeat(3) { runStep(NetconfDevice(deviceInfo, netconfSessionPool)) }
+
+            assertEquals(3, netconfSessionPool.connects(), "failed to replace the expired idle sessions")
+        }
+    }
+
+    @Test
+    fun testValidateIdleSessions() {
+        val properties = NetconfSessionPoolProperties().apply { validateAfterIdleSeconds = 0 }
+        NetconfSessionPool(properties).use { netconfSessionPool ->
+            repeat(3) { runStep(NetconfDevice(deviceInfo, netconfSessionPool)) }
+
+            assertEquals(1, netconfSessionPool.connects(), "failed to reuse the validated idle session")
+        }
+    }
+
+    @Test
+    fun testForgetDevicesWithoutSessions() {
+        val properties = NetconfSessionPoolProperties().apply { maxIdleSeconds = 0 }
+        NetconfSessionPool(properties).use { netconfSessionPool ->
+            runStep(NetconfDevice(deviceInfo, netconfSessionPool))
+            assertEquals(1, netconfSessionPool.devices())
+
+            netconfSessionPool.evictIdle()
+            assertEquals(0, netconfSessionPool.devices(), "failed to forget the device left without sessions")
+        }
+    }
+
+    @Test
+    fun testSeparateSessionsPerTimeouts() {
+        NetconfSessionPool(NetconfSessionPoolProperties()).use { netconfSessionPool ->
+            runStep(NetconfDevice(deviceInfo, netconfSessionPool))
+            deviceInfo.replyTimeout += 1
+            runStep(NetconfDevice(deviceInfo, netconfSessionPool))
+
+            assertEquals(2, netconfSessionPool.connects(), "reused a session connected with other timeouts")
+            assertEquals(2, netconfSessionPool.devices())
+        }
+    }
+
+    @Test
+    fun testLimitSessionsPerDevice() {
+        deviceInfo.connectTimeout = 1
+        val properties = NetconfSessionPoolProperties().apply { maxSessionsPerDevice = 1 }
+        NetconfSessionPool(properties).use { netconfSessionPool ->
+            val leasedDevice = NetconfDevice(deviceInfo, netconfSessionPool)
+            leasedDevice.netconfSession.connect()
+
+            assertFailsWith(NetconfException::class, "failed to limit the sessions of the device") {
+                NetconfDevice(deviceInfo, netconfSessionPool).netconfSession.connect()
+            }
+
+            leasedDevice.netconfSession.disconnect()
+            runStep(NetconfDevice(deviceInfo, netconfSessionPool))
+            assertEquals(1, netconfSessionPool.connects())
+        }
+    }
+
+    private fun runStep(netconfDevice: NetconfDevice) {
+        netconfDevice.netconfSession.connect()
+        try {
+            assertEquals(RpcStatus.SUCCESS, netconfDevice.netconfRpcService.get("").status)
+        } finally {
+            netconfDevice.netconfSession.disconnect()
+        }
+    }
+
+    /**
+     * Netconf 1.0 subsystem answering ok to every rpc
+     */
+    private class NetconfSubsystemFactory : SubsystemFactory {
+
+        private val sessionIds = AtomicInteger()
+
+        override fun getName(): String = "netconf"
+
+        override fun createSubsystem(channel: ChannelSession): Command = NetconfSubsystem(sessionIds.incrementAndGet())
+    }
+
+    private class NetconfSubsystem(private val sessionId: Int) : Command {
+
+        private lateinit var inputStream: InputStream
+        private lateinit var outputStream: OutputStream
+        private var exitCallback: ExitCallback? = null
+
+        override fun setInputStream(inputStream: InputStream) {
+            this.inputStream = inputStream
+        }
+
+        override fun setOutputStream(outputStream: OutputStream) {
+            this.outputStream = outputStream
+        }
+
+        override fun setErrorStream(errorStream: OutputStream) {
+        }
+
+        override fun setExitCallback(exitCallback: ExitCallback) {
+            this.exitCallback = exitCallback
+        }
+
+        override fun start(channel: ChannelSession, env: Environment) {
+            Thread { serve() }.apply { isDaemon = true }.start()
+        }
+
+        override fun destroy(channel: ChannelSession) {
+            inputStream.close()
+        }
+
+        private fun serve() {
+            try {
+                val message = ByteArrayOutputStream()
+                while (true) {
+                    val read = inputStream.read()
+                    if (read == -1) break
+                    message.write(read)
+                    val content = message.toString(StandardCharsets.UTF_8.name())
+                    if (!content.endsWith(RpcMessageUtils.END_PATTERN)) continue
+                    message.reset()
+                    if (content.contains("<hello")) {
+                        // Answered rather than sent first, the client only waits for it once its own hello is sent
+                        send(
+                            "<hello ${RpcMessageUtils.NETCONF_BASE_NAMESPACE}><capabilities>" +
+                                "<capability>${RpcMessageUtils.NETCONF_10_CAPABILITY}</capability></capabilities>" +
+                                "<session-id>$sessionId</session-id></hello>"
+                        )
+                        continue
+                    }
+                    val messageId = MESSAGE_ID.find(content)?.groupValues?.get(1) ?: continue
+                    send(
+                        "<rpc-reply message-id=\"$messageId\" ${RpcMessageUtils.NETCONF_BASE_NAMESPACE}>" +
+                            "<ok/></rpc-reply>"
+                    )
+                    if (content.contains("<close-session")) break
+                }
+            } catch (e: Exception) {
+                // The client went away
+            }
+            exitCallback?.onExit(0)
+        }
+
+        private fun send(message: String) {
+            outputStream.write("$message${RpcMessageUtils.END_PATTERN}".toByteArray(StandardCharsets.UTF_8))
+            outputStream.flush()
+        }
+
+        companion object {
+
+            private val MESSAGE_ID = "message-id=\"(.*?)\"".toRegex()
+        }
+    }
+}
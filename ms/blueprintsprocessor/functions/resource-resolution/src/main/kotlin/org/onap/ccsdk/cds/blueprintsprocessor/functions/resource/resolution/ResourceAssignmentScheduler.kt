@@ -0,0 +1,215 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution
+
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Tag
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
+import org.onap.ccsdk.cds.controllerblueprints.core.asListOfString
+import org.onap.ccsdk.cds.controllerblueprints.resource.dict.ResourceAssignment
+import org.slf4j.LoggerFactory
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+
+open class ResourceResolutionSchedulerProperties {
+
+    /** Assignments of one resolution resolved at once, 0 for no limit */
+    var maxConcurrency: Int = 0
+
+    /** Assignments of one resolution resolved at once from the same source, 0 for no limit */
+    var maxConcurrencyPerSource: Int = 0
+
+    /** Limits of [maxConcurrencyPerSource] overridden by dictionary source name */
+    var sources: MutableMap<String, Int> = hashMapOf()
+}
+
+/**
+ * Resolves the resource assignments of one resolution as a dependency graph, each assignment is started as soon as
+ * the assignments it depends on are resolved. Dependencies are read as in BulkResourceSequencingUtils, from the
+ * key-dependencies of the source definition if there is one, else from the assignment dependencies.
+ *
+ * Limits are held per resolution and only while an assignment is being resolved, never while it waits for its
+ * dependencies, so an assignment resolving nested assignments can't starve on its own permits.
+ */
+open class ResourceAssignmentScheduler(
+    private val properties: ResourceResolutionSchedulerProperties,
+    private val meterRegistry: MeterRegistry? = null
+) {
+
+    private val log = LoggerFactory.getLogger(ResourceAssignmentScheduler::class.java)
+
+    /**
+     * Resolve [resourceAssignments] with [resolve]. Assignments already resolved are skipped but still release
+     * their dependents. The first failure cancels the assignments still running or waiting and is thrown back.
+     */
+    suspend fun schedule(
+        resourceAssignments: List<ResourceAssignment>,
+        resolve: suspend (ResourceAssignment) -> Unit
+    ): List<ResourceAssignmentTiming> {
+        val assignments = resourceAssignments
+            .filter { it.name != "*" && it.name != "start" }
+            .associateBy { it.name }
+        val dependencies = assignments.mapValues { (_, resourceAssignment) ->
+            dependencies(resourceAssignment, assignments)
+        }
+        checkAcyclic(dependencies)
+
+        val globalPermits = permits(properties.maxConcurrency)
+        val sourcePermits = assignments.values.mapNotNull { it.dictionarySource }.distinct()
+            .associateWith { permits(properties.sources[it] ?: properties.maxConcurrencyPerSource) }
+
+        val origin = System.nanoTime()
+        val timings = ConcurrentHashMap<String, ResourceAssignmentTiming>()
+        coroutineScope {
+            val resolved = assignments.keys.associateWith { CompletableDeferred<Unit>() }
+            assignments.values.forEach { resourceAssignment ->
+                launch {
+                    dependencies.getValue(resourceAssignment.name).forEach { resolved.getValue(it).await() }
+                    if (resourceAssignment.status != BluePrintConstants.STATUS_SUCCESS) {
+                        val ready = System.nanoTime()
+                        // Source first, a global permit is never held while waiting for a busy source
+                        withPermits(sourcePermits[resourceAssignment.dictionarySource], globalPermits) {
+                            val started = System.nanoTime()
+                            try {
+                                resolve(resourceAssignment)
+                            } finally {
+                                val timing = ResourceAssignmentTiming(
+                                    resourceAssignment.name, resourceAssignment.dictionarySource,
+                                    ready - origin, started - origin, System.nanoTime() - origin
+                                )
+                                timings[timing.name] = timing
+                                record(timing)
+                            }
+                        }
+                    }
+                    resolved.getValue(resourceAssignment.name).complete(Unit)
+                }
+            }
+        }
+
+        if (log.isDebugEnabled && timings.isNotEmpty()) {
+            val criticalPath = criticalPath(timings, dependencies)
+            val steps = criticalPath.joinToString(" -> ") { "${it.name}(${millis(it.durationNanos)}ms)" }
+            log.debug(
+                "Resolved (${timings.size}) resources in (${millis(criticalPath.last().endedNanos)})ms, " +
+                    "critical path ($steps)"
+            )
+        }
+        return timings.values.sortedBy { it.startedNanos }
+    }
+
+    /** Chain of resolved assignments ending with the last one resolved, each one preceded by its last dependency */
+    private fun criticalPath(
+        timings: Map<String, ResourceAssignmentTiming>,
+        dependencies: Map<String, List<String>>
+    ): List<ResourceAssignmentTiming> {
+        val criticalPath = arrayListOf<ResourceAssignmentTiming>()
+        var timing = timings.values.maxByOrNull { it.endedNanos }
+        while (timing != null) {
+            criticalPath.add(0, timing)
+            timing = dependencies[timing.name].orEmpty().mapNotNull { timings[it] }.maxByOrNull { it.endedNanos }
+        }
+        return criticalPath
+    }
+
+    private fun dependencies(
+        resourceAssignment: ResourceAssignment,
+        assignments: Map<String, ResourceAssignment>
+    ): List<String> {
+        val dependencies = if (resourceAssignment.dictionarySourceDefinition != null) {
+            resourceAssignment.dictionarySourceDefinition?.properties?.get("key-dependencies")?.asListOfString()
+        } else {
+            resourceAssignment.dependencies
+        }
+        return dependencies.orEmpty().distinct().onEach { dependency ->
+            if (!assignments.containsKey(dependency)) {
+                throw BluePrintProcessorException(
+                    "Couldn't get Resource Assignment dependency Key($dependency) of (${resourceAssignment.name})"
+                )
+            }
+        }
+    }
+
+    /** An assignment of a cycle would wait forever for its dependencies */
+    private fun checkAcyclic(dependencies: Map<String, List<String>>) {
+        val pending = dependencies.mapValuesTo(hashMapOf()) { it.value.size }
+        val dependents = hashMapOf<String, MutableList<String>>()
+        dependencies.forEach { (name, keys) -> keys.forEach { dependents.getOrPut(it) { arrayListOf() }.add(name) } }
+        val ready = ArrayDeque(pending.filterValues { it == 0 }.keys)
+        while (ready.isNotEmpty()) {
+            val name = ready.removeFirst()
+            pending.remove(name)
+            dependents[name]?.forEach { dependent ->
+                val count = pending.getValue(dependent) - 1
+                pending[dependent] = count
+                if (count == 0) ready.addLast(dependent)
+            }
+        }
+        if (pending.isNotEmpty()) {
+            throw BluePrintProcessorException("Cyclic dependency between Resource Assignments (${pending.keys})")
+        }
+    }
+
+    private fun permits(limit: Int): Semaphore? = if (limit > 0) Semaphore(limit) else null
+
+    private suspend fun <T> withPermits(
+        sourcePermits: Semaphore?,
+        globalPermits: Semaphore?,
+        block: suspend () -> T
+    ): T =
+        withPermit(sourcePermits) { withPermit(globalPermits, block) }
+
+    private suspend fun <T> withPermit(permits: Semaphore?, block: suspend () -> T): T =
+        permits?.withPermit { block() } ?: block()
+
+    private fun record(timing: ResourceAssignmentTiming) {
+        log.debug(
+            "Resolved resource(${timing.name}) source(${timing.source}) in (${millis(timing.durationNanos)})ms, " +
+                "waited (${millis(timing.waitedNanos)})ms for a permit"
+        )
+        meterRegistry?.let { registry ->
+            val tags = listOf(Tag.of(ResourceResolutionMetricConstants.RESOURCE_SOURCE_TAG, timing.source ?: ""))
+            registry.timer(ResourceResolutionMetricConstants.RESOURCE_ASSIGNMENT_TIMER, tags)
+                .record(timing.durationNanos, TimeUnit.NANOSECONDS)
+            registry.timer(ResourceResolutionMetricConstants.RESOURCE_ASSIGNMENT_WAIT_TIMER, tags)
+                .record(timing.waitedNanos, TimeUnit.NANOSECONDS)
+        }
+    }
+
+    private fun millis(nanos: Long) = TimeUnit.NANOSECONDS.toMillis(nanos)
+}
+
+/**
+ * When an assignment was ready, started and ended, in nanoseconds since its resolution started
+ */
+data class ResourceAssignmentTiming(
+    val name: String,
+    val source: String?,
+    val readyNanos: Long,
+    val startedNanos: Long,
+    val endedNanos: Long
+) {
+
+    val waitedNanos: Long get() = startedNanos - readyNanos
+    val durationNanos: Long get() = endedNanos - startedNanos
+}
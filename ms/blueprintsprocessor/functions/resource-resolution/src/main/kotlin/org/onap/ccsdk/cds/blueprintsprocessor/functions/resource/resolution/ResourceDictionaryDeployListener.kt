@@ -0,0 +1,31 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution
+
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.utils.ResourceAssignmentUtils
+import org.onap.ccsdk.cds.controllerblueprints.core.interfaces.BluePrintDeployListener
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContext
+import org.springframework.stereotype.Component
+
+/** Reads the resource dictionary of a blueprint when it is deployed, instead of on its first resolution */
+@Component
+open class ResourceDictionaryDeployListener : BluePrintDeployListener {
+
+    override suspend fun deployed(bluePrintContext: BluePrintContext) {
+        ResourceAssignmentUtils.loadResourceDictionary(bluePrintContext)
+    }
+}
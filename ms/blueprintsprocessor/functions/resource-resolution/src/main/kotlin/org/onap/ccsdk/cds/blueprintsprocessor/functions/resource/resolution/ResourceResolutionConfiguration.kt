@@ -16,9 +16,22 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution
 
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.ComponentScan
 import org.springframework.context.annotation.Configuration
 
 @Configuration
 @ComponentScan
-open class ResourceResolutionConfiguration
+open class ResourceResolutionConfiguration {
+
+    @Bean
+    open fun resourceResolutionSchedulerProperties(
+        bluePrintPropertyBinder: Binder
+    ): ResourceResolutionSchedulerProperties {
+        return bluePrintPropertyBinder.bind(
+            ResourceResolutionConstants.PREFIX_RESOURCE_RESOLUTION_SCHEDULER,
+            ResourceResolutionSchedulerProperties::class.java
+        ).orElseGet { ResourceResolutionSchedulerProperties() }
+    }
+}
@@ -21,6 +21,7 @@ object ResourceResolutionConstants {
 
     const val SERVICE_RESOURCE_RESOLUTION = "resource-resolution-service"
     const val PREFIX_RESOURCE_RESOLUTION_PROCESSOR = "rr-processor-"
+    const val PREFIX_RESOURCE_RESOLUTION_SCHEDULER = "blueprintsprocessor.resourceResolution.scheduler"
     const val INPUT_ARTIFACT_PREFIX_NAMES = "artifact-prefix-names"
     const val OUTPUT_ASSIGNMENT_PARAMS = "assignment-params"
     const val OUTPUT_ASSIGNMENT_MAP = "assignment-map"
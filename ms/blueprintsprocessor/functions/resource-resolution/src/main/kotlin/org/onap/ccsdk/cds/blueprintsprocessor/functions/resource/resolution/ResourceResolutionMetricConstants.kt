@@ -0,0 +1,29 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution
+
+object ResourceResolutionMetricConstants {
+
+    private const val METRIC_PREFIX = "cds.resource.resolution"
+
+    // TAGS
+    const val RESOURCE_SOURCE_TAG = "source"
+
+    // TIMERS
+    const val RESOURCE_ASSIGNMENT_TIMER = "$METRIC_PREFIX.assignment"
+    const val RESOURCE_ASSIGNMENT_WAIT_TIMER = "$METRIC_PREFIX.assignment.wait"
+}
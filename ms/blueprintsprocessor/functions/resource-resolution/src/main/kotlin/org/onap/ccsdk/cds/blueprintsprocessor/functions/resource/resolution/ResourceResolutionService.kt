@@ -18,15 +18,16 @@
 package org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution
 
 import com.fasterxml.jackson.databind.JsonNode
-import kotlinx.coroutines.async
-import kotlinx.coroutines.awaitAll
-import kotlinx.coroutines.coroutineScope
+import io.micrometer.core.instrument.MeterRegistry
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.withContext
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.db.ResourceResolution
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.db.ResourceResolutionDBService
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.db.TemplateResolutionService
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.processor.ResourceAssignmentProcessor
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.utils.ResourceAssignmentUtils
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.utils.ResourceDefinitionUtils.createResourceAssignments
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.utils.ResourceDictionary
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
 import org.onap.ccsdk.cds.controllerblueprints.core.asJsonNode
@@ -40,11 +41,11 @@ import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonUtils
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.PropertyDefinitionUtils.Companion.hasLogProtect
 import org.onap.ccsdk.cds.controllerblueprints.resource.dict.ResourceAssignment
 import org.onap.ccsdk.cds.controllerblueprints.resource.dict.ResourceDefinition
-import org.onap.ccsdk.cds.controllerblueprints.resource.dict.utils.BulkResourceSequencingUtils
 import org.slf4j.LoggerFactory
 import org.springframework.context.ApplicationContext
 import org.springframework.stereotype.Service
 import java.util.UUID
+import java.util.concurrent.ConcurrentLinkedQueue
 
 data class ResourceResolutionResult(
     val templateMap: MutableMap<String, String>,
@@ -110,12 +111,16 @@ open class ResourceResolutionServiceImpl(
     private var applicationContext: ApplicationContext,
     private var templateResolutionDBService: TemplateResolutionService,
     private var blueprintTemplateService: BluePrintTemplateService,
-    private var resourceResolutionDBService: ResourceResolutionDBService
+    private var resourceResolutionDBService: ResourceResolutionDBService,
+    schedulerProperties: ResourceResolutionSchedulerProperties = ResourceResolutionSchedulerProperties(),
+    meterRegistry: MeterRegistry? = null
 ) :
     ResourceResolutionService {
 
     private val log = LoggerFactory.getLogger(ResourceResolutionService::class.java)
 
+    private val resourceAssignmentScheduler = ResourceAssignmentScheduler(schedulerProperties, meterRegistry)
+
     override fun registeredResourceSources(): List<String> {
         return applicationContext.getBeanNamesForType(ResourceAssignmentProcessor::class.java)
             .filter { it.startsWith(ResourceResolutionConstants.PREFIX_RESOURCE_RESOLUTION_PROCESSOR) }
@@ -250,7 +255,7 @@ open class ResourceResolutionServiceImpl(
 
         // Get the Resource Dictionary Name
         val resourceDefinitions: MutableMap<String, ResourceDefinition> = ResourceAssignmentUtils
-            .resourceDefinitions(bluePrintRuntimeService.bluePrintContext().rootPath)
+            .resourceDictionary(bluePrintRuntimeService.bluePrintContext())
 
         // Resolve resources
         resolveResourceAssignments(
@@ -319,9 +324,9 @@ open class ResourceResolutionServiceImpl(
     }
 
     /**
-     * Iterate the Batch, get the Resource Assignment, dictionary Name, Look for the Resource definition for the
-     * name, then get the type of the Resource Definition, Get the instance for the Resource Type and process the
-     * request.
+     * Schedule the Resource Assignments by their dependencies, get the dictionary Name, Look for the Resource
+     * definition for the name, then get the type of the Resource Definition, Get the instance for the Resource Type
+     * and process the request.
      */
     override suspend fun resolveResourceAssignments(
         blueprintRuntimeService: BluePrintRuntimeService<*>,
@@ -331,8 +336,6 @@ open class ResourceResolutionServiceImpl(
         properties: Map<String, Any>
     ) {
 
-        val bulkSequenced = BulkResourceSequencingUtils.process(resourceAssignments)
-
         // Check the BlueprintRuntime Service Should be ResourceAssignmentRuntimeService
         val resourceAssignmentRuntimeService = if (blueprintRuntimeService !is ResourceAssignmentRuntimeService) {
             ResourceAssignmentUtils.transformToRARuntimeService(blueprintRuntimeService, artifactPrefix)
@@ -342,60 +345,82 @@ open class ResourceResolutionServiceImpl(
 
         exposeOccurrencePropertyInResourceAssignments(resourceAssignmentRuntimeService, properties)
 
-        coroutineScope {
-            bulkSequenced.forEach { batchResourceAssignments ->
-                // Execute Non Dependent Assignments in parallel ( ie asynchronously )
-                val deferred = batchResourceAssignments
-                    .filter { it.name != "*" && it.name != "start" }
-                    .filter { it.status != BluePrintConstants.STATUS_SUCCESS }
-                    .map { resourceAssignment ->
-                        async {
-                            val dictionaryName = resourceAssignment.dictionaryName
-                            val dictionarySource = resourceAssignment.dictionarySource
-
-                            val processorName = processorName(dictionaryName!!, dictionarySource!!, resourceDefinitions)
-
-                            val resourceAssignmentProcessor =
-                                applicationContext.getBean(processorName) as? ResourceAssignmentProcessor
-                                    ?: throw BluePrintProcessorException(
-                                        "failed to get resource processor ($processorName) " +
-                                            "for resource assignment(${resourceAssignment.name})"
-                                    )
-                            try {
-                                // Set BluePrint Runtime Service
-                                resourceAssignmentProcessor.raRuntimeService = resourceAssignmentRuntimeService
-                                // Set Resource Dictionaries
-                                resourceAssignmentProcessor.resourceDictionaries = resourceDefinitions
-
-                                resourceAssignmentProcessor.resourceAssignments = resourceAssignments
-
-                                // Invoke Apply Method
-                                resourceAssignmentProcessor.applyNB(resourceAssignment)
-
-                                if (isToStore(properties)) {
-                                    resourceResolutionDBService.write(
-                                        properties,
-                                        blueprintRuntimeService,
-                                        artifactPrefix,
-                                        resourceAssignment
-                                    )
-                                    log.info("Resource resolution saved into database successfully : (${resourceAssignment.name})")
-                                }
-
-                                // Set errors from RA
-                                blueprintRuntimeService.setBluePrintError(resourceAssignmentRuntimeService.getBluePrintError())
-                            } catch (e: RuntimeException) {
-                                log.error("Fail in processing ${resourceAssignment.name}", e)
-                                throw BluePrintProcessorException(e)
-                            }
-                        }
+        val toStore = isToStore(properties)
+
+        // Resolved assignments, stored together once the resolution is done
+        val resolvedResourceAssignments = ConcurrentLinkedQueue<ResourceAssignment>()
+        try {
+            resourceAssignmentScheduler.schedule(resourceAssignments) { resourceAssignment ->
+                val dictionaryName = resourceAssignment.dictionaryName
+                val dictionarySource = resourceAssignment.dictionarySource
+
+                val processorName = processorName(dictionaryName!!, dictionarySource!!, resourceDefinitions)
+
+                val resourceAssignmentProcessor =
+                    applicationContext.getBean(processorName) as? ResourceAssignmentProcessor
+                        ?: throw BluePrintProcessorException(
+                            "failed to get resource processor ($processorName) " +
+                                "for resource assignment(${resourceAssignment.name})"
+                        )
+                try {
+                    // Set BluePrint Runtime Service
+                    resourceAssignmentProcessor.raRuntimeService = resourceAssignmentRuntimeService
+                    // Set Resource Dictionaries
+                    resourceAssignmentProcessor.resourceDictionaries = resourceDefinitions
+
+                    resourceAssignmentProcessor.resourceAssignments = resourceAssignments
+
+                    // Invoke Apply Method
+                    resourceAssignmentProcessor.applyNB(resourceAssignment)
+
+                    if (toStore) {
+                        resolvedResourceAssignments.add(resourceAssignment)
                     }
-                log.debug("Resolving (${deferred.size})resources parallel.")
-                deferred.awaitAll()
+
+                    // Set errors from RA
+                    blueprintRuntimeService.setBluePrintError(resourceAssignmentRuntimeService.getBluePrintError())
+                } catch (e: RuntimeException) {
+                    log.error("Fail in processing ${resourceAssignment.name}", e)
+                    throw BluePrintProcessorException(e)
+                }
+            }
+        } catch (e: Exception) {
+            // Keep what was resolved before the failure, the failure itself is reported to the caller
+            if (toStore) {
+                withContext(NonCancellable) {
+                    runCatching {
+                        storeResourceAssignments(
+                            properties, blueprintRuntimeService, artifactPrefix, resolvedResourceAssignments
+                        )
+                    }.onFailure { log.error("Failed to store resolved resources", it) }
+                }
             }
+            throw e
+        }
+        if (toStore) {
+            storeResourceAssignments(properties, blueprintRuntimeService, artifactPrefix, resolvedResourceAssignments)
         }
     }
 
+    private suspend fun storeResourceAssignments(
+        properties: Map<String, Any>,
+        bluePrintRuntimeService: BluePrintRuntimeService<*>,
+        artifactPrefix: String,
+        resourceAssignments: Collection<ResourceAssignment>
+    ) {
+        if (resourceAssignments.isEmpty()) return
+        resourceResolutionDBService.writeAll(
+            properties,
+            bluePrintRuntimeService,
+            artifactPrefix,
+            resourceAssignments.toList()
+        )
+        log.info(
+            "Resource resolution saved into database successfully : " +
+                "(${resourceAssignments.joinToString { it.name }})"
+        )
+    }
+
     /**
      * If the Source instance is "input", then it is not mandatory to have source Resource Definition, So it can
      *  derive the default input processor.
@@ -413,6 +438,9 @@ open class ResourceResolutionServiceImpl(
                 "${ResourceResolutionConstants.PREFIX_RESOURCE_RESOLUTION_PROCESSOR}source-default"
             }
             else -> {
+                (resourceDefinitions as? ResourceDictionary)?.processorName(dictionaryName, dictionarySource)
+                    ?.let { return it }
+
                 val resourceDefinition = resourceDefinitions[dictionaryName]
                     ?: throw BluePrintProcessorException("couldn't get resource dictionary definition for $dictionaryName")
 
@@ -530,7 +558,7 @@ open class ResourceResolutionServiceImpl(
                     it.value
                 )
             }
-            .forEach { raMapEntry ->
+            .map { raMapEntry ->
                 val resourceResolution = resourceResolutionMap[raMapEntry.key]
                 val resourceAssignment = raMapEntry.value
 
@@ -544,13 +572,9 @@ open class ResourceResolutionServiceImpl(
                     )
                 }
                 resourceAssignment.status = resourceResolution?.status
-                resourceResolutionDBService.write(
-                    properties,
-                    raRuntimeService,
-                    artifactPrefix,
-                    resourceAssignment
-                )
+                resourceAssignment
             }
+            .let { storeResourceAssignments(properties, raRuntimeService, artifactPrefix, it) }
     }
 
     /**
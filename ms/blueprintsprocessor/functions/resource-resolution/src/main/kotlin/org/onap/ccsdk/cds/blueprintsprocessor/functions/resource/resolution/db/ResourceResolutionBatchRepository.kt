@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.db
+
+import jakarta.persistence.EntityManager
+import jakarta.persistence.PersistenceContext
+import jakarta.transaction.Transactional
+
+interface ResourceResolutionBatchRepository {
+
+    /**
+     * Insert new [resourceResolutions] in a single transaction and flush them together, so they are sent as
+     * JDBC batches instead of one statement and transaction per resolution.
+     */
+    fun persistAll(resourceResolutions: List<ResourceResolution>)
+}
+
+open class ResourceResolutionBatchRepositoryImpl : ResourceResolutionBatchRepository {
+
+    @PersistenceContext
+    private lateinit var entityManager: EntityManager
+
+    /** Resolutions always carry a new id, persist them directly rather than merging them one by one */
+    @Transactional
+    override fun persistAll(resourceResolutions: List<ResourceResolution>) {
+        resourceResolutions.forEach { entityManager.persist(it) }
+        entityManager.flush()
+    }
+}
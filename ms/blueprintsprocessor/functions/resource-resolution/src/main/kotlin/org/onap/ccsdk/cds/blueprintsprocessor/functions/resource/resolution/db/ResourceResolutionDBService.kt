@@ -283,6 +283,75 @@ class ResourceResolutionDBService(private val resourceResolutionRepository: Reso
         occurrence: Int = 0
     ): ResourceResolution = withContext(Dispatchers.IO) {
 
+        val resourceResolution = resourceResolution(
+            blueprintName,
+            blueprintVersion,
+            resolutionKey,
+            resourceId,
+            resourceType,
+            artifactPrefix,
+            resourceAssignment,
+            occurrence
+        )
+
+        try {
+            resourceResolutionRepository.saveAndFlush(resourceResolution)
+        } catch (ex: Exception) {
+            throw BluePrintException("Failed to store resource resolution result.", ex)
+        }
+    }
+
+    /**
+     * Store the [resourceAssignments] resolved within one resolution run as a single batch.
+     */
+    suspend fun writeAll(
+        properties: Map<String, Any>,
+        bluePrintRuntimeService: BluePrintRuntimeService<*>,
+        artifactPrefix: String,
+        resourceAssignments: List<ResourceAssignment>
+    ): List<ResourceResolution> = withContext(Dispatchers.IO) {
+
+        val metadata = bluePrintRuntimeService.bluePrintContext().metadata!!
+
+        val blueprintVersion = checkNotNull(metadata[BluePrintConstants.METADATA_TEMPLATE_VERSION]) { "couldn't get template version from meta data" }
+        val blueprintName = checkNotNull(metadata[BluePrintConstants.METADATA_TEMPLATE_NAME]) { "couldn't get template name from meta data" }
+
+        val resolutionKey = properties[ResourceResolutionConstants.RESOURCE_RESOLUTION_INPUT_RESOLUTION_KEY] as String
+        val resourceId = properties[ResourceResolutionConstants.RESOURCE_RESOLUTION_INPUT_RESOURCE_ID] as String
+        val resourceType = properties[ResourceResolutionConstants.RESOURCE_RESOLUTION_INPUT_RESOURCE_TYPE] as String
+        val occurrence = properties[ResourceResolutionConstants.RESOURCE_RESOLUTION_INPUT_OCCURRENCE] as Int
+
+        val resourceResolutions = resourceAssignments.map {
+            resourceResolution(
+                blueprintName,
+                blueprintVersion,
+                resolutionKey,
+                resourceId,
+                resourceType,
+                artifactPrefix,
+                it,
+                occurrence
+            )
+        }
+
+        try {
+            resourceResolutionRepository.persistAll(resourceResolutions)
+        } catch (ex: Exception) {
+            throw BluePrintException("Failed to store resource resolution results.", ex)
+        }
+        resourceResolutions
+    }
+
+    private fun resourceResolution(
+        blueprintName: String,
+        blueprintVersion: String,
+        resolutionKey: String,
+        resourceId: String,
+        resourceType: String,
+        artifactPrefix: String,
+        resourceAssignment: ResourceAssignment,
+        occurrence: Int
+    ): ResourceResolution {
         val resourceResolution = ResourceResolution()
         resourceResolution.id = UUID.randomUUID().toString()
         resourceResolution.artifactName = artifactPrefix
@@ -302,12 +371,7 @@ class ResourceResolutionDBService(private val resourceResolutionRepository: Reso
         resourceResolution.dictionaryVersion = resourceAssignment.version
         resourceResolution.dictionarySource = resourceAssignment.dictionarySource
         resourceResolution.status = resourceAssignment.status ?: BluePrintConstants.STATUS_FAILURE
-
-        try {
-            resourceResolutionRepository.saveAndFlush(resourceResolution)
-        } catch (ex: Exception) {
-            throw BluePrintException("Failed to store resource resolution result.", ex)
-        }
+        return resourceResolution
     }
 
     /**
@@ -23,7 +23,7 @@ import org.springframework.stereotype.Repository
 import jakarta.transaction.Transactional
 
 @Repository
-interface ResourceResolutionRepository : JpaRepository<ResourceResolution, String> {
+interface ResourceResolutionRepository : JpaRepository<ResourceResolution, String>, ResourceResolutionBatchRepository {
 
     @Query(
         value = "SELECT * FROM RESOURCE_RESOLUTION WHERE resolution_key = :key AND blueprint_name = :blueprintName AND blueprint_version = :blueprintVersion AND artifact_name = :artifactName AND name = :name ORDER BY occurrence DESC, creation_date DESC LIMIT 1",
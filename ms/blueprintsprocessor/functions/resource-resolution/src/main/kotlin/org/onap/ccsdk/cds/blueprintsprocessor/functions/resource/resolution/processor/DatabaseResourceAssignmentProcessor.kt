@@ -54,6 +54,10 @@ open class DatabaseResourceAssignmentProcessor(
 
     private val logger = LoggerFactory.getLogger(DatabaseResourceAssignmentProcessor::class.java)
 
+    private val setValueFromDBOverridden =
+        javaClass.getMethod("setValueFromDB", ResourceAssignment::class.java).declaringClass !=
+            DatabaseResourceAssignmentProcessor::class.java
+
     override fun getName(): String {
         return "${PREFIX_RESOURCE_RESOLUTION_PROCESSOR}source-db"
     }
@@ -63,7 +67,12 @@ open class DatabaseResourceAssignmentProcessor(
             validate(resourceAssignment)
             // Check if It has Input
             if (!setFromInput(resourceAssignment)) {
-                setValueFromDB(resourceAssignment)
+                // Processors overriding the blocking query keep resolving through it
+                if (setValueFromDBOverridden) {
+                    setValueFromDB(resourceAssignment)
+                } else {
+                    setValueFromDBNB(resourceAssignment)
+                }
             }
             // Check the value has populated for mandatory case
             ResourceAssignmentUtils.assertTemplateKeyValueNotNull(resourceAssignment)
@@ -79,7 +88,25 @@ open class DatabaseResourceAssignmentProcessor(
         }
     }
 
+    /**
+     * Blocking query, still used by [processNB] when a processor overrides it, [setValueFromDBNB] is used otherwise
+     */
     open fun setValueFromDB(resourceAssignment: ResourceAssignment) {
+        val query = databaseQuery(resourceAssignment)
+        val rows = query.jdbcTemplate.query(query.sql, query.params)
+        populateRows(resourceAssignment, query, rows)
+    }
+
+    /**
+     * Non blocking [setValueFromDB] used by [processNB], the query runs on the bounded dispatcher of the db source
+     */
+    open suspend fun setValueFromDBNB(resourceAssignment: ResourceAssignment) {
+        val query = databaseQuery(resourceAssignment)
+        val rows = query.jdbcTemplate.queryNB(query.sql, query.params)
+        populateRows(resourceAssignment, query, rows)
+    }
+
+    private fun databaseQuery(resourceAssignment: ResourceAssignment): DatabaseQuery {
         val dName = resourceAssignment.dictionaryName!!
         val dSource = resourceAssignment.dictionarySource!!
         val resourceDefinition = resourceDefinition(dName)
@@ -116,13 +143,22 @@ open class DatabaseResourceAssignmentProcessor(
                 "Query:($sql), input-key-mapping:($inputKeyMapping), output-key-mapping:(${sourceProperties.outputKeyMapping})"
         )
         val jdbcTemplate = blueprintDBLibService(sourceProperties, dSource)
+        return DatabaseQuery(sourceProperties, sql, populateNamedParameter(resolvedInputKeyMapping), jdbcTemplate)
+    }
 
-        val rows = jdbcTemplate.query(sql, populateNamedParameter(resolvedInputKeyMapping))
+    private fun populateRows(
+        resourceAssignment: ResourceAssignment,
+        query: DatabaseQuery,
+        rows: List<Map<String, Any>>
+    ) {
         if (rows.isEmpty()) {
-            logger.warn("Emptyset from dictionary-source($dSource) for dictionary name ($dName) the query ($sql).")
+            logger.warn(
+                "Emptyset from dictionary-source(${resourceAssignment.dictionarySource}) for dictionary name " +
+                    "(${resourceAssignment.dictionaryName}) the query (${query.sql})."
+            )
         }
         logger.debug("Query returned ${rows.size} values")
-        populateResource(resourceAssignment, sourceProperties, rows)
+        populateResource(resourceAssignment, query.sourceProperties, rows)
     }
 
     open fun blueprintDBLibService(sourceProperties: DatabaseResourceSource, selector: String): BluePrintDBLibGenericService {
@@ -193,4 +229,11 @@ open class DatabaseResourceAssignmentProcessor(
     override suspend fun recoverNB(runtimeException: RuntimeException, resourceAssignment: ResourceAssignment) {
         addError(runtimeException.message!!)
     }
+
+    private class DatabaseQuery(
+        val sourceProperties: DatabaseResourceSource,
+        val sql: String,
+        val params: Map<String, Any>,
+        val jdbcTemplate: BluePrintDBLibGenericService
+    )
 }
@@ -115,7 +115,7 @@ open class RestResourceResolutionProcessor(private val blueprintRestLibPropertyS
                 // Get the Rest Client Service
                 val restClientService = blueprintWebClientService(resourceAssignment, sourceProperties)
 
-                val response = restClientService.exchangeResource(verb, urlPath, payload, requestHeaders.toMap())
+                val response = restClientService.exchangeResourceNB(verb, urlPath, payload, requestHeaders.toMap())
                 val responseStatusCode = response.status
                 val responseBody = response.body
                 if (responseStatusCode in 200..299 && outputKeyMapping == null) {
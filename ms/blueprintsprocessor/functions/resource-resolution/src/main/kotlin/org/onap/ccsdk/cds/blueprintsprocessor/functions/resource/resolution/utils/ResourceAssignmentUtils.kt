@@ -24,6 +24,8 @@ import com.fasterxml.jackson.databind.node.ArrayNode
 import com.fasterxml.jackson.databind.node.NullNode
 import com.fasterxml.jackson.databind.node.ObjectNode
 import com.fasterxml.jackson.databind.node.TextNode
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.ResourceAssignmentRuntimeService
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.ResourceResolutionConstants
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
@@ -39,6 +41,7 @@ import org.onap.ccsdk.cds.controllerblueprints.core.isNullOrMissing
 import org.onap.ccsdk.cds.controllerblueprints.core.normalizedFile
 import org.onap.ccsdk.cds.controllerblueprints.core.nullToEmpty
 import org.onap.ccsdk.cds.controllerblueprints.core.rootFieldsToMap
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContext
 import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintRuntimeService
 import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintVelocityTemplateService
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonReactorUtils
@@ -57,6 +60,10 @@ class ResourceAssignmentUtils {
 
         private val logger = LoggerFactory.getLogger(ResourceAssignmentUtils::class.toString())
 
+        private val resourceDictionaryCache: Cache<BluePrintContext, ResourceDictionary> = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build()
+
         suspend fun resourceDefinitions(blueprintBasePath: String): MutableMap<String, ResourceDefinition> {
             val dictionaryFile = normalizedFile(
                 blueprintBasePath, BluePrintConstants.TOSCA_DEFINITIONS_DIR,
@@ -66,6 +73,30 @@ class ResourceAssignmentUtils {
             return JacksonReactorUtils.getMapFromFile(dictionaryFile, ResourceDefinition::class.java)
         }
 
+        /**
+         * Copy of the resource dictionary of the blueprint [bluePrintContext], read once and reused for as long as
+         * the context itself is in use, so a redeployed blueprint is read again with its new context.
+         */
+        suspend fun resourceDictionary(bluePrintContext: BluePrintContext): ResourceDictionary {
+            return sharedResourceDictionary(bluePrintContext).copy()
+        }
+
+        /** Read the resource dictionary of the deployed blueprint [bluePrintContext] ahead of its first execution */
+        suspend fun loadResourceDictionary(bluePrintContext: BluePrintContext) {
+            val dictionaryFile = normalizedFile(
+                bluePrintContext.rootPath, BluePrintConstants.TOSCA_DEFINITIONS_DIR,
+                ResourceResolutionConstants.FILE_NAME_RESOURCE_DEFINITION_TYPES
+            )
+            if (dictionaryFile.exists()) sharedResourceDictionary(bluePrintContext)
+        }
+
+        private suspend fun sharedResourceDictionary(bluePrintContext: BluePrintContext): ResourceDictionary {
+            resourceDictionaryCache.getIfPresent(bluePrintContext)?.let { return it }
+            val resourceDictionary = ResourceDictionary(resourceDefinitions(bluePrintContext.rootPath))
+            return resourceDictionaryCache.asMap().putIfAbsent(bluePrintContext, resourceDictionary)
+                ?: resourceDictionary
+        }
+
         @Throws(BluePrintProcessorException::class)
         fun setResourceDataValue(
             resourceAssignment: ResourceAssignment,
@@ -0,0 +1,62 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.utils
+
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.ResourceResolutionConstants
+import org.onap.ccsdk.cds.controllerblueprints.resource.dict.ResourceDefinition
+
+/**
+ * Resource dictionary of a blueprint, read once and shared between the executions of the blueprint, each of which
+ * works on its own [copy] so the changes made by its processors stay local to it.
+ * Dictionary sources are indexed once, so resolving the processor of a dictionary source is a map lookup.
+ */
+class ResourceDictionary private constructor(
+    private val definitions: MutableMap<String, ResourceDefinition>,
+    private val sourceIndex: Map<String, IndexedSources>
+) : MutableMap<String, ResourceDefinition> by definitions {
+
+    constructor(definitions: Map<String, ResourceDefinition>) : this(HashMap(definitions), index(definitions))
+
+    /** Copy of the dictionary for one execution, sharing the index of the dictionary sources */
+    fun copy(): ResourceDictionary = ResourceDictionary(HashMap(definitions), sourceIndex)
+
+    /** Processor bean name of the [dictionarySource] of [dictionaryName], or null if it is not indexed */
+    fun processorName(dictionaryName: String, dictionarySource: String): String? {
+        val indexedSources = sourceIndex[dictionaryName] ?: return null
+        // Definitions replaced during the execution are left to the regular lookup
+        if (definitions[dictionaryName] !== indexedSources.definition) return null
+        return indexedSources.processorNames[dictionarySource]
+    }
+
+    private class IndexedSources(val definition: ResourceDefinition, val processorNames: Map<String, String>)
+
+    companion object {
+
+        private fun index(definitions: Map<String, ResourceDefinition>): Map<String, IndexedSources> =
+            definitions.mapValues { (_, definition) ->
+                val processorNames = try {
+                    definition.sources.mapValues { (_, source) ->
+                        ResourceResolutionConstants.PREFIX_RESOURCE_RESOLUTION_PROCESSOR.plus(source.type)
+                    }
+                } catch (e: UninitializedPropertyAccessException) {
+                    // Incomplete definitions are left to the regular lookup, which reports them
+                    emptyMap()
+                }
+                IndexedSources(definition, processorNames)
+            }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.Test
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
+import org.onap.ccsdk.cds.controllerblueprints.resource.dict.ResourceAssignment
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+
+class ResourceAssignmentSchedulerTest {
+
+    private val meterRegistry = SimpleMeterRegistry()
+
+    @Test
+    fun testStartOnceDependenciesAreResolved() {
+        val slowResolved = CompletableDeferred<Unit>()
+        val resourceAssignments = listOf(
+            resourceAssignment("slow", "rest"),
+            resourceAssignment("fast", "input"),
+            resourceAssignment("dependent", "input", "fast")
+        )
+
+        val timings = runBlocking {
+            withTimeout(10000) {
+                ResourceAssignmentScheduler(ResourceResolutionSchedulerProperties(), meterRegistry)
+                    .schedule(resourceAssignments) { resourceAssignment ->
+                        when (resourceAssignment.name) {
+                            // Only resolved once the dependent one is, which a level by level resolution never does
+                            "slow" -> slowResolved.await()
+                            "dependent" -> slowResolved.complete(Unit)
+                        }
+                    }
+            }
+        }
+
+        assertEquals(listOf("slow", "fast", "dependent").sorted(), timings.map { it.name }.sorted())
+        assertEquals(
+            1, meterRegistry.find(ResourceResolutionMetricConstants.RESOURCE_ASSIGNMENT_TIMER)
+                .tag(ResourceResolutionMetricConstants.RESOURCE_SOURCE_TAG, "rest").timer()!!.count()
+        )
+    }
+
+    @Test
+    fun testSkipResolvedAssignments() {
+        val resolved = resourceAssignment("resolved", "input")
+        resolved.status = BluePrintConstants.STATUS_SUCCESS
+        val resourceAssignments = listOf(resolved, resourceAssignment("dependent", "input", "resolved"))
+
+        val names = arrayListOf<String>()
+        runBlocking {
+            ResourceAssignmentScheduler(ResourceResolutionSchedulerProperties())
+                .schedule(resourceAssignments) { names.add(it.name) }
+        }
+
+        assertEquals(listOf("dependent"), names)
+    }
+
+    @Test
+    fun testLimitConcurrencyPerSource() {
+        val properties = ResourceResolutionSchedulerProperties()
+        properties.maxConcurrencyPerSource = 3
+        properties.sources["rest"] = 1
+        val resourceAssignments = (1..5).map { resourceAssignment("rest-$it", "rest") } +
+            (1..5).map { resourceAssignment("db-$it", "processor-db") }
+
+        val running = hashMapOf("rest" to AtomicInteger(), "processor-db" to AtomicInteger())
+        val maxRunning = hashMapOf("rest" to AtomicInteger(), "processor-db" to AtomicInteger())
+        runBlocking {
+            ResourceAssignmentScheduler(properties).schedule(resourceAssignments) { resourceAssignment ->
+                val source = resourceAssignment.dictionarySource!!
+                maxRunning[source]!!.accumulateAndGet(running[source]!!.incrementAndGet()) { a, b -> maxOf(a, b) }
+                delay(10)
+                running[source]!!.decrementAndGet()
+            }
+        }
+
+        assertEquals(1, maxRunning["rest"]!!.get())
+        assertEquals(3, maxRunning["processor-db"]!!.get())
+    }
+
+    @Test
+    fun testFailOnCyclicDependencies() {
+        val resourceAssignments = listOf(
+            resourceAssignment("first", "input", "second"),
+            resourceAssignment("second", "input", "first")
+        )
+
+        assertFailsWith(BluePrintProcessorException::class) {
+            runBlocking {
+                ResourceAssignmentScheduler(ResourceResolutionSchedulerProperties())
+                    .schedule(resourceAssignments) {}
+            }
+        }
+    }
+
+    private fun resourceAssignment(name: String, source: String, vararg dependencies: String): ResourceAssignment {
+        val resourceAssignment = ResourceAssignment()
+        resourceAssignment.name = name
+        resourceAssignment.dictionaryName = name
+        resourceAssignment.dictionarySource = source
+        if (dependencies.isNotEmpty()) resourceAssignment.dependencies = dependencies.toMutableList()
+        return resourceAssignment
+    }
+}
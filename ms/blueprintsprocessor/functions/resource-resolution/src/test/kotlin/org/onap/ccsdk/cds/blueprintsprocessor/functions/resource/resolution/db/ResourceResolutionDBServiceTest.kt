@@ -16,9 +16,12 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.db
 
+import io.mockk.Runs
 import io.mockk.every
+import io.mockk.just
 import io.mockk.mockk
 import io.mockk.slot
+import io.mockk.verify
 import kotlinx.coroutines.runBlocking
 import org.junit.Before
 import org.junit.Test
@@ -320,6 +323,35 @@ open class ResourceResolutionDBServiceTest {
         }
     }
 
+    @Test
+    fun writeAllTest() {
+        val slot = slot<List<ResourceResolution>>()
+        val resourceAssignments = (1..3).map { index ->
+            ResourceAssignment().apply {
+                status = BluePrintConstants.STATUS_SUCCESS
+                property?.value = "result-$index".asJsonPrimitive()
+                dictionarySource = "ddSource"
+                dictionaryName = "ddName"
+                version = 1
+                name = "test-$index"
+            }
+        }
+        every {
+            resourceResolutionRepository.persistAll(capture(slot))
+        } just Runs
+        runBlocking {
+            val res = resourceResolutionDBService.writeAll(
+                props, bluePrintRuntimeService, artifactPrefix, resourceAssignments
+            )
+
+            assertEquals(3, res.size)
+            assertEquals(res, slot.captured)
+            assertEquals(listOf("test-1", "test-2", "test-3"), res.map { it.name })
+            assertEquals(resolutionKey, res.first().resolutionKey)
+            verify(exactly = 0) { resourceResolutionRepository.saveAndFlush(any<ResourceResolution>()) }
+        }
+    }
+
     @Test
     fun deleteResourcesResolutionKeyAll() {
         every {
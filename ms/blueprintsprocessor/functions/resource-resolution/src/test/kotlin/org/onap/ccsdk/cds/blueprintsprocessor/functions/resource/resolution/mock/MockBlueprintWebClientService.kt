@@ -103,6 +103,15 @@ class MockBlueprintWebClientService(private var restClientProperties: RestClient
         }
     }
 
+    override suspend fun exchangeResourceNB(
+        methodType: String,
+        path: String,
+        request: String,
+        headers: Map<String, String>
+    ): BlueprintWebClientService.WebClientResponse<String> {
+        return exchangeResource(methodType, path, request, headers)
+    }
+
     private fun setRequest(method: String, path: String) {
         val requestResponse = when (method) {
             "POST" -> {
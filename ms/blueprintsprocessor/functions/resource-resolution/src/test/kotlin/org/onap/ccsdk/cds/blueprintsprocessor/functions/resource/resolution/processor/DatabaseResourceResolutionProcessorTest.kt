@@ -33,6 +33,7 @@ import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.test.context.ContextConfiguration
 import org.springframework.test.context.TestPropertySource
 import org.springframework.test.context.junit4.SpringRunner
+import kotlin.test.assertEquals
 import kotlin.test.assertNotNull
 
 @RunWith(SpringRunner::class)
@@ -50,6 +51,12 @@ class DatabaseResourceResolutionProcessorTest {
     @Autowired
     lateinit var databaseResourceAssignmentProcessor: DatabaseResourceAssignmentProcessor
 
+    @Autowired
+    lateinit var bluePrintDBLibPropertyService: BluePrintDBLibPropertyService
+
+    @Autowired
+    lateinit var primaryDBLibGenericService: PrimaryDBLibGenericService
+
     @Test
     fun `test database resource resolution processor db`() {
         runBlocking {
@@ -106,4 +113,37 @@ class DatabaseResourceResolutionProcessorTest {
             assertNotNull(processorName, "couldn't get Database resource assignment processor name")
         }
     }
+
+    @Test
+    fun `test database resource resolution through overridden blocking query`() {
+        runBlocking {
+            val bluePrintContext = BluePrintMetadataUtils.getBluePrintContext(
+                "./../../../../components/model-catalog/blueprint-model/test-blueprint/baseconfiguration"
+            )
+            ResourceSourceMappingFactory.registerSourceMapping("processor-db", "source-db")
+
+            val queried = mutableListOf<String>()
+            val processor = object : DatabaseResourceAssignmentProcessor(
+                bluePrintDBLibPropertyService, primaryDBLibGenericService
+            ) {
+                override fun setValueFromDB(resourceAssignment: ResourceAssignment) {
+                    queried.add(resourceAssignment.name)
+                }
+            }
+            processor.raRuntimeService = ResourceAssignmentRuntimeService("1234", bluePrintContext)
+            processor.resourceDictionaries = ResourceAssignmentUtils.resourceDefinitions(bluePrintContext.rootPath)
+
+            val resourceAssignment = ResourceAssignment().apply {
+                name = "service-instance-id"
+                dictionaryName = "service-instance-id"
+                dictionarySource = "processor-db"
+                property = PropertyDefinition().apply {
+                    type = "string"
+                }
+            }
+
+            processor.processNB(resourceAssignment)
+            assertEquals(listOf("service-instance-id"), queried, "overridden setValueFromDB not called")
+        }
+    }
 }
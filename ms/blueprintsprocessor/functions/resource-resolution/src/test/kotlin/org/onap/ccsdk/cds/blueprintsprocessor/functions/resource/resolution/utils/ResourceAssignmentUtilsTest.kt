@@ -29,6 +29,8 @@ import kotlinx.coroutines.runBlocking
 import org.junit.Before
 import org.junit.Test
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.ResourceAssignmentRuntimeService
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.ResourceDictionaryDeployListener
+import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.ResourceResolutionConstants
 import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.ResourceResolutionConstants.METADATA_TRANSFORM_TEMPLATE
 import org.onap.ccsdk.cds.controllerblueprints.core.asJsonPrimitive
 import org.onap.ccsdk.cds.controllerblueprints.core.asJsonType
@@ -43,6 +45,9 @@ import org.onap.ccsdk.cds.controllerblueprints.resource.dict.ResourceDefinition
 import java.util.concurrent.atomic.AtomicBoolean
 import kotlin.concurrent.thread
 import kotlin.test.assertEquals
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertSame
 
 data class IpAddress(val port: String, val ip: String)
 data class Host(val name: String, val ipAddress: IpAddress)
@@ -407,6 +412,43 @@ class ResourceAssignmentUtilsTest {
         assertEquals(uncaughtExceptionOccured.get(), false)
     }
 
+    @Test
+    fun `resource dictionary is read once per blueprint context`() {
+        runBlocking {
+            val bluePrintContext = resourceAssignmentRuntimeService.bluePrintContext()
+            val resourceDictionary = ResourceAssignmentUtils.resourceDictionary(bluePrintContext)
+            val otherDictionary = ResourceAssignmentUtils.resourceDictionary(bluePrintContext)
+            assertSame(resourceDictionary["service-instance-id"], otherDictionary["service-instance-id"])
+            assertEquals(
+                ResourceAssignmentUtils.resourceDefinitions(bluePrintContext.rootPath).keys,
+                resourceDictionary.keys
+            )
+            assertEquals(
+                "${ResourceResolutionConstants.PREFIX_RESOURCE_RESOLUTION_PROCESSOR}source-db",
+                resourceDictionary.processorName("service-instance-id", "processor-db")
+            )
+            assertNull(resourceDictionary.processorName("service-instance-id", "sdnc"))
+
+            // Each execution changes its own copy only
+            resourceDictionary.remove("service-instance-id")
+            assertNull(resourceDictionary.processorName("service-instance-id", "processor-db"))
+            assertNotNull(otherDictionary["service-instance-id"])
+            assertNotNull(ResourceAssignmentUtils.resourceDictionary(bluePrintContext)["service-instance-id"])
+        }
+    }
+
+    @Test
+    fun `resource dictionary is read when the blueprint is deployed`() {
+        runBlocking {
+            val bluePrintContext = resourceAssignmentRuntimeService.bluePrintContext()
+            ResourceDictionaryDeployListener().deployed(bluePrintContext)
+            val loadedDefinition = ResourceAssignmentUtils.resourceDictionary(bluePrintContext)["service-instance-id"]
+            ResourceAssignmentUtils.loadResourceDictionary(bluePrintContext)
+            val reusedDefinition = ResourceAssignmentUtils.resourceDictionary(bluePrintContext)["service-instance-id"]
+            assertSame(loadedDefinition, reusedDefinition)
+        }
+    }
+
     private fun initInputMapAndExpectedValuesForPrimitiveType() {
         inputMapToTestPrimitiveTypeWithValue = "1.2.3.1".asJsonType()
         val keyValue = mutableMapOf<String, String>()
@@ -245,6 +245,15 @@ object BluePrintConstants {
     const val PROPERTY_CLUSTER_NODE_ADDRESS = "CLUSTER_NODE_ADDRESS"
     const val PROPERTY_CLUSTER_JOIN_AS_CLIENT = "CLUSTER_JOIN_AS_CLIENT"
     const val PROPERTY_CLUSTER_CONFIG_FILE = "CLUSTER_CONFIG_FILE"
+    val CLUSTER_LOCK_OWNER_THREADS = (System.getenv("CLUSTER_LOCK_OWNER_THREADS") ?: "64").toInt()
+
+    /** Template Cache Properties */
+    val TEMPLATE_CACHE_SIZE = (System.getenv("TEMPLATE_CACHE_SIZE") ?: "500").toLong()
+
+    /** Compile Cache Properties */
+    val COMPILE_CACHE_SIZE = (System.getenv("COMPILE_CACHE_SIZE") ?: "200").toLong()
+    val COMPILE_CACHE_IDLE_MINUTES = (System.getenv("COMPILE_CACHE_IDLE_MINUTES") ?: "60").toLong()
+    val COMPILE_CACHE_EAGER = (System.getenv("COMPILE_CACHE_EAGER") ?: "false").toBoolean()
 
     const val NODE_TEMPLATE_TYPE_COMPONENT_RESOURCE_RESOLUTION = "component-resource-resolution"
     const val NODE_TEMPLATE_TYPE_DG = "dg-generic"
@@ -257,6 +266,8 @@ object BluePrintConstants {
     const val METRIC_TAG_BP_STATUS = "status"
     const val METRIC_TAG_BP_OUTCOME = "outcome"
     const val METRIC_TAG_TOPIC = "topic"
+    const val METRIC_TAG_PARTITION = "partition"
     const val METRIC_TAG_STEP = "step"
     const val METRIC_TAG_SCRIPT_NAME = "script_name"
+    const val METRIC_TAG_NODE_TEMPLATE = "node_template"
 }
@@ -42,8 +42,17 @@ class Graph {
     val nodes: MutableMap<String, Node> = hashMapOf()
     val edges: MutableSet<Edge> = mutableSetOf()
 
+    /** Number of node ordinals handed out, size of the per execution node state */
+    var nodeCount: Int = 0
+        private set
+
+    /** Number of edge ordinals handed out, size of the per execution edge state */
+    var edgeCount: Int = 0
+        private set
+
     fun addNode(value: String): Node {
         val node = Node(value)
+        node.ordinal = nodeCount++
         nodes[value] = node
         return node
     }
@@ -61,6 +70,7 @@ class Graph {
             label
         )
         if (!edges.contains(edge)) {
+            edge.ordinal = edgeCount++
             edges.add(edge)
             checkNotNull(nodes[source]) { "couldn't find value for $source" }.edges.add(edge)
         }
@@ -101,6 +111,10 @@ class Graph {
 
         val edges: MutableList<Edge> = ArrayList()
 
+        /** Index of the node in the [GraphExecutionState] of its graph */
+        var ordinal: Int = -1
+            internal set
+
         fun neighbors(): List<Node> = edges.map { it.target }
 
         fun neighbors(label: EdgeLabel): List<Node> = edges.filter { it.label == label }
@@ -118,6 +132,10 @@ class Graph {
         var status: EdgeStatus = EdgeStatus.NOT_STARTED
     ) {
 
+        /** Index of the edge in the [GraphExecutionState] of its graph */
+        var ordinal: Int = -1
+            internal set
+
         fun equivalentTo(other: Edge) =
             (source == other.source && target == other.target) ||
                 (source == other.target && target == other.source)
@@ -184,3 +202,25 @@ class Graph {
         }
     }
 }
+
+/**
+ * Node and edge status of one execution of a [graph]. The graph itself is not changed while executing,
+ * so it can be shared by concurrent executions of the same workflow.
+ */
+class GraphExecutionState(val graph: Graph) {
+
+    private val nodeStatuses = Array(graph.nodeCount) { NodeStatus.NOT_STARTED }
+    private val edgeStatuses = Array(graph.edgeCount) { EdgeStatus.NOT_STARTED }
+
+    operator fun get(node: Graph.Node): NodeStatus = nodeStatuses[node.ordinal]
+
+    operator fun set(node: Graph.Node, status: NodeStatus) {
+        nodeStatuses[node.ordinal] = status
+    }
+
+    operator fun get(edge: Graph.Edge): EdgeStatus = edgeStatuses[edge.ordinal]
+
+    operator fun set(edge: Graph.Edge, status: EdgeStatus) {
+        edgeStatuses[edge.ordinal] = status
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.controllerblueprints.core.interfaces
+
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContext
+
+/**
+ * Prepares what the executions of a blueprint need as soon as it is deployed, so that its first execution doesn't
+ * pay for it. Called with the shared context of the blueprint each time its content is deployed on this node.
+ */
+interface BluePrintDeployListener {
+
+    suspend fun deployed(bluePrintContext: BluePrintContext)
+}
@@ -59,6 +59,19 @@ open class BluePrintCompileService {
         kClassName: String,
         args: ArrayList<Any?>?
     ): T {
+        val compiledScripts = load(bluePrintSourceCode)
+
+        /** Create the instance from the class loader */
+        return instance(compiledScripts, kClassName, args)
+    }
+
+    /** Compile the [bluePrintSourceCode] if needed and load its class loader into the cache */
+    suspend fun load(bluePrintSourceCode: BluePrintSourceCode): BluePrintCompiledScripts {
+        /** Already compiled and loaded, nothing to check on the file system */
+        if (!bluePrintSourceCode.regenerate) {
+            BluePrintCompileCache.compiledScriptsIfPresent(bluePrintSourceCode.cacheKey)?.let { return it }
+        }
+
         /** Compile the source code if needed */
         log.debug("Jar Exists : ${bluePrintSourceCode.targetJarFile.exists()}, Regenerate : ${bluePrintSourceCode.regenerate}")
 
@@ -68,10 +81,7 @@ open class BluePrintCompileService {
             }
         }
 
-        val classLoaderWithDependencies = BluePrintCompileCache.classLoader(bluePrintSourceCode.cacheKey)
-
-        /** Create the instance from the class loader */
-        return instance(classLoaderWithDependencies, kClassName, args)
+        return BluePrintCompileCache.compiledScripts(bluePrintSourceCode.cacheKey)
     }
 
     /** Compile [bluePrintSourceCode] and put into cache */
@@ -136,6 +146,21 @@ open class BluePrintCompileService {
 
         return instance as T
     }
+
+    /** create class [kClassName] instance from the class and constructor already looked up in [compiledScripts] */
+    fun <T> instance(
+        compiledScripts: BluePrintCompiledScripts,
+        kClassName: String,
+        args: ArrayList<Any?>? = arrayListOf()
+    ): T {
+        val instance = if (args.isNullOrEmpty()) {
+            compiledScripts.scriptClass(kClassName).newInstance()
+        } else {
+            compiledScripts.scriptConstructor(kClassName).newInstance(*args.toArray())
+        } ?: throw BluePrintException("failed to create class($kClassName) instance for constructor argument($args).")
+
+        return instance as T
+    }
 }
 
 /** Compile source code information */
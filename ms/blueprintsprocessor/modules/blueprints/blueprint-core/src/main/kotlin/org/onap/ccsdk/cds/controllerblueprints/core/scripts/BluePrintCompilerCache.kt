@@ -18,30 +18,62 @@ package org.onap.ccsdk.cds.controllerblueprints.core.scripts
 
 import com.google.common.cache.CacheBuilder
 import com.google.common.cache.CacheLoader
+import com.google.common.cache.CacheStats
 import com.google.common.cache.LoadingCache
+import com.google.common.cache.RemovalListener
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintException
 import org.onap.ccsdk.cds.controllerblueprints.core.logger
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintFileUtils
+import java.lang.reflect.Constructor
 import java.net.URLClassLoader
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
 
+/**
+ * Class loaders of the compiled blueprint scripts, keyed by the blueprint base path.
+ * The cache is bounded by COMPILE_CACHE_SIZE blueprints, and a blueprint not used for COMPILE_CACHE_IDLE_MINUTES
+ * is evicted, its class loader is recreated from the compiled jar on next use.
+ */
 object BluePrintCompileCache {
 
     val log = logger(BluePrintCompileCache::class)
 
-    private val classLoaderCache: LoadingCache<String, URLClassLoader> = CacheBuilder.newBuilder()
-        .maximumSize(50)
+    private val classLoaderCache: LoadingCache<String, BluePrintCompiledScripts> = CacheBuilder.newBuilder()
+        .maximumSize(BluePrintConstants.COMPILE_CACHE_SIZE)
+        .apply {
+            if (BluePrintConstants.COMPILE_CACHE_IDLE_MINUTES > 0) {
+                expireAfterAccess(BluePrintConstants.COMPILE_CACHE_IDLE_MINUTES, TimeUnit.MINUTES)
+            }
+        }
+        .removalListener(
+            RemovalListener<String, BluePrintCompiledScripts> {
+                // Evicted class loaders are left to the garbage collector, running executions may still use them
+                if (it.wasEvicted()) log.info("Evicted compiled cache(${it.key}) cause(${it.cause})")
+            }
+        )
+        .recordStats()
         .build(BluePrintClassLoader)
 
     fun classLoader(key: String): URLClassLoader {
+        return classLoaderCache.get(key).classLoader
+    }
+
+    fun compiledScripts(key: String): BluePrintCompiledScripts {
         return classLoaderCache.get(key)
     }
 
+    /** Compiled scripts of [key] if already loaded, without loading them */
+    fun compiledScriptsIfPresent(key: String): BluePrintCompiledScripts? {
+        return classLoaderCache.getIfPresent(key)
+    }
+
     fun cleanClassLoader(key: String) {
         if (hasClassLoader(key)) {
             // Make sure to close all classloader loaded resources before we let go of it.
             // This fixes a Delete failure message on filesystem that keeps locks on opened jars;
             // like Windows and NFS.
-            classLoaderCache.get(key).close()
+            classLoaderCache.get(key).classLoader.close()
             classLoaderCache.invalidate(key)
             log.info("Cleaned compiled cache($key)")
         } else {
@@ -49,18 +81,44 @@ object BluePrintCompileCache {
         }
     }
 
+    /** Drop the class loader of [key] without closing it, running executions may still use it */
+    fun invalidateClassLoader(key: String) {
+        classLoaderCache.invalidate(key)
+    }
+
     fun hasClassLoader(key: String): Boolean {
         return classLoaderCache.asMap().containsKey(key)
     }
+
+    fun size(): Long = classLoaderCache.size()
+
+    fun stats(): CacheStats = classLoaderCache.stats()
+}
+
+/**
+ * Class loader of the compiled scripts of a blueprint, with the script classes and constructors already looked up.
+ * Script instances are not shared, components keep the state of the execution they run for.
+ */
+class BluePrintCompiledScripts(val classLoader: URLClassLoader) {
+
+    private val scriptClasses = ConcurrentHashMap<String, Class<*>>()
+    private val scriptConstructors = ConcurrentHashMap<String, Constructor<*>>()
+
+    fun scriptClass(kClassName: String): Class<*> =
+        scriptClasses.computeIfAbsent(kClassName) { classLoader.loadClass(it) }
+
+    /** The single public constructor of [kClassName] */
+    fun scriptConstructor(kClassName: String): Constructor<*> =
+        scriptConstructors.computeIfAbsent(kClassName) { scriptClass(it).constructors.single() }
 }
 
-object BluePrintClassLoader : CacheLoader<String, URLClassLoader>() {
+object BluePrintClassLoader : CacheLoader<String, BluePrintCompiledScripts>() {
 
     val log = logger(BluePrintClassLoader::class)
 
     override fun load(key: String) = try {
         log.info("loading compiled cache($key)")
-        BluePrintFileUtils.getURLClassLoaderFromDirectory(key)
+        BluePrintCompiledScripts(BluePrintFileUtils.getURLClassLoaderFromDirectory(key))
     } catch (e: Exception) {
         throw BluePrintException("failed to load cache($key) with Exception($e)")
     }
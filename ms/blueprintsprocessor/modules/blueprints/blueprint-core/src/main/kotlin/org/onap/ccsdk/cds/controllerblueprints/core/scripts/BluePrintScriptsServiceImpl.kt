@@ -20,6 +20,7 @@ package org.onap.ccsdk.cds.controllerblueprints.core.scripts
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
 import org.onap.ccsdk.cds.controllerblueprints.core.interfaces.BluePrintScriptsService
 import org.onap.ccsdk.cds.controllerblueprints.core.logger
+import org.onap.ccsdk.cds.controllerblueprints.core.normalizedFile
 import org.onap.ccsdk.cds.controllerblueprints.core.normalizedPathName
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintFileUtils
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintMetadataUtils
@@ -41,7 +42,31 @@ open class BluePrintScriptsServiceImpl : BluePrintScriptsService {
         scriptClassName: String,
         reCompile: Boolean
     ): T {
+        val scriptSource = scriptSource(blueprintBasePath, artifactName, artifactVersion, reCompile)
+        return scriptInstance(scriptSource, scriptClassName)
+    }
 
+    /** Compile the kotlin scripts of the blueprint deployed in [blueprintBasePath] and load them, if it has any */
+    suspend fun compile(blueprintBasePath: String) {
+        val scriptsDir = normalizedFile(blueprintBasePath, BluePrintConstants.TOSCA_SCRIPTS_KOTLIN_DIR)
+        val hasScripts = scriptsDir.walkTopDown().any { it.isFile && (it.extension == "kt" || it.extension == "kts") }
+        if (!hasScripts) return
+
+        val toscaMetaData = BluePrintMetadataUtils.toscaMetaData(blueprintBasePath)
+        checkNotNull(toscaMetaData.templateName) { "couldn't find 'Template-Name' key in TOSCA.meta" }
+        checkNotNull(toscaMetaData.templateVersion) { "couldn't find 'Template-Version' key in TOSCA.meta" }
+        val scriptSource = scriptSource(
+            blueprintBasePath, toscaMetaData.templateName!!, toscaMetaData.templateVersion!!, false
+        )
+        BluePrintCompileService().load(scriptSource)
+    }
+
+    private fun scriptSource(
+        blueprintBasePath: String,
+        artifactName: String,
+        artifactVersion: String,
+        reCompile: Boolean
+    ): BluePrintSourceCode {
         val sources: MutableList<String> = arrayListOf()
         sources.add(normalizedPathName(blueprintBasePath, BluePrintConstants.TOSCA_SCRIPTS_KOTLIN_DIR))
 
@@ -51,7 +76,7 @@ open class BluePrintScriptsServiceImpl : BluePrintScriptsService {
         scriptSource.cacheKey = BluePrintFileUtils.compileCacheKey(blueprintBasePath)
         scriptSource.targetJarFile = BluePrintFileUtils.compileJarFile(blueprintBasePath, artifactName, artifactVersion)
         scriptSource.regenerate = reCompile
-        return scriptInstance(scriptSource, scriptClassName)
+        return scriptSource
     }
 
     override suspend fun <T> scriptInstance(
@@ -70,8 +95,8 @@ open class BluePrintScriptsServiceImpl : BluePrintScriptsService {
 
     override suspend fun <T> scriptInstance(cacheKey: String, scriptClassName: String): T {
         val args = ArrayList<Any?>()
-        return BluePrintCompileCache.classLoader(cacheKey).loadClass(scriptClassName).constructors
-            .single().newInstance(*args.toArray()) as T
+        return BluePrintCompileCache.compiledScripts(cacheKey).scriptConstructor(scriptClassName)
+            .newInstance(*args.toArray()) as T
     }
 
     override suspend fun <T> scriptInstance(scriptClassName: String): T {
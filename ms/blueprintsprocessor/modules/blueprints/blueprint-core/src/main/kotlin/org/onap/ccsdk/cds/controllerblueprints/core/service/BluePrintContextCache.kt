@@ -0,0 +1,69 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.controllerblueprints.core.service
+
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.cache.CacheLoader
+import com.google.common.cache.LoadingCache
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import org.onap.ccsdk.cds.controllerblueprints.core.logger
+
+/**
+ * Shared cache of parsed [BluePrintContext], keyed by the deployed blueprint path
+ * (deployPath/name/version, same key as the compile cache).
+ * Cached contexts are shared across executions and must be treated as read only,
+ * only the per execution [BluePrintRuntimeService] store is created for each request.
+ * Entries are removed when the blueprint is uploaded again or deleted.
+ */
+object BluePrintContextCache {
+
+    private val log = logger(BluePrintContextCache::class)
+
+    private val contextCache: Cache<String, BluePrintContext> = CacheBuilder.newBuilder()
+        .maximumSize(200)
+        .build()
+
+    private val mutexCache: LoadingCache<String, Mutex> = CacheBuilder.newBuilder()
+        .weakValues()
+        .build(CacheLoader.from { _ -> Mutex() })
+
+    /** Get the cached context for [key], or build it once with [loader] */
+    suspend fun bluePrintContext(key: String, loader: suspend () -> BluePrintContext): BluePrintContext {
+        contextCache.getIfPresent(key)?.let { return it }
+        return mutexCache.get(key).withLock {
+            contextCache.getIfPresent(key) ?: loader().also {
+                contextCache.put(key, it)
+                log.info("cached blueprint context($key)")
+            }
+        }
+    }
+
+    fun cleanBluePrintContext(key: String) {
+        if (hasBluePrintContext(key)) {
+            contextCache.invalidate(key)
+            log.info("Cleaned blueprint context cache($key)")
+        } else {
+            log.debug("No blueprint context cache($key) present to clean.")
+        }
+    }
+
+    fun hasBluePrintContext(key: String): Boolean {
+        return contextCache.asMap().containsKey(key)
+    }
+}
@@ -17,8 +17,11 @@
 package org.onap.ccsdk.cds.controllerblueprints.core.service
 
 import com.fasterxml.jackson.core.type.TypeReference
-import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.google.common.base.Charsets
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.hash.Hashing
 import com.hubspot.jinjava.Jinjava
 import com.hubspot.jinjava.JinjavaConfig
 import com.hubspot.jinjava.interpret.Context
@@ -27,21 +30,50 @@ import com.hubspot.jinjava.interpret.JinjavaInterpreter
 import com.hubspot.jinjava.loader.ResourceLocator
 import com.hubspot.jinjava.loader.ResourceNotFoundException
 import com.hubspot.jinjava.objects.serialization.PyishObjectMapper
+import com.hubspot.jinjava.tree.Node
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
 import org.onap.ccsdk.cds.controllerblueprints.core.config.BluePrintLoadConfiguration
-import org.onap.ccsdk.cds.controllerblueprints.core.interfaces.BluePrintJsonNodeFactory
+import org.onap.ccsdk.cds.controllerblueprints.core.logger
 import org.onap.ccsdk.cds.controllerblueprints.core.normalizedPathName
-import org.onap.ccsdk.cds.controllerblueprints.core.removeNullNode
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintFileUtils
 import java.io.IOException
 import java.nio.charset.Charset
 import java.nio.file.Files.readAllBytes
 import java.nio.file.Paths
 import java.util.Objects
+import java.util.concurrent.ConcurrentHashMap
 
 object BluePrintJinjaTemplateService {
 
+    private val log = logger(BluePrintJinjaTemplateService::class)
+
+    private val mapper = ObjectMapper()
+
+    /** Long lived engines, one per deployed blueprint, each one with its own template locator */
+    private val jinjavaCache: Cache<String, Jinjava> = CacheBuilder.newBuilder()
+        .maximumSize(BluePrintConstants.TEMPLATE_CACHE_SIZE)
+        .build()
+
+    /** Parsed templates, included and extended ones too, keyed by the blueprint they come from and by their content */
+    private val templateNodeCache: Cache<TemplateKey, Node> = CacheBuilder.newBuilder()
+        .maximumSize(BluePrintConstants.TEMPLATE_CACHE_SIZE)
+        .build()
+
+    private data class TemplateKey(val blueprintKey: String, val contentHash: String)
+
+    /** Engines of the templates given with their own locator, kept as long as the locator is used */
+    private val locatorJinjavaCache: Cache<ResourceLocator, Jinjava> = CacheBuilder.newBuilder()
+        .weakKeys()
+        .maximumSize(BluePrintConstants.TEMPLATE_CACHE_SIZE)
+        .build()
+
+    /** Engine for the templates which are not related to a blueprint */
+    private val defaultJinjava: Jinjava by lazy { jinjava("") }
+
     /**
      * To enable inheritance within CBA, we need Jinja runtime to know where to load the templates.
+     * Loaded templates are kept in memory, the locator lives as long as the deployed blueprint content.
      */
     class BlueprintRelatedTemplateLocator(
         private val bluePrintLoadConfiguration: BluePrintLoadConfiguration,
@@ -49,8 +81,11 @@ object BluePrintJinjaTemplateService {
         private val artifactVersion: String
     ) : ResourceLocator {
 
+        private val templates: MutableMap<String, String> = ConcurrentHashMap()
+
         @Throws(IOException::class)
         override fun getString(fullName: String, encoding: Charset, interpreter: JinjavaInterpreter): String {
+            templates[fullName]?.let { return it }
             try {
                 val deployFile =
                     normalizedPathName(
@@ -60,58 +95,81 @@ object BluePrintJinjaTemplateService {
                         fullName
                     )
 
-                return String(readAllBytes(Paths.get(deployFile)))
+                return String(readAllBytes(Paths.get(deployFile))).also { templates[fullName] = it }
             } catch (var5: IllegalArgumentException) {
                 throw ResourceNotFoundException("Couldn't find resource: $fullName")
             }
         }
     }
 
+    /**
+     * [ignoreJsonNull] is kept for compatibility: the null values of [json] have always been given to the templates
+     */
     fun generateContent(
         template: String,
         json: String,
-        ignoreJsonNull: Boolean,
+        @Suppress("UNUSED_PARAMETER") ignoreJsonNull: Boolean,
         additionalContext: MutableMap<String, Any>,
         bluePrintLoadConfiguration: BluePrintLoadConfiguration,
         artifactName: String,
         artifactVersion: String
     ): String {
 
-        return generateContent(
-            template,
-            json,
-            ignoreJsonNull,
-            additionalContext,
-            BlueprintRelatedTemplateLocator(bluePrintLoadConfiguration, artifactName, artifactVersion)
+        val blueprintKey = BluePrintFileUtils.compileCacheKey(
+            normalizedPathName(bluePrintLoadConfiguration.blueprintDeployPath, artifactName, artifactVersion)
         )
+        val jinjava = jinjavaCache.getIfPresent(blueprintKey) ?: jinjava(
+            blueprintKey,
+            BlueprintRelatedTemplateLocator(bluePrintLoadConfiguration, artifactName, artifactVersion)
+        ).let { jinjavaCache.asMap().putIfAbsent(blueprintKey, it) ?: it }
+
+        return render(jinjava, template, json, additionalContext)
     }
 
     fun generateContent(
         template: String,
         json: String,
-        ignoreJsonNull: Boolean,
+        @Suppress("UNUSED_PARAMETER") ignoreJsonNull: Boolean,
         additionalContext: MutableMap<String, Any>,
         resourceLocator: ResourceLocator? = null
     ): String {
-        // Add the JSON Data to the context
+        val jinjava = resourceLocator?.let { locatorJinjavaCache.get(it) { jinjava("", it) } } ?: defaultJinjava
+        return render(jinjava, template, json, additionalContext)
+    }
+
+    /** Remove the engine and the parsed templates of the blueprint deployed under [blueprintKey] */
+    fun cleanTemplates(blueprintKey: String) {
+        jinjavaCache.invalidate(blueprintKey)
+        templateNodeCache.asMap().keys.removeIf { it.blueprintKey == blueprintKey }
+        log.debug("Cleaned jinja template cache($blueprintKey)")
+    }
+
+    fun templateCacheSize(): Long = templateNodeCache.size()
+
+    private fun render(
+        jinjava: Jinjava,
+        template: String,
+        json: String,
+        additionalContext: MutableMap<String, Any>
+    ): String {
+        // Add the JSON Data to the context, the null values are kept as they are meaningful to the templates
         if (json.isNotEmpty()) {
-            val mapper = ObjectMapper().setNodeFactory(BluePrintJsonNodeFactory())
-            val jsonNode = mapper.readValue(json, JsonNode::class.java)
+            val jsonContext = mapper.readValue(json, object : TypeReference<Map<String, Any>>() {})
                 ?: throw BluePrintProcessorException("couldn't get json node from json")
-            if (ignoreJsonNull) {
-                jsonNode.removeNullNode()
-            }
-            additionalContext.putAll(mapper.readValue(json, object : TypeReference<Map<String, Any>>() {}))
+            additionalContext.putAll(jsonContext)
         }
+        return jinjava.render(template, additionalContext)
+    }
 
+    private fun jinjava(blueprintKey: String, resourceLocator: ResourceLocator? = null): Jinjava {
         val jinjava = Jinjava(
             JinjavaConfig(object : InterpreterFactory {
                 override fun newInstance(interpreter: JinjavaInterpreter): JinjavaInterpreter {
-                    return CustomJinjavaInterpreter(interpreter)
+                    return CustomJinjavaInterpreter(interpreter, blueprintKey)
                 }
 
                 override fun newInstance(jinjava: Jinjava, context: Context, config: JinjavaConfig): JinjavaInterpreter {
-                    return CustomJinjavaInterpreter(jinjava, context, config)
+                    return CustomJinjavaInterpreter(jinjava, context, config, blueprintKey)
                 }
             })
         )
@@ -119,16 +177,37 @@ object BluePrintJinjaTemplateService {
         if (resourceLocator != null) {
             jinjava.resourceLocator = resourceLocator
         }
-
-        return jinjava.render(template, additionalContext)
+        return jinjava
     }
 
     class CustomJinjavaInterpreter : JinjavaInterpreter {
-        constructor(interpreter: JinjavaInterpreter) : super(interpreter)
-        constructor(jinjava: Jinjava, context: Context, config: JinjavaConfig) : super(jinjava, context, config)
+        private val blueprintKey: String
+
+        constructor(interpreter: JinjavaInterpreter) : this(interpreter, "")
+        constructor(jinjava: Jinjava, context: Context, config: JinjavaConfig) : this(jinjava, context, config, "")
+        constructor(interpreter: JinjavaInterpreter, blueprintKey: String) : super(interpreter) {
+            this.blueprintKey = blueprintKey
+        }
+        constructor(jinjava: Jinjava, context: Context, config: JinjavaConfig, blueprintKey: String) :
+            super(jinjava, context, config) {
+                this.blueprintKey = blueprintKey
+            }
 
         private var lastUnresolvedExpression: String? = null
 
+        /** Parsed trees are read only while rendering, so the ones parsed without error are shared */
+        override fun parse(template: String): Node {
+            val templateKey =
+                TemplateKey(blueprintKey, Hashing.sha256().hashString(template, Charsets.UTF_8).toString())
+            templateNodeCache.getIfPresent(templateKey)?.let { return it }
+            val errorCount = errors.size
+            val node = super.parse(template)
+            if (errors.size == errorCount) {
+                templateNodeCache.put(templateKey, node)
+            }
+            return node
+        }
+
         // 1. Catch the string here
         override fun resolveELExpression(expression: String, lineNumber: Int): Any? {
             val result = super.resolveELExpression(expression, lineNumber)
@@ -19,6 +19,7 @@ import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
 import org.onap.ccsdk.cds.controllerblueprints.core.config.BluePrintLoadConfiguration
 import org.onap.ccsdk.cds.controllerblueprints.core.interfaces.BlueprintTemplateService
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintFileUtils
 import org.springframework.stereotype.Service
 
 @Service
@@ -52,7 +53,14 @@ class BluePrintTemplateService(private val bluePrintLoadConfiguration: BluePrint
                 )
             }
             BluePrintConstants.MODEL_TYPE_ARTIFACT_TEMPLATE_VELOCITY -> {
-                BluePrintVelocityTemplateService.generateContent(template, jsonData, ignoreJsonNull, additionalContext)
+                BluePrintVelocityTemplateService.generateContent(
+                    template,
+                    jsonData,
+                    ignoreJsonNull,
+                    additionalContext,
+                    BluePrintFileUtils.compileCacheKey(bluePrintRuntimeService.bluePrintContext().rootPath),
+                    "$nodeTemplateName/$artifactName"
+                )
             }
             else -> {
                 throw BluePrintProcessorException(
@@ -20,18 +20,30 @@ package org.onap.ccsdk.cds.controllerblueprints.core.service
 
 import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.ObjectMapper
+import com.google.common.base.Charsets
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.hash.Hashing
 import org.apache.commons.lang3.BooleanUtils
 import org.apache.commons.lang3.StringUtils
+import org.apache.velocity.Template
 import org.apache.velocity.VelocityContext
-import org.apache.velocity.app.VelocityEngine
+import org.apache.velocity.exception.ParseErrorException
+import org.apache.velocity.runtime.RuntimeInstance
+import org.apache.velocity.runtime.parser.ParseException
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
 import org.onap.ccsdk.cds.controllerblueprints.core.interfaces.BluePrintJsonNodeFactory
+import org.onap.ccsdk.cds.controllerblueprints.core.logger
 import org.onap.ccsdk.cds.controllerblueprints.core.removeNullNode
+import java.io.StringReader
 import java.io.StringWriter
 import java.util.Properties
 
 object BluePrintVelocityTemplateService {
 
+    private val log = logger(BluePrintVelocityTemplateService::class)
+
     private val properties = Properties().apply {
         this.putAll(
             mutableMapOf(
@@ -40,12 +52,28 @@ object BluePrintVelocityTemplateService {
                 "directive.if.empty_check" to "false",
                 "parser.allow_hyphen_in_identifiers" to "true",
                 "velocimacro.enable_bc_mode" to "true",
+                // The engine is shared by all the blueprints, inline macros must stay local to their template
+                "velocimacro.inline.local_scope" to "true",
                 "event_handler.invalid_references.quiet" to "true",
                 "event_handler.invalid_references.null" to "true",
                 "event_handler.invalid_references.tested" to "true"
             )
         )
     }
+
+    /** Shared engine, initialised once, the parsed templates are bound to it */
+    private val velocity: RuntimeInstance by lazy { RuntimeInstance().apply { init(properties) } }
+
+    // Customized Object Mapper to remove String double quotes
+    private val mapper = ObjectMapper().setNodeFactory(BluePrintJsonNodeFactory())
+
+    /** Parsed templates, keyed by the blueprint and the artifact they come from and by their content */
+    private val templateCache: Cache<TemplateKey, Template> = CacheBuilder.newBuilder()
+        .maximumSize(BluePrintConstants.TEMPLATE_CACHE_SIZE)
+        .build()
+
+    private data class TemplateKey(val blueprintKey: String, val artifactName: String, val contentHash: String)
+
     /**
      * Generate Content from Velocity Template and JSON Content with injected API
      */
@@ -53,21 +81,18 @@ object BluePrintVelocityTemplateService {
         template: String,
         json: String,
         ignoreJsonNull: Boolean = false,
-        additionalContext: MutableMap<String, Any> = mutableMapOf()
+        additionalContext: MutableMap<String, Any> = mutableMapOf(),
+        blueprintKey: String = "",
+        artifactName: String = ""
     ): String {
 
-        // Customized Object Mapper to remove String double quotes
-        val mapper = ObjectMapper()
-        val nodeFactory = BluePrintJsonNodeFactory()
-        mapper.nodeFactory = nodeFactory
-
         val jsonNode: JsonNode? = if (json.isNotEmpty()) {
             mapper.readValue(json, JsonNode::class.java)
                 ?: throw BluePrintProcessorException("couldn't get json node from json")
         } else {
             null
         }
-        return generateContent(template, jsonNode, ignoreJsonNull, additionalContext)
+        return generateContent(template, jsonNode, ignoreJsonNull, additionalContext, blueprintKey, artifactName)
     }
 
     /**
@@ -77,19 +102,11 @@ object BluePrintVelocityTemplateService {
         template: String,
         jsonNode: JsonNode?,
         ignoreJsonNull: Boolean = false,
-        additionalContext: MutableMap<String, Any> = mutableMapOf()
+        additionalContext: MutableMap<String, Any> = mutableMapOf(),
+        blueprintKey: String = "",
+        artifactName: String = ""
     ): String {
 
-        /*
-         *  create a new instance of the velocity engine
-         */
-        val velocity = VelocityEngine()
-
-        /*
-         *  initialize the engine
-         */
-        velocity.init(properties)
-
         val velocityContext = VelocityContext()
         velocityContext.put("StringUtils", StringUtils::class.java)
         velocityContext.put("BooleanUtils", BooleanUtils::class.java)
@@ -107,8 +124,36 @@ object BluePrintVelocityTemplateService {
         }
 
         val stringWriter = StringWriter()
-        velocity.evaluate(velocityContext, stringWriter, "TemplateData", template)
+        parsedTemplate(template, blueprintKey, artifactName).merge(velocityContext, stringWriter)
         stringWriter.flush()
         return stringWriter.toString()
     }
+
+    /** Remove the parsed templates of the blueprint deployed under [blueprintKey] */
+    fun cleanTemplates(blueprintKey: String) {
+        templateCache.asMap().keys.removeIf { it.blueprintKey == blueprintKey }
+        log.debug("Cleaned velocity template cache($blueprintKey)")
+    }
+
+    fun templateCacheSize(): Long = templateCache.size()
+
+    private fun parsedTemplate(template: String, blueprintKey: String, artifactName: String): Template {
+        val templateKey = TemplateKey(
+            blueprintKey, artifactName, Hashing.sha256().hashString(template, Charsets.UTF_8).toString()
+        )
+        templateCache.getIfPresent(templateKey)?.let { return it }
+        // Parsing the same template twice on a race is harmless, the last one wins
+        val parsedTemplate = Template()
+        parsedTemplate.setRuntimeServices(velocity)
+        // Unique name, the inline macros of a template are scoped by it
+        parsedTemplate.name = with(templateKey) { "$blueprintKey:$artifactName:$contentHash" }
+        parsedTemplate.data = try {
+            velocity.parse(StringReader(template), parsedTemplate)
+        } catch (e: ParseException) {
+            throw ParseErrorException(e, null)
+        }
+        parsedTemplate.initDocument()
+        templateCache.put(templateKey, parsedTemplate)
+        return parsedTemplate
+    }
 }
@@ -30,6 +30,7 @@ import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
 import org.onap.ccsdk.cds.controllerblueprints.core.data.EdgeLabel
 import org.onap.ccsdk.cds.controllerblueprints.core.data.EdgeStatus
 import org.onap.ccsdk.cds.controllerblueprints.core.data.Graph
+import org.onap.ccsdk.cds.controllerblueprints.core.data.GraphExecutionState
 import org.onap.ccsdk.cds.controllerblueprints.core.data.NodeStatus
 import org.onap.ccsdk.cds.controllerblueprints.core.incomingEdges
 import org.onap.ccsdk.cds.controllerblueprints.core.isEndNode
@@ -95,6 +96,9 @@ abstract class AbstractBluePrintWorkFlowService<In, Out> : CoroutineScope, BlueP
 
     lateinit var graph: Graph
 
+    /** Node and edge status of this execution, the [graph] may be shared with other executions */
+    val graphState: GraphExecutionState by lazy { GraphExecutionState(graph) }
+
     private val log = logger(AbstractBluePrintWorkFlowService::class)
 
     private val job = Job()
@@ -208,16 +212,16 @@ abstract class AbstractBluePrintWorkFlowService<In, Out> : CoroutineScope, BlueP
             log.debug("@@@@@ Ready workflow($workflowId), node($node) from edge($edge) for action(${message.edgeAction}) @@@@@")
             // Update the current incoming edge status to executed or skipped
             when (message.edgeAction) {
-                EdgeAction.SKIP -> message.fromEdge.status = EdgeStatus.SKIPPED
-                EdgeAction.EXECUTE -> message.fromEdge.status = EdgeStatus.EXECUTED
+                EdgeAction.SKIP -> graphState[message.fromEdge] = EdgeStatus.SKIPPED
+                EdgeAction.EXECUTE -> graphState[message.fromEdge] = EdgeStatus.EXECUTED
             }
             val incomingEdges = graph.incomingEdges(node.id)
             if (incomingEdges.size > 1) {
                 // Check all incoming edges executed or skipped
-                val notCompletedEdges = incomingEdges.filter { it.status == EdgeStatus.NOT_STARTED }
+                val notCompletedEdges = incomingEdges.filter { graphState[it] == EdgeStatus.NOT_STARTED }
                 if (notCompletedEdges.isEmpty()) {
                     // Possibility of skip edge action performed at last, but other edges have execute action.
-                    val executePresent = incomingEdges.filter { it.status == EdgeStatus.EXECUTED }
+                    val executePresent = incomingEdges.filter { graphState[it] == EdgeStatus.EXECUTED }
                     val newMessage = if (executePresent.isNotEmpty()) {
                         NodeReadyMessage(message.fromEdge, EdgeAction.EXECUTE)
                     } else {
@@ -234,7 +238,7 @@ abstract class AbstractBluePrintWorkFlowService<In, Out> : CoroutineScope, BlueP
 
         suspend fun executeNodeWorker(message: NodeExecuteMessage<In, Out>) {
             val node = message.node
-            node.status = NodeStatus.EXECUTING
+            graphState[node] = NodeStatus.EXECUTING
             val nodeState = if (node.id == BluePrintConstants.GRAPH_START_NODE_NAME ||
                 node.id == BluePrintConstants.GRAPH_END_NODE_NAME
             ) {
@@ -245,7 +249,7 @@ abstract class AbstractBluePrintWorkFlowService<In, Out> : CoroutineScope, BlueP
                 executeNode(node, message.nodeInput, message.nodeOutput)
             }
             // Update Node Completed
-            node.status = NodeStatus.EXECUTED
+            graphState[node] = NodeStatus.EXECUTED
             log.info("Execute node(${node.id}) -> executed state($nodeState)")
             // Check if the Node status edge is there, If not close processing
             val edgePresent = graph.outgoingEdges(node.id, nodeState).isNotEmpty()
@@ -275,7 +279,7 @@ abstract class AbstractBluePrintWorkFlowService<In, Out> : CoroutineScope, BlueP
             val incomingEdges = graph.incomingEdges(node.id)
             // Check All Incoming Nodes Skipped
             val nonSkippedEdges = incomingEdges.filter {
-                it.status == EdgeStatus.NOT_STARTED
+                graphState[it] == EdgeStatus.NOT_STARTED
             }
             log.debug("Node($node) incoming edges ($incomingEdges), not skipped incoming edges ($nonSkippedEdges)")
 
@@ -285,7 +289,7 @@ abstract class AbstractBluePrintWorkFlowService<In, Out> : CoroutineScope, BlueP
                 val nodeState = skipNode(node, message.nodeInput, message.nodeOutput)
                 log.info("Skip node(${node.id}) -> executed state($nodeState)")
                 // Mark the Current node as Skipped
-                node.status = NodeStatus.SKIPPED
+                graphState[node] = NodeStatus.SKIPPED
                 // Look for next possible skip nodes
                 graph.outgoingEdges(node.id).forEach { outgoingEdge ->
                     val nodeReadyMessage = NodeReadyMessage<In, Out>(outgoingEdge, EdgeAction.SKIP)
@@ -320,7 +324,7 @@ abstract class AbstractBluePrintWorkFlowService<In, Out> : CoroutineScope, BlueP
                         try {
                             executeNodeWorker(nodeMessage)
                         } catch (e: Exception) {
-                            nodeMessage.node.status = NodeStatus.TERMINATED
+                            graphState[nodeMessage.node] = NodeStatus.TERMINATED
                             exceptions.add(e)
                             channel.close()
                         }
@@ -331,7 +335,7 @@ abstract class AbstractBluePrintWorkFlowService<In, Out> : CoroutineScope, BlueP
                         try {
                             skipNodeWorker(nodeMessage)
                         } catch (e: Exception) {
-                            nodeMessage.node.status = NodeStatus.TERMINATED
+                            graphState[nodeMessage.node] = NodeStatus.TERMINATED
                             exceptions.add(e)
                             channel.close()
                         }
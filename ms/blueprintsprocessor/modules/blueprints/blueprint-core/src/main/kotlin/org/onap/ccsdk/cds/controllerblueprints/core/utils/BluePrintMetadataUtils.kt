@@ -31,6 +31,7 @@ import org.onap.ccsdk.cds.controllerblueprints.core.normalizedPathName
 import org.onap.ccsdk.cds.controllerblueprints.core.readNBLines
 import org.onap.ccsdk.cds.controllerblueprints.core.scripts.BluePrintScriptsServiceImpl
 import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContext
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContextCache
 import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintImportService
 import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintRuntimeService
 import org.onap.ccsdk.cds.controllerblueprints.core.service.DefaultBluePrintRuntimeService
@@ -109,6 +110,13 @@ class BluePrintMetadataUtils {
                 return getBluePrintRuntime(id, bluePrintContext)
             }
 
+        /** Get the default blueprint runtime for [id] and [blueprintBasePath] using the shared blueprint context cache */
+        suspend fun getCachedBluePrintRuntime(id: String, blueprintBasePath: String):
+            BluePrintRuntimeService<MutableMap<String, JsonNode>> {
+                val bluePrintContext: BluePrintContext = getCachedBluePrintContext(blueprintBasePath)
+                return getBluePrintRuntime(id, bluePrintContext)
+            }
+
         /** Get the default blocking blueprint runtime api for [id] and [blueprintBasePath] used in testing */
         fun bluePrintRuntime(id: String, blueprintBasePath: String):
             BluePrintRuntimeService<MutableMap<String, JsonNode>> = runBlocking {
@@ -202,6 +210,14 @@ class BluePrintMetadataUtils {
             return bluePrintContext
         }
 
+        /** Get the shared, read only blueprint context for [blueprintBasePath], parsed once per deployed blueprint */
+        suspend fun getCachedBluePrintContext(blueprintBasePath: String): BluePrintContext {
+            val cacheKey = BluePrintFileUtils.compileCacheKey(blueprintBasePath)
+            return BluePrintContextCache.bluePrintContext(cacheKey) {
+                getBluePrintContext(blueprintBasePath)
+            }
+        }
+
         private suspend fun getBaseEnhancementBluePrintContext(blueprintBasePath: String): BluePrintContext {
             val toscaMetaData: ToscaMetaData = toscaMetaData(blueprintBasePath)
 
@@ -18,45 +18,67 @@
 package org.onap.ccsdk.cds.controllerblueprints.core.utils
 
 import com.fasterxml.jackson.databind.JsonNode
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
 import com.jayway.jsonpath.Configuration
 import com.jayway.jsonpath.JsonPath
 import com.jayway.jsonpath.Option
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider
-import org.onap.ccsdk.cds.controllerblueprints.core.asJsonString
 
 class JsonParserUtils {
     companion object {
 
-        // TODO("Optimise this")
         val JACKSON_JSON_NODE_CONFIGURATION = Configuration.builder()
             .mappingProvider(JacksonMappingProvider()).jsonProvider(JacksonJsonNodeJsonProvider()).build()
 
         val PATH_CONFIGURATION = Configuration.builder().options(Option.AS_PATH_LIST).build()
 
+        private val JACKSON_JSON_NODE_PATH_CONFIGURATION = JACKSON_JSON_NODE_CONFIGURATION.addOptions(Option.AS_PATH_LIST)
+
+        private val compiledPaths: Cache<String, JsonPath> = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .build()
+
+        /** Get the compiled [expression], compiling it only the first time it is used */
+        fun compile(expression: String): JsonPath {
+            compiledPaths.getIfPresent(expression)?.let { return it }
+            val jsonPath = JsonPath.compile(expression)
+            return compiledPaths.asMap().putIfAbsent(expression, jsonPath) ?: jsonPath
+        }
+
         fun paths(jsonContent: String, expression: String): List<String> {
-            return JsonPath.using(PATH_CONFIGURATION).parse(jsonContent).read(expression)
+            return JsonPath.using(PATH_CONFIGURATION).parse(jsonContent).read(compile(expression))
         }
 
         fun paths(jsonNode: JsonNode, expression: String): List<String> {
-            return paths(jsonNode.asJsonString(), expression)
+            val pathNodes: JsonNode = JsonPath.using(JACKSON_JSON_NODE_PATH_CONFIGURATION).parse(jsonNode)
+                .read(compile(expression))
+            return pathNodes.map { it.asText() }
         }
 
         fun parse(jsonContent: String, expression: String): JsonNode {
-            return JsonPath.using(JACKSON_JSON_NODE_CONFIGURATION).parse(jsonContent).read(expression)
+            return JsonPath.using(JACKSON_JSON_NODE_CONFIGURATION).parse(jsonContent).read(compile(expression))
         }
 
+        /**
+         * Evaluate [expression] on the [jsonNode] tree itself. Matched containers are copied, so the result can be
+         * changed without touching [jsonNode], as it was when the tree was serialized and parsed again.
+         */
         fun parse(jsonNode: JsonNode, expression: String): JsonNode {
-            return parse(jsonNode.asJsonString(), expression)
+            val parsedNode: JsonNode = JsonPath.using(JACKSON_JSON_NODE_CONFIGURATION).parse(jsonNode)
+                .read(compile(expression))
+            return if (parsedNode.isContainerNode) parsedNode.deepCopy<JsonNode>() else parsedNode
         }
 
         fun parseNSet(jsonContent: String, expression: String, value: JsonNode): JsonNode {
-            return JsonPath.using(JACKSON_JSON_NODE_CONFIGURATION).parse(jsonContent).set(expression, value).json()
+            return JsonPath.using(JACKSON_JSON_NODE_CONFIGURATION).parse(jsonContent).set(compile(expression), value).json()
         }
 
+        /** Set [valueNode] at [expression] on a copy of [jsonNode], [jsonNode] itself is left unchanged */
         fun parseNSet(jsonNode: JsonNode, expression: String, valueNode: JsonNode): JsonNode {
-
-            return parseNSet(jsonNode.asJsonString(), expression, valueNode)
+            return JsonPath.using(JACKSON_JSON_NODE_CONFIGURATION).parse(jsonNode.deepCopy<JsonNode>())
+                .set(compile(expression), valueNode).json()
         }
     }
 }
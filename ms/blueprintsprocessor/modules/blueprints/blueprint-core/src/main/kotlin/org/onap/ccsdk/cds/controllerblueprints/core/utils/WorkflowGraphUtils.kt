@@ -16,15 +16,45 @@
 
 package org.onap.ccsdk.cds.controllerblueprints.core.utils
 
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintException
 import org.onap.ccsdk.cds.controllerblueprints.core.data.EdgeLabel
 import org.onap.ccsdk.cds.controllerblueprints.core.data.Graph
+import org.onap.ccsdk.cds.controllerblueprints.core.data.GraphExecutionState
 import org.onap.ccsdk.cds.controllerblueprints.core.data.Workflow
 import org.onap.ccsdk.cds.controllerblueprints.core.endNodes
+import org.onap.ccsdk.cds.controllerblueprints.core.isAcyclic
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContext
 import org.onap.ccsdk.cds.controllerblueprints.core.startNodes
+import java.util.concurrent.ConcurrentHashMap
 
 object WorkflowGraphUtils {
 
+    /** Validated workflow graphs of each blueprint context, dropped together with the context */
+    private val workflowGraphCache: Cache<BluePrintContext, ConcurrentHashMap<String, Graph>> =
+        CacheBuilder.newBuilder()
+            .weakKeys()
+            .build()
+
+    /**
+     * Get the graph of the [workflowName] imperative workflow of blueprint [bluePrintContext], built and checked
+     * once per blueprint context. The graph is shared by all executions, see [GraphExecutionState].
+     */
+    fun getCachedWorkflowGraph(bluePrintContext: BluePrintContext, workflowName: String): Graph {
+        val workflowGraphs = workflowGraphCache.asMap().computeIfAbsent(bluePrintContext) { ConcurrentHashMap() }
+        return workflowGraphs.computeIfAbsent(workflowName) {
+            val graph = workFlowToGraph(bluePrintContext.workflowByName(it))
+            if (!graph.isAcyclic()) {
+                throw BluePrintException(
+                    "Imperative workflow must be acyclic. Check on_success/on_failure for circular references"
+                )
+            }
+            graph
+        }
+    }
+
     fun workFlowToGraph(workflow: Workflow): Graph {
         val graph = Graph()
         workflow.steps?.forEach { (stepName, step) ->
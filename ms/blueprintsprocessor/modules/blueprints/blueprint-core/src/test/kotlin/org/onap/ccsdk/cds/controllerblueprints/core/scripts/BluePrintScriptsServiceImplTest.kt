@@ -23,10 +23,13 @@ import org.onap.ccsdk.cds.controllerblueprints.core.data.DataType
 import org.onap.ccsdk.cds.controllerblueprints.core.interfaces.BluePrintDefinitions
 import org.onap.ccsdk.cds.controllerblueprints.core.interfaces.BlueprintFunctionNode
 import org.onap.ccsdk.cds.controllerblueprints.core.normalizedPathName
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintFileUtils
 import kotlin.script.experimental.jvm.util.classpathFromClass
 import kotlin.script.experimental.jvm.util.classpathFromClassloader
 import kotlin.script.experimental.jvm.util.classpathFromClasspathProperty
 import kotlin.test.assertNotNull
+import kotlin.test.assertNotSame
+import kotlin.test.assertTrue
 
 class BluePrintScriptsServiceImplTest {
 
@@ -85,4 +88,31 @@ class BluePrintScriptsServiceImplTest {
             assertNotNull(cachedInstance, "failed to get cached compile instance")
         }
     }
+
+    @Test
+    fun testCompileAhead() {
+        runBlocking {
+
+            val bluePrintScriptsService = BluePrintScriptsServiceImpl()
+
+            val basePath = normalizedPathName("src/test/resources/compile")
+            val cacheKey = BluePrintFileUtils.compileCacheKey(basePath)
+            if (BluePrintCompileCache.hasClassLoader(cacheKey)) BluePrintCompileCache.cleanClassLoader(cacheKey)
+
+            bluePrintScriptsService.compile(basePath)
+            assertTrue(BluePrintCompileCache.hasClassLoader(cacheKey), "failed to load compiled scripts ahead")
+
+            val instance = bluePrintScriptsService
+                .scriptInstance<BlueprintFunctionNode<String, String>>(
+                    basePath,
+                    "cba.scripts.SampleBlueprintFunctionNode", false
+                )
+            val otherInstance = bluePrintScriptsService
+                .scriptInstance<BlueprintFunctionNode<String, String>>(
+                    basePath,
+                    "cba.scripts.SampleBlueprintFunctionNode", false
+                )
+            assertNotSame(instance, otherInstance, "script instances must not be shared between executions")
+        }
+    }
 }
@@ -48,6 +48,43 @@ class BluePrintTemplateServiceTest {
         }
     }
 
+    @Test
+    fun testVelocityTemplateCache() {
+        val template = JacksonUtils.getClassPathFileContent("templates/base-config-velocity-template.vtl")
+        val json = JacksonUtils.getClassPathFileContent("templates/base-config-data-velocity.json")
+        val blueprintKey = "velocity-template-cache-test"
+
+        BluePrintVelocityTemplateService.cleanTemplates(blueprintKey)
+        val cacheSize = BluePrintVelocityTemplateService.templateCacheSize()
+        val firstContent = BluePrintVelocityTemplateService
+            .generateContent(template, json, false, mutableMapOf(), blueprintKey, "base-config")
+        val secondContent = BluePrintVelocityTemplateService
+            .generateContent(template, json, false, mutableMapOf(), blueprintKey, "base-config")
+        assertEquals(firstContent, secondContent, "failed to render the same content from the cached template")
+        assertEquals(cacheSize + 1, BluePrintVelocityTemplateService.templateCacheSize(), "failed to reuse template")
+
+        BluePrintVelocityTemplateService.cleanTemplates(blueprintKey)
+        assertEquals(cacheSize, BluePrintVelocityTemplateService.templateCacheSize(), "failed to clean templates")
+    }
+
+    @Test
+    fun testVelocityInlineMacrosStayLocal() {
+        val firstTemplate = "#macro(greet \$name)hello \$name#end#greet(\"first\")"
+        val secondTemplate = "#macro(greet \$name)bye \$name#end#greet(\"second\")"
+        val render = { template: String, blueprintKey: String ->
+            BluePrintVelocityTemplateService.generateContent(template, "", false, mutableMapOf(), blueprintKey, "greet")
+        }
+
+        assertEquals("hello first", render(firstTemplate, "first-cba"))
+        assertEquals("bye second", render(secondTemplate, "second-cba"))
+        assertEquals(
+            "hello first", render(firstTemplate, "first-cba"),
+            "failed to render with the macro of the template once another template redefined it"
+        )
+        BluePrintVelocityTemplateService.cleanTemplates("first-cba")
+        BluePrintVelocityTemplateService.cleanTemplates("second-cba")
+    }
+
     @Test
     fun testJinjaGeneratedContent() {
         runBlocking {
@@ -65,6 +102,19 @@ class BluePrintTemplateServiceTest {
         }
     }
 
+    @Test
+    fun testJinjaTemplateCache() {
+        val template = "{{ hostname }} jinja template cache test"
+        val json = """{"hostname": "sample-host"}"""
+
+        val cacheSize = BluePrintJinjaTemplateService.templateCacheSize()
+        val firstContent = BluePrintJinjaTemplateService.generateContent(template, json, false, mutableMapOf())
+        val secondContent = BluePrintJinjaTemplateService.generateContent(template, json, false, mutableMapOf())
+        assertEquals("sample-host jinja template cache test", firstContent, "failed to render jinja template")
+        assertEquals(firstContent, secondContent, "failed to render the same content from the cached template")
+        assertEquals(cacheSize + 1, BluePrintJinjaTemplateService.templateCacheSize(), "failed to reuse template")
+    }
+
     @Test
     fun `Unresolved variable should be kept as-is - standalone velocity template mesh test`() {
         runBlocking {
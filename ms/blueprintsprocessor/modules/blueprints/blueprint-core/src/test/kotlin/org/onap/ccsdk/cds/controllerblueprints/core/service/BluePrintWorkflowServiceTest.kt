@@ -28,10 +28,13 @@ import org.junit.Test
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintException
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
 import org.onap.ccsdk.cds.controllerblueprints.core.data.EdgeLabel
+import org.onap.ccsdk.cds.controllerblueprints.core.data.EdgeStatus
 import org.onap.ccsdk.cds.controllerblueprints.core.data.Graph
 import org.onap.ccsdk.cds.controllerblueprints.core.logger
 import org.onap.ccsdk.cds.controllerblueprints.core.toGraph
+import kotlin.test.assertEquals
 import kotlin.test.assertNotNull
+import kotlin.test.assertTrue
 
 class BluePrintWorkflowServiceTest {
 
@@ -67,6 +70,28 @@ class BluePrintWorkflowServiceTest {
         }
     }
 
+    @Test
+    fun testMultipleFlowsOnSharedGraph() {
+        runBlocking {
+            val graph = "[START>A/SUCCESS, A>B/SUCCESS, A>C/FAILURE, B>D/SUCCESS, C>D/SUCCESS, D>END/SUCCESS]"
+                .toGraph()
+            coroutineScope {
+                val wfs = listOf("12345", "12346").map {
+                    async {
+                        val simpleWorkflow = TestBluePrintWorkFlowService()
+                        simpleWorkflow.simulatedState = prepareSimulation(arrayListOf("A", "B", "C", "D"), null)
+                        val response = simpleWorkflow.executeWorkflow(graph, mockBluePrintRuntimeService(it), it)
+                        assertNotNull(response, "failed to get response")
+                        val failureEdge = graph.edges.first { edge -> edge.label == EdgeLabel.FAILURE }
+                        assertEquals(EdgeStatus.SKIPPED, simpleWorkflow.graphState[failureEdge])
+                    }
+                }
+                wfs.awaitAll()
+            }
+            assertTrue(graph.edges.all { it.status == EdgeStatus.NOT_STARTED }, "shared graph was modified")
+        }
+    }
+
     @Test
     fun testMissingEdgeForBFailureState() {
         runBlocking {
@@ -23,9 +23,12 @@ import org.onap.ccsdk.cds.controllerblueprints.core.TestConstants
 import org.onap.ccsdk.cds.controllerblueprints.core.data.ToscaMetaData
 import org.onap.ccsdk.cds.controllerblueprints.core.normalizedPathName
 import org.onap.ccsdk.cds.controllerblueprints.core.scripts.BluePrintCompileCache
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContextCache
 import kotlin.test.assertEquals
 import kotlin.test.assertNotNull
+import kotlin.test.assertNotSame
 import kotlin.test.assertNull
+import kotlin.test.assertSame
 import kotlin.test.assertTrue
 
 class BluePrintMetadataUtilsTest {
@@ -66,6 +69,26 @@ class BluePrintMetadataUtilsTest {
         }
     }
 
+    @Test
+    fun testCachedBluePrintContext() {
+        runBlocking {
+            val path = normalizedPathName(TestConstants.PATH_TEST_BLUEPRINTS_BASECONFIG)
+            val firstContext = BluePrintMetadataUtils.getCachedBluePrintContext(path)
+            val secondContext = BluePrintMetadataUtils.getCachedBluePrintContext(path)
+            assertSame(firstContext, secondContext, "failed to reuse cached blueprint context")
+            assertTrue(BluePrintContextCache.hasBluePrintContext(path), "failed to generate cache key ($path)")
+
+            val firstRuntime = BluePrintMetadataUtils.getCachedBluePrintRuntime("1234", path)
+            val secondRuntime = BluePrintMetadataUtils.getCachedBluePrintRuntime("5678", path)
+            assertNotSame(firstRuntime, secondRuntime, "failed to create runtime per execution")
+            assertSame(firstRuntime.bluePrintContext(), secondRuntime.bluePrintContext(), "failed to share context")
+
+            /** Cleaning Cache */
+            BluePrintContextCache.cleanBluePrintContext(path)
+            assertTrue(!BluePrintContextCache.hasBluePrintContext(path), "failed to remove cache key ($path)")
+        }
+    }
+
     @Test
     fun environmentDataTest() {
         val environmentPath = "./src/test/resources/environments"
@@ -16,6 +16,7 @@
 
 package org.onap.ccsdk.cds.controllerblueprints.core.utils
 
+import com.fasterxml.jackson.databind.node.ObjectNode
 import org.junit.Test
 import org.onap.ccsdk.cds.controllerblueprints.core.asJsonPrimitive
 import org.onap.ccsdk.cds.controllerblueprints.core.jsonAsJsonType
@@ -23,6 +24,7 @@ import org.onap.ccsdk.cds.controllerblueprints.core.jsonPathParse
 import org.onap.ccsdk.cds.controllerblueprints.core.jsonPaths
 import kotlin.test.assertEquals
 import kotlin.test.assertNotNull
+import kotlin.test.assertSame
 
 class JsonParserUtilsTest {
 
@@ -55,4 +57,33 @@ class JsonParserUtilsTest {
         val parsedPath = jsonNode.jsonPaths("$..prop1")
         assertNotNull(parsedPath, "failed to get parsed path")
     }
+
+    @Test
+    fun testParseOnJsonNode() {
+        val jsonNode = """
+            {
+                "data" : {
+                "prop1" : "1234"
+                },
+                "data3" : [{
+                "prop1" : "12345"
+                }
+                ]
+            }
+        """.trimIndent().jsonAsJsonType()
+
+        assertEquals(
+            listOf("$['data']['prop1']", "$['data3'][0]['prop1']"), jsonNode.jsonPaths("$..prop1"),
+            "failed to get paths from json node"
+        )
+        assertSame(JsonParserUtils.compile("$..prop1"), JsonParserUtils.compile("$..prop1"), "failed to reuse path")
+
+        val dataNode = jsonNode.jsonPathParse("$.data") as ObjectNode
+        dataNode.put("prop1", "changed")
+        assertEquals("1234", jsonNode.at("/data/prop1").asText(), "parsed node is not a copy")
+
+        val updatedNode = JsonParserUtils.parseNSet(jsonNode, "$.data.prop1", "4321".asJsonPrimitive())
+        assertEquals("4321", updatedNode.at("/data/prop1").asText(), "failed to set value")
+        assertEquals("1234", jsonNode.at("/data/prop1").asText(), "source node is changed")
+    }
 }
@@ -16,9 +16,13 @@
 
 package org.onap.ccsdk.cds.controllerblueprints.core.utils
 
+import org.onap.ccsdk.cds.controllerblueprints.core.data.ServiceTemplate
+import org.onap.ccsdk.cds.controllerblueprints.core.data.TopologyTemplate
 import org.onap.ccsdk.cds.controllerblueprints.core.dsl.workflow
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContext
 import kotlin.test.Test
 import kotlin.test.assertNotNull
+import kotlin.test.assertSame
 
 class WorkflowGraphUtilsTest {
 
@@ -39,4 +43,24 @@ class WorkflowGraphUtilsTest {
         val graph = WorkflowGraphUtils.workFlowToGraph(workflow)
         assertNotNull(graph, "failed to create graph")
     }
+
+    @Test
+    fun testCachedWorkflowGraph() {
+
+        val workflow = workflow("sample", "") {
+            step("A", "A", "") {
+                success("B")
+            }
+            step("B", "B", "")
+        }
+        val serviceTemplate = ServiceTemplate()
+        serviceTemplate.topologyTemplate = TopologyTemplate().apply { workflows = mutableMapOf("sample" to workflow) }
+        val bluePrintContext = BluePrintContext(serviceTemplate)
+
+        val graph = WorkflowGraphUtils.getCachedWorkflowGraph(bluePrintContext, "sample")
+        assertSame(
+            graph, WorkflowGraphUtils.getCachedWorkflowGraph(bluePrintContext, "sample"),
+            "failed to reuse workflow graph"
+        )
+    }
 }
@@ -23,6 +23,11 @@ open class DBDataSourceProperties {
     lateinit var username: String
     lateinit var password: String
     open lateinit var driverClassName: String
+    var maximumPoolSize: Int = 10
+    var maxConcurrentQueries: Int = 0 // queries run at once by the NB api, maximumPoolSize when not positive
+    var minimumIdle: Int = 1
+    var idleTimeout: Long = 600000
+    var connectionTimeout: Long = 30000
 }
 
 open class PrimaryDataSourceProperties : DBDataSourceProperties() {
@@ -31,6 +36,7 @@ open class PrimaryDataSourceProperties : DBDataSourceProperties() {
     lateinit var hibernateDDLAuto: String
     lateinit var hibernateNamingStrategy: String
     lateinit var hibernateDialect: String
+    var hibernateJdbcBatchSize: Int = 50
 }
 
 open class MariaDataSourceProperties : DBDataSourceProperties() {
@@ -16,7 +16,13 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.db
 
+import com.zaxxer.hikari.HikariConfig
+import com.zaxxer.hikari.HikariDataSource
+import com.zaxxer.hikari.HikariPoolMXBean
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate
+import java.util.concurrent.atomic.AtomicInteger
 
 interface BluePrintDBLibGenericService {
 
@@ -25,6 +31,12 @@ interface BluePrintDBLibGenericService {
     fun query(sql: String, params: Map<String, Any>): List<Map<String, Any>>
 
     fun update(sql: String, params: Map<String, Any>): Int
+
+    suspend fun queryNB(sql: String, params: Map<String, Any>): List<Map<String, Any>> =
+        withContext(Dispatchers.IO) { query(sql, params) }
+
+    suspend fun updateNB(sql: String, params: Map<String, Any>): Int =
+        withContext(Dispatchers.IO) { update(sql, params) }
 }
 
 abstract class AbstractDBLibGenericService(private val namedParameterJdbcTemplate: NamedParameterJdbcTemplate) :
@@ -42,3 +54,90 @@ abstract class AbstractDBLibGenericService(private val namedParameterJdbcTemplat
         return namedParameterJdbcTemplate.update(sql, params)
     }
 }
+
+/**
+ * Service owning a connection pool built from [dBDataSourceProperties], the pool is created on first use and
+ * shared by all the queries issued through this service till [close] is called.
+ */
+abstract class PooledDBLibGenericService(private val dBDataSourceProperties: DBDataSourceProperties) :
+    BluePrintDBLibGenericService {
+
+    private val pooledDataSourceDelegate = lazy { HikariDataSource(hikariConfig()) }
+    val pooledDataSource: HikariDataSource by pooledDataSourceDelegate
+
+    private val pooledNamedParameterJdbcTemplate by lazy { NamedParameterJdbcTemplate(pooledDataSource) }
+
+    /**
+     * NB calls run on IO threads, at most maxConcurrentQueries at once, by default no more than the pool has
+     * connections to hand out
+     */
+    private val queryDispatcher by lazy {
+        val maxConcurrentQueries = dBDataSourceProperties.maxConcurrentQueries
+        Dispatchers.IO.limitedParallelism(
+            if (maxConcurrentQueries > 0) maxConcurrentQueries else dBDataSourceProperties.maximumPoolSize
+        )
+    }
+    private val submittedQueries = AtomicInteger()
+    private val runningQueries = AtomicInteger()
+
+    open fun hikariConfig(): HikariConfig {
+        val hikariConfig = HikariConfig()
+        hikariConfig.driverClassName = dBDataSourceProperties.driverClassName
+        hikariConfig.jdbcUrl = dBDataSourceProperties.url
+        hikariConfig.username = dBDataSourceProperties.username
+        hikariConfig.password = dBDataSourceProperties.password
+        hikariConfig.maximumPoolSize = dBDataSourceProperties.maximumPoolSize
+        hikariConfig.minimumIdle = minOf(dBDataSourceProperties.minimumIdle, dBDataSourceProperties.maximumPoolSize)
+        hikariConfig.idleTimeout = dBDataSourceProperties.idleTimeout
+        hikariConfig.connectionTimeout = dBDataSourceProperties.connectionTimeout
+        return hikariConfig
+    }
+
+    override fun namedParameterJdbcTemplate(): NamedParameterJdbcTemplate {
+        return pooledNamedParameterJdbcTemplate
+    }
+
+    override fun query(sql: String, params: Map<String, Any>): List<Map<String, Any>> {
+        return pooledNamedParameterJdbcTemplate.queryForList(sql, params)
+    }
+
+    override fun update(sql: String, params: Map<String, Any>): Int {
+        return pooledNamedParameterJdbcTemplate.update(sql, params)
+    }
+
+    override suspend fun queryNB(sql: String, params: Map<String, Any>): List<Map<String, Any>> =
+        dispatch { query(sql, params) }
+
+    override suspend fun updateNB(sql: String, params: Map<String, Any>): Int =
+        dispatch { update(sql, params) }
+
+    private suspend fun <T> dispatch(block: () -> T): T {
+        submittedQueries.incrementAndGet()
+        try {
+            return withContext(queryDispatcher) {
+                runningQueries.incrementAndGet()
+                try {
+                    block()
+                } finally {
+                    runningQueries.decrementAndGet()
+                }
+            }
+        } finally {
+            submittedQueries.decrementAndGet()
+        }
+    }
+
+    /** Number of NB calls waiting for a free slot of the bounded dispatcher */
+    fun queuedQueries(): Int = maxOf(submittedQueries.get() - runningQueries.get(), 0)
+
+    /** Statistics of the connection pool, null till the first call creates the pool */
+    fun poolStats(): HikariPoolMXBean? =
+        if (pooledDataSourceDelegate.isInitialized()) pooledDataSource.hikariPoolMXBean else null
+
+    /** Close the pool and its physical connections */
+    open fun close() {
+        if (pooledDataSourceDelegate.isInitialized()) {
+            pooledDataSource.close()
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.db
+
+object BlueprintDBLibMetricConstants {
+
+    private const val METRIC_PREFIX = "cds.db"
+
+    private const val POOL_PREFIX = "$METRIC_PREFIX.pool"
+
+    // TAGS
+    const val DB_SELECTOR_TAG = "selector"
+    const val DB_URL_TAG = "url"
+
+    // GAUGES
+    const val DB_POOL_ACTIVE_GAUGE = "$POOL_PREFIX.active"
+    const val DB_POOL_IDLE_GAUGE = "$POOL_PREFIX.idle"
+    const val DB_POOL_PENDING_GAUGE = "$POOL_PREFIX.pending"
+    const val DB_POOL_MAX_GAUGE = "$POOL_PREFIX.max"
+    const val DB_QUERY_QUEUED_GAUGE = "$METRIC_PREFIX.query.queued"
+}
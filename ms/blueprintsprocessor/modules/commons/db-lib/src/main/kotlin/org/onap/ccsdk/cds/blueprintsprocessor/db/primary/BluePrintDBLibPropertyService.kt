@@ -17,28 +17,136 @@
 package org.onap.ccsdk.cds.blueprintsprocessor.db.primary
 
 import com.fasterxml.jackson.databind.JsonNode
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.hash.Hashing
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.Meter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Tags
+import jakarta.annotation.PreDestroy
 import org.onap.ccsdk.cds.blueprintsprocessor.core.BluePrintPropertiesService
+import org.onap.ccsdk.cds.blueprintsprocessor.core.service.RetiredResources
 import org.onap.ccsdk.cds.blueprintsprocessor.db.BluePrintDBLibGenericService
+import org.onap.ccsdk.cds.blueprintsprocessor.db.BlueprintDBLibMetricConstants.DB_POOL_ACTIVE_GAUGE
+import org.onap.ccsdk.cds.blueprintsprocessor.db.BlueprintDBLibMetricConstants.DB_POOL_IDLE_GAUGE
+import org.onap.ccsdk.cds.blueprintsprocessor.db.BlueprintDBLibMetricConstants.DB_POOL_MAX_GAUGE
+import org.onap.ccsdk.cds.blueprintsprocessor.db.BlueprintDBLibMetricConstants.DB_POOL_PENDING_GAUGE
+import org.onap.ccsdk.cds.blueprintsprocessor.db.BlueprintDBLibMetricConstants.DB_QUERY_QUEUED_GAUGE
+import org.onap.ccsdk.cds.blueprintsprocessor.db.BlueprintDBLibMetricConstants.DB_SELECTOR_TAG
+import org.onap.ccsdk.cds.blueprintsprocessor.db.BlueprintDBLibMetricConstants.DB_URL_TAG
 import org.onap.ccsdk.cds.blueprintsprocessor.db.DBDataSourceProperties
 import org.onap.ccsdk.cds.blueprintsprocessor.db.DBLibConstants.Companion.MARIA_DB
-import org.onap.ccsdk.cds.blueprintsprocessor.db.DBLibConstants.Companion.MYSQL_DB
 import org.onap.ccsdk.cds.blueprintsprocessor.db.DBLibConstants.Companion.MSSQL_DB
+import org.onap.ccsdk.cds.blueprintsprocessor.db.DBLibConstants.Companion.MYSQL_DB
 import org.onap.ccsdk.cds.blueprintsprocessor.db.DBLibConstants.Companion.PROCESSOR_DB
+import org.onap.ccsdk.cds.blueprintsprocessor.db.MSSqlDataSourceProperties
 import org.onap.ccsdk.cds.blueprintsprocessor.db.MariaDataSourceProperties
 import org.onap.ccsdk.cds.blueprintsprocessor.db.MySqlDataSourceProperties
-import org.onap.ccsdk.cds.blueprintsprocessor.db.MSSqlDataSourceProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.db.PooledDBLibGenericService
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonUtils
 import org.springframework.stereotype.Service
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
 
 @Service
-class BluePrintDBLibPropertyService(private var bluePrintPropertiesService: BluePrintPropertiesService) {
+class BluePrintDBLibPropertyService(
+    private var bluePrintPropertiesService: BluePrintPropertiesService,
+    private val meterRegistry: MeterRegistry? = null
+) {
+
+    /** Long lived db services, one per selector or endpoint definition, each one owning a connection pool */
+    private val dbLibServiceCache: Cache<String, BluePrintDBLibGenericService> = CacheBuilder.newBuilder()
+        .maximumSize(100)
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .removalListener<String, BluePrintDBLibGenericService> { releaseDBLibService(it.key!!, it.value!!) }
+        .build()
+
+    /** Db services evicted from the cache, their pools are closed once none of their connections is in use */
+    private val retiredDBLibServices = RetiredResources<PooledDBLibGenericService>(
+        "db service", RETIRED_SERVICE_GRACE_NANOS, RETIRED_SERVICE_SWEEP_SECONDS,
+        inUse = { service ->
+            val poolStats = service.poolStats()
+            service.queuedQueries() > 0 ||
+                (poolStats != null && (poolStats.activeConnections > 0 || poolStats.threadsAwaitingConnection > 0))
+        },
+        closer = { it.close() },
+        beforeSweep = { dbLibServiceCache.cleanUp() }
+    )
+
+    private val poolMeters: MutableMap<String, List<Meter>> = ConcurrentHashMap()
 
     fun JdbcTemplate(jsonNode: JsonNode): BluePrintDBLibGenericService =
-        blueprintDBDataSourceService(dBDataSourceProperties(jsonNode))
+        pooledDBLibService("json:$jsonNode", { jsonSelectorTag(jsonNode) }) { dBDataSourceProperties(jsonNode) }
 
     fun JdbcTemplate(selector: String): BluePrintDBLibGenericService =
-        blueprintDBDataSourceService(dBDataSourceProperties("blueprintsprocessor.db.$selector"))
+        pooledDBLibService("selector:$selector", { selector }) {
+            dBDataSourceProperties("blueprintsprocessor.db.$selector")
+        }
+
+    /** Close all the cached and evicted db services and their connection pools */
+    fun clearDBLibServices() {
+        dbLibServiceCache.invalidateAll()
+        dbLibServiceCache.cleanUp()
+        retiredDBLibServices.closeAll()
+    }
+
+    @PreDestroy
+    fun shutdown() {
+        clearDBLibServices()
+        retiredDBLibServices.close()
+    }
+
+    private fun pooledDBLibService(
+        key: String,
+        metricTag: () -> String,
+        propertiesCreator: () -> DBDataSourceProperties
+    ): BluePrintDBLibGenericService {
+        dbLibServiceCache.getIfPresent(key)?.let { return it }
+        val dBDataSourceProperties = propertiesCreator()
+        val service = blueprintDBDataSourceService(dBDataSourceProperties)
+        // The pool is created lazily, so a service losing the race holds no connection to release
+        dbLibServiceCache.asMap().putIfAbsent(key, service)?.let { return it }
+        registerPoolMetrics(key, metricTag(), dBDataSourceProperties, service)
+        retiredDBLibServices.sweepPeriodically()
+        return service
+    }
+
+    private fun registerPoolMetrics(
+        key: String,
+        metricTag: String,
+        dBDataSourceProperties: DBDataSourceProperties,
+        service: BluePrintDBLibGenericService
+    ) {
+        if (meterRegistry == null || service !is PooledDBLibGenericService) return
+        val tags = Tags.of(DB_SELECTOR_TAG, metricTag).and(DB_URL_TAG, dBDataSourceProperties.url)
+        poolMeters[key] = listOf(
+            Gauge.builder(DB_POOL_ACTIVE_GAUGE, service) { it.poolStats()?.activeConnections?.toDouble() ?: 0.0 }
+                .tags(tags).register(meterRegistry),
+            Gauge.builder(DB_POOL_IDLE_GAUGE, service) { it.poolStats()?.idleConnections?.toDouble() ?: 0.0 }
+                .tags(tags).register(meterRegistry),
+            Gauge.builder(DB_POOL_PENDING_GAUGE, service) {
+                it.poolStats()?.threadsAwaitingConnection?.toDouble() ?: 0.0
+            }.tags(tags).register(meterRegistry),
+            Gauge.builder(DB_POOL_MAX_GAUGE, dBDataSourceProperties) { it.maximumPoolSize.toDouble() }
+                .tags(tags).register(meterRegistry),
+            Gauge.builder(DB_QUERY_QUEUED_GAUGE, service) { it.queuedQueries().toDouble() }
+                .tags(tags).register(meterRegistry)
+        )
+    }
+
+    /** Endpoint definitions with the same url still get their own meters */
+    private fun jsonSelectorTag(jsonNode: JsonNode): String =
+        "json-" + Hashing.sha256().hashString(jsonNode.toString(), StandardCharsets.UTF_8).toString().take(12)
+
+    private fun releaseDBLibService(key: String, service: BluePrintDBLibGenericService) {
+        meterRegistry?.let { registry -> poolMeters.remove(key)?.forEach { registry.remove(it) } }
+        if (service is PooledDBLibGenericService) {
+            retiredDBLibServices.retire(key, service)
+        }
+    }
 
     private fun dBDataSourceProperties(jsonNode: JsonNode): DBDataSourceProperties =
         when (val type = jsonNode.get("type").textValue()) {
@@ -84,4 +192,13 @@ class BluePrintDBLibPropertyService(private var bluePrintPropertiesService: Blue
 
     private fun mssqlDBConnectionProperties(prefix: String): MSSqlDataSourceProperties =
         bluePrintPropertiesService.propertyBeanType(prefix, MSSqlDataSourceProperties::class.java)
+
+    companion object {
+
+        /** Time left to the callers of an evicted db service to finish with it */
+        private val RETIRED_SERVICE_GRACE_NANOS = TimeUnit.MINUTES.toNanos(5)
+
+        /** Interval of the checks for expired and retired db services */
+        private const val RETIRED_SERVICE_SWEEP_SECONDS = 60L
+    }
 }
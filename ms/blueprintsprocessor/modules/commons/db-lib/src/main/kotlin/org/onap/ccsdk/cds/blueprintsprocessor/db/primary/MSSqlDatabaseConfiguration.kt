@@ -16,35 +16,19 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.db.primary
 
-import org.onap.ccsdk.cds.blueprintsprocessor.db.BluePrintDBLibGenericService
 import org.onap.ccsdk.cds.blueprintsprocessor.db.MSSqlDataSourceProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.db.PooledDBLibGenericService
 import org.slf4j.LoggerFactory
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate
-import org.springframework.jdbc.datasource.DriverManagerDataSource
 import javax.sql.DataSource
 
-class MSSqlDatabaseConfiguration(private val msSqlDataSourceProperties: MSSqlDataSourceProperties) : BluePrintDBLibGenericService {
-    override fun namedParameterJdbcTemplate(): NamedParameterJdbcTemplate {
-        return msSqlNamedParameterJdbcTemplate(msSqlDataSource())
-    }
-
-    override fun query(sql: String, params: Map<String, Any>): List<Map<String, Any>> {
-        return msSqlNamedParameterJdbcTemplate(msSqlDataSource()).queryForList(sql, params)
-    }
-
-    override fun update(sql: String, params: Map<String, Any>): Int {
-        return msSqlNamedParameterJdbcTemplate(msSqlDataSource()).update(sql, params)
-    }
+class MSSqlDatabaseConfiguration(msSqlDataSourceProperties: MSSqlDataSourceProperties) :
+    PooledDBLibGenericService(msSqlDataSourceProperties) {
 
     val log = LoggerFactory.getLogger(PrimaryDatabaseConfiguration::class.java)!!
 
     fun msSqlDataSource(): DataSource {
-        val dataSource = DriverManagerDataSource()
-        dataSource.setDriverClassName(msSqlDataSourceProperties.driverClassName)
-        dataSource.url = msSqlDataSourceProperties.url
-        dataSource.username = msSqlDataSourceProperties.username
-        dataSource.password = msSqlDataSourceProperties.password
-        return dataSource
+        return pooledDataSource
     }
 
     fun msSqlNamedParameterJdbcTemplate(msSqlDataSource: DataSource): NamedParameterJdbcTemplate {
@@ -16,36 +16,19 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.db.primary
 
-import org.onap.ccsdk.cds.blueprintsprocessor.db.BluePrintDBLibGenericService
 import org.onap.ccsdk.cds.blueprintsprocessor.db.MariaDataSourceProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.db.PooledDBLibGenericService
 import org.slf4j.LoggerFactory
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate
-import org.springframework.jdbc.datasource.DriverManagerDataSource
 import javax.sql.DataSource
 
-class MariaDatabaseConfiguration(private val mariaDataSourceProperties: MariaDataSourceProperties) : BluePrintDBLibGenericService {
+class MariaDatabaseConfiguration(mariaDataSourceProperties: MariaDataSourceProperties) :
+    PooledDBLibGenericService(mariaDataSourceProperties) {
 
     val log = LoggerFactory.getLogger(MariaDatabaseConfiguration::class.java)!!
 
-    override fun namedParameterJdbcTemplate(): NamedParameterJdbcTemplate {
-        return mariaNamedParameterJdbcTemplate(mariaDataSource())
-    }
-
-    override fun query(sql: String, params: Map<String, Any>): List<Map<String, Any>> {
-        return mariaNamedParameterJdbcTemplate(mariaDataSource()).queryForList(sql, params)
-    }
-
-    override fun update(sql: String, params: Map<String, Any>): Int {
-        return mariaNamedParameterJdbcTemplate(mariaDataSource()).update(sql, params)
-    }
-
     fun mariaDataSource(): DataSource {
-        val dataSource = DriverManagerDataSource()
-        dataSource.setDriverClassName(mariaDataSourceProperties.driverClassName)
-        dataSource.url = mariaDataSourceProperties.url
-        dataSource.username = mariaDataSourceProperties.username
-        dataSource.password = mariaDataSourceProperties.password
-        return dataSource
+        return pooledDataSource
     }
 
     fun mariaNamedParameterJdbcTemplate(mariaDataSource: DataSource): NamedParameterJdbcTemplate {
@@ -16,36 +16,19 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.db.primary
 
-import org.onap.ccsdk.cds.blueprintsprocessor.db.BluePrintDBLibGenericService
 import org.onap.ccsdk.cds.blueprintsprocessor.db.MySqlDataSourceProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.db.PooledDBLibGenericService
 import org.slf4j.LoggerFactory
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate
-import org.springframework.jdbc.datasource.DriverManagerDataSource
 import javax.sql.DataSource
 
-class MySqlDatabaseConfiguration(private val mySqlDataSourceProperties: MySqlDataSourceProperties) : BluePrintDBLibGenericService {
-
-    override fun namedParameterJdbcTemplate(): NamedParameterJdbcTemplate {
-        return mySqlNamedParameterJdbcTemplate(mySqlDataSource())
-    }
-
-    override fun query(sql: String, params: Map<String, Any>): List<Map<String, Any>> {
-        return mySqlNamedParameterJdbcTemplate(mySqlDataSource()).queryForList(sql, params)
-    }
-
-    override fun update(sql: String, params: Map<String, Any>): Int {
-        return mySqlNamedParameterJdbcTemplate(mySqlDataSource()).update(sql, params)
-    }
+class MySqlDatabaseConfiguration(mySqlDataSourceProperties: MySqlDataSourceProperties) :
+    PooledDBLibGenericService(mySqlDataSourceProperties) {
 
     val log = LoggerFactory.getLogger(PrimaryDatabaseConfiguration::class.java)!!
 
     fun mySqlDataSource(): DataSource {
-        val dataSource = DriverManagerDataSource()
-        dataSource.setDriverClassName(mySqlDataSourceProperties.driverClassName)
-        dataSource.url = mySqlDataSourceProperties.url
-        dataSource.username = mySqlDataSourceProperties.username
-        dataSource.password = mySqlDataSourceProperties.password
-        return dataSource
+        return pooledDataSource
     }
 
     fun mySqlNamedParameterJdbcTemplate(mySqlDataSource: DataSource): NamedParameterJdbcTemplate {
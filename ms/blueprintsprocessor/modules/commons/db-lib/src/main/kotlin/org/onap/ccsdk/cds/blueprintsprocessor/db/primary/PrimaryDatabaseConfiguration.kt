@@ -39,6 +39,8 @@ open class PrimaryDatabaseConfiguration(private val primaryDataSourceProperties:
         val properties = HashMap<String, Any>()
         properties["hibernate.hbm2ddl.auto"] = primaryDataSourceProperties.hibernateHbm2ddlAuto
         properties["hibernate.dialect"] = primaryDataSourceProperties.hibernateDialect
+        properties["hibernate.jdbc.batch_size"] = primaryDataSourceProperties.hibernateJdbcBatchSize
+        properties["hibernate.order_inserts"] = true
         em.jpaPropertyMap = properties
         return em
     }
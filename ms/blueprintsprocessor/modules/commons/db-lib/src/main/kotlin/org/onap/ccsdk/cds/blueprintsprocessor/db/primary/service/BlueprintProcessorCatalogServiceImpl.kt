@@ -18,7 +18,12 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.db.primary.service
 
+import jakarta.annotation.PreDestroy
+import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
 import org.onap.ccsdk.cds.blueprintsprocessor.core.cluster.BlueprintClusterTopic
 import org.onap.ccsdk.cds.blueprintsprocessor.core.cluster.optionalClusterService
@@ -34,14 +39,21 @@ import org.onap.ccsdk.cds.controllerblueprints.core.data.ErrorCode
 import org.onap.ccsdk.cds.controllerblueprints.core.data.Workflow
 import org.onap.ccsdk.cds.controllerblueprints.core.deCompress
 import org.onap.ccsdk.cds.controllerblueprints.core.deleteNBDir
+import org.onap.ccsdk.cds.controllerblueprints.core.interfaces.BluePrintDeployListener
 import org.onap.ccsdk.cds.controllerblueprints.core.interfaces.BluePrintValidatorService
 import org.onap.ccsdk.cds.controllerblueprints.core.normalizedFile
 import org.onap.ccsdk.cds.controllerblueprints.core.normalizedPathName
 import org.onap.ccsdk.cds.controllerblueprints.core.reCreateNBDirs
 import org.onap.ccsdk.cds.controllerblueprints.core.scripts.BluePrintCompileCache
+import org.onap.ccsdk.cds.controllerblueprints.core.scripts.BluePrintScriptsServiceImpl
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContextCache
 import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintDependencyService
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintJinjaTemplateService
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintVelocityTemplateService
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintFileUtils
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintMetadataUtils
 import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.ObjectProvider
 import org.springframework.dao.DataIntegrityViolationException
 import org.springframework.stereotype.Service
 import java.io.File
@@ -56,12 +68,21 @@ import java.util.UUID
 class BlueprintProcessorCatalogServiceImpl(
     bluePrintRuntimeValidatorService: BluePrintValidatorService,
     private val bluePrintLoadConfiguration: BluePrintLoadConfiguration,
-    private val blueprintModelRepository: BlueprintModelRepository
+    private val blueprintModelRepository: BlueprintModelRepository,
+    private val deployListeners: ObjectProvider<BluePrintDeployListener>
 ) :
     BlueprintCatalogServiceImpl(bluePrintLoadConfiguration, bluePrintRuntimeValidatorService) {
 
     private val log = LoggerFactory.getLogger(BlueprintProcessorCatalogServiceImpl::class.toString())
 
+    /** Deploys and compiles blueprints eagerly, off the request that saved or deployed them */
+    private val compileScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
+    @PreDestroy
+    fun shutdown() {
+        compileScope.cancel()
+    }
+
     override suspend fun delete(name: String, version: String) {
         // Clean blueprint script cache
         val cacheKey = BluePrintFileUtils
@@ -181,6 +202,17 @@ class BlueprintProcessorCatalogServiceImpl(
                 ex
             )
         }
+
+        if (BluePrintConstants.COMPILE_CACHE_EAGER) {
+            // Deploy right away, the deployment compiles the scripts, so the first request doesn't pay for it
+            compileScope.launch {
+                try {
+                    get(artifactName, artifactVersion, true)
+                } catch (e: BluePrintProcessorException) {
+                    log.warn("failed to deploy cba file name($artifactName), version($artifactVersion) : ${e.message}")
+                }
+            }
+        }
     }
 
     private suspend fun cleanClassLoader(cacheKey: String) {
@@ -188,10 +220,33 @@ class BlueprintProcessorCatalogServiceImpl(
         if (clusterService != null && clusterService.clusterJoined()) {
             log.info("Sending ClusterMessage: Clean Classloader Cache")
             clusterService.sendMessage(BlueprintClusterTopic.BLUEPRINT_CLEAN_COMPILER_CACHE, cacheKey)
-        } else BluePrintCompileCache.cleanClassLoader(cacheKey)
+        } else {
+            BluePrintCompileCache.cleanClassLoader(cacheKey)
+            BluePrintContextCache.cleanBluePrintContext(cacheKey)
+            BluePrintVelocityTemplateService.cleanTemplates(cacheKey)
+            BluePrintJinjaTemplateService.cleanTemplates(cacheKey)
+        }
+    }
+
+    /** Compile failures are left to the first execution using the scripts, they don't fail the deployment */
+    private fun compileScripts(name: String, version: String, deployFile: File) {
+        compileScope.launch {
+            try {
+                BluePrintScriptsServiceImpl().compile(deployFile.absolutePath)
+                log.info("compiled scripts of cba file name($name), version($version)")
+            } catch (e: Exception) {
+                log.warn("failed to compile scripts of cba file name($name), version($version) : ${e.message}")
+            }
+        }
     }
 
     private suspend fun updateDeployFolder(name: String, version: String, cbaFile: File, deployFile: File) {
+        // Deployed content is about to change, drop what was parsed from the previous content
+        val cacheKey = BluePrintFileUtils.compileCacheKey(deployFile.absolutePath)
+        BluePrintCompileCache.invalidateClassLoader(cacheKey)
+        BluePrintContextCache.cleanBluePrintContext(cacheKey)
+        BluePrintVelocityTemplateService.cleanTemplates(cacheKey)
+        BluePrintJinjaTemplateService.cleanTemplates(cacheKey)
         deployFile.reCreateNBDirs()
         cbaFile.parentFile.reCreateNBDirs()
 
@@ -214,6 +269,7 @@ class BlueprintProcessorCatalogServiceImpl(
             check(deployFile.exists() && deployFile.list().isNotEmpty()) {
                 throw BluePrintProcessorException("file check failed")
             }
+            if (BluePrintConstants.COMPILE_CACHE_EAGER) compileScripts(name, version, deployFile)
         } catch (e: Exception) {
             deleteNBDir(deployFile.absolutePath)
             throw BluePrintProcessorException(
@@ -223,5 +279,18 @@ class BlueprintProcessorCatalogServiceImpl(
         } finally {
             deleteNBDir(cbaFile.parentFile.absolutePath)
         }
+        notifyDeployed(name, version, deployFile)
+    }
+
+    /** Listener failures are left to the executions of the blueprint, they don't fail the deployment */
+    private suspend fun notifyDeployed(name: String, version: String, deployFile: File) {
+        val listeners = deployListeners.toList()
+        if (listeners.isEmpty()) return
+        try {
+            val bluePrintContext = BluePrintMetadataUtils.getCachedBluePrintContext(deployFile.absolutePath)
+            listeners.forEach { it.deployed(bluePrintContext) }
+        } catch (e: Exception) {
+            log.warn("failed to prepare deployed cba file name($name), version($version) : ${e.message}")
+        }
     }
 }
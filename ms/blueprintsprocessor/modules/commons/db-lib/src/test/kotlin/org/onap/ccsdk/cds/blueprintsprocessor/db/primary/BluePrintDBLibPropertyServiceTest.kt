@@ -0,0 +1,83 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.onap.ccsdk.cds.blueprintsprocessor.db.primary
+
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.onap.ccsdk.cds.blueprintsprocessor.db.PooledDBLibGenericService
+import org.onap.ccsdk.cds.blueprintsprocessor.db.TestDatabaseConfiguration
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.ContextConfiguration
+import org.springframework.test.context.TestPropertySource
+import org.springframework.test.context.junit4.SpringRunner
+import kotlin.test.assertEquals
+import kotlin.test.assertNotNull
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+@RunWith(SpringRunner::class)
+@ContextConfiguration(
+    classes = [TestDatabaseConfiguration::class, BluePrintDBLibPropertyService::class]
+)
+@TestPropertySource(locations = ["classpath:application-test.properties"])
+class BluePrintDBLibPropertyServiceTest {
+
+    @Autowired
+    lateinit var bluePrintDBLibPropertyService: BluePrintDBLibPropertyService
+
+    @After
+    fun tearDown() {
+        bluePrintDBLibPropertyService.clearDBLibServices()
+    }
+
+    @Test
+    fun testPooledDBLibServiceReuse() {
+        val dbLibService = bluePrintDBLibPropertyService.JdbcTemplate("sample")
+        assertSame(
+            dbLibService, bluePrintDBLibPropertyService.JdbcTemplate("sample"),
+            "failed to reuse db service for the selector"
+        )
+        repeat(5) {
+            val rows = dbLibService.query("SELECT :id AS ID", mapOf("id" to it))
+            assertEquals(1, rows.size, "failed to query the sample db")
+        }
+        val poolStats = (dbLibService as PooledDBLibGenericService).poolStats()
+        assertNotNull(poolStats, "failed to get connection pool statistics")
+        assertEquals(0, poolStats.activeConnections, "failed to release pooled connections")
+        assertTrue(poolStats.totalConnections <= 2, "failed to bound the connection pool")
+    }
+
+    @Test
+    fun testQueryNB() {
+        val dbLibService = bluePrintDBLibPropertyService.JdbcTemplate("sample")
+        runBlocking {
+            val rows = (0 until 10).map {
+                async { dbLibService.queryNB("SELECT :id AS ID", mapOf("id" to it)) }
+            }.awaitAll()
+            assertEquals(10, rows.size, "failed to run the queries")
+            rows.forEach { assertEquals(1, it.size, "failed to query the sample db") }
+        }
+        val pooledDBLibService = dbLibService as PooledDBLibGenericService
+        assertEquals(0, pooledDBLibService.queuedQueries(), "failed to drain the queued queries")
+        assertTrue(pooledDBLibService.poolStats()!!.totalConnections <= 2, "failed to bound the connection pool")
+    }
+}
@@ -20,13 +20,29 @@ package org.onap.ccsdk.cds.blueprintsprocessor.grpc
 import com.fasterxml.jackson.databind.JsonNode
 import org.onap.ccsdk.cds.blueprintsprocessor.grpc.service.BluePrintGrpcClientService
 import org.onap.ccsdk.cds.blueprintsprocessor.grpc.service.BluePrintGrpcLibPropertyService
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.service.GrpcChannelRegistry
 import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintDependencyService
+import org.springframework.boot.context.properties.bind.Binder
+import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.ComponentScan
 import org.springframework.context.annotation.Configuration
 
 @Configuration
 @ComponentScan
-open class BluePrintGrpcLibConfiguration
+open class BluePrintGrpcLibConfiguration {
+
+    @Bean(destroyMethod = "close")
+    open fun grpcChannelRegistry(
+        bluePrintPropertyBinder: Binder,
+        bluePrintGrpcLibPropertyService: BluePrintGrpcLibPropertyService
+    ): GrpcChannelRegistry {
+        val properties = bluePrintPropertyBinder.bind(
+            GRPCLibConstants.PROPERTY_GRPC_CHANNEL_REGISTRY_PREFIX,
+            GrpcChannelRegistryProperties::class.java
+        ).orElseGet { GrpcChannelRegistryProperties() }
+        return GrpcChannelRegistry(properties, bluePrintGrpcLibPropertyService)
+    }
+}
 
 /**
  * Exposed Dependency Service by this GRPC Lib Module
@@ -48,6 +64,7 @@ class GRPCLibConstants {
         const val SERVICE_BLUEPRINT_GRPC_LIB_PROPERTY = "blueprint-grpc-lib-property-service"
         const val PROPERTY_GRPC_CLIENT_PREFIX = "blueprintsprocessor.grpcclient."
         const val PROPERTY_GRPC_SERVER_PREFIX = "blueprintsprocessor.grpcserver."
+        const val PROPERTY_GRPC_CHANNEL_REGISTRY_PREFIX = "blueprintsprocessor.grpcLib.channelRegistry"
         const val TYPE_TOKEN_AUTH = "token-auth"
         const val TYPE_BASIC_AUTH = "basic-auth"
         const val TYPE_TLS_AUTH = "tls-auth"
@@ -65,3 +65,14 @@ open class BasicAuthGrpcClientProperties : GrpcClientProperties() {
     lateinit var username: String
     lateinit var password: String
 }
+
+/** Cached GRPC client channels properties */
+open class GrpcChannelRegistryProperties {
+
+    var idleShutdownSeconds: Long = 300 // shut a channel down once unused for that long, right away when 0
+    var evictionIntervalSeconds: Long = 30
+    var channelsPerTarget: Int = 1 // channels used in turn for a target, each one has its own connection
+    var keepAliveTimeSeconds: Long = 300 // ping period of the connections, disabled when 0
+    var keepAliveTimeoutSeconds: Long = 20
+    var keepAliveWithoutCalls: Boolean = false
+}
@@ -24,12 +24,12 @@ import org.onap.ccsdk.cds.blueprintsprocessor.grpc.BasicAuthGrpcClientProperties
 open class BasicAuthGrpcClientService(private val basicAuthGrpcClientProperties: BasicAuthGrpcClientProperties) :
     BluePrintGrpcClientService {
 
-    override suspend fun channel(): ManagedChannel {
-        val managedChannel = NettyChannelBuilder
+    override suspend fun channel(): ManagedChannel = channelBuilder().build()
+
+    override fun channelBuilder(): NettyChannelBuilder {
+        return NettyChannelBuilder
             .forAddress(basicAuthGrpcClientProperties.host, basicAuthGrpcClientProperties.port)
             .nameResolverFactory(DnsNameResolverProvider())
-            // .intercept(BasicAuthClientInterceptor(basicAuthGrpcClientProperties)).usePlaintext()
-            .build()
-        return managedChannel
+        // .intercept(BasicAuthClientInterceptor(basicAuthGrpcClientProperties)).usePlaintext()
     }
 }
@@ -18,6 +18,7 @@
 package org.onap.ccsdk.cds.blueprintsprocessor.grpc.service
 
 import io.grpc.ManagedChannel
+import io.grpc.ManagedChannelBuilder
 import io.grpc.netty.NettyServerBuilder
 
 interface BluePrintGrpcServerService {
@@ -28,4 +29,7 @@ interface BluePrintGrpcServerService {
 interface BluePrintGrpcClientService {
 
     suspend fun channel(): ManagedChannel
+
+    /** Builder of the channels to the server, to tune them before they are built, null if the client has none */
+    fun channelBuilder(): ManagedChannelBuilder<*>? = null
 }
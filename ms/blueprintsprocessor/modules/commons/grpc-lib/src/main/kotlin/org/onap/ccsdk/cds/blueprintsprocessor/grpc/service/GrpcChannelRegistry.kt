@@ -0,0 +1,176 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.grpc.service
+
+import com.google.common.hash.Hashing
+import io.grpc.ManagedChannel
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.GrpcChannelRegistryProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.GrpcClientProperties
+import org.onap.ccsdk.cds.controllerblueprints.core.logger
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonUtils
+import java.io.Closeable
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Long lived channels to the GRPC servers, shared by the clients that have the same properties.
+ *
+ * A channel is leased for the calls of a client and given back once they are done, channels no longer leased are
+ * shut down once unused for idleShutdownSeconds. With channelsPerTarget above 1, the leases of a server are spread
+ * over that many channels in turn, each one with its own HTTP/2 connection.
+ */
+open class GrpcChannelRegistry(
+    private val properties: GrpcChannelRegistryProperties,
+    private val bluePrintGrpcLibPropertyService: BluePrintGrpcLibPropertyService
+) : Closeable {
+
+    private val log = logger(GrpcChannelRegistry::class)
+
+    private val targets = hashMapOf<String, TargetChannels>()
+
+    private val evictionExecutorDelegate = lazy {
+        val executor = Executors.newSingleThreadScheduledExecutor { runnable ->
+            Thread(runnable, "grpc-channel-eviction").apply { isDaemon = true }
+        }
+        executor.scheduleWithFixedDelay(
+            { evictIdle() }, properties.evictionIntervalSeconds, properties.evictionIntervalSeconds, TimeUnit.SECONDS
+        )
+        executor
+    }
+    private val evictionExecutor: ScheduledExecutorService by evictionExecutorDelegate
+
+    /**
+     * Lease a channel to the server of [grpcClientProperties], creating its channels unless they are cached. The
+     * channels are created outside of the registry lock, so that leases of other servers don't wait for them.
+     */
+    suspend fun lease(grpcClientProperties: GrpcClientProperties): GrpcChannelLease {
+        val key = channelKey(grpcClientProperties)
+        leaseCached(key)?.let { return it }
+        val channels = createChannels(grpcClientProperties)
+        leaseCreated(key, channels)?.let {
+            log.info("grpc channels(${grpcClientProperties.host}:${grpcClientProperties.port}) created")
+            return it
+        }
+        // Channels cached by a concurrent lease meanwhile are leased instead
+        channels.forEach { it.shutdown() }
+        return lease(grpcClientProperties)
+    }
+
+    /**
+     * Shut down the channels no longer leased and unused for longer than idleShutdownSeconds
+     */
+    @Synchronized
+    fun evictIdle() {
+        val idleNanos = TimeUnit.SECONDS.toNanos(properties.idleShutdownSeconds)
+        targets.entries.removeIf { (_, target) ->
+            val idle = target.leases == 0 && System.nanoTime() - target.lastReleased > idleNanos
+            if (idle) target.shutdown()
+            idle
+        }
+    }
+
+    @Synchronized
+    override fun close() {
+        targets.values.forEach { it.shutdown() }
+        targets.clear()
+        if (evictionExecutorDelegate.isInitialized()) evictionExecutor.shutdownNow()
+    }
+
+    @Synchronized
+    private fun leaseCached(key: String): GrpcChannelLease? {
+        val target = targets[key]?.takeUnless { it.isShutdown() } ?: return null
+        return lease(key, target)
+    }
+
+    /** Lease the created channels, unless usable channels were cached meanwhile */
+    @Synchronized
+    private fun leaseCreated(key: String, channels: List<ManagedChannel>): GrpcChannelLease? {
+        val cached = targets[key]
+        if (cached != null && !cached.isShutdown()) return null
+        cached?.shutdown()
+        val target = TargetChannels(channels)
+        targets[key] = target
+        if (properties.idleShutdownSeconds > 0) evictionExecutorDelegate.value
+        return lease(key, target)
+    }
+
+    private fun lease(key: String, target: TargetChannels): GrpcChannelLease {
+        target.leases++
+        return GrpcChannelLease(target.nextChannel()) { release(key, target) }
+    }
+
+    @Synchronized
+    private fun release(key: String, target: TargetChannels) {
+        target.leases--
+        target.lastReleased = System.nanoTime()
+        if (target.leases > 0) return
+        // Channels replaced after a shut down are closed as soon as their last lease is given back
+        if (targets[key] !== target) {
+            target.shutdown()
+        } else if (properties.idleShutdownSeconds <= 0) {
+            targets.remove(key)
+            target.shutdown()
+        }
+    }
+
+    private suspend fun createChannels(grpcClientProperties: GrpcClientProperties): List<ManagedChannel> {
+        val grpcClientService = bluePrintGrpcLibPropertyService.blueprintGrpcClientService(grpcClientProperties)
+        return (1..maxOf(1, properties.channelsPerTarget)).map {
+            // Channels of clients without builder are used as they are built
+            val channelBuilder = grpcClientService.channelBuilder() ?: return@map grpcClientService.channel()
+            if (properties.keepAliveTimeSeconds > 0) {
+                channelBuilder.keepAliveTime(properties.keepAliveTimeSeconds, TimeUnit.SECONDS)
+                channelBuilder.keepAliveTimeout(properties.keepAliveTimeoutSeconds, TimeUnit.SECONDS)
+                channelBuilder.keepAliveWithoutCalls(properties.keepAliveWithoutCalls)
+            }
+            channelBuilder.build()
+        }
+    }
+
+    /** Channels are shared by the clients whose properties, credentials included, are the same */
+    private fun channelKey(grpcClientProperties: GrpcClientProperties): String =
+        Hashing.sha256().hashString(JacksonUtils.getJson(grpcClientProperties), StandardCharsets.UTF_8).toString()
+
+    private class TargetChannels(private val channels: List<ManagedChannel>) {
+
+        private val next = AtomicInteger()
+        var leases = 0
+        var lastReleased = System.nanoTime()
+
+        fun nextChannel(): ManagedChannel = channels[Math.floorMod(next.getAndIncrement(), channels.size)]
+
+        fun isShutdown() = channels.any { it.isShutdown }
+
+        fun shutdown() = channels.forEach { it.shutdown() }
+    }
+}
+
+/**
+ * Channel leased from [GrpcChannelRegistry], closing the lease gives the channel back instead of shutting it down
+ */
+class GrpcChannelLease(val channel: ManagedChannel, private val release: () -> Unit) : Closeable {
+
+    private val released = AtomicBoolean()
+
+    override fun close() {
+        if (released.compareAndSet(false, true)) release()
+    }
+}
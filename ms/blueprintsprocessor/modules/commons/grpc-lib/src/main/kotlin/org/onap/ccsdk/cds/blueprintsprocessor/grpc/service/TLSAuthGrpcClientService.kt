@@ -28,7 +28,9 @@ import org.onap.ccsdk.cds.controllerblueprints.core.normalizedFile
 class TLSAuthGrpcClientService(private val tlsAuthGrpcClientProperties: TLSAuthGrpcClientProperties) :
     BluePrintGrpcClientService {
 
-    override suspend fun channel(): ManagedChannel {
+    override suspend fun channel(): ManagedChannel = channelBuilder().build()
+
+    override fun channelBuilder(): NettyChannelBuilder {
 
         val target =
             if (tlsAuthGrpcClientProperties.port == -1) tlsAuthGrpcClientProperties.host
@@ -39,7 +41,6 @@ class TLSAuthGrpcClientService(private val tlsAuthGrpcClientProperties: TLSAuthG
             .nameResolverFactory(DnsNameResolverProvider())
             .intercept(GrpcClientLoggingInterceptor())
             .sslContext(sslContext())
-            .build()
     }
 
     fun sslContext(): SslContext {
@@ -32,17 +32,18 @@ import org.onap.ccsdk.cds.blueprintsprocessor.grpc.interceptor.GrpcClientLogging
 class TokenAuthGrpcClientService(private val tokenAuthGrpcClientProperties: TokenAuthGrpcClientProperties) :
     BluePrintGrpcClientService {
 
-    override suspend fun channel(): ManagedChannel {
+    override suspend fun channel(): ManagedChannel = channelBuilder().build()
+
+    override fun channelBuilder(): NettyChannelBuilder {
         val target =
             if (tokenAuthGrpcClientProperties.port == -1) tokenAuthGrpcClientProperties.host
             else "${tokenAuthGrpcClientProperties.host}:${tokenAuthGrpcClientProperties.port}"
 
-        val managedChannel = NettyChannelBuilder
+        return NettyChannelBuilder
             .forTarget(target)
             .nameResolverFactory(DnsNameResolverProvider())
             .intercept(GrpcClientLoggingInterceptor())
-            .intercept(TokenAuthClientInterceptor(tokenAuthGrpcClientProperties)).usePlaintext().build()
-        return managedChannel
+            .intercept(TokenAuthClientInterceptor(tokenAuthGrpcClientProperties)).usePlaintext()
     }
 }
 
@@ -0,0 +1,140 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.grpc.service
+
+import kotlinx.coroutines.runBlocking
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.onap.ccsdk.cds.blueprintsprocessor.core.BluePrintPropertiesService
+import org.onap.ccsdk.cds.blueprintsprocessor.core.BluePrintPropertyConfiguration
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.BluePrintGrpcLibConfiguration
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.GrpcChannelRegistryProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.GrpcClientProperties
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.ContextConfiguration
+import org.springframework.test.context.TestPropertySource
+import org.springframework.test.context.junit4.SpringRunner
+import kotlin.test.assertFalse
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+@RunWith(SpringRunner::class)
+@ContextConfiguration(
+    classes = [
+        BluePrintGrpcLibConfiguration::class,
+        BluePrintPropertyConfiguration::class, BluePrintPropertiesService::class
+    ]
+)
+@TestPropertySource(
+    properties =
+        [
+            "blueprintsprocessor.grpcclient.sample.type=basic-auth",
+            "blueprintsprocessor.grpcclient.sample.host=127.0.0.1",
+            "blueprintsprocessor.grpcclient.sample.port=50505",
+            "blueprintsprocessor.grpcclient.sample.username=sampleuser",
+            "blueprintsprocessor.grpcclient.sample.password=sampleuser",
+
+            "blueprintsprocessor.grpcclient.other.type=basic-auth",
+            "blueprintsprocessor.grpcclient.other.host=127.0.0.1",
+            "blueprintsprocessor.grpcclient.other.port=50505",
+            "blueprintsprocessor.grpcclient.other.username=otheruser",
+            "blueprintsprocessor.grpcclient.other.password=otheruser"
+        ]
+)
+class GrpcChannelRegistryTest {
+
+    @Autowired
+    lateinit var bluePrintGrpcLibPropertyService: BluePrintGrpcLibPropertyService
+
+    @Autowired
+    lateinit var grpcChannelRegistry: GrpcChannelRegistry
+
+    @Test
+    fun testChannelSharedBetweenLeases() {
+        val first = grpcChannelRegistry.lease("sample")
+        first.close()
+        val second = grpcChannelRegistry.lease("sample")
+        val other = grpcChannelRegistry.lease("other")
+
+        assertSame(first.channel, second.channel, "channel not reused for the same properties")
+        assertNotSame(first.channel, other.channel, "channel shared between different credentials")
+        assertFalse(second.channel.isShutdown)
+        second.close()
+        other.close()
+    }
+
+    @Test
+    fun testChannelsUsedInTurn() {
+        val registry = registry(GrpcChannelRegistryProperties().apply { channelsPerTarget = 2 })
+        registry.use {
+            val leases = (1..3).map { registry.lease("sample") }
+
+            assertNotSame(leases[0].channel, leases[1].channel)
+            assertSame(leases[0].channel, leases[2].channel)
+            leases.forEach { it.close() }
+        }
+    }
+
+    @Test
+    fun testChannelShutdownOnRelease() {
+        val registry = registry(GrpcChannelRegistryProperties().apply { idleShutdownSeconds = 0 })
+        registry.use {
+            val first = registry.lease("sample")
+            val second = registry.lease("sample")
+            first.close()
+            first.close()
+            assertFalse(second.channel.isShutdown, "channel shut down while still leased")
+            second.close()
+            assertTrue(second.channel.isShutdown, "channel not shut down once released")
+
+            val third = registry.lease("sample")
+            assertNotSame(second.channel, third.channel)
+            third.close()
+        }
+    }
+
+    @Test
+    fun testIdleChannelEvicted() {
+        val registry = registry(
+            GrpcChannelRegistryProperties().apply {
+                idleShutdownSeconds = 1
+                evictionIntervalSeconds = 60
+            }
+        )
+        registry.use {
+            val lease = registry.lease("sample")
+            registry.evictIdle()
+            assertFalse(lease.channel.isShutdown, "leased channel evicted")
+            lease.close()
+            registry.evictIdle()
+            assertFalse(lease.channel.isShutdown, "channel evicted before being idle")
+
+            Thread.sleep(1100)
+            registry.evictIdle()
+            assertTrue(lease.channel.isShutdown, "idle channel not evicted")
+        }
+    }
+
+    private fun registry(properties: GrpcChannelRegistryProperties) =
+        GrpcChannelRegistry(properties.apply { keepAliveTimeSeconds = 0 }, bluePrintGrpcLibPropertyService)
+
+    private fun clientProperties(selector: String): GrpcClientProperties =
+        bluePrintGrpcLibPropertyService.grpcClientProperties("blueprintsprocessor.grpcclient.$selector")
+
+    private fun GrpcChannelRegistry.lease(selector: String) = runBlocking { lease(clientProperties(selector)) }
+}
@@ -215,6 +215,14 @@ open class KafkaBasicAuthMessageConsumerProperties : MessageConsumerProperties()
     var autoOffsetReset: String = "latest"
     var pollMillSec: Long = 1000
     var pollRecords: Int = -1
+    /** Max records processed at once when consumed record by record, offsets are then committed once processed */
+    var maxInFlight: Int = 0
+    /** Process the records of a partition one after the other when consumed record by record */
+    var partitionOrdered: Boolean = false
+    /** Max time a revoked partition waits for its records being processed, before its offsets are committed */
+    var revokeTimeoutMillSec: Long = 30000
+    /** Max time a stopping consumer waits for its records being processed, before its offsets are committed */
+    var closeTimeoutMillSec: Long = 30000
 
     override fun getConfig(): HashMap<String, Any> {
         val configProperties = super.getConfig()
@@ -29,4 +29,11 @@ object BlueprintMessageMetricConstants {
 
     const val KAFKA_CONSUMED_MESSAGES_COUNTER = "$CONSUMED_MESSAGES_PREFIX.total"
     const val KAFKA_CONSUMED_MESSAGES_ERROR_COUNTER = "$CONSUMED_MESSAGES_PREFIX.error"
+
+    // GAUGES
+    const val KAFKA_CONSUMED_MESSAGES_IN_FLIGHT_GAUGE = "$CONSUMED_MESSAGES_PREFIX.inflight"
+    const val KAFKA_CONSUMER_LAG_GAUGE = "$METRIC_PREFIX.consumer.lag"
+
+    // TIMERS
+    const val KAFKA_CONSUMED_MESSAGES_PROCESSING_TIMER = "$CONSUMED_MESSAGES_PREFIX.processing"
 }
@@ -73,6 +73,15 @@ interface KafkaConsumerRecordsFunction : ConsumerFunction {
     )
 }
 
+/** Consumer dynamic implementation interface, called once per record and committed once it returns */
+interface KafkaConsumerRecordFunction : ConsumerFunction {
+
+    suspend fun invoke(
+        messageConsumerProperties: MessageConsumerProperties,
+        consumerRecord: ConsumerRecord<String, ByteArray>
+    )
+}
+
 interface KafkaStreamConsumerFunction : ConsumerFunction {
 
     suspend fun createTopology(
@@ -18,11 +18,14 @@
 package org.onap.ccsdk.cds.blueprintsprocessor.message.service
 
 import io.micrometer.core.instrument.MeterRegistry
+import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withContext
 import org.apache.kafka.clients.consumer.Consumer
+import org.apache.kafka.clients.consumer.ConsumerConfig
 import org.apache.kafka.clients.consumer.ConsumerRecord
 import org.apache.kafka.clients.consumer.KafkaConsumer
 import org.onap.ccsdk.cds.blueprintsprocessor.message.BlueprintMessageMetricConstants
@@ -45,6 +48,9 @@ open class KafkaMessageConsumerService(
     @Volatile
     var keepGoing = true
 
+    /** Poll thread of the record by record consumption, the only one waited for on [shutDown] */
+    private var consumerThread: Thread? = null
+
     fun kafkaConsumer(additionalConfig: Map<String, Any>? = null): Consumer<String, ByteArray> {
         val configProperties = messageConsumerProperties.getConfig()
         /** add or override already set properties */
@@ -126,6 +132,10 @@ open class KafkaMessageConsumerService(
         consumerFunction: ConsumerFunction
     ) {
 
+        if (consumerFunction is KafkaConsumerRecordFunction) {
+            return consumeRecords(topics, additionalConfig, consumerFunction)
+        }
+
         val kafkaConsumerFunction = consumerFunction as KafkaConsumerRecordsFunction
 
         /** Create Kafka consumer */
@@ -156,12 +166,73 @@ open class KafkaMessageConsumerService(
         }
     }
 
+    /**
+     * Consume the [topics] record by record with [consumerFunction], at most maxInFlight records at once.
+     * Auto commit is turned off, offsets are committed once the records are processed.
+     */
+    private fun consumeRecords(
+        topics: List<String>,
+        additionalConfig: Map<String, Any>?,
+        consumerFunction: KafkaConsumerRecordFunction
+    ) {
+        /** Create Kafka consumer */
+        val consumerConfig: MutableMap<String, Any> = hashMapOf()
+        additionalConfig?.let { consumerConfig.putAll(it) }
+        consumerConfig[ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG] = false
+        kafkaConsumer = kafkaConsumer(consumerConfig)
+
+        checkNotNull(kafkaConsumer) {
+            "failed to create kafka consumer for " +
+                "server(${messageConsumerProperties.bootstrapServers})'s " +
+                "topics(${messageConsumerProperties.bootstrapServers})"
+        }
+
+        val recordDispatcher = KafkaRecordDispatcher(
+            kafkaConsumer!!, messageConsumerProperties, consumerFunction, meterRegistry
+        )
+        kafkaConsumer!!.subscribe(topics, recordDispatcher)
+        log.info("Successfully consumed topic($topics) with max in flight(${messageConsumerProperties.maxInFlight})")
+
+        consumerThread = thread(start = true, name = "KafkaConsumer-${messageConsumerProperties.clientId}") {
+            keepGoing = true
+            kafkaConsumer!!.use { kc ->
+                while (keepGoing) {
+                    val consumerRecords = kc.poll(recordDispatcher.pollTimeout())
+                    log.trace("Consumed Records : ${consumerRecords.count()}")
+                    recordDispatcher.add(consumerRecords)
+                    recordDispatcher.dispatch()
+                    recordDispatcher.commit()
+                }
+                recordDispatcher.close()
+                log.info("message listener shutting down.....")
+            }
+        }
+    }
+
     override suspend fun shutDown() {
         /** stop the polling loop */
         keepGoing = false
         /** Close the Channel */
         channel.cancel()
-        /** TO shutdown gracefully, need to wait for the maximum poll time */
-        delay(messageConsumerProperties.pollMillSec)
+        val recordConsumer = consumerThread
+        if (recordConsumer != null) {
+            /** Records consumed one by one are committed once processed, wait for them */
+            withContext(Dispatchers.IO) {
+                recordConsumer.join(
+                    messageConsumerProperties.pollMillSec + messageConsumerProperties.closeTimeoutMillSec +
+                        SHUTDOWN_COMMIT_MILLSEC
+                )
+            }
+            if (recordConsumer.isAlive) log.warn("consumer thread(${recordConsumer.name}) still running after shutdown")
+        } else {
+            /** TO shutdown gracefully, need to wait for the maximum poll time */
+            delay(messageConsumerProperties.pollMillSec)
+        }
+    }
+
+    companion object {
+
+        /** Time left to the consumer thread to commit and close once its records are processed */
+        private const val SHUTDOWN_COMMIT_MILLSEC = 5000L
     }
 }
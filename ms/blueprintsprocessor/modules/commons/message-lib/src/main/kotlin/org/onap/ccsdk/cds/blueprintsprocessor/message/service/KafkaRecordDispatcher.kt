@@ -0,0 +1,283 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.message.service
+
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeoutOrNull
+import org.apache.kafka.clients.consumer.Consumer
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener
+import org.apache.kafka.clients.consumer.ConsumerRecord
+import org.apache.kafka.clients.consumer.ConsumerRecords
+import org.apache.kafka.clients.consumer.OffsetAndMetadata
+import org.apache.kafka.common.KafkaException
+import org.apache.kafka.common.TopicPartition
+import org.onap.ccsdk.cds.blueprintsprocessor.message.BlueprintMessageMetricConstants
+import org.onap.ccsdk.cds.blueprintsprocessor.message.KafkaBasicAuthMessageConsumerProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.message.utils.BlueprintMessageUtils
+import org.onap.ccsdk.cds.controllerblueprints.core.logger
+import java.time.Duration
+import java.util.TreeSet
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.math.max
+import kotlin.math.min
+
+/**
+ * Hands the records polled by [consumer] to [consumerFunction], at most maxInFlight of them at once.
+ * Partitions whose records can't be handed out yet are paused, so the poll loop keeps the group membership
+ * without fetching more. The offset of a partition is committed up to its first record not processed yet,
+ * so a record is redelivered after a restart or a rebalance unless it and every record before it completed.
+ *
+ * Everything but the record processing runs on the poll thread, the Kafka consumer is not thread safe.
+ */
+open class KafkaRecordDispatcher(
+    private val consumer: Consumer<String, ByteArray>,
+    private val messageConsumerProperties: KafkaBasicAuthMessageConsumerProperties,
+    private val consumerFunction: KafkaConsumerRecordFunction,
+    private val meterRegistry: MeterRegistry
+) : ConsumerRebalanceListener {
+
+    private val log = logger(KafkaRecordDispatcher::class)
+
+    private val maxInFlight = messageConsumerProperties.maxInFlight
+
+    private val processingJob = SupervisorJob()
+    private val processingScope = CoroutineScope(Dispatchers.Default + processingJob)
+
+    private val inFlight = AtomicInteger()
+    private val busyPartitions = ConcurrentHashMap.newKeySet<TopicPartition>()
+    private val pendingRecords = LinkedHashMap<TopicPartition, ArrayDeque<ConsumerRecord<String, ByteArray>>>()
+    private val partitionOffsets = ConcurrentHashMap<TopicPartition, PartitionOffsets>()
+    private val partitionLags = ConcurrentHashMap<TopicPartition, AtomicLong>()
+
+    init {
+        check(maxInFlight > 0) { "maxInFlight must be set to consume record by record" }
+        meterRegistry.gauge(
+            BlueprintMessageMetricConstants.KAFKA_CONSUMED_MESSAGES_IN_FLIGHT_GAUGE,
+            BlueprintMessageUtils.kafkaMetricTag(messageConsumerProperties.topic),
+            inFlight
+        )
+    }
+
+    /** Poll shortly while records are waiting, they are handed out as soon as processing completes */
+    fun pollTimeout(): Duration =
+        if (pendingRecords.isEmpty()) Duration.ofMillis(messageConsumerProperties.pollMillSec)
+        else Duration.ofMillis(min(messageConsumerProperties.pollMillSec, BACKLOG_POLL_MILLSEC))
+
+    fun add(consumerRecords: ConsumerRecords<String, ByteArray>) {
+        consumerRecords.forEach { consumerRecord ->
+            meterRegistry.counter(
+                BlueprintMessageMetricConstants.KAFKA_CONSUMED_MESSAGES_COUNTER,
+                BlueprintMessageUtils.kafkaMetricTag(consumerRecord.topic())
+            ).increment()
+            val partition = TopicPartition(consumerRecord.topic(), consumerRecord.partition())
+            partitionOffsets.computeIfAbsent(partition) { PartitionOffsets() }.add(consumerRecord.offset())
+            pendingRecords.getOrPut(partition) { ArrayDeque() }.addLast(consumerRecord)
+        }
+        consumer.assignment().forEach { partition ->
+            val lag = consumer.currentLag(partition)
+            if (lag.isPresent) {
+                partitionLags.computeIfAbsent(partition) { lagGauge(it) }.set(lag.asLong)
+            }
+        }
+    }
+
+    /** Hand out waiting records while there is room, and pause the partitions that still have some waiting */
+    fun dispatch() {
+        val iterator = pendingRecords.iterator()
+        while (iterator.hasNext()) {
+            val (partition, consumerRecords) = iterator.next()
+            while (consumerRecords.isNotEmpty() && inFlight.get() < maxInFlight &&
+                !(messageConsumerProperties.partitionOrdered && busyPartitions.contains(partition))
+            ) {
+                process(partition, consumerRecords.removeFirst())
+            }
+            if (consumerRecords.isEmpty()) iterator.remove()
+        }
+        // Start from the next partition on the next call, so the first partitions don't take all the room
+        pendingRecords.keys.firstOrNull()?.let { pendingRecords[it] = pendingRecords.remove(it)!! }
+        val backlog = pendingRecords.keys
+        consumer.pause(backlog)
+        consumer.resume(consumer.paused().filterNot { backlog.contains(it) })
+    }
+
+    /** Commit the offsets processed since the last commit, without waiting for the broker */
+    fun commit() {
+        val offsets = committableOffsets(partitionOffsets.keys)
+        if (offsets.isEmpty()) return
+        consumer.commitAsync(offsets) { committedOffsets, exception ->
+            if (exception == null) {
+                committedOffsets.forEach { (partition, offset) ->
+                    partitionOffsets[partition]?.committed(offset.offset())
+                }
+            } else {
+                log.warn("failed to commit offsets($committedOffsets)", exception)
+            }
+        }
+    }
+
+    /**
+     * Wait for the records being processed, at most closeTimeoutMillSec, and commit them. Records still waiting
+     * are left for redelivery, records completing after the timeout are cancelled and redelivered too.
+     */
+    fun close() {
+        runBlocking {
+            withTimeoutOrNull(messageConsumerProperties.closeTimeoutMillSec) {
+                processingJob.children.toList().joinAll()
+            }
+        } ?: log.warn("closed consumer while ${inFlight.get()} records are still being processed")
+        commitSync(partitionOffsets.keys)
+        processingJob.cancel()
+    }
+
+    /**
+     * Wait for the records of the revoked [partitions] being processed, at most revokeTimeoutMillSec, and commit
+     * them before the partitions are handed to another consumer. Records still waiting are left for redelivery,
+     * records completing after the timeout no longer count for the offsets.
+     */
+    override fun onPartitionsRevoked(partitions: Collection<TopicPartition>) {
+        partitions.forEach { pendingRecords.remove(it) }
+        val processing = partitions.flatMap { partitionOffsets[it]?.processing().orEmpty() }
+        if (processing.isNotEmpty()) {
+            runBlocking {
+                withTimeoutOrNull(messageConsumerProperties.revokeTimeoutMillSec) { processing.joinAll() }
+            } ?: log.warn("revoked partitions($partitions) while records are still being processed")
+        }
+        commitSync(partitions)
+        partitions.forEach { partition ->
+            partitionOffsets.remove(partition)
+            busyPartitions.remove(partition)
+        }
+    }
+
+    override fun onPartitionsAssigned(partitions: Collection<TopicPartition>) {
+        log.info("Assigned partitions($partitions)")
+    }
+
+    private fun process(partition: TopicPartition, consumerRecord: ConsumerRecord<String, ByteArray>) {
+        inFlight.incrementAndGet()
+        if (messageConsumerProperties.partitionOrdered) busyPartitions.add(partition)
+        val offsets = partitionOffsets.getValue(partition)
+        val job = processingScope.launch(start = CoroutineStart.LAZY) {
+            val sample = Timer.start()
+            try {
+                consumerFunction.invoke(messageConsumerProperties, consumerRecord)
+            } catch (e: Exception) {
+                meterRegistry.counter(
+                    BlueprintMessageMetricConstants.KAFKA_CONSUMED_MESSAGES_ERROR_COUNTER,
+                    BlueprintMessageUtils.kafkaMetricTag(consumerRecord.topic())
+                ).increment()
+                log.error(
+                    "failed to process record topic(${consumerRecord.topic()}) " +
+                        "partition(${consumerRecord.partition()}) offset(${consumerRecord.offset()})",
+                    e
+                )
+            } finally {
+                sample.stop(
+                    meterRegistry.timer(
+                        BlueprintMessageMetricConstants.KAFKA_CONSUMED_MESSAGES_PROCESSING_TIMER,
+                        BlueprintMessageUtils.kafkaMetricTag(consumerRecord.topic())
+                    )
+                )
+                offsets.done(consumerRecord.offset())
+                // The partition may have been revoked and assigned again meanwhile
+                if (partitionOffsets[partition] === offsets) busyPartitions.remove(partition)
+                inFlight.decrementAndGet()
+            }
+        }
+        offsets.processing(job)
+        job.start()
+    }
+
+    private fun commitSync(partitions: Collection<TopicPartition>) {
+        val offsets = committableOffsets(partitions)
+        if (offsets.isEmpty()) return
+        try {
+            consumer.commitSync(offsets)
+            offsets.forEach { (partition, offset) -> partitionOffsets[partition]?.committed(offset.offset()) }
+        } catch (e: KafkaException) {
+            log.warn("failed to commit offsets($offsets)", e)
+        }
+    }
+
+    private fun committableOffsets(partitions: Collection<TopicPartition>): Map<TopicPartition, OffsetAndMetadata> =
+        partitions.mapNotNull { partition ->
+            partitionOffsets[partition]?.committable()?.let { partition to OffsetAndMetadata(it) }
+        }.toMap()
+
+    private fun lagGauge(partition: TopicPartition): AtomicLong =
+        AtomicLong().also {
+            meterRegistry.gauge(
+                BlueprintMessageMetricConstants.KAFKA_CONSUMER_LAG_GAUGE,
+                BlueprintMessageUtils.kafkaMetricTag(partition.topic(), partition.partition()),
+                it
+            )
+        }
+
+    /** Offsets of a partition polled but not processed yet, and the next offset to commit */
+    private class PartitionOffsets {
+
+        private val processing = ConcurrentHashMap.newKeySet<Job>()
+        private val unprocessed = TreeSet<Long>()
+        private var next = -1L
+        private var committed = -1L
+
+        @Synchronized
+        fun add(offset: Long) {
+            unprocessed.add(offset)
+            next = max(next, offset + 1)
+        }
+
+        fun processing(job: Job) {
+            processing.add(job)
+            job.invokeOnCompletion { processing.remove(job) }
+        }
+
+        /** Processing of the records of the partition not completed yet */
+        fun processing(): List<Job> = processing.toList()
+
+        @Synchronized
+        fun done(offset: Long) {
+            unprocessed.remove(offset)
+        }
+
+        @Synchronized
+        fun committed(offset: Long) {
+            committed = max(committed, offset)
+        }
+
+        /** First offset not processed yet, or null if it is already committed */
+        @Synchronized
+        fun committable(): Long? =
+            (if (unprocessed.isEmpty()) next else unprocessed.first()).takeIf { it > committed }
+    }
+
+    companion object {
+
+        private const val BACKLOG_POLL_MILLSEC = 50L
+    }
+}
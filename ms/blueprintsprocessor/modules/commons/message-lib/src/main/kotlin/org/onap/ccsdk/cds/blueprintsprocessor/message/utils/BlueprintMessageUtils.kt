@@ -33,6 +33,12 @@ object BlueprintMessageUtils {
             Tag.of(BluePrintConstants.METRIC_TAG_TOPIC, topic)
         )
 
+    fun kafkaMetricTag(topic: String, partition: Int): MutableList<Tag> =
+        mutableListOf(
+            Tag.of(BluePrintConstants.METRIC_TAG_TOPIC, topic),
+            Tag.of(BluePrintConstants.METRIC_TAG_PARTITION, partition.toString())
+        )
+
     /**
      * get OS hostname's last 5 characters
      * Used to generate unique client ID.
@@ -19,12 +19,14 @@
 package org.onap.ccsdk.cds.blueprintsprocessor.message.service
 
 import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
 import io.mockk.every
 import io.mockk.spyk
 import kotlinx.coroutines.channels.consumeEach
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
 import org.apache.kafka.clients.CommonClientConfigs
 import org.apache.kafka.clients.consumer.Consumer
 import org.apache.kafka.clients.consumer.ConsumerConfig
@@ -45,6 +47,7 @@ import org.junit.runner.RunWith
 import org.onap.ccsdk.cds.blueprintsprocessor.core.BluePrintPropertiesService
 import org.onap.ccsdk.cds.blueprintsprocessor.core.BluePrintPropertyConfiguration
 import org.onap.ccsdk.cds.blueprintsprocessor.message.BluePrintMessageLibConfiguration
+import org.onap.ccsdk.cds.blueprintsprocessor.message.KafkaBasicAuthMessageConsumerProperties
 import org.onap.ccsdk.cds.blueprintsprocessor.message.MessageConsumerProperties
 import org.onap.ccsdk.cds.blueprintsprocessor.message.MessageLibConstants
 import org.onap.ccsdk.cds.controllerblueprints.core.logger
@@ -55,8 +58,11 @@ import org.springframework.test.context.ContextConfiguration
 import org.springframework.test.context.TestPropertySource
 import org.springframework.test.context.junit4.SpringRunner
 import java.nio.charset.Charset
+import java.time.Duration
+import java.util.concurrent.atomic.AtomicInteger
 import kotlin.test.assertEquals
 import kotlin.test.assertNotNull
+import kotlin.test.assertNull
 import kotlin.test.assertTrue
 
 @RunWith(SpringRunner::class)
@@ -221,6 +227,135 @@ open class BlueprintMessageConsumerServiceTest {
         }
     }
 
+    @Test
+    fun testKafkaConsumerWithBoundedRecordFunction() {
+        runBlocking {
+            val messageConsumerProperties = bluePrintMessageLibPropertyService
+                .messageConsumerProperties("${MessageLibConstants.PROPERTY_MESSAGE_CONSUMER_PREFIX}sample")
+                as KafkaBasicAuthMessageConsumerProperties
+            messageConsumerProperties.maxInFlight = 2
+            val blueprintMessageConsumerService = KafkaMessageConsumerService(
+                messageConsumerProperties, SimpleMeterRegistry()
+            )
+            val spyBlueprintMessageConsumerService = spyk(blueprintMessageConsumerService, recordPrivateCalls = true)
+
+            val topic = "default-topic"
+            val partition = TopicPartition(topic, 1)
+            val mockKafkaConsumer = MockConsumer<String, ByteArray>(OffsetResetStrategy.EARLIEST)
+            mockKafkaConsumer.subscribe(listOf(topic))
+            mockKafkaConsumer.rebalance(listOf(partition))
+            mockKafkaConsumer.updateBeginningOffsets(mapOf(partition to 0L))
+            mockKafkaConsumer.updateEndOffsets(mapOf(partition to 10L))
+            for (i in 0..9) {
+                val record = ConsumerRecord<String, ByteArray>(
+                    topic, 1, i.toLong(), "key_$i",
+                    "I am message $i".toByteArray()
+                )
+                mockKafkaConsumer.addRecord(record)
+            }
+
+            every { spyBlueprintMessageConsumerService.kafkaConsumer(any()) } returns mockKafkaConsumer
+            val inFlight = AtomicInteger()
+            val maxInFlight = AtomicInteger()
+            /** Test Consumer Function implementation */
+            val consumerFunction = object : KafkaConsumerRecordFunction {
+                override suspend fun invoke(
+                    messageConsumerProperties: MessageConsumerProperties,
+                    consumerRecord: ConsumerRecord<String, ByteArray>
+                ) {
+                    maxInFlight.accumulateAndGet(inFlight.incrementAndGet()) { a, b -> maxOf(a, b) }
+                    delay(5)
+                    inFlight.decrementAndGet()
+                }
+            }
+            spyBlueprintMessageConsumerService.consume(consumerFunction)
+            /** the offset after the last record is committed once all of them are processed */
+            withTimeout(5000) {
+                while (mockKafkaConsumer.committed(setOf(partition))[partition]?.offset() != 10L) delay(10)
+            }
+            spyBlueprintMessageConsumerService.shutDown()
+
+            assertTrue(maxInFlight.get() in 1..2, "failed to bound the records processed at once")
+        }
+    }
+
+    @Test
+    fun testRevokedPartitionCommittedOnceProcessed() {
+        val messageConsumerProperties = bluePrintMessageLibPropertyService
+            .messageConsumerProperties("${MessageLibConstants.PROPERTY_MESSAGE_CONSUMER_PREFIX}sample")
+            as KafkaBasicAuthMessageConsumerProperties
+        messageConsumerProperties.maxInFlight = 2
+
+        val topic = "default-topic"
+        val partition = TopicPartition(topic, 1)
+        val mockKafkaConsumer = MockConsumer<String, ByteArray>(OffsetResetStrategy.EARLIEST)
+        mockKafkaConsumer.assign(listOf(partition))
+        mockKafkaConsumer.updateBeginningOffsets(mapOf(partition to 0L))
+        for (i in 0..1) {
+            mockKafkaConsumer.addRecord(
+                ConsumerRecord<String, ByteArray>(topic, 1, i.toLong(), "key_$i", "I am message $i".toByteArray())
+            )
+        }
+        val processed = AtomicInteger()
+        val consumerFunction = object : KafkaConsumerRecordFunction {
+            override suspend fun invoke(
+                messageConsumerProperties: MessageConsumerProperties,
+                consumerRecord: ConsumerRecord<String, ByteArray>
+            ) {
+                delay(50)
+                processed.incrementAndGet()
+            }
+        }
+        val recordDispatcher = KafkaRecordDispatcher(
+            mockKafkaConsumer, messageConsumerProperties, consumerFunction, SimpleMeterRegistry()
+        )
+
+        recordDispatcher.add(mockKafkaConsumer.poll(Duration.ofMillis(10)))
+        recordDispatcher.dispatch()
+        recordDispatcher.onPartitionsRevoked(listOf(partition))
+
+        assertEquals(2, processed.get(), "partition revoked before its records were processed")
+        assertEquals(2L, mockKafkaConsumer.committed(setOf(partition))[partition]?.offset())
+        recordDispatcher.close()
+    }
+
+    @Test
+    fun testCloseGivesUpOnRecordsStillProcessed() {
+        val messageConsumerProperties = bluePrintMessageLibPropertyService
+            .messageConsumerProperties("${MessageLibConstants.PROPERTY_MESSAGE_CONSUMER_PREFIX}sample")
+            as KafkaBasicAuthMessageConsumerProperties
+        messageConsumerProperties.maxInFlight = 1
+        messageConsumerProperties.closeTimeoutMillSec = 100
+
+        val topic = "default-topic"
+        val partition = TopicPartition(topic, 1)
+        val mockKafkaConsumer = MockConsumer<String, ByteArray>(OffsetResetStrategy.EARLIEST)
+        mockKafkaConsumer.assign(listOf(partition))
+        mockKafkaConsumer.updateBeginningOffsets(mapOf(partition to 0L))
+        mockKafkaConsumer.addRecord(
+            ConsumerRecord<String, ByteArray>(topic, 1, 0L, "key_0", "I am message 0".toByteArray())
+        )
+        val consumerFunction = object : KafkaConsumerRecordFunction {
+            override suspend fun invoke(
+                messageConsumerProperties: MessageConsumerProperties,
+                consumerRecord: ConsumerRecord<String, ByteArray>
+            ) {
+                delay(60000)
+            }
+        }
+        val recordDispatcher = KafkaRecordDispatcher(
+            mockKafkaConsumer, messageConsumerProperties, consumerFunction, SimpleMeterRegistry()
+        )
+
+        recordDispatcher.add(mockKafkaConsumer.poll(Duration.ofMillis(10)))
+        recordDispatcher.dispatch()
+        val closeStart = System.currentTimeMillis()
+        recordDispatcher.close()
+
+        assertTrue(System.currentTimeMillis() - closeStart < 10000, "close waited for the record being processed")
+        assertNull(mockKafkaConsumer.committed(setOf(partition))[partition], "unprocessed record committed")
+    }
+
     @Test
     fun testKafkaScramSslAuthConfig() {
         val expectedConfig = mapOf<String, Any>(
@@ -0,0 +1,30 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.core
+
+object BlueprintCoreMetricConstants {
+
+    private const val METRIC_PREFIX = "cds.compile.cache"
+
+    // COUNTERS
+    const val COMPILE_CACHE_HITS_COUNTER = "$METRIC_PREFIX.hits"
+    const val COMPILE_CACHE_MISSES_COUNTER = "$METRIC_PREFIX.misses"
+    const val COMPILE_CACHE_EVICTIONS_COUNTER = "$METRIC_PREFIX.evictions"
+
+    // GAUGES
+    const val COMPILE_CACHE_SIZE_GAUGE = "$METRIC_PREFIX.size"
+}
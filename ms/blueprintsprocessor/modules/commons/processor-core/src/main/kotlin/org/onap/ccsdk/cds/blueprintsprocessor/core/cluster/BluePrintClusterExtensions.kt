@@ -17,16 +17,21 @@
 package org.onap.ccsdk.cds.blueprintsprocessor.core.cluster
 
 import com.hazelcast.cluster.Member
-import kotlinx.coroutines.GlobalScope
-import kotlinx.coroutines.newSingleThreadContext
+import kotlinx.coroutines.ExecutorCoroutineDispatcher
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.sync.Semaphore
 import kotlinx.coroutines.withContext
+import kotlinx.coroutines.withTimeoutOrNull
 import org.onap.ccsdk.cds.blueprintsprocessor.core.service.BluePrintClusterService
 import org.onap.ccsdk.cds.blueprintsprocessor.core.service.ClusterLock
 import org.onap.ccsdk.cds.blueprintsprocessor.core.service.ClusterMember
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintException
-import org.onap.ccsdk.cds.controllerblueprints.core.MDCContext
 import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintDependencyService
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
 
 /**
  * Exposed Dependency Service by this Hazelcast Lib Module
@@ -56,20 +61,59 @@ fun Member.toClusterMember(): ClusterMember {
  * If the lock cannot be acquired within timeout, a BluePrintException will be thrown.
  *
  * Since a lock can only be unlocked by the the thread which acquired the lock,
- * this function will confine coroutines within the block to a dedicated thread.
+ * the lock is acquired and released on an owner thread leased from a bounded pool,
+ * while the block keeps running in the context of the caller.
  */
 suspend fun <R> ClusterLock.executeWithLock(acquireLockTimeout: Long, block: suspend () -> R): R {
     val lock = this
-    return newSingleThreadContext(lock.name()).use {
-        withContext(GlobalScope.coroutineContext[MDCContext]?.plus(it) ?: it) {
-            if (lock.tryLock(acquireLockTimeout)) {
-                try {
-                    block()
-                } finally {
-                    lock.unLock()
-                }
-            } else
-                throw BluePrintException("Failed to acquire lock within timeout")
+    val startTime = System.currentTimeMillis()
+    val owner = ClusterLockOwners.lease(acquireLockTimeout)
+        ?: throw BluePrintException("Failed to acquire lock within timeout")
+    try {
+        val remainingTimeout = (acquireLockTimeout - (System.currentTimeMillis() - startTime)).coerceAtLeast(0)
+        // Not cancellable, a lock acquired by a cancelled caller would never be released
+        val locked = withContext(NonCancellable + owner) { lock.tryLock(remainingTimeout) }
+        if (!locked) {
+            throw BluePrintException("Failed to acquire lock within timeout")
         }
+        try {
+            return block()
+        } finally {
+            withContext(NonCancellable + owner) { lock.unLock() }
+        }
+    } finally {
+        ClusterLockOwners.release(owner)
+    }
+}
+
+/**
+ * Threads owning cluster locks. A cluster lock is reentrant for the thread which acquired it,
+ * so an owner thread is leased to a single lock execution from lock until unlock.
+ * Owner threads are created on demand and reused, at most [BluePrintConstants.CLUSTER_LOCK_OWNER_THREADS].
+ */
+private object ClusterLockOwners {
+
+    private val leases = Semaphore(BluePrintConstants.CLUSTER_LOCK_OWNER_THREADS)
+
+    private val idleOwners = ConcurrentLinkedQueue<ExecutorCoroutineDispatcher>()
+
+    private val ownerCount = AtomicInteger()
+
+    suspend fun lease(timeout: Long): ExecutorCoroutineDispatcher? {
+        if (!leases.tryAcquire() && withTimeoutOrNull(timeout) { leases.acquire() } == null) {
+            return null
+        }
+        return idleOwners.poll() ?: newOwner()
+    }
+
+    fun release(owner: ExecutorCoroutineDispatcher) {
+        idleOwners.offer(owner)
+        leases.release()
+    }
+
+    private fun newOwner(): ExecutorCoroutineDispatcher {
+        val name = "cluster-lock-owner-${ownerCount.incrementAndGet()}"
+        return Executors.newSingleThreadExecutor { Thread(it, name).apply { isDaemon = true } }
+            .asCoroutineDispatcher()
     }
 }
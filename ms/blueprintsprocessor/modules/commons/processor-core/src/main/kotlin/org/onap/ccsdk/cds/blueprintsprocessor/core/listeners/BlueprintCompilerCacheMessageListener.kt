@@ -25,6 +25,9 @@ import org.onap.ccsdk.cds.blueprintsprocessor.core.service.ClusterJoinedEvent
 import org.onap.ccsdk.cds.controllerblueprints.core.deleteNBDir
 import org.onap.ccsdk.cds.controllerblueprints.core.logger
 import org.onap.ccsdk.cds.controllerblueprints.core.scripts.BluePrintCompileCache
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContextCache
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintJinjaTemplateService
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintVelocityTemplateService
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
 import org.springframework.context.event.EventListener
 import org.springframework.stereotype.Component
@@ -45,6 +48,9 @@ open class BlueprintCompilerCacheMessageListener(private val clusterService: Blu
             log.info("Received ClusterMessage - Cleaning compile cache for blueprint (${bluePrintClusterMessage.payload})")
             val payload = bluePrintClusterMessage.payload
             BluePrintCompileCache.cleanClassLoader(payload)
+            BluePrintContextCache.cleanBluePrintContext(payload)
+            BluePrintVelocityTemplateService.cleanTemplates(payload)
+            BluePrintJinjaTemplateService.cleanTemplates(payload)
             runBlocking {
                 deleteNBDir(payload).let { success ->
                     if (success) log.info("Deleted deployed blueprint model :$payload")
@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.core.service
+
+import io.micrometer.core.instrument.FunctionCounter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.MeterRegistry
+import org.onap.ccsdk.cds.blueprintsprocessor.core.BlueprintCoreMetricConstants
+import org.onap.ccsdk.cds.controllerblueprints.core.scripts.BluePrintCompileCache
+import org.springframework.stereotype.Component
+
+/**
+ * Exposes the size, hits, misses and evictions of the compiled scripts cache.
+ * A miss loads the class loader of a compiled blueprint, an eviction drops one because of size or idle time.
+ */
+@Component
+open class BluePrintCompileCacheMetrics(meterRegistry: MeterRegistry? = null) {
+
+    init {
+        if (meterRegistry != null) register(meterRegistry)
+    }
+
+    private fun register(meterRegistry: MeterRegistry) {
+        Gauge.builder(BlueprintCoreMetricConstants.COMPILE_CACHE_SIZE_GAUGE, BluePrintCompileCache) {
+            it.size().toDouble()
+        }.register(meterRegistry)
+        FunctionCounter.builder(BlueprintCoreMetricConstants.COMPILE_CACHE_HITS_COUNTER, BluePrintCompileCache) {
+            it.stats().hitCount().toDouble()
+        }.register(meterRegistry)
+        FunctionCounter.builder(BlueprintCoreMetricConstants.COMPILE_CACHE_MISSES_COUNTER, BluePrintCompileCache) {
+            it.stats().missCount().toDouble()
+        }.register(meterRegistry)
+        FunctionCounter.builder(BlueprintCoreMetricConstants.COMPILE_CACHE_EVICTIONS_COUNTER, BluePrintCompileCache) {
+            it.stats().evictionCount().toDouble()
+        }.register(meterRegistry)
+    }
+}
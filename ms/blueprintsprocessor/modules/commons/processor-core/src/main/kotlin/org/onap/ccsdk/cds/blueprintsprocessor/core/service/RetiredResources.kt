@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.core.service
+
+import org.onap.ccsdk.cds.controllerblueprints.core.logger
+import java.io.Closeable
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+
+/**
+ * Resources evicted from a cache, such as connection pools, that callers may still hold.
+ *
+ * A retired resource is closed once it has been retired for longer than [gracePeriodNanos] and is no longer in use.
+ * Once [sweepPeriodically] is called, this is checked every [sweepIntervalSeconds], after [beforeSweep] has given
+ * the cache the chance to evict its expired entries, so that the resources of idle entries are closed as well.
+ */
+class RetiredResources<T : Any>(
+    private val name: String,
+    private val gracePeriodNanos: Long,
+    private val sweepIntervalSeconds: Long,
+    private val inUse: (T) -> Boolean,
+    private val closer: (T) -> Unit,
+    private val beforeSweep: () -> Unit = {}
+) : Closeable {
+
+    private val log = logger(RetiredResources::class)
+
+    private val retired = ConcurrentLinkedQueue<Retired<T>>()
+
+    private val sweepTask: Lazy<ScheduledFuture<*>> = lazy {
+        sweeper.scheduleWithFixedDelay({ sweep() }, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS)
+    }
+
+    /** Start the periodic sweep, calling it again has no effect */
+    fun sweepPeriodically() {
+        sweepTask.value
+    }
+
+    fun retire(key: String, resource: T) {
+        retired.add(Retired(key, resource, System.nanoTime()))
+    }
+
+    /** Evict the expired cache entries, then close the retired resources no longer in use after their grace period */
+    fun sweep() {
+        try {
+            beforeSweep()
+            closeRetired(false)
+        } catch (e: Exception) {
+            log.warn("failed to sweep retired $name resources : ${e.message}")
+        }
+    }
+
+    /** Close all the retired resources, in use or not */
+    fun closeAll() {
+        closeRetired(true)
+    }
+
+    /** Stop the periodic sweep and close all the retired resources */
+    override fun close() {
+        if (sweepTask.isInitialized()) sweepTask.value.cancel(false)
+        closeAll()
+    }
+
+    private fun closeRetired(all: Boolean) {
+        if (retired.isEmpty()) return
+        val now = System.nanoTime()
+        synchronized(retired) {
+            retired.removeIf { entry ->
+                val closable = all || (now - entry.retiredAt > gracePeriodNanos && !inUse(entry.resource))
+                if (closable) close(entry)
+                closable
+            }
+        }
+    }
+
+    private fun close(entry: Retired<T>) {
+        try {
+            closer(entry.resource)
+        } catch (e: Exception) {
+            log.warn("failed to close $name(${entry.key}) : ${e.message}")
+        }
+    }
+
+    private class Retired<T>(val key: String, val resource: T, val retiredAt: Long)
+
+    companion object {
+
+        /** One daemon thread sweeps the retired resources of all the caches */
+        private val sweeper: ScheduledExecutorService by lazy {
+            Executors.newSingleThreadScheduledExecutor {
+                Thread(it, "retired-resources-sweeper").apply { isDaemon = true }
+            }
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.junit.Test
 import org.onap.ccsdk.cds.blueprintsprocessor.core.service.ClusterLock
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintException
 import kotlin.test.assertEquals
+import kotlin.test.assertTrue
 
 class BluePrintClusterExtensionsTest {
 
@@ -64,6 +65,24 @@ class BluePrintClusterExtensionsTest {
         }
     }
 
+    @Test
+    fun `executeWithLock - should lock and unlock on the same reused owner thread`() {
+        runBlocking {
+            val ownerThreads = mutableListOf<Thread>()
+            every { runBlocking { clusterLockMock.tryLock(more(0L)) } } answers {
+                ownerThreads.add(Thread.currentThread())
+                true
+            }
+            every { runBlocking { clusterLockMock.unLock() } } answers { ownerThreads.add(Thread.currentThread()) }
+
+            repeat(2) { clusterLockMock.executeWithLock(1_000) { "result" } }
+
+            assertEquals(4, ownerThreads.size)
+            assertEquals(1, ownerThreads.distinct().size, "owner thread was not reused")
+            assertTrue(ownerThreads[0].name.startsWith("cluster-lock-owner-"))
+        }
+    }
+
     @Test(expected = BluePrintException::class)
     fun `executeWithLock - should throw exception when lock was not acquired within timeout`() {
         runBlocking {
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.core.service
+
+import org.junit.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class RetiredResourcesTest {
+
+    private val inUse = mutableSetOf<String>()
+    private val closed = mutableListOf<String>()
+    private var sweeps = 0
+
+    @Test
+    fun `retired resources are closed once no longer in use after their grace period`() {
+        retiredResources(0).use { retiredResources ->
+            inUse.add("used")
+            retiredResources.retire("a", "used")
+            retiredResources.retire("b", "unused")
+            Thread.sleep(1)
+
+            retiredResources.sweep()
+            assertEquals(listOf("unused"), closed)
+            assertEquals(1, sweeps, "cache not cleaned up before the sweep")
+
+            inUse.clear()
+            retiredResources.sweep()
+            assertEquals(listOf("unused", "used"), closed)
+        }
+    }
+
+    @Test
+    fun `retired resources are kept during their grace period`() {
+        val retiredResources = retiredResources(Long.MAX_VALUE)
+        retiredResources.retire("a", "unused")
+
+        retiredResources.sweep()
+        assertTrue(closed.isEmpty(), "resource closed during its grace period")
+
+        retiredResources.close()
+        assertEquals(listOf("unused"), closed)
+    }
+
+    @Test
+    fun `periodic sweep closes the retired resources`() {
+        retiredResources(0, sweepIntervalSeconds = 1).use { retiredResources ->
+            retiredResources.retire("a", "unused")
+            retiredResources.sweepPeriodically()
+            retiredResources.sweepPeriodically()
+
+            Thread.sleep(1500)
+            assertEquals(listOf("unused"), closed)
+        }
+    }
+
+    private fun retiredResources(gracePeriodNanos: Long, sweepIntervalSeconds: Long = 60) =
+        RetiredResources<String>(
+            "test", gracePeriodNanos, sweepIntervalSeconds,
+            inUse = { it in inUse },
+            closer = { synchronized(closed) { closed.add(it) } },
+            beforeSweep = { sweeps++ }
+        )
+}
@@ -28,6 +28,13 @@ open class RestClientProperties {
     var connectionRequestTimeout: Int = 0
     var proxy: String? = null
     var additionalHeaders: Map<String, String>? = null
+
+    /** Connection pool limits of the long lived client owned by the selector */
+    var maxConnTotal: Int = 50
+    var maxConnPerRoute: Int = 20
+
+    /** Time in milliseconds after which idle pooled connections are evicted, 0 disables eviction */
+    var connectionIdleTimeout: Long = 60000
 }
 
 open class SSLRestClientProperties : RestClientProperties() {
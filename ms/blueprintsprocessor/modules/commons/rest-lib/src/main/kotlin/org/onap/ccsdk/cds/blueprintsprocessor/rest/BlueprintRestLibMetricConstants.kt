@@ -0,0 +1,35 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.rest
+
+object BlueprintRestLibMetricConstants {
+
+    private const val METRIC_PREFIX = "cds.rest.client"
+
+    private const val POOL_PREFIX = "$METRIC_PREFIX.pool"
+
+    // TAGS
+    const val REST_CLIENT_SELECTOR_TAG = "selector"
+    const val REST_CLIENT_TYPE_TAG = "client"
+    const val REST_CLIENT_URL_TAG = "url"
+
+    // GAUGES
+    const val REST_CLIENT_POOL_LEASED_GAUGE = "$POOL_PREFIX.leased"
+    const val REST_CLIENT_POOL_AVAILABLE_GAUGE = "$POOL_PREFIX.available"
+    const val REST_CLIENT_POOL_PENDING_GAUGE = "$POOL_PREFIX.pending"
+    const val REST_CLIENT_POOL_MAX_GAUGE = "$POOL_PREFIX.max"
+}
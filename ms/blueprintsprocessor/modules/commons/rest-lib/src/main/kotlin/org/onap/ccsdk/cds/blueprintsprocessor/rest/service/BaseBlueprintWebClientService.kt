@@ -20,29 +20,51 @@
 package org.onap.ccsdk.cds.blueprintsprocessor.rest.service
 
 import com.fasterxml.jackson.databind.JsonNode
-import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.withContext
+import kotlinx.coroutines.suspendCancellableCoroutine
 import org.apache.commons.io.IOUtils
 import org.apache.http.HttpEntity
 import org.apache.http.HttpHost
+import org.apache.http.HttpRequest
 import org.apache.http.HttpResponse
 import org.apache.http.HttpStatus
 import org.apache.http.client.ClientProtocolException
 import org.apache.http.client.config.RequestConfig
 import org.apache.http.client.entity.EntityBuilder
+import org.apache.http.client.methods.CloseableHttpResponse
 import org.apache.http.client.methods.HttpDelete
 import org.apache.http.client.methods.HttpGet
 import org.apache.http.client.methods.HttpPatch
 import org.apache.http.client.methods.HttpPost
 import org.apache.http.client.methods.HttpPut
 import org.apache.http.client.methods.HttpUriRequest
+import org.apache.http.concurrent.FutureCallback
+import org.apache.http.config.RegistryBuilder
+import org.apache.http.conn.ClientConnectionManager
+import org.apache.http.conn.socket.ConnectionSocketFactory
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory
+import org.apache.http.conn.socket.PlainConnectionSocketFactory
 import org.apache.http.conn.ssl.NoopHostnameVerifier
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory
 import org.apache.http.conn.ssl.SSLContextBuilder
 import org.apache.http.conn.ssl.TrustAllStrategy
 import org.apache.http.entity.StringEntity
 import org.apache.http.impl.client.CloseableHttpClient
+import org.apache.http.impl.client.HttpClientBuilder
 import org.apache.http.impl.client.HttpClients
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder
+import org.apache.http.impl.nio.client.HttpAsyncClients
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor
+import org.apache.http.impl.nio.reactor.IOReactorConfig
 import org.apache.http.message.BasicHeader
+import org.apache.http.nio.conn.NoopIOSessionStrategy
+import org.apache.http.nio.conn.SchemeIOSessionStrategy
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy
+import org.apache.http.params.HttpParams
+import org.apache.http.pool.PoolStats
+import org.apache.http.protocol.HttpContext
 import org.onap.ccsdk.cds.blueprintsprocessor.rest.RestClientProperties
 import org.onap.ccsdk.cds.blueprintsprocessor.rest.RestLibConstants
 import org.onap.ccsdk.cds.blueprintsprocessor.rest.service.BlueprintWebClientService.WebClientResponse
@@ -57,9 +79,30 @@ import java.net.URI
 import java.nio.charset.Charset
 import java.nio.file.Files
 import java.nio.file.Path
+import java.util.concurrent.TimeUnit
+import javax.net.ssl.SSLContext
+import kotlin.coroutines.resume
+import kotlin.coroutines.resumeWithException
 
 abstract class BaseBlueprintWebClientService<out E : RestClientProperties> : BlueprintWebClientService {
 
+    @Volatile
+    private var connectionManager: PoolingHttpClientConnectionManager? = null
+
+    /** Long lived client, created from [httpClient] on first use and reused by every call of this service */
+    private val pooledHttpClientDelegate = lazy { httpClient() }
+    private val pooledHttpClient: CloseableHttpClient by pooledHttpClientDelegate
+
+    @Volatile
+    private var asyncConnectionManager: PoolingNHttpClientConnectionManager? = null
+
+    @Volatile
+    private var lastAsyncIdleEviction = System.currentTimeMillis()
+
+    /** Long lived non blocking client, created from [httpAsyncClient] on first use and shared by all NB calls */
+    private val pooledHttpAsyncClientDelegate = lazy { httpAsyncClient().apply { start() } }
+    private val pooledHttpAsyncClient: CloseableHttpAsyncClient by pooledHttpAsyncClientDelegate
+
     open fun host(uri: String): String {
         val uri: URI = URI.create(getRestClientProperties().url + uri)
         return uri.resolve(uri).toString()
@@ -82,26 +125,111 @@ abstract class BaseBlueprintWebClientService<out E : RestClientProperties> : Blu
         return getRestClientProperties().proxy
     }
 
-    open fun httpClient(): CloseableHttpClient {
-        var httpClients = HttpClients.custom()
+    private fun proxyHost(): HttpHost? {
         if (https_proxy() != null && https_proxy() != "") {
             val proxyProtocol = https_proxy()?.split(':')?.get(0) ?: "http"
             val proxyUri = https_proxy()?.split(':')?.get(1)?.replace("/", "") ?: ""
             val proxyPort = https_proxy()?.split(':')?.get(2)?.toInt() ?: 0
             if (proxyUri != "" && proxyPort != 0) {
-                val proxy = HttpHost(proxyUri, proxyPort, proxyProtocol)
-                httpClients = httpClients.setProxy(proxy)
-                    .setSSLContext(SSLContextBuilder().loadTrustMaterial(null, TrustAllStrategy.INSTANCE).build())
-                    .setSSLHostnameVerifier(NoopHostnameVerifier.INSTANCE)
+                return HttpHost(proxyUri, proxyPort, proxyProtocol)
             }
         }
-        return httpClients
+        return null
+    }
+
+    private fun trustAllSslContext(): SSLContext =
+        SSLContextBuilder().loadTrustMaterial(null, TrustAllStrategy.INSTANCE).build()
+
+    open fun httpClient(): CloseableHttpClient {
+        var httpClients = HttpClients.custom()
+        var sslSocketFactory = SSLConnectionSocketFactory.getSocketFactory()
+        proxyHost()?.let { proxy ->
+            httpClients = httpClients.setProxy(proxy)
+            sslSocketFactory = SSLConnectionSocketFactory(trustAllSslContext(), NoopHostnameVerifier.INSTANCE)
+        }
+        return pooledHttpClientBuilder(httpClients, sslSocketFactory)
+            .addInterceptorFirst(WebClientUtils.logRequest())
+            .addInterceptorLast(WebClientUtils.logResponse())
+            .setDefaultRequestConfig(getRequestConfig())
+            .build()
+    }
+
+    /** Non blocking client used by the NB api, it shares the request config, proxy and interceptors of [httpClient] */
+    open fun httpAsyncClient(): CloseableHttpAsyncClient {
+        var httpAsyncClients = HttpAsyncClients.custom()
+        var sslSessionStrategy = SSLIOSessionStrategy.getDefaultStrategy()
+        proxyHost()?.let { proxy ->
+            httpAsyncClients = httpAsyncClients.setProxy(proxy)
+            sslSessionStrategy = SSLIOSessionStrategy(trustAllSslContext(), NoopHostnameVerifier.INSTANCE)
+        }
+        return pooledHttpAsyncClientBuilder(httpAsyncClients, sslSessionStrategy)
             .addInterceptorFirst(WebClientUtils.logRequest())
             .addInterceptorLast(WebClientUtils.logResponse())
             .setDefaultRequestConfig(getRequestConfig())
             .build()
     }
 
+    /** Attach a pooled connection manager, sized from the rest client properties, to [httpClientBuilder] */
+    protected fun pooledHttpClientBuilder(
+        httpClientBuilder: HttpClientBuilder,
+        sslSocketFactory: LayeredConnectionSocketFactory
+    ): HttpClientBuilder {
+        val socketFactoryRegistry = RegistryBuilder.create<ConnectionSocketFactory>()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", sslSocketFactory)
+            .build()
+        val poolingConnectionManager = PoolingHttpClientConnectionManager(socketFactoryRegistry)
+        poolingConnectionManager.maxTotal = getRestClientProperties().maxConnTotal
+        poolingConnectionManager.defaultMaxPerRoute = getRestClientProperties().maxConnPerRoute
+        connectionManager = poolingConnectionManager
+
+        httpClientBuilder.setConnectionManager(poolingConnectionManager)
+            .evictExpiredConnections()
+        if (getRestClientProperties().connectionIdleTimeout > 0) {
+            httpClientBuilder.evictIdleConnections(
+                getRestClientProperties().connectionIdleTimeout, TimeUnit.MILLISECONDS
+            )
+        }
+        return httpClientBuilder
+    }
+
+    /**
+     * Attach a pooled non blocking connection manager, sized from the rest client properties, to
+     * [httpAsyncClientBuilder]
+     */
+    protected fun pooledHttpAsyncClientBuilder(
+        httpAsyncClientBuilder: HttpAsyncClientBuilder,
+        sslSessionStrategy: SchemeIOSessionStrategy
+    ): HttpAsyncClientBuilder {
+        val sessionStrategyRegistry = RegistryBuilder.create<SchemeIOSessionStrategy>()
+            .register("http", NoopIOSessionStrategy.INSTANCE)
+            .register("https", sslSessionStrategy)
+            .build()
+        val poolingConnectionManager = PoolingNHttpClientConnectionManager(
+            DefaultConnectingIOReactor(IOReactorConfig.DEFAULT), sessionStrategyRegistry
+        )
+        poolingConnectionManager.maxTotal = getRestClientProperties().maxConnTotal
+        poolingConnectionManager.defaultMaxPerRoute = getRestClientProperties().maxConnPerRoute
+        asyncConnectionManager = poolingConnectionManager
+        return httpAsyncClientBuilder.setConnectionManager(poolingConnectionManager)
+    }
+
+    /** Statistics of the connection pool, null till the first call creates the client */
+    fun poolStats(): PoolStats? = connectionManager?.totalStats
+
+    /** Statistics of the non blocking connection pool, null till the first NB call creates the client */
+    fun poolStatsNB(): PoolStats? = asyncConnectionManager?.totalStats
+
+    /** Close the long lived clients and their pooled connections */
+    open fun close() {
+        if (pooledHttpClientDelegate.isInitialized()) {
+            pooledHttpClient.close()
+        }
+        if (pooledHttpAsyncClientDelegate.isInitialized()) {
+            pooledHttpAsyncClient.close()
+        }
+    }
+
     override fun exchangeResource(methodType: String, path: String, request: String): WebClientResponse<String> {
         return this.exchangeResource(methodType, path, request, defaultHeaders())
     }
@@ -132,12 +260,13 @@ abstract class BaseBlueprintWebClientService<out E : RestClientProperties> : Blu
 
     @Throws(IOException::class, ClientProtocolException::class)
     protected fun performHttpCall(httpUriRequest: HttpUriRequest): WebClientResponse<String> {
-        val httpResponse = httpClient().execute(httpUriRequest)
-        val statusCode = httpResponse.statusLine.statusCode
-        val responseHeaders: Map<String, String> = httpResponse.allHeaders.associate { header -> header.name to header.value }
-        httpResponse.entity.content.use {
-            val body = IOUtils.toString(it, Charset.defaultCharset())
-            return WebClientResponse(statusCode, body, responseHeaders)
+        pooledHttpClient.execute(httpUriRequest).use { httpResponse ->
+            val statusCode = httpResponse.statusLine.statusCode
+            val responseHeaders: Map<String, String> = httpResponse.allHeaders.associate { header -> header.name to header.value }
+            httpResponse.entity.content.use {
+                val body = IOUtils.toString(it, Charset.defaultCharset())
+                return WebClientResponse(statusCode, body, responseHeaders)
+            }
         }
     }
 
@@ -157,44 +286,64 @@ abstract class BaseBlueprintWebClientService<out E : RestClientProperties> : Blu
     }
 
     open fun <T> delete(path: String, headers: Array<BasicHeader>, responseType: Class<T>): WebClientResponse<T> {
+        return performCallAndExtractTypedWebClientResponse(deleteRequest(path, headers), responseType)
+    }
+
+    open fun <T> get(path: String, headers: Array<BasicHeader>, responseType: Class<T>): WebClientResponse<T> {
+        return performCallAndExtractTypedWebClientResponse(getRequest(path, headers), responseType)
+    }
+
+    open fun <T> post(path: String, request: Any, headers: Array<BasicHeader>, responseType: Class<T>): WebClientResponse<T> {
+        return performCallAndExtractTypedWebClientResponse(postRequest(path, request, headers), responseType)
+    }
+
+    open fun <T> put(path: String, request: Any, headers: Array<BasicHeader>, responseType: Class<T>): WebClientResponse<T> {
+        return performCallAndExtractTypedWebClientResponse(putRequest(path, request, headers), responseType)
+    }
+
+    open fun <T> patch(path: String, request: Any, headers: Array<BasicHeader>, responseType: Class<T>): WebClientResponse<T> {
+        return performCallAndExtractTypedWebClientResponse(patchRequest(path, request, headers), responseType)
+    }
+
+    protected fun deleteRequest(path: String, headers: Array<BasicHeader>): HttpDelete {
         val httpDelete = HttpDelete(host(path))
         RestLoggerService.httpInvoking(headers)
         httpDelete.setHeaders(headers)
-        return performCallAndExtractTypedWebClientResponse(httpDelete, responseType)
+        return httpDelete
     }
 
-    open fun <T> get(path: String, headers: Array<BasicHeader>, responseType: Class<T>): WebClientResponse<T> {
+    protected fun getRequest(path: String, headers: Array<BasicHeader>): HttpGet {
         val httpGet = HttpGet(host(path))
         RestLoggerService.httpInvoking(headers)
         httpGet.setHeaders(headers)
-        return performCallAndExtractTypedWebClientResponse(httpGet, responseType)
+        return httpGet
     }
 
-    open fun <T> post(path: String, request: Any, headers: Array<BasicHeader>, responseType: Class<T>): WebClientResponse<T> {
+    protected fun postRequest(path: String, request: Any, headers: Array<BasicHeader>): HttpPost {
         val httpPost = HttpPost(host(path))
         val entity = StringEntity(strRequest(request))
         httpPost.entity = entity
         RestLoggerService.httpInvoking(headers)
         httpPost.setHeaders(headers)
-        return performCallAndExtractTypedWebClientResponse(httpPost, responseType)
+        return httpPost
     }
 
-    open fun <T> put(path: String, request: Any, headers: Array<BasicHeader>, responseType: Class<T>): WebClientResponse<T> {
+    protected fun putRequest(path: String, request: Any, headers: Array<BasicHeader>): HttpPut {
         val httpPut = HttpPut(host(path))
         val entity = StringEntity(strRequest(request))
         httpPut.entity = entity
         RestLoggerService.httpInvoking(headers)
         httpPut.setHeaders(headers)
-        return performCallAndExtractTypedWebClientResponse(httpPut, responseType)
+        return httpPut
     }
 
-    open fun <T> patch(path: String, request: Any, headers: Array<BasicHeader>, responseType: Class<T>): WebClientResponse<T> {
+    protected fun patchRequest(path: String, request: Any, headers: Array<BasicHeader>): HttpPatch {
         val httpPatch = HttpPatch(host(path))
         val entity = StringEntity(strRequest(request))
         httpPatch.entity = entity
         RestLoggerService.httpInvoking(headers)
         httpPatch.setHeaders(headers)
-        return performCallAndExtractTypedWebClientResponse(httpPatch, responseType)
+        return httpPatch
     }
 
     /**
@@ -210,21 +359,74 @@ abstract class BaseBlueprintWebClientService<out E : RestClientProperties> : Blu
         responseType: Class<T>
     ):
         WebClientResponse<T> {
-            val httpResponse = httpClient().execute(httpUriRequest)
-            val statusCode = httpResponse.statusLine.statusCode
-            val responseHeaders: Map<String, String> = httpResponse.allHeaders.associate { header -> header.name to header.value }
-            val entity: HttpEntity? = httpResponse.entity
-            if (canResponseHaveBody(httpResponse)) {
-                entity!!.content.use {
-                    val body = getResponse(it, responseType)
-                    return WebClientResponse(statusCode, body, responseHeaders)
+            pooledHttpClient.execute(httpUriRequest).use { httpResponse ->
+                return typedWebClientResponse(httpResponse, responseType)
+            }
+        }
+
+    /**
+     * Perform the HTTP call on the non blocking client, suspending till the response is received.
+     * The response entity is buffered by the async client, so reading it doesn't block.
+     */
+    protected suspend fun <T> performCallAndExtractTypedWebClientResponseNB(
+        httpUriRequest: HttpUriRequest,
+        responseType: Class<T>
+    ): WebClientResponse<T> {
+        val httpResponse = executeNB(httpUriRequest)
+        return typedWebClientResponse(httpResponse, responseType)
+    }
+
+    private suspend fun executeNB(httpUriRequest: HttpUriRequest): HttpResponse {
+        evictIdleAsyncConnections()
+        return suspendCancellableCoroutine { continuation ->
+            val future = pooledHttpAsyncClient.execute(
+                httpUriRequest,
+                object : FutureCallback<HttpResponse> {
+                    override fun completed(result: HttpResponse) {
+                        continuation.resume(result)
+                    }
+
+                    override fun failed(ex: Exception) {
+                        continuation.resumeWithException(ex)
+                    }
+
+                    override fun cancelled() {
+                        continuation.cancel()
+                    }
                 }
-            } else {
-                val constructor = responseType.getConstructor()
-                val body = constructor.newInstance()
+            )
+            continuation.invokeOnCancellation { future.cancel(true) }
+        }
+    }
+
+    /** The async client has no evictor thread, expired and idle connections are closed from the calling path */
+    private fun evictIdleAsyncConnections() {
+        val idleTimeout = getRestClientProperties().connectionIdleTimeout
+        val now = System.currentTimeMillis()
+        if (idleTimeout > 0 && now - lastAsyncIdleEviction > idleTimeout) {
+            lastAsyncIdleEviction = now
+            asyncConnectionManager?.let {
+                it.closeExpiredConnections()
+                it.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS)
+            }
+        }
+    }
+
+    private fun <T> typedWebClientResponse(httpResponse: HttpResponse, responseType: Class<T>): WebClientResponse<T> {
+        val statusCode = httpResponse.statusLine.statusCode
+        val responseHeaders: Map<String, String> = httpResponse.allHeaders.associate { header -> header.name to header.value }
+        val entity: HttpEntity? = httpResponse.entity
+        if (canResponseHaveBody(httpResponse)) {
+            entity!!.content.use {
+                val body = getResponse(it, responseType)
                 return WebClientResponse(statusCode, body, responseHeaders)
             }
+        } else {
+            val constructor = responseType.getConstructor()
+            val body = constructor.newInstance()
+            return WebClientResponse(statusCode, body, responseHeaders)
         }
+    }
     fun canResponseHaveBody(response: HttpResponse): Boolean {
         val status = response.statusLine.statusCode
         return response.entity !== null &&
@@ -242,8 +444,10 @@ abstract class BaseBlueprintWebClientService<out E : RestClientProperties> : Blu
     }
 
     open suspend fun <T> getNB(path: String, additionalHeaders: Array<BasicHeader>?, responseType: Class<T>):
-        WebClientResponse<T> = withContext(Dispatchers.IO) {
-            get(path, additionalHeaders!!, responseType)
+        WebClientResponse<T> {
+            return performCallAndExtractTypedWebClientResponseNB(
+                getRequest(path, additionalHeaders ?: arrayOf()), responseType
+            )
         }
 
     open suspend fun postNB(path: String, request: Any): WebClientResponse<String> {
@@ -259,8 +463,10 @@ abstract class BaseBlueprintWebClientService<out E : RestClientProperties> : Blu
         request: Any,
         additionalHeaders: Array<BasicHeader>?,
         responseType: Class<T>
-    ): WebClientResponse<T> = withContext(Dispatchers.IO) {
-        post(path, request, additionalHeaders!!, responseType)
+    ): WebClientResponse<T> {
+        return performCallAndExtractTypedWebClientResponseNB(
+            postRequest(path, request, additionalHeaders ?: arrayOf()), responseType
+        )
     }
 
     open suspend fun putNB(path: String, request: Any): WebClientResponse<String> {
@@ -280,8 +486,10 @@ abstract class BaseBlueprintWebClientService<out E : RestClientProperties> : Blu
         request: Any,
         additionalHeaders: Array<BasicHeader>?,
         responseType: Class<T>
-    ): WebClientResponse<T> = withContext(Dispatchers.IO) {
-        put(path, request, additionalHeaders!!, responseType)
+    ): WebClientResponse<T> {
+        return performCallAndExtractTypedWebClientResponseNB(
+            putRequest(path, request, additionalHeaders ?: arrayOf()), responseType
+        )
     }
 
     open suspend fun <T> deleteNB(path: String): WebClientResponse<String> {
@@ -294,14 +502,38 @@ abstract class BaseBlueprintWebClientService<out E : RestClientProperties> : Blu
         }
 
     open suspend fun <T> deleteNB(path: String, additionalHeaders: Array<BasicHeader>?, responseType: Class<T>):
-        WebClientResponse<T> = withContext(Dispatchers.IO) {
-            delete(path, additionalHeaders!!, responseType)
+        WebClientResponse<T> {
+            return performCallAndExtractTypedWebClientResponseNB(
+                deleteRequest(path, additionalHeaders ?: arrayOf()), responseType
+            )
         }
 
     open suspend fun <T> patchNB(path: String, request: Any, additionalHeaders: Array<BasicHeader>?, responseType: Class<T>):
-        WebClientResponse<T> = withContext(Dispatchers.IO) {
-            patch(path, request, additionalHeaders!!, responseType)
+        WebClientResponse<T> {
+            return performCallAndExtractTypedWebClientResponseNB(
+                patchRequest(path, request, additionalHeaders ?: arrayOf()), responseType
+            )
+        }
+
+    override suspend fun exchangeResourceNB(
+        methodType: String,
+        path: String,
+        request: String,
+        headers: Map<String, String>
+    ): WebClientResponse<String> {
+        // Same header handling as the blocking exchangeResource
+        val convertedHeaders: Array<BasicHeader> = convertToBasicHeaders(headers)
+        return when (HttpMethod.valueOf(methodType)) {
+            HttpMethod.DELETE -> deleteNB(path, convertedHeaders, String::class.java)
+            HttpMethod.GET -> getNB(path, convertedHeaders, String::class.java)
+            HttpMethod.POST -> postNB(path, request, convertedHeaders, String::class.java)
+            HttpMethod.PUT -> putNB(path, request, convertedHeaders, String::class.java)
+            HttpMethod.PATCH -> patchNB(path, request, convertedHeaders, String::class.java)
+            else -> throw BluePrintProcessorException(
+                "Unsupported methodType($methodType) attempted on path($path)"
+            )
         }
+    }
 
     override suspend fun exchangeNB(methodType: String, path: String, request: Any): WebClientResponse<String> {
         return exchangeNB(
@@ -365,8 +597,14 @@ abstract class BaseBlueprintWebClientService<out E : RestClientProperties> : Blu
         }
 
     // Non Blocking Rest Implementation
+    /** Long lived client of this service, closing the returned client leaves its pooled connections open */
     suspend fun httpClientNB(): CloseableHttpClient {
-        return httpClient()
+        return SharedHttpClient(pooledHttpClient)
+    }
+
+    /** Long lived non blocking client of the NB calls, shared by them and closed with this service */
+    fun httpAsyncClientNB(): CloseableHttpAsyncClient {
+        return pooledHttpAsyncClient
     }
 
     open fun verifyAdditionalHeaders(): Map<String, String> {
@@ -390,4 +628,22 @@ abstract class BaseBlueprintWebClientService<out E : RestClientProperties> : Blu
         }
         return customHeaders
     }
+
+    /** Client executing requests with [delegate] but not closing it, the delegate is owned by the service */
+    private class SharedHttpClient(private val delegate: CloseableHttpClient) : CloseableHttpClient() {
+
+        override fun doExecute(target: HttpHost?, request: HttpRequest, context: HttpContext?): CloseableHttpResponse =
+            delegate.execute(target, request, context)
+
+        override fun close() {
+        }
+
+        @Deprecated("Deprecated in HttpClient")
+        @Suppress("DEPRECATION")
+        override fun getParams(): HttpParams = delegate.params
+
+        @Deprecated("Deprecated in HttpClient")
+        @Suppress("DEPRECATION")
+        override fun getConnectionManager(): ClientConnectionManager = delegate.connectionManager
+    }
 }
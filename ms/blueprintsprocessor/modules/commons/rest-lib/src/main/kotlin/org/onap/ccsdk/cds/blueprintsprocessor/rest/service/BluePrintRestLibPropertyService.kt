@@ -19,8 +19,25 @@
 package org.onap.ccsdk.cds.blueprintsprocessor.rest.service
 
 import com.fasterxml.jackson.databind.JsonNode
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import com.google.common.hash.Hashing
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.Meter
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Tags
+import jakarta.annotation.PreDestroy
+import org.apache.http.pool.PoolStats
 import org.onap.ccsdk.cds.blueprintsprocessor.core.BluePrintPropertiesService
+import org.onap.ccsdk.cds.blueprintsprocessor.core.service.RetiredResources
 import org.onap.ccsdk.cds.blueprintsprocessor.rest.BasicAuthRestClientProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.rest.BlueprintRestLibMetricConstants.REST_CLIENT_POOL_AVAILABLE_GAUGE
+import org.onap.ccsdk.cds.blueprintsprocessor.rest.BlueprintRestLibMetricConstants.REST_CLIENT_POOL_LEASED_GAUGE
+import org.onap.ccsdk.cds.blueprintsprocessor.rest.BlueprintRestLibMetricConstants.REST_CLIENT_POOL_MAX_GAUGE
+import org.onap.ccsdk.cds.blueprintsprocessor.rest.BlueprintRestLibMetricConstants.REST_CLIENT_POOL_PENDING_GAUGE
+import org.onap.ccsdk.cds.blueprintsprocessor.rest.BlueprintRestLibMetricConstants.REST_CLIENT_SELECTOR_TAG
+import org.onap.ccsdk.cds.blueprintsprocessor.rest.BlueprintRestLibMetricConstants.REST_CLIENT_TYPE_TAG
+import org.onap.ccsdk.cds.blueprintsprocessor.rest.BlueprintRestLibMetricConstants.REST_CLIENT_URL_TAG
 import org.onap.ccsdk.cds.blueprintsprocessor.rest.PolicyManagerRestClientProperties
 import org.onap.ccsdk.cds.blueprintsprocessor.rest.RestClientProperties
 import org.onap.ccsdk.cds.blueprintsprocessor.rest.RestLibConstants
@@ -31,13 +48,38 @@ import org.onap.ccsdk.cds.blueprintsprocessor.rest.TokenAuthRestClientProperties
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonUtils
 import org.springframework.stereotype.Service
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
 
 @Service(RestLibConstants.SERVICE_BLUEPRINT_REST_LIB_PROPERTY)
-open class BluePrintRestLibPropertyService(private var bluePrintPropertiesService: BluePrintPropertiesService) {
+open class BluePrintRestLibPropertyService(
+    private var bluePrintPropertiesService: BluePrintPropertiesService,
+    private val meterRegistry: MeterRegistry? = null
+) {
 
     private var preInterceptor: PreInterceptor? = null
     private var postInterceptor: PostInterceptor? = null
 
+    /** Long lived client services, one per selector or endpoint definition, each one owning a pooled http client */
+    private val webClientServiceCache: Cache<String, BlueprintWebClientService> = CacheBuilder.newBuilder()
+        .maximumSize(500)
+        .expireAfterAccess(30, TimeUnit.MINUTES)
+        .removalListener<String, BlueprintWebClientService> { releaseWebClientService(it.key!!, it.value!!) }
+        .build()
+
+    /** Client services evicted from the cache, closed once none of their connections is leased */
+    private val retiredWebClientServices = RetiredResources<BaseBlueprintWebClientService<*>>(
+        "rest client service", RETIRED_CLIENT_GRACE_NANOS, RETIRED_CLIENT_SWEEP_SECONDS,
+        inUse = { service ->
+            listOfNotNull(service.poolStats(), service.poolStatsNB()).any { it.leased > 0 || it.pending > 0 }
+        },
+        closer = { it.close() },
+        beforeSweep = { webClientServiceCache.cleanUp() }
+    )
+
+    private val poolMeters: MutableMap<String, List<Meter>> = ConcurrentHashMap()
+
     fun setInterceptors(preInterceptor: PreInterceptor?, postInterceptor: PostInterceptor?) {
         this.preInterceptor = preInterceptor
         this.postInterceptor = postInterceptor
@@ -50,16 +92,19 @@ open class BluePrintRestLibPropertyService(private var bluePrintPropertiesServic
 
     open fun blueprintWebClientService(jsonNode: JsonNode): BlueprintWebClientService {
         val service = preInterceptor?.getInstance(jsonNode)
-            ?: blueprintWebClientService(restClientProperties(jsonNode))
+            ?: pooledWebClientService("json:$jsonNode", { jsonSelectorTag(jsonNode) }) {
+                blueprintWebClientService(restClientProperties(jsonNode))
+            }
         return postInterceptor?.getInstance(jsonNode, service) ?: service
     }
 
     open fun blueprintWebClientService(selector: String): BlueprintWebClientService {
-        val service = preInterceptor?.getInstance(selector) ?: run {
-            val prefix = "blueprintsprocessor.restclient.$selector"
-            val restClientProperties = restClientProperties(prefix)
-            blueprintWebClientService(restClientProperties)
-        }
+        val service = preInterceptor?.getInstance(selector)
+            ?: pooledWebClientService("selector:$selector", { selector }) {
+                val prefix = "blueprintsprocessor.restclient.$selector"
+                val restClientProperties = restClientProperties(prefix)
+                blueprintWebClientService(restClientProperties)
+            }
         return postInterceptor?.getInstance(selector, service) ?: service
     }
 
@@ -71,6 +116,71 @@ open class BluePrintRestLibPropertyService(private var bluePrintPropertiesServic
         return postInterceptor?.getInstance(selector, service) ?: service
     }
 
+    /** Close all the cached and evicted client services and their pooled connections */
+    fun clearWebClientServices() {
+        webClientServiceCache.invalidateAll()
+        webClientServiceCache.cleanUp()
+        retiredWebClientServices.closeAll()
+    }
+
+    @PreDestroy
+    fun shutdown() {
+        clearWebClientServices()
+        retiredWebClientServices.close()
+    }
+
+    private fun pooledWebClientService(
+        key: String,
+        metricTag: () -> String,
+        creator: () -> BlueprintWebClientService
+    ): BlueprintWebClientService {
+        webClientServiceCache.getIfPresent(key)?.let { return it }
+        val service = creator()
+        // The http client is created lazily, so a service losing the race holds no connection to release
+        webClientServiceCache.asMap().putIfAbsent(key, service)?.let { return it }
+        registerPoolMetrics(key, metricTag, service)
+        retiredWebClientServices.sweepPeriodically()
+        return service
+    }
+
+    private fun registerPoolMetrics(key: String, metricTag: () -> String, service: BlueprintWebClientService) {
+        if (meterRegistry == null || service !is BaseBlueprintWebClientService<*>) return
+        val tags = Tags.of(REST_CLIENT_SELECTOR_TAG, metricTag())
+            .and(REST_CLIENT_URL_TAG, service.getRestClientProperties().url)
+        poolMeters[key] = poolGauges(meterRegistry, service, tags.and(REST_CLIENT_TYPE_TAG, "blocking")) {
+            it.poolStats()
+        } + poolGauges(meterRegistry, service, tags.and(REST_CLIENT_TYPE_TAG, "non-blocking")) {
+            it.poolStatsNB()
+        }
+    }
+
+    private fun poolGauges(
+        registry: MeterRegistry,
+        service: BaseBlueprintWebClientService<*>,
+        tags: Tags,
+        poolStats: (BaseBlueprintWebClientService<*>) -> PoolStats?
+    ): List<Meter> = listOf(
+        Gauge.builder(REST_CLIENT_POOL_LEASED_GAUGE, service) { poolStats(it)?.leased?.toDouble() ?: 0.0 }
+            .tags(tags).register(registry),
+        Gauge.builder(REST_CLIENT_POOL_AVAILABLE_GAUGE, service) { poolStats(it)?.available?.toDouble() ?: 0.0 }
+            .tags(tags).register(registry),
+        Gauge.builder(REST_CLIENT_POOL_PENDING_GAUGE, service) { poolStats(it)?.pending?.toDouble() ?: 0.0 }
+            .tags(tags).register(registry),
+        Gauge.builder(REST_CLIENT_POOL_MAX_GAUGE, service) { poolStats(it)?.max?.toDouble() ?: 0.0 }
+            .tags(tags).register(registry)
+    )
+
+    /** Endpoint definitions with the same url still get their own meters */
+    private fun jsonSelectorTag(jsonNode: JsonNode): String =
+        "json-" + Hashing.sha256().hashString(jsonNode.toString(), StandardCharsets.UTF_8).toString().take(12)
+
+    private fun releaseWebClientService(key: String, service: BlueprintWebClientService) {
+        meterRegistry?.let { registry -> poolMeters.remove(key)?.forEach { registry.remove(it) } }
+        if (service is BaseBlueprintWebClientService<*>) {
+            retiredWebClientServices.retire(key, service)
+        }
+    }
+
     fun restClientProperties(prefix: String): RestClientProperties {
         val type = bluePrintPropertiesService.propertyBeanType(
             "$prefix.type", String::class.java
@@ -237,6 +347,15 @@ open class BluePrintRestLibPropertyService(private var bluePrintPropertiesServic
             )
         }
 
+    companion object {
+
+        /** Time left to the callers of an evicted client service to finish with it */
+        private val RETIRED_CLIENT_GRACE_NANOS = TimeUnit.MINUTES.toNanos(5)
+
+        /** Interval of the checks for expired and retired client services */
+        private const val RETIRED_CLIENT_SWEEP_SECONDS = 60L
+    }
+
     interface PreInterceptor {
 
         fun getInstance(jsonNode: JsonNode): BlueprintWebClientService?
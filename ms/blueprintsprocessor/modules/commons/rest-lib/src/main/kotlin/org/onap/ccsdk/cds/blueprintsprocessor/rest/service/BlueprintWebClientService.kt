@@ -19,6 +19,8 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.rest.service
 
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.withContext
 import org.apache.http.message.BasicHeader
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintRetryException
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintIOUtils
@@ -48,6 +50,16 @@ interface BlueprintWebClientService {
         filePath: Path
     ): WebClientResponse<String>
 
+    /** Non blocking variant of [exchangeResource] with the same header handling, suspends till the response is received */
+    suspend fun exchangeResourceNB(
+        methodType: String,
+        path: String,
+        request: String,
+        headers: Map<String, String>
+    ): WebClientResponse<String> = withContext(Dispatchers.IO) {
+        exchangeResource(methodType, path, request, headers)
+    }
+
     suspend fun exchangeNB(methodType: String, path: String, request: Any): WebClientResponse<String>
 
     suspend fun exchangeNB(methodType: String, path: String, request: Any, additionalHeaders: Map<String, String>?):
@@ -21,7 +21,10 @@ import org.apache.http.conn.ssl.NoopHostnameVerifier
 import org.apache.http.conn.ssl.SSLConnectionSocketFactory
 import org.apache.http.impl.client.CloseableHttpClient
 import org.apache.http.impl.client.HttpClients
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient
+import org.apache.http.impl.nio.client.HttpAsyncClients
 import org.apache.http.message.BasicHeader
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy
 import org.apache.http.ssl.SSLContextBuilder
 import org.onap.ccsdk.cds.blueprintsprocessor.rest.BasicAuthRestClientProperties
 import org.onap.ccsdk.cds.blueprintsprocessor.rest.RestClientProperties
@@ -36,6 +39,7 @@ import java.io.File
 import java.io.FileInputStream
 import java.security.KeyStore
 import java.security.cert.X509Certificate
+import javax.net.ssl.SSLContext
 
 open class SSLRestClientService(private val restClientProperties: SSLRestClientProperties) :
     BaseBlueprintWebClientService<SSLRestClientProperties>() {
@@ -91,13 +95,38 @@ open class SSLRestClientService(private val restClientProperties: SSLRestClientP
     }
 
     override fun httpClient(): CloseableHttpClient {
+        val csf = if (restClientProperties.sslTrustIgnoreHostname) {
+            SSLConnectionSocketFactory(sslContext(), NoopHostnameVerifier())
+        } else {
+            SSLConnectionSocketFactory(sslContext())
+        }
+        return pooledHttpClientBuilder(HttpClients.custom(), csf)
+            .addInterceptorFirst(WebClientUtils.logRequest())
+            .addInterceptorLast(WebClientUtils.logResponse())
+            .setDefaultRequestConfig(getRequestConfig())
+            .build()
+    }
+
+    override fun httpAsyncClient(): CloseableHttpAsyncClient {
+        val sslSessionStrategy = if (restClientProperties.sslTrustIgnoreHostname) {
+            SSLIOSessionStrategy(sslContext(), NoopHostnameVerifier())
+        } else {
+            SSLIOSessionStrategy(sslContext())
+        }
+        return pooledHttpAsyncClientBuilder(HttpAsyncClients.custom(), sslSessionStrategy)
+            .addInterceptorFirst(WebClientUtils.logRequest())
+            .addInterceptorLast(WebClientUtils.logResponse())
+            .setDefaultRequestConfig(getRequestConfig())
+            .build()
+    }
+
+    private fun sslContext(): SSLContext {
 
         val keystoreInstance = restClientProperties.keyStoreInstance
         val sslKey = restClientProperties.sslKey
         val sslKeyPwd = restClientProperties.sslKeyPassword
         val sslTrust = restClientProperties.sslTrust
         val sslTrustPwd = restClientProperties.sslTrustPassword
-        val sslTrustIgnoreHostname = restClientProperties.sslTrustIgnoreHostname
 
         val acceptingTrustStrategy = { _: Array<X509Certificate>, _: String ->
             true
@@ -113,17 +142,7 @@ open class SSLRestClientService(private val restClientProperties: SSLRestClientP
         }
 
         sslContext.loadTrustMaterial(File(sslTrust), sslTrustPwd.toCharArray(), acceptingTrustStrategy)
-        var csf: SSLConnectionSocketFactory
-        if (sslTrustIgnoreHostname) {
-            csf = SSLConnectionSocketFactory(sslContext.build(), NoopHostnameVerifier())
-        } else {
-            csf = SSLConnectionSocketFactory(sslContext.build())
-        }
-        return HttpClients.custom()
-            .addInterceptorFirst(WebClientUtils.logRequest())
-            .addInterceptorLast(WebClientUtils.logResponse())
-            .setDefaultRequestConfig(getRequestConfig())
-            .setSSLSocketFactory(csf).build()
+        return sslContext.build()
     }
 
     override fun convertToBasicHeaders(headers: Map<String, String>): Array<BasicHeader> {
@@ -22,6 +22,7 @@ import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.ObjectMapper
 import kotlinx.coroutines.CoroutineStart
 import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
 import kotlinx.coroutines.runBlocking
 import org.junit.After
 import org.junit.Before
@@ -63,6 +64,7 @@ import org.springframework.web.bind.annotation.RequestParam
 import org.springframework.web.bind.annotation.RestController
 import kotlin.test.assertEquals
 import kotlin.test.assertNotNull
+import kotlin.test.assertSame
 
 @RunWith(SpringRunner::class)
 @EnableAutoConfiguration(exclude = [DataSourceAutoConfiguration::class])
@@ -118,6 +120,8 @@ class RestClientServiceTest {
 
     @After
     fun stop() {
+        // Release the pooled connections opened against the server being stopped
+        bluePrintRestLibPropertyService.clearWebClientServices()
         this.http.stop()
     }
 
@@ -174,6 +178,47 @@ class RestClientServiceTest {
         assertNotNull(response.body, "failed to get response")
     }
 
+    @Test
+    fun testPooledClientReuse() {
+        val restClientService = bluePrintRestLibPropertyService
+            .blueprintWebClientService("sample")
+        assertSame(
+            restClientService, bluePrintRestLibPropertyService.blueprintWebClientService("sample"),
+            "failed to reuse rest client service for the selector"
+        )
+        repeat(5) {
+            val response = restClientService.exchangeResource(
+                HttpMethod.GET.name(), "/sample/query?id=$it", ""
+            )
+            assertEquals("query with id:$it", response.body, "failed to get query param response")
+        }
+        val poolStats = (restClientService as BaseBlueprintWebClientService<*>).poolStats()
+        assertNotNull(poolStats, "failed to get connection pool statistics")
+        assertEquals(0, poolStats.leased, "failed to release pooled connections")
+        assertEquals(1, poolStats.available, "failed to reuse pooled connection")
+    }
+
+    @Test
+    fun testExchangeResourceNB() {
+        val restClientService = bluePrintRestLibPropertyService
+            .blueprintWebClientService("sample")
+        runBlocking {
+            val responses = (0 until 5).map {
+                async {
+                    restClientService.exchangeResourceNB(
+                        HttpMethod.GET.name(), "/sample/query?id=$it", "", mapOf()
+                    )
+                }
+            }.awaitAll()
+            responses.forEachIndexed { index, response ->
+                assertEquals("query with id:$index", response.body, "failed to get non blocking response")
+            }
+        }
+        val poolStats = (restClientService as BaseBlueprintWebClientService<*>).poolStatsNB()
+        assertNotNull(poolStats, "failed to get non blocking connection pool statistics")
+        assertEquals(0, poolStats.leased, "failed to release non blocking pooled connections")
+    }
+
     @Test
     fun testSimpleBasicAuth() {
         val json: String = "{\n" +
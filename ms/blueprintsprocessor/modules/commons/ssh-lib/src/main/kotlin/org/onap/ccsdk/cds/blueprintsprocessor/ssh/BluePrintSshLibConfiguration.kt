@@ -17,17 +17,41 @@
 package org.onap.ccsdk.cds.blueprintsprocessor.ssh
 
 import com.fasterxml.jackson.databind.JsonNode
+import io.micrometer.core.instrument.MeterRegistry
+import org.onap.ccsdk.cds.blueprintsprocessor.core.BluePrintPropertiesService
 import org.onap.ccsdk.cds.blueprintsprocessor.ssh.service.BluePrintSshLibPropertyService
 import org.onap.ccsdk.cds.blueprintsprocessor.ssh.service.BlueprintSshClientService
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.service.SshSessionPool
 import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintDependencyService
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
 import org.springframework.boot.context.properties.EnableConfigurationProperties
+import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.ComponentScan
 import org.springframework.context.annotation.Configuration
 
 @Configuration
 @ComponentScan
 @EnableConfigurationProperties
-open class BluePrintSshLibConfiguration
+open class BluePrintSshLibConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(
+        name = ["${SshLibConstants.PROPERTY_SSH_SESSION_POOL_PREFIX}.enabled"],
+        havingValue = "true"
+    )
+    open fun sshSessionPool(
+        bluePrintPropertiesService: BluePrintPropertiesService,
+        meterRegistry: MeterRegistry?
+    ): SshSessionPool {
+        return SshSessionPool(
+            bluePrintPropertiesService.propertyBeanType(
+                SshLibConstants.PROPERTY_SSH_SESSION_POOL_PREFIX,
+                SshSessionPoolProperties::class.java
+            ),
+            meterRegistry
+        )
+    }
+}
 
 /**
  * Exposed Dependency Service by this SSH Lib Module
@@ -46,6 +70,7 @@ class SshLibConstants {
 
         const val SERVICE_BLUEPRINT_SSH_LIB_PROPERTY = "blueprint-ssh-lib-property-service"
         const val PROPERTY_SSH_CLIENT_PREFIX = "blueprintsprocessor.sshclient."
+        const val PROPERTY_SSH_SESSION_POOL_PREFIX = "blueprintsprocessor.sshLib.sessionPool"
         const val TYPE_BASIC_AUTH = "basic-auth"
     }
 }
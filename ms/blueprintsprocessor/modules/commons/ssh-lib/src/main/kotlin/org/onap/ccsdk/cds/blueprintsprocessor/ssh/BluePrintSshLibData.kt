@@ -25,6 +25,8 @@ open class SshClientProperties {
     var port: Int = 22
     var connectionTimeOut: Long = 3000
     var logging: Boolean = false // print command result in cds logs
+    var promptPatterns: List<String> = emptyList() // regexes of the device prompt, ending a command once seen
+    var outputBufferSize: Int = 1024 * 1024 // last bytes of a command output kept
 }
 
 open class BasicAuthSshClientProperties : SshClientProperties() {
@@ -32,3 +34,14 @@ open class BasicAuthSshClientProperties : SshClientProperties() {
     lateinit var password: String
     lateinit var username: String
 }
+
+open class SshSessionPoolProperties {
+
+    var enabled: Boolean = false
+    var maxSessionsPerDevice: Int = 4
+    var maxIdleSeconds: Long = 300
+    var keepAliveSeconds: Long = 30
+    var evictionIntervalSeconds: Long = 30
+    var maxLeaseSeconds: Long = 600 // leases not given back within this time are closed and their permit recovered
+    var knownHostsFile: String? = null // verify host keys against this known_hosts file, accept all when unset
+}
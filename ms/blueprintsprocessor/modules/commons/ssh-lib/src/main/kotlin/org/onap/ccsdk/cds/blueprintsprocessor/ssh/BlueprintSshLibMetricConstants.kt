@@ -0,0 +1,33 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.ssh
+
+object BlueprintSshLibMetricConstants {
+
+    private const val METRIC_PREFIX = "cds.ssh.session"
+
+    private const val POOL_PREFIX = "$METRIC_PREFIX.pool"
+
+    // COUNTERS
+    const val SSH_SESSION_POOL_HITS_COUNTER = "$POOL_PREFIX.hits"
+    const val SSH_SESSION_POOL_MISSES_COUNTER = "$POOL_PREFIX.misses"
+    const val SSH_SESSION_POOL_EXPIRED_LEASES_COUNTER = "$POOL_PREFIX.leases.expired"
+
+    // TIMERS
+    const val SSH_SESSION_CONNECT_TIMER = "$METRIC_PREFIX.connect"
+    const val SSH_SESSION_POOL_LEASE_WAIT_TIMER = "$POOL_PREFIX.lease.wait"
+}
@@ -100,6 +100,15 @@ open class SshClientPropertiesAssignmentBuilder : PropertiesAssignmentBuilder()
     fun logging(logging: Boolean) = logging(logging.asJsonPrimitive())
 
     fun logging(logging: JsonNode) = property(SshClientProperties::logging.name, logging)
+
+    fun promptPatterns(vararg promptPatterns: String) = promptPatterns(promptPatterns.toList().asJsonType())
+
+    fun promptPatterns(promptPatterns: JsonNode) = property(SshClientProperties::promptPatterns.name, promptPatterns)
+
+    fun outputBufferSize(outputBufferSize: Int) = outputBufferSize(outputBufferSize.asJsonPrimitive())
+
+    fun outputBufferSize(outputBufferSize: JsonNode) =
+        property(SshClientProperties::outputBufferSize.name, outputBufferSize)
 }
 
 class BasicAuthSshClientPropertiesAssignmentBuilder : SshClientPropertiesAssignmentBuilder() {
@@ -18,40 +18,49 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.ssh.service
 
-import org.apache.commons.io.output.TeeOutputStream
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.withTimeoutOrNull
 import org.apache.sshd.client.SshClient
 import org.apache.sshd.client.channel.ChannelShell
-import org.apache.sshd.client.channel.ClientChannelEvent
 import org.apache.sshd.client.keyverifier.AcceptAllServerKeyVerifier
 import org.apache.sshd.client.session.ClientSession
 import org.onap.ccsdk.cds.blueprintsprocessor.ssh.BasicAuthSshClientProperties
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
 import org.slf4j.LoggerFactory
-import java.io.ByteArrayOutputStream
 import java.io.IOException
-import java.io.PipedInputStream
-import java.io.PipedOutputStream
+import java.io.OutputStream
 import java.util.ArrayList
-import java.util.Collections
-import java.util.EnumSet
 import java.util.Scanner
 
-open class BasicAuthSshClientService(private val basicAuthSshClientProperties: BasicAuthSshClientProperties) :
-    BlueprintSshClientService {
+/**
+ * Shell session over its own SSH client, or over [sharedClient] when given, which is then left started on close.
+ */
+open class BasicAuthSshClientService @JvmOverloads constructor(
+    private val basicAuthSshClientProperties: BasicAuthSshClientProperties,
+    private val sharedClient: SshClient? = null
+) : BlueprintSshClientService {
 
     private val log = LoggerFactory.getLogger(BasicAuthSshClientService::class.java)!!
     private val newLine = "\n".toByteArray()
     private var channel: ChannelShell? = null
-    private var teeOutput: TeeOutputStream? = null
+    private lateinit var output: ShellOutputBuffer
+
+    @Volatile
+    private var settled = true
 
     private lateinit var sshClient: SshClient
-    private lateinit var clientSession: ClientSession
+    lateinit var clientSession: ClientSession
+        private set
 
     override suspend fun startSessionNB(): ClientSession {
-        sshClient = SshClient.setUpDefaultClient()
-        sshClient.serverKeyVerifier = AcceptAllServerKeyVerifier.INSTANCE
-        sshClient.start()
-        log.debug("SSH Client Service started successfully")
+        if (sharedClient != null) {
+            sshClient = sharedClient
+        } else {
+            sshClient = SshClient.setUpDefaultClient()
+            sshClient.serverKeyVerifier = AcceptAllServerKeyVerifier.INSTANCE
+            sshClient.start()
+            log.debug("SSH Client Service started successfully")
+        }
 
         clientSession = sshClient.connect(
             basicAuthSshClientProperties.username, basicAuthSshClientProperties.host,
@@ -68,19 +77,26 @@ open class BasicAuthSshClientService(private val basicAuthSshClientProperties: B
 
     private fun startChannel() {
         try {
+            output = ShellOutputBuffer(basicAuthSshClientProperties.outputBufferSize)
             channel = clientSession.createShellChannel()
-            val pipedIn = PipedOutputStream()
-            channel!!.setIn(PipedInputStream(pipedIn))
-            teeOutput = TeeOutputStream(ByteArrayOutputStream(), pipedIn)
-            channel!!.out = ByteArrayOutputStream()
-            channel!!.err = ByteArrayOutputStream()
-            channel!!.open()
+            // Commands are written to the channel input stream and the output is kept as it is received
+            channel!!.out = output
+            channel!!.err = OutputStream.nullOutputStream()
+            channel!!.addCloseFutureListener { output.closed() }
+            channel!!.open().verify(basicAuthSshClientProperties.connectionTimeOut)
         } catch (e: Exception) {
             throw BluePrintProcessorException("Failed to start Shell channel: ${e.message}")
         }
     }
 
-    override suspend fun executeCommandsNB(commands: List<String>, timeOut: Long): List<CommandResult> {
+    override suspend fun executeCommandsNB(commands: List<String>, timeOut: Long): List<CommandResult> =
+        executeCommandsNB(commands, timeOut, basicAuthSshClientProperties.promptPatterns)
+
+    override suspend fun executeCommandsNB(
+        commands: List<String>,
+        timeOut: Long,
+        promptPatterns: List<String>
+    ): List<CommandResult> {
         val response = ArrayList<CommandResult>()
         try {
             var stopLoop = false
@@ -88,7 +104,7 @@ open class BasicAuthSshClientService(private val basicAuthSshClientProperties: B
             while (commandsIterator.hasNext() && !stopLoop) {
                 val command = commandsIterator.next()
                 log.debug("Executing host command($command) \n")
-                val result = executeCommand(command, timeOut)
+                val result = executeCommandNB(command, timeOut, promptPatterns)
                 response.add(result)
                 // Once a command in the template has failed break out of the loop to stop executing further commands
                 if (!result.successful) {
@@ -102,14 +118,20 @@ open class BasicAuthSshClientService(private val basicAuthSshClientProperties: B
         return response
     }
 
-    override suspend fun executeCommandNB(command: String, timeOut: Long): CommandResult {
+    override suspend fun executeCommandNB(command: String, timeOut: Long): CommandResult =
+        executeCommandNB(command, timeOut, basicAuthSshClientProperties.promptPatterns)
+
+    override suspend fun executeCommandNB(command: String, timeOut: Long, promptPatterns: List<String>): CommandResult {
         val deviceOutput: String
         var isSuccessful = true
+        settled = false
+        val promptSeen = output.expect(promptPatterns.map { it.toRegex() })
         try {
-            teeOutput!!.write(command.toByteArray())
-            teeOutput!!.write(newLine)
-            teeOutput!!.flush()
-            deviceOutput = waitForPrompt(timeOut)
+            val channelInput = channel!!.invertedIn
+            channelInput.write(command.toByteArray())
+            channelInput.write(newLine)
+            channelInput.flush()
+            deviceOutput = waitForPrompt(timeOut, promptSeen)
         } catch (e: IOException) {
             throw BluePrintProcessorException("Exception during command execution:  ${e.message}", e)
         }
@@ -117,6 +139,8 @@ open class BasicAuthSshClientService(private val basicAuthSshClientProperties: B
         if (detectFailure(deviceOutput)) {
             isSuccessful = false
         }
+        // Without prompt, a command always ends on its timeout
+        settled = isSuccessful && (promptPatterns.isEmpty() || promptSeen.isCompleted && promptSeen.await())
 
         val commandResult = CommandResult(command, deviceOutput, isSuccessful)
         if (basicAuthSshClientProperties.logging) {
@@ -125,28 +149,49 @@ open class BasicAuthSshClientService(private val basicAuthSshClientProperties: B
         return commandResult
     }
 
-    private fun waitForPrompt(timeOut: Long): String {
-        val waitMask = channel!!.waitFor(
-            Collections.unmodifiableSet(EnumSet.of(ClientChannelEvent.CLOSED)), timeOut
-        )
-        if (channel!!.out.toString().indexOfAny(arrayListOf("$", ">", "#")) <= 0 && waitMask.contains(ClientChannelEvent.TIMEOUT)) {
+    /**
+     * Wait until a prompt is seen, else until the channel is closed or for [timeOut] ms
+     */
+    private suspend fun waitForPrompt(timeOut: Long, promptSeen: CompletableDeferred<Boolean>): String {
+        val completed = withTimeoutOrNull(timeOut) { promptSeen.await() }
+        val outputResult = output.toString()
+        if (outputResult.indexOfAny(arrayListOf("$", ">", "#")) <= 0 && completed == null) {
             throw BluePrintProcessorException("Timeout: Failed to retrieve commands result in $timeOut ms")
         }
-        val outputResult = channel!!.out.toString()
-        channel!!.out.flush()
+        if (output.truncated()) {
+            log.warn("Command output over ${basicAuthSshClientProperties.outputBufferSize} bytes, keeping its end")
+        }
         return outputResult
     }
 
     override suspend fun closeSessionNB() {
+        terminate()
+    }
+
+    /**
+     * Whether the last command succeeded and ended on its prompt, so that none of its output is left to be read
+     */
+    fun isSettled(): Boolean = settled
+
+    /**
+     * Whether the shell channel and its session are still open
+     */
+    fun isConnected(): Boolean =
+        this::clientSession.isInitialized && clientSession.isOpen && channel?.isOpen == true
+
+    /**
+     * Close the shell channel and its session, and the SSH client unless it is shared
+     */
+    fun terminate() {
         if (channel != null) {
             channel!!.close()
         }
 
-        if (clientSession.isOpen && !clientSession.isClosing) {
+        if (this::clientSession.isInitialized && clientSession.isOpen && !clientSession.isClosing) {
             clientSession.close()
         }
 
-        if (sshClient.isStarted) {
+        if (sharedClient == null && this::sshClient.isInitialized && sshClient.isStarted) {
             sshClient.stop()
         }
         log.debug("SSH Client Service stopped successfully")
@@ -26,7 +26,10 @@ import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonUtils
 import org.springframework.stereotype.Service
 
 @Service(SshLibConstants.SERVICE_BLUEPRINT_SSH_LIB_PROPERTY)
-open class BluePrintSshLibPropertyService(private var bluePrintProperties: BluePrintPropertiesService) {
+open class BluePrintSshLibPropertyService(
+    private var bluePrintProperties: BluePrintPropertiesService,
+    private val sshSessionPool: SshSessionPool? = null
+) {
 
     fun blueprintSshClientService(jsonNode: JsonNode): BlueprintSshClientService {
         val restClientProperties = sshClientProperties(jsonNode)
@@ -43,7 +46,7 @@ open class BluePrintSshLibPropertyService(private var bluePrintProperties: BlueP
         val type = bluePrintProperties.propertyBeanType("$prefix.type", String::class.java)
         return when (type) {
             SshLibConstants.TYPE_BASIC_AUTH -> {
-                basicAuthSshClientProperties(prefix)
+                validated(basicAuthSshClientProperties(prefix))
             }
             else -> {
                 throw BluePrintProcessorException("SSH adaptor($type) is not supported")
@@ -56,10 +59,12 @@ open class BluePrintSshLibPropertyService(private var bluePrintProperties: BlueP
             ?: throw BluePrintProcessorException("missing type field in ssh client properties")
         return when (type) {
             SshLibConstants.TYPE_BASIC_AUTH -> {
-                JacksonUtils.readValue(
-                    jsonNode,
-                    BasicAuthSshClientProperties::class.java
-                )!!
+                validated(
+                    JacksonUtils.readValue(
+                        jsonNode,
+                        BasicAuthSshClientProperties::class.java
+                    )!!
+                )
             }
             else -> {
                 throw BluePrintProcessorException("SSH adaptor($type) is not supported")
@@ -71,7 +76,9 @@ open class BluePrintSshLibPropertyService(private var bluePrintProperties: BlueP
 
         when (sshClientProperties) {
             is BasicAuthSshClientProperties -> {
-                return BasicAuthSshClientService(sshClientProperties)
+                // Sessions are leased from the pool when it is enabled
+                return sshSessionPool?.let { PooledSshClientService(sshClientProperties, it) }
+                    ?: BasicAuthSshClientService(sshClientProperties)
             }
             else -> {
                 throw BluePrintProcessorException("couldn't get SSH client service for")
@@ -79,6 +86,15 @@ open class BluePrintSshLibPropertyService(private var bluePrintProperties: BlueP
         }
     }
 
+    private fun validated(sshClientProperties: SshClientProperties): SshClientProperties {
+        if (sshClientProperties.outputBufferSize <= 0) {
+            throw BluePrintProcessorException(
+                "ssh client outputBufferSize(${sshClientProperties.outputBufferSize}) must be positive"
+            )
+        }
+        return sshClientProperties
+    }
+
     private fun basicAuthSshClientProperties(prefix: String): BasicAuthSshClientProperties {
         return bluePrintProperties.propertyBeanType(
             prefix, BasicAuthSshClientProperties::class.java
@@ -35,6 +35,15 @@ interface BlueprintSshClientService {
         executeCommandNB(command, timeOut)
     }
 
+    fun executeCommands(commands: List<String>, timeOut: Long, promptPatterns: List<String>): List<CommandResult> =
+        runBlocking {
+            executeCommandsNB(commands, timeOut, promptPatterns)
+        }
+
+    fun executeCommand(command: String, timeOut: Long, promptPatterns: List<String>): CommandResult = runBlocking {
+        executeCommandNB(command, timeOut, promptPatterns)
+    }
+
     fun closeSession() = runBlocking {
         closeSessionNB()
     }
@@ -45,5 +54,19 @@ interface BlueprintSshClientService {
 
     suspend fun executeCommandNB(command: String, timeOut: Long): CommandResult
 
+    /**
+     * Execute [commands] one after the other, each one completing as soon as the output matches one of the
+     * [promptPatterns] regexes, instead of those of the device. Implementations not supporting prompts wait for the
+     * whole [timeOut] of each command.
+     */
+    suspend fun executeCommandsNB(
+        commands: List<String>,
+        timeOut: Long,
+        promptPatterns: List<String>
+    ): List<CommandResult> = executeCommandsNB(commands, timeOut)
+
+    suspend fun executeCommandNB(command: String, timeOut: Long, promptPatterns: List<String>): CommandResult =
+        executeCommandNB(command, timeOut)
+
     suspend fun closeSessionNB()
 }
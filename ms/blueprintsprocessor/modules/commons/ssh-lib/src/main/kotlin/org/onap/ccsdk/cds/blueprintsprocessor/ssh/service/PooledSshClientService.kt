@@ -0,0 +1,74 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.ssh.service
+
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import org.apache.sshd.client.session.ClientSession
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.BasicAuthSshClientProperties
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
+
+/**
+ * Shell session leased from [sshSessionPool] on start and given back on close, the device session itself stays
+ * open for the next lease, unless its last command failed or did not end on its prompt. Commands are completed on
+ * the prompt patterns of [basicAuthSshClientProperties].
+ */
+class PooledSshClientService(
+    private val basicAuthSshClientProperties: BasicAuthSshClientProperties,
+    private val sshSessionPool: SshSessionPool
+) : BlueprintSshClientService {
+
+    private val leaseMutex = Mutex()
+
+    @Volatile
+    private var leasedService: BasicAuthSshClientService? = null
+
+    override suspend fun startSessionNB(): ClientSession = leaseMutex.withLock {
+        val service = leasedService ?: sshSessionPool.lease(basicAuthSshClientProperties)
+        leasedService = service
+        service.clientSession
+    }
+
+    override suspend fun executeCommandsNB(commands: List<String>, timeOut: Long): List<CommandResult> =
+        executeCommandsNB(commands, timeOut, basicAuthSshClientProperties.promptPatterns)
+
+    override suspend fun executeCommandsNB(
+        commands: List<String>,
+        timeOut: Long,
+        promptPatterns: List<String>
+    ): List<CommandResult> = leasedService().executeCommandsNB(commands, timeOut, promptPatterns)
+
+    override suspend fun executeCommandNB(command: String, timeOut: Long): CommandResult =
+        executeCommandNB(command, timeOut, basicAuthSshClientProperties.promptPatterns)
+
+    override suspend fun executeCommandNB(command: String, timeOut: Long, promptPatterns: List<String>): CommandResult =
+        leasedService().executeCommandNB(command, timeOut, promptPatterns)
+
+    override suspend fun closeSessionNB() = leaseMutex.withLock {
+        leasedService?.let {
+            if (it.isSettled()) {
+                sshSessionPool.release(basicAuthSshClientProperties, it)
+            } else {
+                sshSessionPool.invalidate(it)
+            }
+        }
+        leasedService = null
+    }
+
+    private fun leasedService(): BasicAuthSshClientService =
+        leasedService ?: throw BluePrintProcessorException("SSH session is not started")
+}
@@ -0,0 +1,145 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.ssh.service
+
+import kotlinx.coroutines.CompletableDeferred
+import java.io.OutputStream
+import java.nio.charset.StandardCharsets
+
+/**
+ * Output of a shell channel for the command being executed, of which only the last [capacity] bytes are kept.
+ *
+ * The line being written is matched against the prompts of the command as the output arrives. Matching starts from
+ * the second line of the output, the echo of the command is never taken for its prompt, and lines longer than
+ * [MAX_PROMPT_LENGTH] are never taken for a prompt.
+ */
+class ShellOutputBuffer(private val capacity: Int) : OutputStream() {
+
+    private val buffer = ByteArray(capacity)
+    private var end = 0
+    private var size = 0
+    private var written = 0L
+
+    private val line = ByteArray(MAX_PROMPT_LENGTH)
+    private var lineLength = 0
+    private var lineTooLong = false
+    private var newLineSeen = false
+
+    private var prompts: List<Regex> = emptyList()
+    private var promptSeen: CompletableDeferred<Boolean>? = null
+    private var closed = false
+
+    /**
+     * Clear the output before a command is sent, the returned deferred completes with true once one of [prompts] is
+     * seen, or with false if the channel is closed first
+     */
+    @Synchronized
+    fun expect(prompts: List<Regex>): CompletableDeferred<Boolean> {
+        end = 0
+        size = 0
+        written = 0
+        lineLength = 0
+        lineTooLong = false
+        newLineSeen = false
+        this.prompts = prompts
+        promptSeen?.complete(false)
+        val promptSeen = CompletableDeferred<Boolean>()
+        if (closed) promptSeen.complete(false) else this.promptSeen = promptSeen
+        return promptSeen
+    }
+
+    /** Output of the command so far */
+    @Synchronized
+    override fun toString(): String {
+        val start = (end - size + capacity) % capacity
+        val ordered = if (start + size <= capacity) {
+            buffer.copyOfRange(start, start + size)
+        } else {
+            buffer.copyOfRange(start, capacity) + buffer.copyOfRange(0, end)
+        }
+        return String(ordered, StandardCharsets.UTF_8)
+    }
+
+    /** Whether the command wrote more than the bytes kept */
+    @Synchronized
+    fun truncated() = written > capacity
+
+    /** The channel is closed, no prompt will come */
+    @Synchronized
+    fun closed() {
+        closed = true
+        promptSeen?.complete(false)
+        promptSeen = null
+    }
+
+    override fun write(b: Int) {
+        write(byteArrayOf(b.toByte()), 0, 1)
+    }
+
+    @Synchronized
+    override fun write(b: ByteArray, off: Int, len: Int) {
+        store(b, off, len)
+        trackLine(b, off, len)
+        val promptSeen = promptSeen ?: return
+        if (newLineSeen && !lineTooLong && lineLength > 0) {
+            val lastLine = String(line, 0, lineLength, StandardCharsets.UTF_8)
+            if (prompts.any { it.containsMatchIn(lastLine) }) {
+                promptSeen.complete(true)
+                this.promptSeen = null
+            }
+        }
+    }
+
+    private fun store(b: ByteArray, off: Int, len: Int) {
+        written += len
+        // Only the last capacity bytes can be kept
+        val kept = minOf(len, capacity)
+        val from = off + len - kept
+        val first = minOf(kept, capacity - end)
+        System.arraycopy(b, from, buffer, end, first)
+        System.arraycopy(b, from + first, buffer, 0, kept - first)
+        end = (end + kept) % capacity
+        size = minOf(size + kept, capacity)
+    }
+
+    private fun trackLine(b: ByteArray, off: Int, len: Int) {
+        var lineStart = off
+        for (index in off + len - 1 downTo off) {
+            if (b[index] == NEW_LINE) {
+                newLineSeen = true
+                lineLength = 0
+                lineTooLong = false
+                lineStart = index + 1
+                break
+            }
+        }
+        val length = off + len - lineStart
+        if (lineTooLong || lineLength + length > MAX_PROMPT_LENGTH) {
+            lineTooLong = true
+            return
+        }
+        System.arraycopy(b, lineStart, line, lineLength, length)
+        lineLength += length
+    }
+
+    companion object {
+
+        const val MAX_PROMPT_LENGTH = 1024
+
+        private const val NEW_LINE = '\n'.code.toByte()
+    }
+}
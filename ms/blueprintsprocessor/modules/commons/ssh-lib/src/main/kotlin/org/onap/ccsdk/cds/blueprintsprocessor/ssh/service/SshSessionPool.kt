@@ -0,0 +1,268 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.ssh.service
+
+import com.google.common.hash.Hashing
+import io.micrometer.core.instrument.MeterRegistry
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.withTimeoutOrNull
+import org.apache.sshd.client.SshClient
+import org.apache.sshd.client.keyverifier.AcceptAllServerKeyVerifier
+import org.apache.sshd.client.keyverifier.KnownHostsServerKeyVerifier
+import org.apache.sshd.client.keyverifier.RejectAllServerKeyVerifier
+import org.apache.sshd.core.CoreModuleProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.BasicAuthSshClientProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.BlueprintSshLibMetricConstants.SSH_SESSION_CONNECT_TIMER
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.BlueprintSshLibMetricConstants.SSH_SESSION_POOL_EXPIRED_LEASES_COUNTER
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.BlueprintSshLibMetricConstants.SSH_SESSION_POOL_HITS_COUNTER
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.BlueprintSshLibMetricConstants.SSH_SESSION_POOL_LEASE_WAIT_TIMER
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.BlueprintSshLibMetricConstants.SSH_SESSION_POOL_MISSES_COUNTER
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.SshSessionPoolProperties
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
+import org.slf4j.LoggerFactory
+import java.io.Closeable
+import java.nio.charset.StandardCharsets
+import java.nio.file.Paths
+import java.time.Duration
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedDeque
+import java.util.concurrent.TimeUnit
+
+/**
+ * Shell sessions are shared by the leases that have the same host, port, username, password and the settings a
+ * session keeps from its first lease: connection timeout, output buffer size and logging. The prompt patterns are
+ * those of each lease, see [PooledSshClientService].
+ */
+data class SshSessionKey(
+    val host: String,
+    val port: Int,
+    val username: String,
+    val credentialHash: String,
+    val connectionTimeOut: Long,
+    val outputBufferSize: Int,
+    val logging: Boolean
+) {
+
+    companion object {
+
+        fun of(properties: BasicAuthSshClientProperties) = SshSessionKey(
+            properties.host, properties.port, properties.username,
+            Hashing.sha256().hashString(properties.password, StandardCharsets.UTF_8).toString(),
+            properties.connectionTimeOut, properties.outputBufferSize, properties.logging
+        )
+    }
+}
+
+/**
+ * Pool of connected shell sessions, all over one long lived SSH client.
+ *
+ * A released shell stays open on the device, as it was left: a lease must leave the mode it entered, for instance
+ * the configuration mode. Sessions are kept alive with SSH heartbeats and closed once idle for longer than
+ * maxIdleSeconds. At most maxSessionsPerDevice sessions are leased at once per device, further leases wait up to
+ * the connection timeout of the device. A session not given back within maxLeaseSeconds is closed and its place
+ * given to the next lease.
+ * Host keys are all accepted, unless knownHostsFile is set: they are then verified against the entries of that file,
+ * which are only read again once it changes.
+ */
+open class SshSessionPool(
+    private val poolProperties: SshSessionPoolProperties,
+    meterRegistry: MeterRegistry? = null
+) : Closeable {
+
+    private val log = LoggerFactory.getLogger(SshSessionPool::class.java)
+
+    private val devices = ConcurrentHashMap<SshSessionKey, DeviceSessions>()
+
+    private val leases = ConcurrentHashMap<BasicAuthSshClientService, Lease>()
+
+    private val hits = meterRegistry?.counter(SSH_SESSION_POOL_HITS_COUNTER)
+    private val misses = meterRegistry?.counter(SSH_SESSION_POOL_MISSES_COUNTER)
+    private val expiredLeases = meterRegistry?.counter(SSH_SESSION_POOL_EXPIRED_LEASES_COUNTER)
+    private val connectTimer = meterRegistry?.timer(SSH_SESSION_CONNECT_TIMER)
+    private val leaseWaitTimer = meterRegistry?.timer(SSH_SESSION_POOL_LEASE_WAIT_TIMER)
+
+    private val clientDelegate = lazy {
+        val sshClient = SshClient.setUpDefaultClient()
+        sshClient.serverKeyVerifier = poolProperties.knownHostsFile?.let {
+            KnownHostsServerKeyVerifier(RejectAllServerKeyVerifier.INSTANCE, Paths.get(it))
+        } ?: AcceptAllServerKeyVerifier.INSTANCE
+        CoreModuleProperties.HEARTBEAT_INTERVAL.set(sshClient, Duration.ofSeconds(poolProperties.keepAliveSeconds))
+        sshClient.start()
+        sshClient.scheduledExecutorService.scheduleWithFixedDelay(
+            { evictIdle() }, poolProperties.evictionIntervalSeconds, poolProperties.evictionIntervalSeconds,
+            TimeUnit.SECONDS
+        )
+        sshClient
+    }
+    private val client: SshClient by clientDelegate
+
+    /**
+     * Lease a connected shell session of the device, reusing an idle one if there is one still open
+     */
+    suspend fun lease(sshClientProperties: BasicAuthSshClientProperties): BasicAuthSshClientService {
+        val key = SshSessionKey.of(sshClientProperties)
+        val waitStart = System.nanoTime()
+        val deviceSessions = withTimeoutOrNull(sshClientProperties.connectionTimeOut) { acquire(key) }
+        leaseWaitTimer?.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS)
+        if (deviceSessions == null) {
+            throw BluePrintProcessorException(
+                "no SSH session available for host(${sshClientProperties.host}) after " +
+                    "${sshClientProperties.connectionTimeOut} ms, " +
+                    "${poolProperties.maxSessionsPerDevice} are already leased"
+            )
+        }
+        val service = try {
+            idleSession(deviceSessions)?.also { hits?.increment() } ?: run {
+                misses?.increment()
+                connect(sshClientProperties)
+            }
+        } catch (e: Exception) {
+            deviceSessions.permits.release()
+            throw e
+        }
+        leases[service] = Lease(deviceSessions, System.nanoTime())
+        return service
+    }
+
+    /**
+     * Give back a leased session, it is kept for the next lease if it is still open
+     */
+    fun release(sshClientProperties: BasicAuthSshClientProperties, service: BasicAuthSshClientService) {
+        val lease = leases.remove(service)
+        if (lease == null || devices[SshSessionKey.of(sshClientProperties)] !== lease.deviceSessions) {
+            terminate(service)
+            lease?.deviceSessions?.permits?.release()
+            return
+        }
+        try {
+            if (service.isConnected()) {
+                lease.deviceSessions.idle.addFirst(IdleSession(service, System.nanoTime()))
+            } else {
+                terminate(service)
+            }
+        } finally {
+            lease.deviceSessions.permits.release()
+        }
+    }
+
+    /**
+     * Close a leased session instead of giving it back, for instance when output of its last command is still unread
+     */
+    fun invalidate(service: BasicAuthSshClientService) {
+        terminate(service)
+        leases.remove(service)?.deviceSessions?.permits?.release()
+    }
+
+    /** Number of devices the pool keeps sessions or leases for */
+    fun devices(): Int = devices.size
+
+    /**
+     * Close the sessions idle for longer than maxIdleSeconds and those leased for longer than maxLeaseSeconds, and
+     * forget the devices left without sessions
+     */
+    fun evictIdle() {
+        devices.forEach { (key, deviceSessions) ->
+            deviceSessions.idle.filter { it.idleNanos() > TimeUnit.SECONDS.toNanos(poolProperties.maxIdleSeconds) }
+                .forEach { if (deviceSessions.idle.remove(it)) terminate(it.service) }
+            // Leased device sessions are never unused, a lease racing the removal takes its permit again, see acquire
+            devices.computeIfPresent(key) { _, sessions -> sessions.takeUnless { it.unused() } }
+        }
+        leases.filterValues { it.leasedNanos() > TimeUnit.SECONDS.toNanos(poolProperties.maxLeaseSeconds) }
+            .forEach { (service, lease) ->
+                // Only the first of the reaper and the leaseholder to remove the lease gives back its permit
+                if (leases.remove(service, lease)) {
+                    log.warn(
+                        "SSH session leased for over ${poolProperties.maxLeaseSeconds} s was not given back, closing it"
+                    )
+                    expiredLeases?.increment()
+                    terminate(service)
+                    lease.deviceSessions.permits.release()
+                }
+            }
+    }
+
+    override fun close() {
+        devices.values.forEach { deviceSessions ->
+            generateSequence { deviceSessions.idle.pollFirst() }.forEach { terminate(it.service) }
+        }
+        devices.clear()
+        if (clientDelegate.isInitialized()) client.stop()
+    }
+
+    private suspend fun acquire(key: SshSessionKey): DeviceSessions {
+        while (true) {
+            val deviceSessions = devices.computeIfAbsent(key) { DeviceSessions(poolProperties.maxSessionsPerDevice) }
+            deviceSessions.permits.acquire()
+            // The device sessions may have been evicted as unused before the permit was taken
+            if (devices[key] === deviceSessions) return deviceSessions
+            deviceSessions.permits.release()
+        }
+    }
+
+    private fun idleSession(deviceSessions: DeviceSessions): BasicAuthSshClientService? {
+        while (true) {
+            val idleSession = deviceSessions.idle.pollFirst() ?: return null
+            if (idleSession.service.isConnected() &&
+                idleSession.idleNanos() <= TimeUnit.SECONDS.toNanos(poolProperties.maxIdleSeconds)
+            ) {
+                return idleSession.service
+            }
+            terminate(idleSession.service)
+        }
+    }
+
+    private suspend fun connect(sshClientProperties: BasicAuthSshClientProperties): BasicAuthSshClientService {
+        val service = BasicAuthSshClientService(sshClientProperties, client)
+        val connectStart = System.nanoTime()
+        try {
+            service.startSessionNB()
+        } catch (e: Exception) {
+            terminate(service)
+            throw e
+        }
+        connectTimer?.record(System.nanoTime() - connectStart, TimeUnit.NANOSECONDS)
+        return service
+    }
+
+    private fun terminate(service: BasicAuthSshClientService) {
+        try {
+            service.terminate()
+        } catch (e: Exception) {
+            log.warn("failed to close SSH session : ${e.message}")
+        }
+    }
+
+    private class DeviceSessions(private val maxSessions: Int) {
+
+        val permits = Semaphore(maxSessions)
+
+        /** Most recently released first */
+        val idle = ConcurrentLinkedDeque<IdleSession>()
+
+        fun unused() = idle.isEmpty() && permits.availablePermits == maxSessions
+    }
+
+    private class Lease(val deviceSessions: DeviceSessions, private val since: Long) {
+
+        fun leasedNanos() = System.nanoTime() - since
+    }
+
+    private class IdleSession(val service: BasicAuthSshClientService, private val since: Long) {
+
+        fun idleNanos() = System.nanoTime() - since
+    }
+}
@@ -22,11 +22,13 @@ import org.onap.ccsdk.cds.blueprintsprocessor.core.BluePrintPropertiesService
 import org.onap.ccsdk.cds.blueprintsprocessor.core.BluePrintPropertyConfiguration
 import org.onap.ccsdk.cds.blueprintsprocessor.ssh.BasicAuthSshClientProperties
 import org.onap.ccsdk.cds.blueprintsprocessor.ssh.BluePrintSshLibConfiguration
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.test.context.ContextConfiguration
 import org.springframework.test.context.TestPropertySource
 import org.springframework.test.context.junit4.SpringRunner
 import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
 import kotlin.test.assertNotNull
 
 @RunWith(SpringRunner::class)
@@ -43,7 +45,12 @@ import kotlin.test.assertNotNull
             "blueprintsprocessor.sshclient.sample.host=127.0.0.1",
             "blueprintsprocessor.sshclient.sample.port=22",
             "blueprintsprocessor.sshclient.sample.password=1234",
-            "blueprintsprocessor.sshclient.sample.username=dummy"
+            "blueprintsprocessor.sshclient.sample.username=dummy",
+            "blueprintsprocessor.sshclient.unbuffered.type=basic-auth",
+            "blueprintsprocessor.sshclient.unbuffered.host=127.0.0.1",
+            "blueprintsprocessor.sshclient.unbuffered.password=1234",
+            "blueprintsprocessor.sshclient.unbuffered.username=dummy",
+            "blueprintsprocessor.sshclient.unbuffered.outputBufferSize=0"
         ]
 )
 class BluePrintSshLibPropertyServiceTest {
@@ -61,4 +68,11 @@ class BluePrintSshLibPropertyServiceTest {
         assertEquals(properties.password, "1234", "failed to match host property")
         assertEquals(properties.username, "dummy", "failed to match host property")
     }
+
+    @Test
+    fun testOutputBufferSizeMustBePositive() {
+        assertFailsWith(BluePrintProcessorException::class, "accepted an empty output buffer") {
+            bluePrintSshLibPropertyService.sshClientProperties("blueprintsprocessor.sshclient.unbuffered")
+        }
+    }
 }
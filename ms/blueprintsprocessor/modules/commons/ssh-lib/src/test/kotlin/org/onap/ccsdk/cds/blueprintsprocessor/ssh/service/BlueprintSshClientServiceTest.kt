@@ -100,7 +100,7 @@ class BlueprintSshClientServiceTest {
             // Preparing response
             val commandResults = arrayListOf<CommandResult>()
             commandResults.add(CommandResult("echo 1", "echo 1\n#", true))
-            commandResults.add(CommandResult("echo 2", "echo 1\n#echo 2\n#", true))
+            commandResults.add(CommandResult("echo 2", "echo 2\n#", true))
             val response = blueprintSshClientService.executeCommands(arrayListOf("echo 1", "echo 2"), 2000)
             blueprintSshClientService.closeSession()
 
@@ -120,6 +120,36 @@ class BlueprintSshClientServiceTest {
         }
     }
 
+    @Test
+    fun `testBasicAuthSshClientService commands complete on their prompt`() {
+        runBlocking {
+            val blueprintSshClientService = getSshClientService()
+            blueprintSshClientService.startSession()
+            // Without prompt, each command waits for the whole timeout
+            var startTime = System.currentTimeMillis()
+            blueprintSshClientService.executeCommandNB("echo 0", 2000)
+            val timeoutElapsed = System.currentTimeMillis() - startTime
+            // With the prompt of the shell, each command completes on its prompt
+            startTime = System.currentTimeMillis()
+            val response = blueprintSshClientService.executeCommandsNB(
+                arrayListOf("echo 1", "echo 2"), 2000, listOf("#$")
+            )
+            val promptElapsed = System.currentTimeMillis() - startTime
+            blueprintSshClientService.closeSession()
+
+            assertEquals(
+                response,
+                listOf(CommandResult("echo 1", "echo 1\n#", true), CommandResult("echo 2", "echo 2\n#", true)),
+                "failed to get command responses"
+            )
+            assertTrue(timeoutElapsed >= 2000, "command without prompt completed before its timeout")
+            assertTrue(
+                promptElapsed < timeoutElapsed,
+                "commands with prompt took $promptElapsed ms, a command without prompt $timeoutElapsed ms"
+            )
+        }
+    }
+
     @Test
     fun testCloseSessionNB() {
         val bluePrintSshLibPropertyService = bluePrintSshLibPropertyService.blueprintSshClientService("sample")
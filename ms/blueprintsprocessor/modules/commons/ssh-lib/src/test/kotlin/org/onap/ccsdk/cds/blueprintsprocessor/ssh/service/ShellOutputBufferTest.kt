@@ -0,0 +1,73 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.ssh.service
+
+import kotlinx.coroutines.runBlocking
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class ShellOutputBufferTest {
+
+    private val prompts = listOf("router#\\s*$".toRegex())
+
+    @Test
+    fun `prompt is matched after the echo of the command`() {
+        val output = ShellOutputBuffer(1024)
+        val promptSeen = output.expect(prompts)
+
+        output.write("show router#\n".toByteArray())
+        assertFalse(promptSeen.isCompleted, "echo of the command taken for the prompt")
+        output.write("interfaces up\nrou".toByteArray())
+        assertFalse(promptSeen.isCompleted)
+        output.write("ter# ".toByteArray())
+
+        assertTrue(promptSeen.isCompleted)
+        assertEquals("show router#\ninterfaces up\nrouter# ", output.toString())
+    }
+
+    @Test
+    fun `only the end of the output is kept`() {
+        val output = ShellOutputBuffer(8)
+        output.expect(prompts)
+
+        output.write("0123456".toByteArray())
+        output.write("789".toByteArray())
+        assertEquals("23456789", output.toString())
+        output.write("abcdefghijkl".toByteArray())
+        assertEquals("efghijkl", output.toString())
+        assertTrue(output.truncated())
+
+        output.expect(prompts)
+        assertEquals("", output.toString())
+        assertFalse(output.truncated())
+    }
+
+    @Test
+    fun `closed channel completes the pending prompt`() {
+        val output = ShellOutputBuffer(1024)
+        val promptSeen = output.expect(prompts)
+
+        output.closed()
+
+        runBlocking {
+            assertFalse(promptSeen.await())
+            assertFalse(output.expect(prompts).await())
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ *  Copyright © 2026 Deutsche Telekom AG.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.ssh.service
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import kotlinx.coroutines.runBlocking
+import org.apache.sshd.common.config.keys.KeyUtils.RSA_ALGORITHM
+import org.apache.sshd.common.config.keys.PublicKeyEntry
+import org.apache.sshd.server.SshServer
+import org.apache.sshd.server.auth.pubkey.AcceptAllPublickeyAuthenticator
+import org.apache.sshd.server.keyprovider.SimpleGeneratorHostKeyProvider
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.BasicAuthSshClientProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.BlueprintSshLibMetricConstants
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.SshSessionPoolProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.ssh.service.echoShell.EchoShellFactory
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
+import java.nio.file.Files
+import java.nio.file.Paths
+import kotlin.test.AfterTest
+import kotlin.test.BeforeTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
+
+class SshSessionPoolTest {
+
+    private lateinit var sshServer: SshServer
+    private lateinit var hostKeyProvider: SimpleGeneratorHostKeyProvider
+    private lateinit var meterRegistry: SimpleMeterRegistry
+
+    private val deviceProperties = BasicAuthSshClientProperties().apply {
+        type = "basic-auth"
+        host = "localhost"
+        port = 52816
+        username = "root"
+        password = "dummyps"
+        connectionTimeOut = 1000
+        promptPatterns = listOf("#$")
+    }
+
+    @BeforeTest
+    fun startShellServer() {
+        hostKeyProvider = SimpleGeneratorHostKeyProvider()
+        hostKeyProvider.path = Paths.get("target").resolve("hostkey." + RSA_ALGORITHM.toLowerCase())
+        hostKeyProvider.algorithm = RSA_ALGORITHM
+        sshServer = SshServer.setUpDefaultServer()
+        sshServer.port = deviceProperties.port
+        sshServer.host = deviceProperties.host
+        sshServer.keyPairProvider = hostKeyProvider
+        sshServer.passwordAuthenticator =
+            BogusPasswordAuthenticator(deviceProperties.username, deviceProperties.password)
+        sshServer.publickeyAuthenticator = AcceptAllPublickeyAuthenticator.INSTANCE
+        sshServer.shellFactory = EchoShellFactory.INSTANCE
+        sshServer.start()
+        meterRegistry = SimpleMeterRegistry()
+    }
+
+    @AfterTest
+    fun stopShellServer() {
+        sshServer.stop(true)
+    }
+
+    @Test
+    fun `shell sessions are reused across leases`() {
+        SshSessionPool(SshSessionPoolProperties(), meterRegistry).use { sshSessionPool ->
+            val sessions = (1..10).map {
+                runBlocking {
+                    val sshClientService = PooledSshClientService(deviceProperties, sshSessionPool)
+                    val clientSession = sshClientService.startSessionNB()
+                    val response = sshClientService.executeCommandNB("echo $it", 2000)
+                    sshClientService.closeSessionNB()
+
+                    assertEquals(CommandResult("echo $it", "echo $it\n#", true), response)
+                    clientSession
+                }
+            }
+
+            assertEquals(1, sessions.distinct().size, "sessions were not reused")
+            assertEquals(9.0, counter(BlueprintSshLibMetricConstants.SSH_SESSION_POOL_HITS_COUNTER))
+            assertEquals(1.0, counter(BlueprintSshLibMetricConstants.SSH_SESSION_POOL_MISSES_COUNTER))
+            assertEquals(1, meterRegistry.get(BlueprintSshLibMetricConstants.SSH_SESSION_CONNECT_TIMER).timer().count())
+            assertEquals(
+                10, meterRegistry.get(BlueprintSshLibMetricConstants.SSH_SESSION_POOL_LEASE_WAIT_TIMER).timer().count()
+            )
+        }
+    }
+
+    @Test
+    fun `idle sessions are replaced after maxIdleSeconds`() {
+        val poolProperties = SshSessionPoolProperties().apply { maxIdleSeconds = 0 }
+        SshSessionPool(poolProperties, meterRegistry).use { sshSessionPool ->
+            runBlocking {
+                val first = sshSessionPool.lease(deviceProperties)
+                sshSessionPool.release(deviceProperties, first)
+                Thread.sleep(10)
+                val second = sshSessionPool.lease(deviceProperties)
+                sshSessionPool.release(deviceProperties, second)
+
+                assertNotSame(first, second)
+                assertEquals(2.0, counter(BlueprintSshLibMetricConstants.SSH_SESSION_POOL_MISSES_COUNTER))
+            }
+        }
+    }
+
+    @Test
+    fun `devices left without sessions are forgotten`() {
+        val poolProperties = SshSessionPoolProperties().apply { maxIdleSeconds = 0 }
+        SshSessionPool(poolProperties, meterRegistry).use { sshSessionPool ->
+            runBlocking {
+                val leased = sshSessionPool.lease(deviceProperties)
+                sshSessionPool.evictIdle()
+                assertEquals(1, sshSessionPool.devices(), "forgot a device with a leased session")
+
+                sshSessionPool.release(deviceProperties, leased)
+                Thread.sleep(10)
+                sshSessionPool.evictIdle()
+                assertEquals(0, sshSessionPool.devices(), "failed to forget the device left without sessions")
+            }
+        }
+    }
+
+    @Test
+    fun `sessions are not shared by leases with another output buffer size`() {
+        SshSessionPool(SshSessionPoolProperties(), meterRegistry).use { sshSessionPool ->
+            runBlocking {
+                val first = sshSessionPool.lease(deviceProperties)
+                sshSessionPool.release(deviceProperties, first)
+                val otherProperties = BasicAuthSshClientProperties().apply {
+                    type = deviceProperties.type
+                    host = deviceProperties.host
+                    port = deviceProperties.port
+                    username = deviceProperties.username
+                    password = deviceProperties.password
+                    outputBufferSize = deviceProperties.outputBufferSize / 2
+                }
+                val second = sshSessionPool.lease(otherProperties)
+                sshSessionPool.release(otherProperties, second)
+
+                assertNotSame(first, second)
+                assertEquals(2, sshSessionPool.devices())
+            }
+        }
+    }
+
+    @Test
+    fun `leases wait for a session of the device once maxSessionsPerDevice are leased`() {
+        val poolProperties = SshSessionPoolProperties().apply { maxSessionsPerDevice = 1 }
+        SshSessionPool(poolProperties, meterRegistry).use { sshSessionPool ->
+            runBlocking {
+                val leased = sshSessionPool.lease(deviceProperties)
+
+                assertFailsWith(BluePrintProcessorException::class) { sshSessionPool.lease(deviceProperties) }
+
+                sshSessionPool.release(deviceProperties, leased)
+                assertSame(leased, sshSessionPool.lease(deviceProperties))
+            }
+        }
+    }
+
+    @Test
+    fun `leases not given back within maxLeaseSeconds are recovered`() {
+        val poolProperties = SshSessionPoolProperties().apply {
+            maxSessionsPerDevice = 1
+            maxLeaseSeconds = 0
+        }
+        SshSessionPool(poolProperties, meterRegistry).use { sshSessionPool ->
+            runBlocking {
+                val leaked = sshSessionPool.lease(deviceProperties)
+                Thread.sleep(10)
+                sshSessionPool.evictIdle()
+
+                assertFalse(leaked.isConnected(), "expired lease not closed")
+                assertEquals(1.0, counter(BlueprintSshLibMetricConstants.SSH_SESSION_POOL_EXPIRED_LEASES_COUNTER))
+                val leased = sshSessionPool.lease(deviceProperties)
+                assertNotSame(leaked, leased)
+
+                // Giving back the expired lease late must not free a second permit
+                sshSessionPool.release(deviceProperties, leaked)
+                assertFailsWith(BluePrintProcessorException::class) { sshSessionPool.lease(deviceProperties) }
+                sshSessionPool.release(deviceProperties, leased)
+            }
+        }
+    }
+
+    @Test
+    fun `sessions are closed when their last command did not end on its prompt`() {
+        SshSessionPool(SshSessionPoolProperties(), meterRegistry).use { sshSessionPool ->
+            runBlocking {
+                val sshClientService = PooledSshClientService(deviceProperties, sshSessionPool)
+                val first = sshClientService.startSessionNB()
+                sshClientService.executeCommandNB("echo 1", 200, listOf("never$"))
+                sshClientService.closeSessionNB()
+
+                assertFalse(first.isOpen, "session with unread output given back")
+                val second = sshClientService.startSessionNB()
+                sshClientService.executeCommandNB("echo 2", 2000)
+                sshClientService.closeSessionNB()
+
+                assertNotSame(first, second)
+                assertSame(second, sshClientService.startSessionNB())
+                sshClientService.closeSessionNB()
+            }
+        }
+    }
+
+    @Test
+    fun `host keys are verified against the known hosts file`() {
+        val knownHosts = Files.createTempFile("known_hosts", "")
+        try {
+            val poolProperties = SshSessionPoolProperties().apply { knownHostsFile = knownHosts.toString() }
+            SshSessionPool(poolProperties, meterRegistry).use { sshSessionPool ->
+                runBlocking {
+                    assertFailsWith(Exception::class) { sshSessionPool.lease(deviceProperties) }
+
+                    val hostKey = hostKeyProvider.loadKeys(null).first().public
+                    val hostPattern = "[${deviceProperties.host}]:${deviceProperties.port}"
+                    Files.write(knownHosts, listOf("$hostPattern ${PublicKeyEntry.toString(hostKey)}"))
+                    sshSessionPool.release(deviceProperties, sshSessionPool.lease(deviceProperties))
+                }
+            }
+        } finally {
+            Files.delete(knownHosts)
+        }
+    }
+
+    private fun counter(name: String) = meterRegistry.get(name).counter().count()
+}
@@ -22,10 +22,16 @@ import kotlinx.coroutines.GlobalScope
 import kotlinx.coroutines.channels.consumeEach
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
+import org.apache.kafka.clients.consumer.ConsumerRecord
 import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.ExecutionServiceInput
 import org.onap.ccsdk.cds.blueprintsprocessor.message.BlueprintMessageMetricConstants
+import org.onap.ccsdk.cds.blueprintsprocessor.message.KafkaBasicAuthMessageConsumerProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.message.MessageConsumerProperties
+import org.onap.ccsdk.cds.blueprintsprocessor.message.MessageLibConstants
 import org.onap.ccsdk.cds.blueprintsprocessor.message.service.BluePrintMessageLibPropertyService
 import org.onap.ccsdk.cds.blueprintsprocessor.message.service.BlueprintMessageConsumerService
+import org.onap.ccsdk.cds.blueprintsprocessor.message.service.BlueprintMessageProducerService
+import org.onap.ccsdk.cds.blueprintsprocessor.message.service.KafkaConsumerRecordFunction
 import org.onap.ccsdk.cds.blueprintsprocessor.message.service.mdcKafkaCoroutineScope
 import org.onap.ccsdk.cds.blueprintsprocessor.message.utils.BlueprintMessageUtils
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
@@ -100,37 +106,27 @@ open class BluePrintProcessingKafkaConsumer(
                 throw BluePrintProcessorException("failed to create producer service ${e.message}")
             }
 
-            launch {
-                /** Subscribe to the consumer topics */
-                val additionalConfig: MutableMap<String, Any> = hashMapOf()
-                val channel = blueprintMessageConsumerService.subscribe(additionalConfig)
-                channel.consumeEach { message ->
-                    launch {
-                        try {
-                            ph.register()
-                            val key = message.key() ?: UUID.randomUUID().toString()
-                            val value = String(message.value(), Charset.defaultCharset())
-                            val executionServiceInput = value.jsonAsType<ExecutionServiceInput>()
-                            mdcKafkaCoroutineScope(executionServiceInput) {
-                                log.info(
-                                    "Consumed Message : topic(${message.topic()}) " +
-                                        "partition(${message.partition()}) " +
-                                        "leaderEpoch(${message.leaderEpoch().get()}) " +
-                                        "offset(${message.offset()}) " +
-                                        "key(${message.key()}) " +
-                                        BlueprintMessageUtils.getMessageLogData(executionServiceInput)
-                                )
-                                val executionServiceOutput = executionServiceHandler.doProcess(executionServiceInput)
-                                blueprintMessageProducerService.sendMessage(key, executionServiceOutput)
-                            }
-                        } catch (e: Exception) {
-                            meterRegistry.counter(
-                                BlueprintMessageMetricConstants.KAFKA_CONSUMED_MESSAGES_ERROR_COUNTER,
-                                BlueprintMessageUtils.kafkaMetricTag(message.topic())
-                            ).increment()
-                            log.error("failed in processing the consumed message : $message", e)
-                        } finally {
-                            ph.arriveAndDeregister()
+            /** Subscribe to the consumer topics */
+            val additionalConfig: MutableMap<String, Any> = hashMapOf()
+            if (maxInFlight() > 0) {
+                /** Bounded processing, offsets are committed once the messages are processed */
+                blueprintMessageConsumerService.consume(
+                    additionalConfig,
+                    object : KafkaConsumerRecordFunction {
+                        override suspend fun invoke(
+                            messageConsumerProperties: MessageConsumerProperties,
+                            consumerRecord: ConsumerRecord<String, ByteArray>
+                        ) {
+                            processMessage(consumerRecord, blueprintMessageProducerService)
+                        }
+                    }
+                )
+            } else {
+                launch {
+                    val channel = blueprintMessageConsumerService.subscribe(additionalConfig)
+                    channel.consumeEach { message ->
+                        launch {
+                            processMessage(message, blueprintMessageProducerService)
                         }
                     }
                 }
@@ -144,6 +140,44 @@ open class BluePrintProcessingKafkaConsumer(
         }
     }
 
+    private fun maxInFlight(): Int {
+        val messageConsumerProperties = blueprintMessageLibPropertyService
+            .messageConsumerProperties("${MessageLibConstants.PROPERTY_MESSAGE_CONSUMER_PREFIX}$CONSUMER_SELECTOR")
+        return (messageConsumerProperties as? KafkaBasicAuthMessageConsumerProperties)?.maxInFlight ?: 0
+    }
+
+    private suspend fun processMessage(
+        message: ConsumerRecord<String, ByteArray>,
+        blueprintMessageProducerService: BlueprintMessageProducerService
+    ) {
+        try {
+            ph.register()
+            val key = message.key() ?: UUID.randomUUID().toString()
+            val value = String(message.value(), Charset.defaultCharset())
+            val executionServiceInput = value.jsonAsType<ExecutionServiceInput>()
+            mdcKafkaCoroutineScope(executionServiceInput) {
+                log.info(
+                    "Consumed Message : topic(${message.topic()}) " +
+                        "partition(${message.partition()}) " +
+                        "leaderEpoch(${message.leaderEpoch().get()}) " +
+                        "offset(${message.offset()}) " +
+                        "key(${message.key()}) " +
+                        BlueprintMessageUtils.getMessageLogData(executionServiceInput)
+                )
+                val executionServiceOutput = executionServiceHandler.doProcess(executionServiceInput)
+                blueprintMessageProducerService.sendMessage(key, executionServiceOutput)
+            }
+        } catch (e: Exception) {
+            meterRegistry.counter(
+                BlueprintMessageMetricConstants.KAFKA_CONSUMED_MESSAGES_ERROR_COUNTER,
+                BlueprintMessageUtils.kafkaMetricTag(message.topic())
+            ).increment()
+            log.error("failed in processing the consumed message : $message", e)
+        } finally {
+            ph.arriveAndDeregister()
+        }
+    }
+
     @PreDestroy
     fun shutdownMessageListener() = runBlocking {
         try {
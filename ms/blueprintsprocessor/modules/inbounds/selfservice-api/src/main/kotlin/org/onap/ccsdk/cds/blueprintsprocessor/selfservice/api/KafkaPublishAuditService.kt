@@ -16,28 +16,32 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.selfservice.api
 
-import com.fasterxml.jackson.databind.JsonNode
 import com.fasterxml.jackson.databind.node.ArrayNode
 import com.fasterxml.jackson.databind.node.ObjectNode
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
 import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.ExecutionServiceInput
 import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.ExecutionServiceOutput
-import org.onap.ccsdk.cds.blueprintsprocessor.functions.resource.resolution.ResourceResolutionConstants
 import org.onap.ccsdk.cds.blueprintsprocessor.message.service.BluePrintMessageLibPropertyService
 import org.onap.ccsdk.cds.blueprintsprocessor.message.service.BlueprintMessageProducerService
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
 import org.onap.ccsdk.cds.controllerblueprints.core.asJsonPrimitive
 import org.onap.ccsdk.cds.controllerblueprints.core.common.ApplicationConstants
+import org.onap.ccsdk.cds.controllerblueprints.core.config.BluePrintLoadConfiguration
 import org.onap.ccsdk.cds.controllerblueprints.core.interfaces.BluePrintCatalogService
+import org.onap.ccsdk.cds.controllerblueprints.core.normalizedPathName
 import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContext
-import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintRuntimeService
-import org.onap.ccsdk.cds.controllerblueprints.core.service.PropertyAssignmentService
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContextCache
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintFileUtils
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintMetadataUtils
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonUtils
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.PropertyDefinitionUtils
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.ResourceResolverUtils
 import org.onap.ccsdk.cds.controllerblueprints.resource.dict.ResourceAssignment
 import org.slf4j.LoggerFactory
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
 import org.springframework.stereotype.Service
+import java.util.concurrent.ConcurrentHashMap
 import jakarta.annotation.PostConstruct
 
 /**
@@ -46,6 +50,7 @@ import jakarta.annotation.PostConstruct
  *
  * @param bluePrintMessageLibPropertyService Service used to instantiate audit service producers
  * @param blueprintsProcessorCatalogService Service used to get the base path of the current CBA executed
+ * @param bluePrintLoadConfiguration Configuration used to locate the deployed CBA
  *
  * @property inputInstance Request Kakfa Producer instance
  * @property outputInstance Response Kakfa Producer instance
@@ -58,13 +63,20 @@ import jakarta.annotation.PostConstruct
 @Service
 class KafkaPublishAuditService(
     private val bluePrintMessageLibPropertyService: BluePrintMessageLibPropertyService,
-    private val blueprintsProcessorCatalogService: BluePrintCatalogService
+    private val blueprintsProcessorCatalogService: BluePrintCatalogService,
+    private val bluePrintLoadConfiguration: BluePrintLoadConfiguration
 ) : PublishAuditService {
 
     private var inputInstance: BlueprintMessageProducerService? = null
     private var outputInstance: BlueprintMessageProducerService? = null
     private val log = LoggerFactory.getLogger(KafkaPublishAuditService::class.toString())
 
+    /** Sensitive inputs of each workflow, kept as long as the blueprint context is */
+    private val sensitiveParametersCache: Cache<BluePrintContext, ConcurrentHashMap<String, Set<String>>> =
+        CacheBuilder.newBuilder()
+            .weakKeys()
+            .build()
+
     companion object {
 
         const val INPUT_SELECTOR = "self-service-api.audit.request"
@@ -136,17 +148,18 @@ class KafkaPublishAuditService(
      * Hide sensitive data in the [executionServiceInput].
      * Sensitive data are declared in the resource resolution mapping using
      * the property metadata "log-protect" set to true.
+     * Only the nodes leading to hidden data are copied, the rest of the payload is shared with the request.
      * @param executionServiceInput BP Execution Request where data needs to be hidden
      */
     private suspend fun hideSensitiveData(
         executionServiceInput: ExecutionServiceInput
     ): ExecutionServiceInput {
 
-        var clonedExecutionServiceInput = ExecutionServiceInput().apply {
+        val clonedExecutionServiceInput = ExecutionServiceInput().apply {
             correlationUUID = executionServiceInput.correlationUUID
             commonHeader = executionServiceInput.commonHeader
             actionIdentifiers = executionServiceInput.actionIdentifiers
-            payload = executionServiceInput.payload.deepCopy()
+            payload = executionServiceInput.payload
             stepData = executionServiceInput.stepData
         }
 
@@ -156,119 +169,115 @@ class KafkaPublishAuditService(
         if (blueprintName == "default") return clonedExecutionServiceInput
 
         try {
-            if (clonedExecutionServiceInput.payload
-                .path("$workflowName-request").has("$workflowName-properties")
-            ) {
+            val payload = clonedExecutionServiceInput.payload
+            val workflowRequest = payload.path("$workflowName-request")
+            if (workflowRequest.has("$workflowName-properties")) {
 
                 /** Retrieving sensitive input parameters */
-                val requestId = clonedExecutionServiceInput.commonHeader.requestId
                 val blueprintVersion = clonedExecutionServiceInput.actionIdentifiers.blueprintVersion
+                val workflowProperties = workflowRequest.path("$workflowName-properties") as ObjectNode
+                val sensitiveParameters = sensitiveParameters(blueprintName, blueprintVersion, workflowName)
+                    .filter { workflowProperties.has(it) }
 
-                val basePath = blueprintsProcessorCatalogService.getFromDatabase(blueprintName, blueprintVersion)
-
-                val blueprintRuntimeService = BluePrintMetadataUtils.getBluePrintRuntime(requestId, basePath.toString())
-                val blueprintContext = blueprintRuntimeService.bluePrintContext()
-
-                blueprintContext.workflowSteps(workflowName).forEach { step ->
-                    val nodeTemplateName = step.value.target
-                    checkNotNull(nodeTemplateName) { "Failed to get node template target for workflow($workflowName), step($step)" }
-                    val nodeTemplate = blueprintContext.nodeTemplateByName(nodeTemplateName)
-
-                    /** We need to check in his Node Template Dependencies is case of a Node Template DG */
-                    if (nodeTemplate.type == BluePrintConstants.NODE_TEMPLATE_TYPE_DG) {
-                        val dependencyNodeTemplate =
-                            nodeTemplate.properties?.get(BluePrintConstants.PROPERTY_DG_DEPENDENCY_NODE_TEMPLATE) as ArrayNode
-                        dependencyNodeTemplate.forEach { dependencyNodeTemplateName ->
-                            clonedExecutionServiceInput = hideSensitiveDataFromResourceResolution(
-                                blueprintRuntimeService,
-                                blueprintContext,
-                                clonedExecutionServiceInput,
-                                workflowName,
-                                dependencyNodeTemplateName.asText()
-                            )
-                        }
-                    } else {
-                        clonedExecutionServiceInput = hideSensitiveDataFromResourceResolution(
-                            blueprintRuntimeService,
-                            blueprintContext,
-                            clonedExecutionServiceInput,
-                            workflowName,
-                            nodeTemplateName
-                        )
+                /** Hiding sensitive input parameters from the request */
+                if (sensitiveParameters.isNotEmpty()) {
+                    val hiddenWorkflowProperties = shallowCopy(workflowProperties)
+                    sensitiveParameters.forEach { sensitiveParameter ->
+                        hiddenWorkflowProperties.replace(sensitiveParameter, ApplicationConstants.LOG_REDACTED.asJsonPrimitive())
+                    }
+                    val hiddenWorkflowRequest = shallowCopy(workflowRequest as ObjectNode)
+                    hiddenWorkflowRequest.replace("$workflowName-properties", hiddenWorkflowProperties)
+                    clonedExecutionServiceInput.payload = shallowCopy(payload).apply {
+                        replace("$workflowName-request", hiddenWorkflowRequest)
                     }
                 }
             }
         } catch (ex: Exception) {
             val errMsg = "Couldn't hide sensitive data in the execution request."
             log.error(errMsg, ex)
-            clonedExecutionServiceInput.payload.replace(
-                "$workflowName-request",
-                "$errMsg $ex".asJsonPrimitive()
-            )
+            clonedExecutionServiceInput.payload = shallowCopy(executionServiceInput.payload).apply {
+                replace("$workflowName-request", "$errMsg $ex".asJsonPrimitive())
+            }
         }
         return clonedExecutionServiceInput
     }
 
     /**
-     * Hide sensitive data in [executionServiceInput] if the given [nodeTemplateName] is a
-     * resource resolution component.
-     * @param blueprintRuntimeService Current blueprint runtime service
-     * @param blueprintContext Current blueprint runtime context
-     * @param executionServiceInput BP Execution Request where data needs to be hidden
-     * @param workflowName Current workflow being executed
-     * @param nodeTemplateName Node template to check for sensitive data
-     * @return [executionServiceInput] with sensitive inputs replaced by a generic string
+     * Get the names of the sensitive inputs of [workflowName], computed on first use and kept with the
+     * cached blueprint context, so the blueprint is not read again to hide data of the next requests.
+     * @param blueprintName Name of the blueprint
+     * @param blueprintVersion Version of the blueprint
+     * @param workflowName Workflow being executed
+     * @return names of the workflow properties declared with "log-protect" metadata
      */
-    private suspend fun hideSensitiveDataFromResourceResolution(
-        blueprintRuntimeService: BluePrintRuntimeService<MutableMap<String, JsonNode>>,
-        blueprintContext: BluePrintContext,
-        executionServiceInput: ExecutionServiceInput,
-        workflowName: String,
-        nodeTemplateName: String
-    ): ExecutionServiceInput {
-
-        val nodeTemplate = blueprintContext.nodeTemplateByName(nodeTemplateName)
-        if (nodeTemplate.type == BluePrintConstants.NODE_TEMPLATE_TYPE_COMPONENT_RESOURCE_RESOLUTION) {
-            val interfaceName = blueprintContext.nodeTemplateFirstInterfaceName(nodeTemplateName)
-            val operationName = blueprintContext.nodeTemplateFirstInterfaceFirstOperationName(nodeTemplateName)
-
-            val propertyAssignments: MutableMap<String, JsonNode> =
-                blueprintContext.nodeTemplateInterfaceOperationInputs(nodeTemplateName, interfaceName, operationName)
-                    ?: hashMapOf()
-
-            /** Getting values define in artifact-prefix-names */
-            val input = executionServiceInput.payload.get("$workflowName-request")
-            blueprintRuntimeService.assignWorkflowInputs(workflowName, input)
-            val artifactPrefixNamesNode = propertyAssignments[ResourceResolutionConstants.INPUT_ARTIFACT_PREFIX_NAMES]
-            val propertyAssignmentService = PropertyAssignmentService(blueprintRuntimeService)
-            val artifactPrefixNamesNodeValue = propertyAssignmentService.resolveAssignmentExpression(
-                BluePrintConstants.MODEL_DEFINITION_TYPE_NODE_TEMPLATE,
-                nodeTemplateName,
-                ResourceResolutionConstants.INPUT_ARTIFACT_PREFIX_NAMES,
-                artifactPrefixNamesNode!!
-            )
+    private suspend fun sensitiveParameters(
+        blueprintName: String,
+        blueprintVersion: String,
+        workflowName: String
+    ): Set<String> {
+        val cacheKey = BluePrintFileUtils.compileCacheKey(
+            normalizedPathName(bluePrintLoadConfiguration.blueprintDeployPath, blueprintName, blueprintVersion)
+        )
+        val blueprintContext = BluePrintContextCache.bluePrintContext(cacheKey) {
+            val basePath = blueprintsProcessorCatalogService.getFromDatabase(blueprintName, blueprintVersion)
+            BluePrintMetadataUtils.getBluePrintContext(basePath.toString())
+        }
 
-            val artifactPrefixNames = JacksonUtils.getListFromJsonNode(artifactPrefixNamesNodeValue!!, String::class.java)
+        val workflowsSensitiveParameters = sensitiveParametersCache.asMap()
+            .computeIfAbsent(blueprintContext) { ConcurrentHashMap() }
+        workflowsSensitiveParameters[workflowName]?.let { return it }
 
-            /** Storing mapping entries with metadata log-protect set to true */
-            val sensitiveParameters: List<String> = artifactPrefixNames
-                .map { "$it-mapping" }
-                .map { blueprintRuntimeService.resolveNodeTemplateArtifact(nodeTemplateName, it) }
-                .flatMap { JacksonUtils.getListFromJson(it, ResourceAssignment::class.java) }
-                .filter { PropertyDefinitionUtils.hasLogProtect(it.property) }
-                .map { it.name }
+        val sensitiveParameters = sensitiveParameters(blueprintContext, workflowName)
+        return workflowsSensitiveParameters.putIfAbsent(workflowName, sensitiveParameters) ?: sensitiveParameters
+    }
 
-            /** Hiding sensitive input parameters from the request */
-            var workflowProperties: ObjectNode = executionServiceInput.payload
-                .path("$workflowName-request")
-                .path("$workflowName-properties") as ObjectNode
+    private fun sensitiveParameters(blueprintContext: BluePrintContext, workflowName: String): Set<String> {
+        return blueprintContext.workflowSteps(workflowName).flatMap { step ->
+            val nodeTemplateName = step.value.target
+            checkNotNull(nodeTemplateName) { "Failed to get node template target for workflow($workflowName), step($step)" }
+            val nodeTemplate = blueprintContext.nodeTemplateByName(nodeTemplateName)
 
-            sensitiveParameters.forEach { sensitiveParameter ->
-                if (workflowProperties.has(sensitiveParameter)) {
-                    workflowProperties.replace(sensitiveParameter, ApplicationConstants.LOG_REDACTED.asJsonPrimitive())
+            /** We need to check in his Node Template Dependencies is case of a Node Template DG */
+            if (nodeTemplate.type == BluePrintConstants.NODE_TEMPLATE_TYPE_DG) {
+                val dependencyNodeTemplate =
+                    nodeTemplate.properties?.get(BluePrintConstants.PROPERTY_DG_DEPENDENCY_NODE_TEMPLATE) as ArrayNode
+                dependencyNodeTemplate.flatMap { dependencyNodeTemplateName ->
+                    sensitiveParametersFromResourceResolution(blueprintContext, dependencyNodeTemplateName.asText())
                 }
+            } else {
+                sensitiveParametersFromResourceResolution(blueprintContext, nodeTemplateName)
             }
+        }.toSet()
+    }
+
+    /**
+     * Get the sensitive inputs of [nodeTemplateName] if it is a resource resolution component.
+     * All the mapping artifacts of the node template are considered, whatever artifact prefixes a request selects.
+     * @param blueprintContext Current blueprint context
+     * @param nodeTemplateName Node template to check for sensitive data
+     * @return names of the mapping entries with metadata log-protect set to true
+     */
+    private fun sensitiveParametersFromResourceResolution(
+        blueprintContext: BluePrintContext,
+        nodeTemplateName: String
+    ): List<String> {
+
+        val nodeTemplate = blueprintContext.nodeTemplateByName(nodeTemplateName)
+        if (nodeTemplate.type != BluePrintConstants.NODE_TEMPLATE_TYPE_COMPONENT_RESOURCE_RESOLUTION) {
+            return emptyList()
         }
-        return executionServiceInput
+
+        return nodeTemplate.artifacts.orEmpty()
+            .filterKeys { it.endsWith("-mapping") }
+            .values
+            .map { it.file }
+            .map { ResourceResolverUtils.getFileContent(it, blueprintContext.rootPath) }
+            .flatMap { JacksonUtils.getListFromJson(it, ResourceAssignment::class.java) }
+            .filter { PropertyDefinitionUtils.hasLogProtect(it.property) }
+            .map { it.name }
+    }
+
+    private fun shallowCopy(objectNode: ObjectNode): ObjectNode {
+        return objectNode.objectNode().setAll(objectNode)
     }
 }
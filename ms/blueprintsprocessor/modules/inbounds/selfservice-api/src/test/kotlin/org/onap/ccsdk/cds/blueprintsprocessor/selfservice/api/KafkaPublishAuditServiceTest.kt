@@ -0,0 +1,150 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.selfservice.api
+
+import com.fasterxml.jackson.databind.node.ObjectNode
+import io.mockk.every
+import io.mockk.mockk
+import io.mockk.slot
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.ActionIdentifiers
+import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.CommonHeader
+import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.ExecutionServiceInput
+import org.onap.ccsdk.cds.blueprintsprocessor.message.service.BluePrintMessageLibPropertyService
+import org.onap.ccsdk.cds.blueprintsprocessor.message.service.BlueprintMessageProducerService
+import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
+import org.onap.ccsdk.cds.controllerblueprints.core.common.ApplicationConstants
+import org.onap.ccsdk.cds.controllerblueprints.core.config.BluePrintLoadConfiguration
+import org.onap.ccsdk.cds.controllerblueprints.core.dsl.serviceTemplate
+import org.onap.ccsdk.cds.controllerblueprints.core.jsonAsJsonType
+import org.onap.ccsdk.cds.controllerblueprints.core.normalizedPathName
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContext
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContextCache
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintFileUtils
+import java.io.File
+import java.nio.file.Files
+import kotlin.test.assertEquals
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
+
+class KafkaPublishAuditServiceTest {
+
+    private val blueprintName = "audit-bp"
+    private val blueprintVersion = "1.0.0"
+    private val workflowName = "config-assign"
+
+    private lateinit var blueprintBasePath: File
+    private lateinit var cacheKey: String
+
+    private val producerService = mockk<BlueprintMessageProducerService>()
+    private val bluePrintMessageLibPropertyService = mockk<BluePrintMessageLibPropertyService>()
+    private val bluePrintLoadConfiguration = BluePrintLoadConfiguration().apply {
+        blueprintDeployPath = "target/blueprints/deploy"
+    }
+
+    private lateinit var kafkaPublishAuditService: KafkaPublishAuditService
+
+    @Before
+    fun setUp() {
+        blueprintBasePath = Files.createTempDirectory("audit-bp").toFile()
+        File(blueprintBasePath, "Templates").mkdirs()
+        File(blueprintBasePath, "Templates/$workflowName-mapping.json").writeText(
+            """
+            [
+              { "name": "password", "input-param": true, "dictionary-name": "password", "dictionary-source": "input",
+                "property": { "type": "string", "metadata": { "log-protect": "true" } } },
+              { "name": "hostname", "input-param": true, "dictionary-name": "hostname", "dictionary-source": "input",
+                "property": { "type": "string" } }
+            ]
+            """.trimIndent()
+        )
+
+        val serviceTemplate = serviceTemplate(blueprintName, blueprintVersion, "audit@onap.com", "audit") {
+            topologyTemplate {
+                val type = BluePrintConstants.NODE_TEMPLATE_TYPE_COMPONENT_RESOURCE_RESOLUTION
+                val mappingFile = "Templates/$workflowName-mapping.json"
+                workflowNodeTemplate(workflowName, type, "") {
+                    artifact("$workflowName-mapping", "artifact-mapping-resource", mappingFile)
+                }
+            }
+        }
+        val bluePrintContext = BluePrintContext(serviceTemplate).apply { rootPath = blueprintBasePath.absolutePath }
+
+        cacheKey = BluePrintFileUtils.compileCacheKey(
+            normalizedPathName(bluePrintLoadConfiguration.blueprintDeployPath, blueprintName, blueprintVersion)
+        )
+        runBlocking { BluePrintContextCache.bluePrintContext(cacheKey) { bluePrintContext } }
+
+        every {
+            bluePrintMessageLibPropertyService.blueprintMessageProducerService(any<String>())
+        } returns producerService
+        kafkaPublishAuditService =
+            KafkaPublishAuditService(bluePrintMessageLibPropertyService, mockk(), bluePrintLoadConfiguration)
+    }
+
+    @After
+    fun tearDown() {
+        BluePrintContextCache.cleanBluePrintContext(cacheKey)
+        blueprintBasePath.deleteRecursively()
+    }
+
+    @Test
+    fun `protected inputs are masked and the others are kept`() {
+        val published = slot<Any>()
+        every { producerService.sendMessage(any(), capture(published), any()) } returns true
+
+        val executionServiceInput = executionServiceInput()
+        runBlocking { kafkaPublishAuditService.publishExecutionInput(executionServiceInput) }
+
+        val publishedInput = published.captured as ExecutionServiceInput
+        val publishedProperties = workflowProperties(publishedInput)
+        assertEquals(ApplicationConstants.LOG_REDACTED, publishedProperties.path("password").textValue())
+        assertEquals("host-1", publishedProperties.path("hostname").textValue())
+
+        // The request itself is left as is, only the nodes leading to masked inputs are copied
+        val requestProperties = workflowProperties(executionServiceInput)
+        assertNotSame(requestProperties, publishedProperties)
+        assertEquals("secret", requestProperties.path("password").textValue())
+        assertSame(requestProperties.path("hostname"), publishedProperties.path("hostname"), "unprotected input copied")
+    }
+
+    private fun workflowProperties(executionServiceInput: ExecutionServiceInput) =
+        executionServiceInput.payload.path("$workflowName-request").path("$workflowName-properties")
+
+    private fun executionServiceInput() = ExecutionServiceInput().apply {
+        commonHeader = CommonHeader().apply {
+            originatorId = "audit-test"
+            requestId = "1234"
+            subRequestId = "1234-1"
+        }
+        actionIdentifiers = ActionIdentifiers().apply {
+            blueprintName = this@KafkaPublishAuditServiceTest.blueprintName
+            blueprintVersion = this@KafkaPublishAuditServiceTest.blueprintVersion
+            actionName = workflowName
+        }
+        payload = """
+            {
+              "$workflowName-request": {
+                "$workflowName-properties": { "password": "secret", "hostname": "host-1" }
+              }
+            }
+        """.trimIndent().jsonAsJsonType() as ObjectNode
+    }
+}
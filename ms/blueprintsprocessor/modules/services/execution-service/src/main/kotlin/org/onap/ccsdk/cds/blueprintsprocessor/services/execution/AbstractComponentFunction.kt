@@ -19,6 +19,7 @@ package org.onap.ccsdk.cds.blueprintsprocessor.services.execution
 
 import com.fasterxml.jackson.databind.JsonNode
 import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
 import kotlinx.coroutines.withTimeout
 import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.ExecutionServiceInput
 import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.ExecutionServiceOutput
@@ -163,10 +164,31 @@ abstract class AbstractComponentFunction : BlueprintFunctionNode<ExecutionServic
         try {
             prepareRequestNB(executionServiceInput)
             implementation.lock?.let {
-                bluePrintClusterService.clusterLock("${it.key.textValue()}@$CDS_LOCK_GROUP")
-                    .executeWithLock(it.acquireTimeout.intValue().times(1000).toLong()) {
-                        applyNBWithTimeout(executionServiceInput)
+                val lockName = it.key.textValue()
+                val waitSample = Timer.start()
+                var waitRecorded = false
+                try {
+                    bluePrintClusterService.clusterLock("$lockName@$CDS_LOCK_GROUP")
+                        .executeWithLock(it.acquireTimeout.intValue().times(1000).toLong()) {
+                            waitRecorded = true
+                            recordLockTime(
+                                waitSample, ExecutionServiceMetricConstants.CLUSTER_LOCK_WAIT_TIMER, lockName
+                            )
+                            val holdSample = Timer.start()
+                            try {
+                                applyNBWithTimeout(executionServiceInput)
+                            } finally {
+                                recordLockTime(
+                                    holdSample, ExecutionServiceMetricConstants.CLUSTER_LOCK_HOLD_TIMER, lockName
+                                )
+                            }
+                        }
+                } finally {
+                    // The lock was not acquired, the wait still counts
+                    if (!waitRecorded) {
+                        recordLockTime(waitSample, ExecutionServiceMetricConstants.CLUSTER_LOCK_WAIT_TIMER, lockName)
                     }
+                }
             } ?: applyNBWithTimeout(executionServiceInput)
         } catch (runtimeException: RuntimeException) {
             log.error("failed in ${getName()} : ${runtimeException.message}", runtimeException)
@@ -175,6 +197,16 @@ abstract class AbstractComponentFunction : BlueprintFunctionNode<ExecutionServic
         return prepareResponseNB()
     }
 
+    /** Lock keys are request data, the timers are tagged with the node template and the key is only logged */
+    private fun recordLockTime(sample: Timer.Sample, timerName: String, lockName: String) {
+        if (this::meterRegistry.isInitialized) {
+            val nanos = sample.stop(
+                meterRegistry.timer(timerName, BluePrintConstants.METRIC_TAG_NODE_TEMPLATE, nodeTemplateName)
+            )
+            log.debug("$timerName cluster lock($lockName) node template($nodeTemplateName) : ${nanos / 1000000}ms")
+        }
+    }
+
     private suspend fun applyNBWithTimeout(executionServiceInput: ExecutionServiceInput) =
         withTimeout((implementation.timeout * 1000).toLong()) {
             log.debug(
@@ -0,0 +1,26 @@
+/*
+ * Copyright © 2026 Deutsche Telekom AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onap.ccsdk.cds.blueprintsprocessor.services.execution
+
+object ExecutionServiceMetricConstants {
+
+    private const val METRIC_PREFIX = "cds.cluster.lock"
+
+    // TIMERS
+    const val CLUSTER_LOCK_WAIT_TIMER = "$METRIC_PREFIX.wait"
+    const val CLUSTER_LOCK_HOLD_TIMER = "$METRIC_PREFIX.hold"
+}
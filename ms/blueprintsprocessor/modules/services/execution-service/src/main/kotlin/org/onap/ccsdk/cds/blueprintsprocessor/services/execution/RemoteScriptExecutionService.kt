@@ -21,7 +21,6 @@ import com.fasterxml.jackson.databind.JsonNode
 import com.google.protobuf.Struct
 import com.google.protobuf.Timestamp
 import com.google.protobuf.util.JsonFormat
-import io.grpc.ManagedChannel
 import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.PrepareRemoteEnvInput
 import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.RemoteIdentifier
 import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.RemoteScriptUploadBlueprintInput
@@ -29,8 +28,11 @@ import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.RemoteScriptExecutio
 import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.RemoteScriptExecutionOutput
 import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.RemoteScriptUploadBlueprintOutput
 import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.StatusType
-import org.onap.ccsdk.cds.blueprintsprocessor.grpc.service.BluePrintGrpcClientService
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.GRPCLibConstants
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.GrpcClientProperties
 import org.onap.ccsdk.cds.blueprintsprocessor.grpc.service.BluePrintGrpcLibPropertyService
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.service.GrpcChannelLease
+import org.onap.ccsdk.cds.blueprintsprocessor.grpc.service.GrpcChannelRegistry
 import org.onap.ccsdk.cds.controllerblueprints.command.api.CommandExecutorServiceGrpc
 import org.onap.ccsdk.cds.controllerblueprints.command.api.ExecutionInput
 import org.onap.ccsdk.cds.controllerblueprints.command.api.ExecutionOutput
@@ -63,26 +65,32 @@ interface RemoteScriptExecutionService {
     havingValue = "true", matchIfMissing = false
 )
 @Scope(value = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-class GrpcRemoteScriptExecutionService(private val bluePrintGrpcLibPropertyService: BluePrintGrpcLibPropertyService) :
-    RemoteScriptExecutionService {
+class GrpcRemoteScriptExecutionService(
+    private val bluePrintGrpcLibPropertyService: BluePrintGrpcLibPropertyService,
+    private val grpcChannelRegistry: GrpcChannelRegistry
+) : RemoteScriptExecutionService {
 
     private val log = LoggerFactory.getLogger(GrpcRemoteScriptExecutionService::class.java)!!
 
-    private var channel: ManagedChannel? = null
+    private var channelLease: GrpcChannelLease? = null
     private lateinit var commandExecutorServiceGrpc: CommandExecutorServiceGrpc.CommandExecutorServiceBlockingStub
 
     override suspend fun init(selector: Any) {
-        // Get the GRPC Client Service based on selector
-        val grpcClientService: BluePrintGrpcClientService = if (selector is JsonNode) {
-            bluePrintGrpcLibPropertyService.blueprintGrpcClientService(selector)
+        // Get the GRPC Client Properties based on selector
+        val grpcClientProperties: GrpcClientProperties = if (selector is JsonNode) {
+            bluePrintGrpcLibPropertyService.grpcClientProperties(selector)
         } else {
-            bluePrintGrpcLibPropertyService.blueprintGrpcClientService(selector.toString())
+            bluePrintGrpcLibPropertyService.grpcClientProperties(
+                "${GRPCLibConstants.PROPERTY_GRPC_CLIENT_PREFIX}$selector"
+            )
         }
 
-        // Get the GRPC Channel
-        channel = grpcClientService.channel()
+        // Lease the cached GRPC Channel of the server
+        channelLease?.close()
+        val lease = grpcChannelRegistry.lease(grpcClientProperties)
+        channelLease = lease
         // Create Non Blocking Stub
-        commandExecutorServiceGrpc = CommandExecutorServiceGrpc.newBlockingStub(channel)
+        commandExecutorServiceGrpc = CommandExecutorServiceGrpc.newBlockingStub(lease.channel)
 
         checkNotNull(commandExecutorServiceGrpc) {
             "failed to create command executor grpc client for selector($selector)"
@@ -131,8 +139,10 @@ class GrpcRemoteScriptExecutionService(private val bluePrintGrpcLibPropertyServi
         return grpResponse.asJavaData()
     }
 
+    /** Give the channel back to the registry, it stays open for the next executions */
     override suspend fun close() {
-        channel?.shutdownNow()
+        channelLease?.close()
+        channelLease = null
     }
 
     fun RemoteScriptUploadBlueprintInput.asGrpcData(): UploadBlueprintInput {
@@ -64,8 +64,8 @@ open class DGWorkflowExecutionService(private val blueprintSvcLogicService: Blue
 
         log.info("Executing directed graph ($dgFilePath)")
 
-        // Create DG instance
-        val graph = SvcGraphUtils.getSvcGraphFromFile(dgFilePath)
+        // Get the DG instance, parsed once per blueprint
+        val graph = SvcGraphUtils.getCachedSvcGraph(bluePrintContext, dgFilePath)
 
         // Execute the DG
         return blueprintSvcLogicService.execute(
@@ -24,20 +24,18 @@ import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.Status
 import org.onap.ccsdk.cds.controllerblueprints.common.api.EventType
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintProcessorException
-import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintException
 import org.onap.ccsdk.cds.controllerblueprints.core.MDCContext
-import org.onap.ccsdk.cds.controllerblueprints.core.asGraph
 import org.onap.ccsdk.cds.controllerblueprints.core.checkNotEmpty
 import org.onap.ccsdk.cds.controllerblueprints.core.data.EdgeLabel
 import org.onap.ccsdk.cds.controllerblueprints.core.data.Graph
 import org.onap.ccsdk.cds.controllerblueprints.core.interfaces.BluePrintWorkflowExecutionService
-import org.onap.ccsdk.cds.controllerblueprints.core.isAcyclic
 import org.onap.ccsdk.cds.controllerblueprints.core.logger
 import org.onap.ccsdk.cds.controllerblueprints.core.service.AbstractBluePrintWorkFlowService
 import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintRuntimeService
 import org.onap.ccsdk.cds.controllerblueprints.core.service.NodeExecuteMessage
 import org.onap.ccsdk.cds.controllerblueprints.core.service.NodeSkipMessage
 import org.onap.ccsdk.cds.controllerblueprints.core.service.WorkflowExecuteMessage
+import org.onap.ccsdk.cds.controllerblueprints.core.utils.WorkflowGraphUtils
 import org.springframework.stereotype.Service
 import kotlin.coroutines.CoroutineContext
 
@@ -57,11 +55,7 @@ class ImperativeWorkflowExecutionService(
 
         val workflowName = executionServiceInput.actionIdentifiers.actionName
 
-        val graph = bluePrintContext.workflowByName(workflowName).asGraph()
-
-        if (!graph.isAcyclic()) {
-            throw BluePrintException("Imperative workflow must be acyclic. Check on_success/on_failure for circular references")
-        }
+        val graph = WorkflowGraphUtils.getCachedWorkflowGraph(bluePrintContext, workflowName)
 
         return coroutineScope {
             ImperativeBluePrintWorkflowService(
@@ -16,11 +16,21 @@
 
 package org.onap.ccsdk.cds.blueprintsprocessor.services.workflow.utils
 
+import com.google.common.cache.Cache
+import com.google.common.cache.CacheBuilder
+import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintContext
 import org.onap.ccsdk.sli.core.sli.SvcLogicGraph
 import org.onap.ccsdk.sli.core.sli.SvcLogicParser
+import java.util.concurrent.ConcurrentHashMap
 
 object SvcGraphUtils {
 
+    /** Parsed graphs of each blueprint context, dropped together with the context */
+    private val svcGraphCache: Cache<BluePrintContext, ConcurrentHashMap<String, SvcLogicGraph>> =
+        CacheBuilder.newBuilder()
+            .weakKeys()
+            .build()
+
     @JvmStatic
     fun getSvcGraphFromClassPathFile(fileName: String): SvcLogicGraph {
         val url = SvcGraphUtils::class.java.classLoader.getResource(fileName)
@@ -32,4 +42,14 @@ object SvcGraphUtils {
         val svcLogicParser = SvcLogicParser()
         return svcLogicParser.parse(fileName).first
     }
+
+    /**
+     * Get the graph of the [fileName] directed graph of blueprint [bluePrintContext], parsed once per blueprint
+     * context. The graph is shared by all executions, execution state is kept in the SvcLogicContext only.
+     */
+    @JvmStatic
+    fun getCachedSvcGraph(bluePrintContext: BluePrintContext, fileName: String): SvcLogicGraph {
+        val svcGraphs = svcGraphCache.asMap().computeIfAbsent(bluePrintContext) { ConcurrentHashMap() }
+        return svcGraphs.computeIfAbsent(fileName) { getSvcGraphFromFile(it) }
+    }
 }
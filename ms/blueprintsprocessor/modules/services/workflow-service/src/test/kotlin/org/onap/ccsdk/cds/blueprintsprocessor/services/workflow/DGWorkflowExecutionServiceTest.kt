@@ -25,7 +25,9 @@ import org.junit.runner.RunWith
 import org.onap.ccsdk.cds.blueprintsprocessor.core.api.data.ExecutionServiceInput
 import org.onap.ccsdk.cds.blueprintsprocessor.core.service.BluePrintClusterService
 import org.onap.ccsdk.cds.blueprintsprocessor.services.workflow.executor.ComponentExecuteNodeExecutor
+import org.onap.ccsdk.cds.blueprintsprocessor.services.workflow.utils.SvcGraphUtils
 import org.onap.ccsdk.cds.controllerblueprints.core.BluePrintConstants
+import org.onap.ccsdk.cds.controllerblueprints.core.normalizedPathName
 import org.onap.ccsdk.cds.controllerblueprints.core.service.BluePrintDependencyService
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.BluePrintMetadataUtils
 import org.onap.ccsdk.cds.controllerblueprints.core.utils.JacksonReactorUtils
@@ -36,6 +38,7 @@ import org.springframework.test.context.ContextConfiguration
 import org.springframework.test.context.junit4.SpringRunner
 import kotlin.test.assertEquals
 import kotlin.test.assertNotNull
+import kotlin.test.assertSame
 
 @RunWith(SpringRunner::class)
 @ContextConfiguration(classes = [WorkflowServiceConfiguration::class, ComponentExecuteNodeExecutor::class])
@@ -86,4 +89,43 @@ class DGWorkflowExecutionServiceTest {
             )
         }
     }
+
+    @Test
+    fun testExecuteDirectedGraphWithCachedGraph() {
+        runBlocking {
+            val bluePrintContext = BluePrintMetadataUtils.getBluePrintContext(
+                "./../../../../../components/model-catalog/blueprint-model/test-blueprint/baseconfiguration"
+            )
+
+            repeat(2) {
+                val bluePrintRuntimeService = BluePrintMetadataUtils.getBluePrintRuntime("1234-$it", bluePrintContext)
+
+                val executionServiceInput = JacksonReactorUtils
+                    .readValueFromClassPathFile("execution-input/resource-assignment-input.json", ExecutionServiceInput::class.java)!!
+
+                val input = executionServiceInput.payload.get("resource-assignment-request")
+                bluePrintRuntimeService.assignWorkflowInputs("resource-assignment", input)
+
+                val executionServiceOutput = dgWorkflowExecutionService.executeBluePrintWorkflow(
+                    bluePrintRuntimeService,
+                    executionServiceInput, mutableMapOf()
+                )
+                assertEquals(
+                    BluePrintConstants.STATUS_SUCCESS, executionServiceOutput.status.message,
+                    "failed to get successful response"
+                )
+            }
+
+            val artifactDefinition = bluePrintContext.nodeTemplateArtifactForArtifactType(
+                bluePrintContext.workflowFirstStepNodeTemplate("resource-assignment"),
+                WorkflowServiceConstants.ARTIFACT_TYPE_DIRECTED_GRAPH
+            )
+            val dgFilePath = normalizedPathName(bluePrintContext.rootPath, artifactDefinition.file)
+            assertSame(
+                SvcGraphUtils.getCachedSvcGraph(bluePrintContext, dgFilePath),
+                SvcGraphUtils.getCachedSvcGraph(bluePrintContext, dgFilePath),
+                "failed to reuse parsed directed graph"
+            )
+        }
+    }
 }